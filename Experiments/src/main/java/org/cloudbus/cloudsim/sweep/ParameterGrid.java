@@ -0,0 +1,109 @@
+package org.cloudbus.cloudsim.sweep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A grid of scenario parameters. Each parameter has a list of values, and the points of the
+ * grid are all the combinations of the values of the parameters.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class ParameterGrid {
+
+    /** The values of each parameter, in the order the parameters were added. */
+    private final Map<String, List<Object>> parameters = new LinkedHashMap<String, List<Object>>();
+
+    /**
+     * Adds a parameter to the grid.
+     *
+     * @param name the name of the parameter
+     * @param values the values the parameter takes
+     * @return this grid
+     */
+    public ParameterGrid add(String name, Object... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Parameter " + name + " has no values");
+        }
+        if (parameters.containsKey(name)) {
+            throw new IllegalArgumentException("Parameter " + name + " is already in the grid");
+        }
+        parameters.put(name, Collections.unmodifiableList(new ArrayList<Object>(Arrays.asList(values))));
+        return this;
+    }
+
+    /**
+     * Gets the names of the parameters.
+     *
+     * @return the names, in the order they were added
+     */
+    public List<String> getNames() {
+        return new ArrayList<String>(parameters.keySet());
+    }
+
+    /**
+     * Gets the values of a parameter.
+     *
+     * @param name the name of the parameter
+     * @return the values, or <tt>null</tt> if there is no such parameter
+     */
+    public List<Object> getValues(String name) {
+        return parameters.get(name);
+    }
+
+    /**
+     * Gets the number of points of the grid.
+     *
+     * @return the number of points
+     */
+    public int size() {
+        int size = 1;
+        for (List<Object> values : parameters.values()) {
+            size *= values.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the points of the grid. The last parameter added varies the fastest. A grid
+     * without parameters has a single, empty, point.
+     *
+     * @return the points, each one mapping the name of every parameter to its value
+     */
+    public List<Map<String, Object>> getPoints() {
+        List<Map<String, Object>> points = new ArrayList<Map<String, Object>>(size());
+        for (int index = 0; index < size(); index++) {
+            points.add(getPoint(index));
+        }
+        return points;
+    }
+
+    /**
+     * Gets a point of the grid.
+     *
+     * @param index the index of the point, between 0 and {@link #size()} - 1
+     * @return the point, mapping the name of every parameter to its value
+     */
+    public Map<String, Object> getPoint(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Point " + index + " is not in the grid");
+        }
+        List<String> names = getNames();
+        Object[] values = new Object[names.size()];
+        for (int i = names.size() - 1; i >= 0; i--) {
+            List<Object> parameterValues = parameters.get(names.get(i));
+            values[i] = parameterValues.get(index % parameterValues.size());
+            index /= parameterValues.size();
+        }
+        Map<String, Object> point = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < names.size(); i++) {
+            point.put(names.get(i), values[i]);
+        }
+        return Collections.unmodifiableMap(point);
+    }
+
+}
@@ -0,0 +1,278 @@
+package org.cloudbus.cloudsim.sweep;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.gpu.BusTags;
+import org.cloudbus.cloudsim.gpu.GpuCloudlet;
+import org.cloudbus.cloudsim.gpu.GpuCloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.gpu.GpuHost;
+import org.cloudbus.cloudsim.gpu.GpuHostTags;
+import org.cloudbus.cloudsim.gpu.GpuTask;
+import org.cloudbus.cloudsim.gpu.GpuTaskSchedulerLeftover;
+import org.cloudbus.cloudsim.gpu.GpuVm;
+import org.cloudbus.cloudsim.gpu.GpuVmAllocationPolicy;
+import org.cloudbus.cloudsim.gpu.Pgpu;
+import org.cloudbus.cloudsim.gpu.Vgpu;
+import org.cloudbus.cloudsim.gpu.VgpuScheduler;
+import org.cloudbus.cloudsim.gpu.VideoCard;
+import org.cloudbus.cloudsim.gpu.allocation.VideoCardAllocationPolicy;
+import org.cloudbus.cloudsim.gpu.allocation.VideoCardAllocationPolicySimple;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridGpuVmAllocationPolicyBestFit;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridGpuVmAllocationPolicyBreadthFirst;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridGpuVmAllocationPolicyDepthFirst;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridPerformanceVgpuSchedulerFairShare;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVgpuTags;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVideoCardPowerModelK1;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVideoCardTags;
+import org.cloudbus.cloudsim.gpu.performance.models.PerformanceModel;
+import org.cloudbus.cloudsim.gpu.performance.models.PerformanceModelGpuConstant;
+import org.cloudbus.cloudsim.gpu.placement.GpuDatacenterBrokerEx;
+import org.cloudbus.cloudsim.gpu.placement.GpuDatacenterEx;
+import org.cloudbus.cloudsim.gpu.power.PowerGpuHost;
+import org.cloudbus.cloudsim.gpu.power.PowerVideoCard;
+import org.cloudbus.cloudsim.gpu.power.models.GpuHostPowerModelLinear;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuBwProvisionerShared;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuGddramProvisionerSimple;
+import org.cloudbus.cloudsim.gpu.provisioners.VideoCardBwProvisionerShared;
+import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicySimple;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+
+/**
+ * A scenario of GPU VMs placed in batches by a {@link GpuDatacenterEx}, used to sweep the
+ * placement window and the placement policy. The VMs request random NVIDIA K1 vGPU profiles
+ * and run one GpuCloudlet each, with a random GPU task length.
+ * <p>
+ * Parameters:
+ * <ul>
+ * <li>{@value #PLACEMENT_WINDOW}: the placement window (seconds)
+ * <li>{@value #POLICY}: the placement policy, one of {@value #BREADTH_FIRST},
+ * {@value #DEPTH_FIRST} and {@value #BEST_FIT}
+ * <li>{@value #HOSTS}: the number of GPU hosts
+ * <li>{@value #VMS}: the number of VMs
+ * </ul>
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class PlacementWindowScenario implements Scenario {
+
+    /** The name of the placement window parameter. */
+    public static final String PLACEMENT_WINDOW = "placementWindow";
+
+    /** The name of the placement policy parameter. */
+    public static final String POLICY = "policy";
+
+    /** The name of the number of hosts parameter. */
+    public static final String HOSTS = "hosts";
+
+    /** The name of the number of VMs parameter. */
+    public static final String VMS = "vms";
+
+    /** The breadth-first placement policy. */
+    public static final String BREADTH_FIRST = "breadth-first";
+
+    /** The depth-first placement policy. */
+    public static final String DEPTH_FIRST = "depth-first";
+
+    /** The best-fit placement policy. */
+    public static final String BEST_FIT = "best-fit";
+
+    /** The factory of the scenario. */
+    public static final ScenarioFactory FACTORY = new ScenarioFactory() {
+
+        @Override
+        public Scenario createScenario(Map<String, Object> parameters, long seed) throws Exception {
+            return new PlacementWindowScenario(parameters, seed);
+        }
+
+    };
+
+    /** The resolution in which progress in evaluated. */
+    private static final double SCHEDULING_INTERVAL = 20;
+
+    /** The datacenter. */
+    private final GpuDatacenterEx datacenter;
+
+    /** The broker. */
+    private final GpuDatacenterBrokerEx broker;
+
+    /** The cloudlets. */
+    private final List<GpuCloudlet> cloudlets = new ArrayList<GpuCloudlet>();
+
+    /**
+     * Initialises CloudSim and creates the entities of the scenario.
+     *
+     * @param parameters the parameters of the scenario
+     * @param seed the seed of the random numbers
+     * @throws Exception if the entities cannot be created
+     */
+    public PlacementWindowScenario(Map<String, Object> parameters, long seed) throws Exception {
+        Random random = new Random(seed);
+        CloudSim.init(1, Calendar.getInstance(), false);
+
+        datacenter = createDatacenter("Datacenter", ((Number) parameters.get(HOSTS)).intValue(),
+                (String) parameters.get(POLICY), ((Number) parameters.get(PLACEMENT_WINDOW)).doubleValue());
+        broker = new GpuDatacenterBrokerEx("Broker");
+
+        int numVms = ((Number) parameters.get(VMS)).intValue();
+        List<GpuVm> vms = new ArrayList<GpuVm>();
+        for (int i = 0; i < numVms; i++) {
+            vms.add(createGpuVm(i, broker.getId(), random));
+            GpuCloudlet cloudlet = createGpuCloudlet(i, broker.getId(), random);
+            cloudlet.setVmId(i);
+            cloudlets.add(cloudlet);
+        }
+        broker.submitVmList(vms);
+        broker.submitCloudletList(cloudlets);
+    }
+
+    @Override
+    public RunMetrics run() throws Exception {
+        CloudSim.startSimulation();
+        CloudSim.stopSimulation();
+        return RunMetrics.collect(broker, cloudlets, Collections.singletonList(datacenter));
+    }
+
+    /**
+     * Creates a GpuCloudlet with a random GPU task length.
+     */
+    private static GpuCloudlet createGpuCloudlet(int id, int brokerId, Random random) {
+        // Cloudlet properties
+        long length = (long) (400 * GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS);
+        long fileSize = 300;
+        long outputSize = 300;
+        int pesNumber = 1;
+        UtilizationModel utilizationModel = new UtilizationModelFull();
+
+        // GpuTask properties
+        long taskLength = (long) (GridVideoCardTags.NVIDIA_K1_CARD_PE_MIPS * 150 * (0.5 + random.nextDouble()));
+        long taskInputSize = 128;
+        long taskOutputSize = 128;
+        long requestedGddramSize = 4 * 1024;
+        int numberOfBlocks = 2;
+
+        GpuTask gpuTask = new GpuTask(id, taskLength, numberOfBlocks, taskInputSize, taskOutputSize,
+                requestedGddramSize, utilizationModel, utilizationModel, utilizationModel);
+        GpuCloudlet gpuCloudlet = new GpuCloudlet(id, length, pesNumber, fileSize, outputSize, utilizationModel,
+                utilizationModel, utilizationModel, gpuTask, false);
+        gpuCloudlet.setUserId(brokerId);
+        return gpuCloudlet;
+    }
+
+    /**
+     * Creates a VM with a random NVIDIA K1 vGPU profile.
+     */
+    private static GpuVm createGpuVm(int id, int brokerId, Random random) {
+        GpuVm vm = new GpuVm(id, brokerId, GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS, 1, 2, 100, 10, "Xen",
+                "Custom", new GpuCloudletSchedulerTimeShared());
+        GpuTaskSchedulerLeftover gpuTaskScheduler = new GpuTaskSchedulerLeftover();
+        Vgpu vgpu;
+        switch (random.nextInt(4)) {
+        case 0:
+            vgpu = GridVgpuTags.getK180Q(id, gpuTaskScheduler);
+            break;
+        case 1:
+            vgpu = GridVgpuTags.getK160Q(id, gpuTaskScheduler);
+            break;
+        case 2:
+            vgpu = GridVgpuTags.getK140Q(id, gpuTaskScheduler);
+            break;
+        default:
+            vgpu = GridVgpuTags.getK120Q(id, gpuTaskScheduler);
+            break;
+        }
+        vm.setVgpu(vgpu);
+        return vm;
+    }
+
+    /**
+     * Creates a datacenter of hosts with an NVIDIA K1 card each.
+     */
+    private static GpuDatacenterEx createDatacenter(String name, int numHosts, String policy, double placementWindow)
+            throws Exception {
+        List<GpuHost> hostList = new ArrayList<GpuHost>();
+        for (int hostId = 0; hostId < numHosts; hostId++) {
+            List<VideoCard> videoCards = new ArrayList<VideoCard>();
+            for (int videoCardId = 0; videoCardId < GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_NUM_VIDEO_CARDS; videoCardId++) {
+                List<Pgpu> pgpus = new ArrayList<Pgpu>();
+                for (int pgpuId = 0; pgpuId < GridVideoCardTags.NVIDIA_K1_CARD_GPUS; pgpuId++) {
+                    List<Pe> pes = new ArrayList<Pe>();
+                    for (int peId = 0; peId < GridVideoCardTags.NVIDIA_K1_CARD_GPU_PES; peId++) {
+                        pes.add(new Pe(peId, new PeProvisionerSimple(GridVideoCardTags.NVIDIA_K1_CARD_PE_MIPS)));
+                    }
+                    pgpus.add(new Pgpu(pgpuId, GridVideoCardTags.NVIDIA_K1_GPU_TYPE, pes,
+                            new GpuGddramProvisionerSimple(GridVideoCardTags.NVIDIA_K1_CARD_GPU_MEM),
+                            new GpuBwProvisionerShared(GridVideoCardTags.NVIDIA_K1_CARD_BW_PER_BUS)));
+                }
+                PerformanceModel<VgpuScheduler, Vgpu> performanceModel = new PerformanceModelGpuConstant(0.1);
+                GridPerformanceVgpuSchedulerFairShare vgpuScheduler = new GridPerformanceVgpuSchedulerFairShare(
+                        GridVideoCardTags.NVIDIA_K1_CARD, pgpus, new PgpuSelectionPolicySimple(), performanceModel);
+                videoCards.add(new PowerVideoCard(videoCardId, GridVideoCardTags.NVIDIA_K1_CARD, vgpuScheduler,
+                        new VideoCardBwProvisionerShared(BusTags.PCI_E_3_X16_BW), new GridVideoCardPowerModelK1(false)));
+            }
+
+            List<Pe> peList = new ArrayList<Pe>();
+            for (int peId = 0; peId < GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_NUM_PES; peId++) {
+                peList.add(new Pe(peId, new PeProvisionerSimple(GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS)));
+            }
+            VideoCardAllocationPolicy videoCardAllocationPolicy = new VideoCardAllocationPolicySimple(videoCards);
+            hostList.add(new PowerGpuHost(hostId, GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3,
+                    new RamProvisionerSimple(GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_RAM),
+                    new BwProvisionerSimple(GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_BW),
+                    GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_STORAGE, peList, new VmSchedulerTimeShared(peList),
+                    videoCardAllocationPolicy, new GpuHostPowerModelLinear(200, 0.70)));
+        }
+
+        DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Horizen", hostList,
+                +3.5, 0.0, 0.0, 0.0, 0.0);
+        return new GpuDatacenterEx(name, characteristics, createPolicy(policy, hostList), new LinkedList<Storage>(),
+                SCHEDULING_INTERVAL, placementWindow);
+    }
+
+    /**
+     * Creates a placement policy.
+     */
+    private static GpuVmAllocationPolicy createPolicy(String policy, List<GpuHost> hostList) {
+        if (BREADTH_FIRST.equals(policy)) {
+            return new GridGpuVmAllocationPolicyBreadthFirst(hostList);
+        } else if (DEPTH_FIRST.equals(policy)) {
+            return new GridGpuVmAllocationPolicyDepthFirst(hostList);
+        } else if (BEST_FIT.equals(policy)) {
+            return new GridGpuVmAllocationPolicyBestFit(hostList);
+        }
+        throw new IllegalArgumentException("Unknown placement policy: " + policy);
+    }
+
+    /**
+     * Sweeps the placement window and the placement policy.
+     *
+     * @param args the number of replications of each point (30 by default)
+     */
+    public static void main(String[] args) {
+        int replications = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        ParameterGrid grid = new ParameterGrid().add(PLACEMENT_WINDOW, 10.0, 60.0, 300.0)
+                .add(POLICY, BREADTH_FIRST, DEPTH_FIRST, BEST_FIT).add(HOSTS, 6).add(VMS, 24);
+
+        Log.printLine("Running " + grid.size() * replications + " simulations...");
+        long start = System.currentTimeMillis();
+        SweepResult result = new SweepRunner(FACTORY, grid, replications).run();
+        Log.printLine(result.render());
+        Log.printLine("Sweep finished in " + (System.currentTimeMillis() - start) / 1000.0 + " s");
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.cloudbus.cloudsim.sweep;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.gpu.power.PowerGpuDatacenter;
+
+/**
+ * The summary metrics of a simulation run, by name.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class RunMetrics {
+
+    /** The time the last cloudlet finished. */
+    public static final String MAKESPAN = "makespan";
+
+    /** The energy consumed by the datacenters (Joules). */
+    public static final String ENERGY = "energy";
+
+    /** The number of VMs that could not be created. */
+    public static final String REJECTED_VMS = "rejectedVms";
+
+    /** The number of cloudlets that did not finish successfully. */
+    public static final String REJECTED_CLOUDLETS = "rejectedCloudlets";
+
+    /** The metrics, in the order they were added. */
+    private final Map<String, Double> values = new LinkedHashMap<String, Double>();
+
+    /**
+     * Sets the value of a metric.
+     *
+     * @param name the name of the metric
+     * @param value the value
+     * @return these metrics
+     */
+    public RunMetrics put(String name, double value) {
+        values.put(name, value);
+        return this;
+    }
+
+    /**
+     * Gets the value of a metric.
+     *
+     * @param name the name of the metric
+     * @return the value, or <tt>null</tt> if the metric has not been set
+     */
+    public Double get(String name) {
+        return values.get(name);
+    }
+
+    /**
+     * Gets all the metrics.
+     *
+     * @return the values of the metrics, by name
+     */
+    public Map<String, Double> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Collects the {@link #MAKESPAN makespan}, the {@link #ENERGY energy} and the
+     * {@link #REJECTED_VMS rejected VMs} and {@link #REJECTED_CLOUDLETS cloudlets} of a run
+     * that has finished.
+     *
+     * @param broker the broker that submitted the VMs
+     * @param cloudlets the cloudlets submitted to the broker
+     * @param datacenters the datacenters whose energy is accounted
+     * @return the metrics
+     */
+    public static RunMetrics collect(DatacenterBroker broker, List<? extends Cloudlet> cloudlets,
+            List<? extends PowerGpuDatacenter> datacenters) {
+        double makespan = 0;
+        int rejectedCloudlets = 0;
+        for (Cloudlet cloudlet : cloudlets) {
+            if (cloudlet.getStatus() == Cloudlet.SUCCESS) {
+                makespan = Math.max(makespan, cloudlet.getFinishTime());
+            } else {
+                rejectedCloudlets++;
+            }
+        }
+
+        // the VMs that were created are no longer being instantiated, even after being destroyed
+        int rejectedVms = 0;
+        for (Vm vm : broker.getVmList()) {
+            if (vm.isBeingInstantiated()) {
+                rejectedVms++;
+            }
+        }
+
+        double energy = 0;
+        for (PowerGpuDatacenter datacenter : datacenters) {
+            energy += datacenter.getConsumedEnergy();
+        }
+
+        return new RunMetrics().put(MAKESPAN, makespan).put(ENERGY, energy)
+                .put(REJECTED_VMS, rejectedVms)
+                .put(REJECTED_CLOUDLETS, rejectedCloudlets);
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.cloudbus.cloudsim.sweep;
+
+/**
+ * A simulation scenario, built for a point of a {@link ParameterGrid} by a
+ * {@link ScenarioFactory}. A scenario is created and run on the same thread, which is bound
+ * to a simulation context of its own, so it can use the static
+ * {@link org.cloudbus.cloudsim.core.CloudSim} methods as usual. It must not keep any state in
+ * static fields.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public interface Scenario {
+
+    /**
+     * Runs the simulation.
+     *
+     * @return the summary metrics of the run
+     * @throws Exception if the simulation fails
+     */
+    RunMetrics run() throws Exception;
+
+}
@@ -0,0 +1,24 @@
+package org.cloudbus.cloudsim.sweep;
+
+import java.util.Map;
+
+/**
+ * A factory of the scenarios run by a {@link SweepRunner}.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public interface ScenarioFactory {
+
+    /**
+     * Creates a scenario. This method is called from the thread that then runs the scenario,
+     * after binding it to a new simulation context, so it can initialise CloudSim and create
+     * the simulation entities.
+     *
+     * @param parameters the values of the parameters, by name
+     * @param seed the seed of the random numbers of the replication
+     * @return the scenario
+     * @throws Exception if the scenario cannot be created
+     */
+    Scenario createScenario(Map<String, Object> parameters, long seed) throws Exception;
+
+}
@@ -0,0 +1,229 @@
+package org.cloudbus.cloudsim.sweep;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.math3.distribution.TDistribution;
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
+
+import de.vandermeer.asciitable.AsciiTable;
+
+/**
+ * The aggregated results of a parameter sweep. The metrics of each run are added to the
+ * statistics of its point of the grid as soon as the run finishes, so the runs themselves are
+ * not kept. The methods of this class are thread-safe.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class SweepResult {
+
+    /** The parameter grid of the sweep. */
+    private final ParameterGrid grid;
+
+    /** The confidence level of the confidence intervals, e.g. 0.95. */
+    private final double confidenceLevel;
+
+    /** The statistics of each metric, by point of the grid and then by metric name. */
+    private final List<Map<String, SummaryStatistics>> statistics;
+
+    /** The number of runs of each point that failed. */
+    private final int[] failures;
+
+    /** The first error of each point, or <tt>null</tt> if no run has failed. */
+    private final Throwable[] errors;
+
+    /**
+     * Creates an empty result.
+     *
+     * @param grid the parameter grid of the sweep
+     * @param confidenceLevel the confidence level of the confidence intervals, e.g. 0.95
+     */
+    public SweepResult(ParameterGrid grid, double confidenceLevel) {
+        if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+            throw new IllegalArgumentException("The confidence level should be in (0, 1), but is: " + confidenceLevel);
+        }
+        this.grid = grid;
+        this.confidenceLevel = confidenceLevel;
+        statistics = new ArrayList<Map<String, SummaryStatistics>>(grid.size());
+        for (int i = 0; i < grid.size(); i++) {
+            statistics.add(new LinkedHashMap<String, SummaryStatistics>());
+        }
+        failures = new int[grid.size()];
+        errors = new Throwable[grid.size()];
+    }
+
+    /**
+     * Adds the metrics of a run.
+     *
+     * @param point the index of the point of the grid
+     * @param metrics the metrics of the run
+     */
+    public synchronized void addRun(int point, RunMetrics metrics) {
+        Map<String, SummaryStatistics> pointStatistics = statistics.get(point);
+        for (Entry<String, Double> metric : metrics.getValues().entrySet()) {
+            SummaryStatistics summary = pointStatistics.get(metric.getKey());
+            if (summary == null) {
+                summary = new SummaryStatistics();
+                pointStatistics.put(metric.getKey(), summary);
+            }
+            summary.addValue(metric.getValue());
+        }
+    }
+
+    /**
+     * Records a run that failed.
+     *
+     * @param point the index of the point of the grid
+     * @param error the error
+     */
+    public synchronized void addFailure(int point, Throwable error) {
+        failures[point]++;
+        if (errors[point] == null) {
+            errors[point] = error;
+        }
+    }
+
+    /**
+     * Gets the parameter grid of the sweep.
+     *
+     * @return the grid
+     */
+    public ParameterGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Gets the confidence level of the confidence intervals.
+     *
+     * @return the confidence level
+     */
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /**
+     * Gets the names of the metrics of a point, in the order they were first reported.
+     *
+     * @param point the index of the point of the grid
+     * @return the names of the metrics
+     */
+    public synchronized List<String> getMetricNames(int point) {
+        return new ArrayList<String>(statistics.get(point).keySet());
+    }
+
+    /**
+     * Gets the number of runs of a point that reported a metric.
+     *
+     * @param point the index of the point of the grid
+     * @param metric the name of the metric
+     * @return the number of runs
+     */
+    public synchronized long getCount(int point, String metric) {
+        SummaryStatistics summary = statistics.get(point).get(metric);
+        return summary == null ? 0 : summary.getN();
+    }
+
+    /**
+     * Gets the mean of a metric over the runs of a point.
+     *
+     * @param point the index of the point of the grid
+     * @param metric the name of the metric
+     * @return the mean, or NaN if no run reported the metric
+     */
+    public synchronized double getMean(int point, String metric) {
+        SummaryStatistics summary = statistics.get(point).get(metric);
+        return summary == null ? Double.NaN : summary.getMean();
+    }
+
+    /**
+     * Gets the sample standard deviation of a metric over the runs of a point.
+     *
+     * @param point the index of the point of the grid
+     * @param metric the name of the metric
+     * @return the standard deviation, or NaN if no run reported the metric
+     */
+    public synchronized double getStandardDeviation(int point, String metric) {
+        SummaryStatistics summary = statistics.get(point).get(metric);
+        return summary == null ? Double.NaN : summary.getStandardDeviation();
+    }
+
+    /**
+     * Gets the half-width of the confidence interval of the mean of a metric over the runs of a
+     * point, based on the Student's t-distribution.
+     *
+     * @param point the index of the point of the grid
+     * @param metric the name of the metric
+     * @return the half-width of the interval, or NaN if less than two runs reported the metric
+     */
+    public synchronized double getConfidenceInterval(int point, String metric) {
+        SummaryStatistics summary = statistics.get(point).get(metric);
+        if (summary == null || summary.getN() < 2) {
+            return Double.NaN;
+        }
+        TDistribution distribution = new TDistribution(summary.getN() - 1);
+        double t = distribution.inverseCumulativeProbability(1 - (1 - confidenceLevel) / 2);
+        return t * summary.getStandardDeviation() / Math.sqrt(summary.getN());
+    }
+
+    /**
+     * Gets the number of runs of a point that failed.
+     *
+     * @param point the index of the point of the grid
+     * @return the number of failed runs
+     */
+    public synchronized int getFailures(int point) {
+        return failures[point];
+    }
+
+    /**
+     * Gets the first error of the runs of a point.
+     *
+     * @param point the index of the point of the grid
+     * @return the error, or <tt>null</tt> if no run has failed
+     */
+    public synchronized Throwable getError(int point) {
+        return errors[point];
+    }
+
+    /**
+     * Renders the results as a table, with a row for each metric of each point showing the
+     * values of the parameters, the mean and the confidence interval.
+     *
+     * @return the table
+     */
+    public synchronized String render() {
+        DecimalFormat dft = new DecimalFormat("###.####");
+        List<String> names = grid.getNames();
+        List<Object> header = new ArrayList<Object>(names);
+        header.addAll(Arrays.asList("Metric", "Runs", "Mean", "CI " + dft.format(confidenceLevel * 100) + "% (+/-)",
+                "Failures"));
+
+        AsciiTable at = new AsciiTable();
+        at.addRule();
+        at.addRow(header.toArray());
+        at.addRule();
+        for (int point = 0; point < grid.size(); point++) {
+            List<Object> parameters = new ArrayList<Object>(grid.getPoint(point).values());
+            List<String> metrics = new ArrayList<String>(statistics.get(point).keySet());
+            if (metrics.isEmpty()) {
+                metrics.add("-");
+            }
+            for (String metric : metrics) {
+                double ci = getConfidenceInterval(point, metric);
+                List<Object> row = new ArrayList<Object>(parameters);
+                row.addAll(Arrays.asList(metric, getCount(point, metric), dft.format(getMean(point, metric)),
+                        Double.isNaN(ci) ? "-" : dft.format(ci), failures[point]));
+                at.addRow(row.toArray());
+            }
+            at.addRule();
+        }
+        at.getContext().setWidth(Math.max(100, 16 * header.size()));
+        return at.render();
+    }
+
+}
@@ -0,0 +1,212 @@
+package org.cloudbus.cloudsim.sweep;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.cloudbus.cloudsim.core.SimulationContext;
+
+/**
+ * Runs the replications of a scenario for every point of a parameter grid. The runs are
+ * executed on a work-stealing pool, each one in a simulation context of its own, and their
+ * metrics are aggregated into a {@link SweepResult} as they finish.
+ * <p>
+ * Replication <i>r</i> of every point uses the seed <tt>baseSeed + r</tt>, so the points are
+ * compared under the same random numbers.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class SweepRunner {
+
+    /** The factory of the scenarios. */
+    private final ScenarioFactory factory;
+
+    /** The parameter grid. */
+    private final ParameterGrid grid;
+
+    /** The number of replications of each point. */
+    private final int replications;
+
+    /** The seed of the first replication. */
+    private long baseSeed = 0;
+
+    /** The number of runs executed at the same time. */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** The confidence level of the confidence intervals. */
+    private double confidenceLevel = 0.95;
+
+    /** Whether the runs write to the log and the allocation traces. */
+    private boolean logEnabled = false;
+
+    /** The output stream that drops the allocation traces of the runs. */
+    private static final OutputStream NULL_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    /**
+     * Creates a new sweep runner.
+     *
+     * @param factory the factory of the scenarios
+     * @param grid the parameter grid
+     * @param replications the number of replications of each point
+     */
+    public SweepRunner(ScenarioFactory factory, ParameterGrid grid, int replications) {
+        if (replications <= 0) {
+            throw new IllegalArgumentException("The number of replications should be positive, but is: " + replications);
+        }
+        this.factory = factory;
+        this.grid = grid;
+        this.replications = replications;
+    }
+
+    /**
+     * Runs all the replications of all the points of the grid, and waits for them to finish.
+     * The runs that fail are counted by the result, and do not stop the sweep.
+     *
+     * @return the aggregated results
+     */
+    public SweepResult run() {
+        final SweepResult result = new SweepResult(grid, confidenceLevel);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+            for (int replication = 0; replication < replications; replication++) {
+                for (int point = 0; point < grid.size(); point++) {
+                    tasks.add(pool.submit(new Replication(result, point, baseSeed + replication)));
+                }
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return result;
+    }
+
+    /**
+     * A run of the scenario for a point of the grid.
+     */
+    private class Replication implements Runnable {
+
+        private final SweepResult result;
+
+        private final int point;
+
+        private final long seed;
+
+        public Replication(SweepResult result, int point, long seed) {
+            this.result = result;
+            this.point = point;
+            this.seed = seed;
+        }
+
+        @Override
+        public void run() {
+            SimulationContext context = new SimulationContext();
+            context.setLogDisabled(!isLogEnabled());
+            if (!isLogEnabled()) {
+                context.setTraceOutput(NULL_OUTPUT);
+            }
+            SimulationContext previous = SimulationContext.setCurrent(context);
+            try {
+                Map<String, Object> parameters = grid.getPoint(point);
+                RunMetrics metrics = factory.createScenario(parameters, seed).run();
+                result.addRun(point, metrics);
+            } catch (Exception e) {
+                result.addFailure(point, e);
+            } finally {
+                SimulationContext.setCurrent(previous);
+            }
+        }
+
+    }
+
+    /**
+     * Gets the seed of the first replication.
+     *
+     * @return the base seed
+     */
+    public long getBaseSeed() {
+        return baseSeed;
+    }
+
+    /**
+     * Sets the seed of the first replication.
+     *
+     * @param baseSeed the base seed
+     */
+    public void setBaseSeed(long baseSeed) {
+        this.baseSeed = baseSeed;
+    }
+
+    /**
+     * Gets the number of runs executed at the same time.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of runs executed at the same time. By default, it is the number of
+     * available processors.
+     *
+     * @param parallelism the parallelism
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism should be positive, but is: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets the confidence level of the confidence intervals.
+     *
+     * @return the confidence level
+     */
+    public double getConfidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /**
+     * Sets the confidence level of the confidence intervals. By default, it is 0.95.
+     *
+     * @param confidenceLevel the confidence level
+     */
+    public void setConfidenceLevel(double confidenceLevel) {
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    /**
+     * Checks whether the runs write to the log and the allocation traces.
+     *
+     * @return true, if the log of the runs is enabled
+     */
+    public boolean isLogEnabled() {
+        return logEnabled;
+    }
+
+    /**
+     * Sets whether the runs write to the log and the allocation traces (see
+     * {@link org.cloudbus.cloudsim.Log#printTraceLine(String)}). By default, both are disabled.
+     *
+     * @param logEnabled true to enable the log of the runs
+     */
+    public void setLogEnabled(boolean logEnabled) {
+        this.logEnabled = logEnabled;
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.cloudbus.cloudsim.sweep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class SweepRunnerTest {
+
+    /**
+     * A scenario whose only metric is the sum of its parameters and seed, and that fails
+     * when its parameter <tt>a</tt> is negative.
+     */
+    private static final ScenarioFactory FACTORY = new ScenarioFactory() {
+
+        @Override
+        public Scenario createScenario(Map<String, Object> parameters, final long seed) {
+            final int a = (Integer) parameters.get("a");
+            final int b = (Integer) parameters.get("b");
+            final SimulationContext context = SimulationContext.current();
+            CloudSim.init(1, null, false);
+            return new Scenario() {
+
+                @Override
+                public RunMetrics run() {
+                    assertSame(context, SimulationContext.current());
+                    if (a < 0) {
+                        throw new IllegalStateException("a is negative");
+                    }
+                    return new RunMetrics().put("sum", a + b + seed);
+                }
+
+            };
+        }
+
+    };
+
+    @Test
+    public void testGrid() {
+        ParameterGrid grid = new ParameterGrid().add("a", 1, 2).add("b", 10, 20, 30);
+        assertEquals(Arrays.asList("a", "b"), grid.getNames());
+        assertEquals(6, grid.size());
+        assertEquals(6, grid.getPoints().size());
+        assertEquals(1, grid.getPoint(0).get("a"));
+        assertEquals(10, grid.getPoint(0).get("b"));
+        assertEquals(1, grid.getPoint(2).get("a"));
+        assertEquals(30, grid.getPoint(2).get("b"));
+        assertEquals(2, grid.getPoint(3).get("a"));
+        assertEquals(10, grid.getPoint(3).get("b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGridDuplicateParameter() {
+        new ParameterGrid().add("a", 1).add("a", 2);
+    }
+
+    @Test
+    public void testRun() {
+        ParameterGrid grid = new ParameterGrid().add("a", 1, -1).add("b", 10, 20);
+        SweepRunner runner = new SweepRunner(FACTORY, grid, 5);
+        runner.setBaseSeed(100);
+        runner.setParallelism(3);
+        SweepResult result = runner.run();
+
+        assertNull(SimulationContext.setCurrent(null));
+        for (int point = 0; point < 2; point++) {
+            assertEquals(5, result.getCount(point, "sum"));
+            assertEquals(0, result.getFailures(point));
+            assertNull(result.getError(point));
+            // the seeds are 100 to 104
+            assertEquals(1 + 10 * (point + 1) + 102, result.getMean(point, "sum"), 1e-9);
+            assertEquals(Math.sqrt(2.5), result.getStandardDeviation(point, "sum"), 1e-9);
+        }
+        for (int point = 2; point < 4; point++) {
+            assertEquals(0, result.getCount(point, "sum"));
+            assertEquals(5, result.getFailures(point));
+            assertTrue(result.getError(point) instanceof IllegalStateException);
+        }
+        assertNotNull(result.render());
+    }
+
+    @Test
+    public void testConfidenceInterval() {
+        ParameterGrid grid = new ParameterGrid().add("a", 0);
+        SweepResult result = new SweepResult(grid, 0.95);
+        result.addRun(0, new RunMetrics().put("x", 1));
+        assertTrue(Double.isNaN(result.getConfidenceInterval(0, "x")));
+
+        result.addRun(0, new RunMetrics().put("x", 2));
+        result.addRun(0, new RunMetrics().put("x", 3));
+        // t(0.975, 2) * s / sqrt(n)
+        assertEquals(4.302652729911275 / Math.sqrt(3), result.getConfidenceInterval(0, "x"), 1e-9);
+    }
+
+}
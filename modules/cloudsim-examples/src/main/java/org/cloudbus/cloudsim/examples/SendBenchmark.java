@@ -0,0 +1,113 @@
+package org.cloudbus.cloudsim.examples;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEntity;
+import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+
+/**
+ * Measures the cost of sending and processing events, when the future event queue holds
+ * an increasing number of events. An entity keeps the given number of events in the queue,
+ * sending a new one to itself whenever it processes one, with a few different tags, and
+ * every {@link #CANCEL_PERIOD} events it cancels the events of one of the tags. The printed
+ * cost is the median, over several trials, of the mean time of an event in nanoseconds.
+ * Every size is run once before the trials, so that the first one is not measured while
+ * the code is being compiled.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class SendBenchmark {
+
+	/** The numbers of events kept in the future event queue. */
+	private static final int[] QUEUED = { 100, 1000, 10000, 100000 };
+
+	/** The number of events processed in each run. */
+	private static final int EVENTS = 1000000;
+
+	/** The number of different tags of the events. */
+	private static final int TAGS = 8;
+
+	/** The number of processed events between two cancellations. */
+	private static final int CANCEL_PERIOD = 1000;
+
+	/** The tag of the events that are cancelled. */
+	private static final int CANCELLED_TAG = TAGS;
+
+	/** The number of trials of each size. */
+	private static final int TRIALS = 7;
+
+	public static void main(String[] args) {
+		for (int queued : QUEUED) {
+			measure(queued);
+		}
+		Log.printLine(String.format("%8s %14s", "Queued", "Event"));
+		for (int queued : QUEUED) {
+			double[] times = new double[TRIALS];
+			for (int trial = 0; trial < TRIALS; trial++) {
+				times[trial] = measure(queued);
+			}
+			Arrays.sort(times);
+			Log.printLine(String.format("%8d %14.1f", queued, times[TRIALS / 2]));
+		}
+	}
+
+	/**
+	 * Returns the mean time of an event in nanoseconds.
+	 */
+	private static double measure(int queued) {
+		Log.disable();
+		CloudSim.init(1, Calendar.getInstance(), false);
+		new Sender("Sender", queued);
+		long start = System.nanoTime();
+		CloudSim.startSimulation();
+		long elapsed = System.nanoTime() - start;
+		Log.enable();
+		return (double) elapsed / EVENTS;
+	}
+
+	/**
+	 * An entity that keeps a number of events to itself in the future event queue.
+	 */
+	private static class Sender extends SimEntity {
+
+		/** The number of events kept in the queue. */
+		private final int queued;
+
+		/** The number of processed events. */
+		private int processed;
+
+		public Sender(String name, int queued) {
+			super(name);
+			this.queued = queued;
+		}
+
+		@Override
+		public void startEntity() {
+			for (int i = 0; i < queued; i++) {
+				schedule(getId(), i % queued, i % TAGS);
+			}
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			processed++;
+			if (processed % CANCEL_PERIOD == 0) {
+				CloudSim.cancelAll(getId(), new PredicateType(CANCELLED_TAG));
+				schedule(getId(), queued, CANCELLED_TAG);
+			}
+			if (processed + queued <= EVENTS) {
+				schedule(getId(), queued, processed % TAGS);
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+
+	}
+
+}
@@ -0,0 +1,128 @@
+package org.cloudbus.cloudsim.examples.gpu;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.gpu.GpuTask;
+import org.cloudbus.cloudsim.gpu.GpuTaskScheduler;
+import org.cloudbus.cloudsim.gpu.GpuTaskSchedulerBackfilling;
+import org.cloudbus.cloudsim.gpu.GpuTaskSchedulerLeftover;
+
+/**
+ * Measures the cost of submitting a {@link GpuTask} to the {@link GpuTaskScheduler
+ * GpuTaskSchedulers} of vgpus with an increasing number of PEs. Each round fills a
+ * vgpu with single-PE tasks, so that every submit has to find a free PE among
+ * the used ones, and then finishes every other task, so that the next submits
+ * find the free PEs between the used ones. The printed cost is the median, over
+ * several trials, of the mean time of a submit in nanoseconds. Every size is run
+ * once before the trials, so that the first one is not measured while the code is
+ * being compiled.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuTaskSchedulerBenchmark {
+
+	/** The numbers of PEs of the vgpus. */
+	private static final int[] PES = { 128, 512, 2048, 8192 };
+
+	/** The number of rounds of each size that are run before the trials. */
+	private static final int WARMUP_ROUNDS = 100;
+
+	/** The number of trials of each size. */
+	private static final int TRIALS = 7;
+
+	/** The number of rounds of a trial. */
+	private static final int ROUNDS = 20;
+
+	/** The MIPS of each PE. */
+	private static final double PE_MIPS = 1000;
+
+	public static void main(String[] args) {
+		CloudSim.init(1, Calendar.getInstance(), false);
+		for (int pes : PES) {
+			measure(false, createMipsShare(pes), WARMUP_ROUNDS);
+			measure(true, createMipsShare(pes), WARMUP_ROUNDS);
+		}
+		Log.printLine(String.format("%8s %14s %14s", "PEs", "Leftover", "Backfilling"));
+		for (int pes : PES) {
+			List<Double> mipsShare = createMipsShare(pes);
+			Log.printLine(String.format("%8d %14.1f %14.1f", pes, median(false, mipsShare),
+					median(true, mipsShare)));
+		}
+	}
+
+	private static List<Double> createMipsShare(int pes) {
+		List<Double> mipsShare = new ArrayList<Double>();
+		for (int i = 0; i < pes; i++) {
+			mipsShare.add(PE_MIPS);
+		}
+		return mipsShare;
+	}
+
+	/**
+	 * Returns the median over the trials of the mean time of a submit in nanoseconds.
+	 */
+	private static double median(boolean backfilling, List<Double> mipsShare) {
+		double[] times = new double[TRIALS];
+		for (int trial = 0; trial < TRIALS; trial++) {
+			times[trial] = measure(backfilling, mipsShare, ROUNDS);
+		}
+		Arrays.sort(times);
+		return times[TRIALS / 2];
+	}
+
+	/**
+	 * Returns the mean time of a submit in nanoseconds, over a number of rounds.
+	 */
+	private static double measure(boolean backfilling, List<Double> mipsShare, int rounds) {
+		long time = 0;
+		long submits = 0;
+		for (int round = 0; round < rounds; round++) {
+			GpuTaskScheduler scheduler = backfilling ? new GpuTaskSchedulerBackfilling()
+					: new GpuTaskSchedulerLeftover();
+			scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+			List<GpuTask> tasks = new ArrayList<GpuTask>();
+			for (int i = 0; i < mipsShare.size(); i++) {
+				// every other task finishes at time 1, the others never do
+				tasks.add(createGpuTask(i, i % 2 == 0 ? 1.0 : 1e9));
+			}
+			long start = System.nanoTime();
+			for (GpuTask task : tasks) {
+				scheduler.taskSubmit(task);
+			}
+			long elapsed = System.nanoTime() - start;
+
+			scheduler.updateGpuTaskProcessing(1.0, mipsShare);
+			tasks.clear();
+			for (int i = 0; i < mipsShare.size() / 2; i++) {
+				tasks.add(createGpuTask(mipsShare.size() + i, 1e9));
+			}
+			start = System.nanoTime();
+			for (GpuTask task : tasks) {
+				scheduler.taskSubmit(task);
+			}
+			elapsed += System.nanoTime() - start;
+			time += elapsed;
+			submits += mipsShare.size() + tasks.size();
+		}
+		return (double) time / submits;
+	}
+
+	/**
+	 * Creates a single-PE task that runs for the given time.
+	 */
+	private static GpuTask createGpuTask(int id, double runTime) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		GpuTask task = new GpuTask(id, (long) (runTime * PE_MIPS), 1, 0, 0, 0, utilizationModel,
+				utilizationModel, utilizationModel);
+		task.setResourceParameter(0, 0.0, 0.0);
+		return task;
+	}
+
+}
@@ -7,6 +7,7 @@
  */
 package org.cloudbus.cloudsim;
 
+import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -23,7 +24,9 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @since CloudSim Toolkit 1.0
  * @todo The documentation is wrong. Cloudlet isn't extending any class.
  */
-public class Cloudlet {
+public class Cloudlet implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * The cloudlet ID.
@@ -52,6 +55,15 @@ public class Cloudlet {
      */
     private long cloudletLength;
 
+    /**
+     * The length of this Cloudlet estimated by its user (Unit: in Million
+     * Instructions (MI) for each Pe), such as the requested run time of a job
+     * in a workload trace, or -1 if there is no estimate. It is used by the
+     * schedulers that plan the execution of the waiting cloudlets, such as
+     * {@link CloudletSchedulerBackfilling}.
+     */
+    private long estimatedCloudletLength = -1;
+
     /**
      * The input file size of this Cloudlet before execution (unit: in byte).
      * This size has to be considered the program + input data sizes.
@@ -466,7 +478,9 @@ public class Cloudlet {
      * CloudResources. Each time a cloudlet is run on a given VM, the cloudlet's
      * execution history on each VM is registered at {@link Cloudlet#resList}
      */
-    private static class Resource {
+    private static class Resource implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         /**
          * Cloudlet's submission (arrival) time to a CloudResource.
@@ -1109,6 +1123,29 @@ public class Cloudlet {
         return cloudletLength;
     }
 
+    /**
+     * Gets the length of this Cloudlet estimated by its user. The estimate
+     * may be lower or higher than the actual {@link #getCloudletLength()
+     * length}.
+     *
+     * @return the estimated length for each Pe (in MI), or the actual length
+     * if there is no estimate
+     * @see #setEstimatedCloudletLength(long)
+     */
+    public long getEstimatedCloudletLength() {
+        return estimatedCloudletLength < 0 ? cloudletLength : estimatedCloudletLength;
+    }
+
+    /**
+     * Sets the length of this Cloudlet estimated by its user.
+     *
+     * @param estimatedCloudletLength the estimated length for each Pe (in MI),
+     * or -1 to use the actual length
+     */
+    public void setEstimatedCloudletLength(final long estimatedCloudletLength) {
+        this.estimatedCloudletLength = estimatedCloudletLength;
+    }
+
     /**
      * Gets the total length (across all PEs) of this Cloudlet. It considers the
      * {@link #cloudletLength} of the cloudlet to be executed in each Pe and the
@@ -0,0 +1,400 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.util.PeAvailabilityProfile;
+
+/**
+ * CloudletSchedulerBackfilling is a space-shared scheduler that runs the waiting
+ * {@link Cloudlet Cloudlets} in FIFO order, but lets a cloudlet run ahead of the cloudlets that
+ * wait before it as long as it does not delay them, so that the PEs left idle by a wide cloudlet
+ * at the head of the queue can be used.
+ * <p>
+ * The scheduler plans the execution of the waiting cloudlets with a
+ * {@link PeAvailabilityProfile profile} of the free PEs of the VM over time, using the
+ * {@link Cloudlet#getEstimatedCloudletLength() estimated length} of the cloudlets, such as the
+ * requested run time of the jobs of a workload trace. With EASY backfilling, only the first
+ * cloudlet that cannot run has a reservation, and a cloudlet can run ahead of it if it does not
+ * delay that reservation. With conservative backfilling, every waiting cloudlet has a reservation
+ * and a cloudlet only runs ahead of the others if it delays none of them. A cloudlet that runs
+ * longer than its estimate is expected to finish with its actual length.
+ * <p>
+ * The profile is built when cloudlets finish or leave the scheduler, and the waiting list is then
+ * scanned once. The cloudlets submitted in the meantime are only scheduled against the
+ * reservations of the profile, so a submission does not go through the waiting list.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see CloudletSchedulerSpaceShared
+ */
+public class CloudletSchedulerBackfilling extends CloudletSchedulerSpaceShared {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Whether every waiting cloudlet has a reservation, or only the first one. */
+	private final boolean conservative;
+
+	/**
+	 * The free PEs of the VM over time, given the running cloudlets and the reservations, or
+	 * <tt>null</tt> if it has to be built again.
+	 */
+	private PeAvailabilityProfile profile;
+
+	/** The capacity of each PE when the profile was built. */
+	private double profileCapacity;
+
+	/**
+	 * The time until which the profile is valid, that is the earliest time at which a running
+	 * cloudlet may run longer than its estimate.
+	 */
+	private double profileValidUntil;
+
+	/** Whether a waiting cloudlet has a reservation in the profile. */
+	private boolean reserved;
+
+	/**
+	 * Creates a new CloudletSchedulerBackfilling object with EASY backfilling. This method must be
+	 * invoked before starting the actual simulation.
+	 */
+	public CloudletSchedulerBackfilling() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new CloudletSchedulerBackfilling object. This method must be invoked before
+	 * starting the actual simulation.
+	 *
+	 * @param conservative whether every waiting cloudlet has a reservation (conservative
+	 *            backfilling), or only the first one (EASY backfilling)
+	 */
+	public CloudletSchedulerBackfilling(boolean conservative) {
+		super();
+		this.conservative = conservative;
+	}
+
+	/**
+	 * Checks whether every waiting cloudlet has a reservation.
+	 *
+	 * @return <tt>true</tt> for conservative backfilling, <tt>false</tt> for EASY backfilling
+	 */
+	public boolean isConservative() {
+		return conservative;
+	}
+
+	@Override
+	public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+		setCurrentMipsShare(mipsShare);
+		double timeSpam = currentTime - getPreviousTime(); // time since last update
+		double capacity = getCapacity(mipsShare);
+
+		// each machine in the exec list has the same amount of cpu
+		for (ResCloudlet rcl : getCloudletExecList()) {
+			rcl.updateCloudletFinishedSoFar((long) (capacity * timeSpam * rcl.getNumberOfPes() * Consts.MILLION));
+		}
+
+		// no more cloudlets in this scheduler
+		if (getCloudletExecList().size() == 0 && getCloudletWaitingList().size() == 0) {
+			setPreviousTime(currentTime);
+			return 0.0;
+		}
+
+		// finish the executed cloudlets, keeping the order of the others
+		List<ResCloudlet> execList = getCloudletExecList();
+		int running = 0;
+		for (int i = 0; i < execList.size(); i++) {
+			ResCloudlet rcl = execList.get(i);
+			if (rcl.isExecuted()) {
+				cloudletFinish(rcl);
+			} else {
+				execList.set(running++, rcl);
+			}
+		}
+		execList.subList(running, execList.size()).clear();
+
+		if (profile != null && (capacity != profileCapacity || currentCpus != profile.getPes())) {
+			profile = null;
+		}
+		if (!getCloudletWaitingList().isEmpty() && (profile == null || currentTime >= profileValidUntil)) {
+			backfill(currentTime, capacity);
+		}
+
+		// estimate finish time of cloudlets in the execution queue
+		double nextEvent = Double.MAX_VALUE;
+		for (ResCloudlet rcl : getCloudletExecList()) {
+			double remainingLength = CloudSim.isExactCompletionTimes() ? rcl.getExactRemainingCloudletLength()
+					: rcl.getRemainingCloudletLength();
+			double estimatedFinishTime = currentTime + (remainingLength / (capacity * rcl.getNumberOfPes()));
+			if (!CloudSim.isExactCompletionTimes()
+					&& estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents()) {
+				estimatedFinishTime = currentTime + CloudSim.getMinTimeBetweenEvents();
+			}
+			if (estimatedFinishTime < nextEvent) {
+				nextEvent = estimatedFinishTime;
+			}
+		}
+		setPreviousTime(currentTime);
+		return nextEvent;
+	}
+
+	/**
+	 * Gets the average capacity of the PEs available for the scheduler, and updates the number
+	 * of those PEs.
+	 *
+	 * @param mipsShare the MIPS share of each PE
+	 * @return the capacity of each PE, or 0 if there is none
+	 */
+	private double getCapacity(List<Double> mipsShare) {
+		double capacity = 0.0;
+		int cpus = 0;
+		for (Double mips : mipsShare) { // count the CPUs available to the VMM
+			capacity += mips;
+			if (mips > 0) {
+				cpus++;
+			}
+		}
+		currentCpus = cpus;
+		return cpus == 0 ? 0.0 : capacity / cpus;
+	}
+
+	/**
+	 * Gets the time a cloudlet is expected to take to finish, from its estimated length, or from
+	 * its actual length if it has run longer than its estimate.
+	 *
+	 * @param rcl the cloudlet
+	 * @param capacity the capacity of each PE
+	 * @return the expected remaining time
+	 */
+	protected double getEstimatedRemainingTime(ResCloudlet rcl, double capacity) {
+		int pes = rcl.getNumberOfPes();
+		double remainingLength = rcl.getExactRemainingCloudletLength() / pes;
+		double executedLength = rcl.getCloudlet().getCloudletLength() - remainingLength;
+		double estimatedLength = rcl.getCloudlet().getEstimatedCloudletLength() - executedLength;
+		if (estimatedLength <= 0.0) {
+			estimatedLength = remainingLength;
+		}
+		return estimatedLength / capacity;
+	}
+
+	/**
+	 * Builds the profile of the free PEs and runs the waiting cloudlets that do not delay the
+	 * reservations of the cloudlets before them.
+	 *
+	 * @param currentTime the current time
+	 * @param capacity the capacity of each PE
+	 */
+	private void backfill(double currentTime, double capacity) {
+		if (currentCpus == 0) {
+			return;
+		}
+		profile = new PeAvailabilityProfile(currentTime, currentCpus);
+		profileCapacity = capacity;
+		profileValidUntil = Double.MAX_VALUE;
+		reserved = false;
+		for (ResCloudlet rcl : getCloudletExecList()) {
+			double finishTime = currentTime + getEstimatedRemainingTime(rcl, capacity);
+			profile.allocate(currentTime, finishTime, rcl.getNumberOfPes());
+			profileValidUntil = Math.min(profileValidUntil, finishTime);
+		}
+
+		List<ResCloudlet> waitingList = getCloudletWaitingList();
+		int waiting = 0;
+		for (int i = 0; i < waitingList.size(); i++) {
+			ResCloudlet rcl = waitingList.get(i);
+			if (!schedule(rcl, currentTime, capacity)) {
+				waitingList.set(waiting++, rcl);
+			}
+		}
+		waitingList.subList(waiting, waitingList.size()).clear();
+	}
+
+	/**
+	 * Runs a waiting cloudlet if it does not delay the reservations of the profile, or reserves
+	 * PEs for it.
+	 *
+	 * @param rcl the cloudlet, which is still in the waiting list
+	 * @param currentTime the current time
+	 * @param capacity the capacity of each PE
+	 * @return <tt>true</tt> if the cloudlet runs
+	 */
+	private boolean schedule(ResCloudlet rcl, double currentTime, double capacity) {
+		int pes = rcl.getNumberOfPes();
+		if (!conservative && reserved && currentCpus - usedPes < pes) {
+			return false;
+		}
+		double duration = getEstimatedRemainingTime(rcl, capacity);
+		double start = profile.findStart(currentTime, pes, duration);
+		if (start == currentTime && currentCpus - usedPes >= pes) {
+			rcl.setCloudletStatus(Cloudlet.INEXEC);
+			for (int k = 0; k < pes; k++) {
+				rcl.setMachineAndPeId(0, k);
+			}
+			getCloudletExecList().add(rcl);
+			usedPes += pes;
+			profile.allocate(currentTime, currentTime + duration, pes);
+			profileValidUntil = Math.min(profileValidUntil, currentTime + duration);
+			return true;
+		}
+		if ((conservative || !reserved) && start != Double.MAX_VALUE) {
+			profile.allocate(start, start + duration, pes);
+			reserved = true;
+		}
+		return false;
+	}
+
+	/**
+	 * Schedules a cloudlet that has been added at the end of the waiting list, against the
+	 * current profile if it is still valid.
+	 *
+	 * @param rcl the cloudlet
+	 * @return the capacity of each PE, or 0 if the VM has no PE
+	 */
+	private double scheduleLast(ResCloudlet rcl) {
+		if (getCurrentMipsShare() == null) {
+			return 0.0;
+		}
+		double capacity = getCapacity(getCurrentMipsShare());
+		double currentTime = CloudSim.clock();
+		if (profile == null || capacity != profileCapacity || currentCpus != profile.getPes()
+				|| currentTime >= profileValidUntil) {
+			backfill(currentTime, capacity);
+		} else if (schedule(rcl, currentTime, capacity)) {
+			List<ResCloudlet> waitingList = getCloudletWaitingList();
+			waitingList.remove(waitingList.size() - 1);
+		}
+		return capacity;
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+		ResCloudlet rcl = new ResCloudlet(cloudlet);
+		rcl.setCloudletStatus(Cloudlet.QUEUED);
+		getCloudletWaitingList().add(rcl);
+		double capacity = scheduleLast(rcl);
+		if (rcl.getCloudletStatus() != Cloudlet.INEXEC) {
+			return 0.0;
+		}
+
+		// use the current capacity to estimate the extra amount of
+		// time to file transferring. It must be added to the cloudlet length
+		double extraSize = capacity * fileTransferTime;
+		long length = cloudlet.getCloudletLength();
+		length += extraSize;
+		cloudlet.setCloudletLength(length);
+		return cloudlet.getCloudletLength() / capacity;
+	}
+
+	@Override
+	public Cloudlet cloudletCancel(int cloudletId) {
+		ResCloudlet rcl = stopRunning(cloudletId);
+		if (rcl != null) {
+			if (rcl.getRemainingCloudletLength() == 0) {
+				cloudletFinish(rcl);
+			} else {
+				usedPes -= rcl.getNumberOfPes();
+				rcl.setCloudletStatus(Cloudlet.CANCELED);
+			}
+			return rcl.getCloudlet();
+		}
+		profile = null;
+		return super.cloudletCancel(cloudletId);
+	}
+
+	@Override
+	public boolean cloudletPause(int cloudletId) {
+		ResCloudlet rcl = stopRunning(cloudletId);
+		if (rcl == null) {
+			rcl = removeWaiting(cloudletId);
+			if (rcl == null) {
+				return false;
+			}
+		} else if (rcl.getRemainingCloudletLength() == 0) {
+			cloudletFinish(rcl);
+			return true;
+		} else {
+			usedPes -= rcl.getNumberOfPes();
+		}
+		rcl.setCloudletStatus(Cloudlet.PAUSED);
+		getCloudletPausedList().add(rcl);
+		return true;
+	}
+
+	/**
+	 * Resumes a paused cloudlet. It is added at the end of the waiting list, and runs if it does
+	 * not delay the waiting cloudlets.
+	 */
+	@Override
+	public double cloudletResume(int cloudletId) {
+		List<ResCloudlet> pausedList = getCloudletPausedList();
+		for (int i = 0; i < pausedList.size(); i++) {
+			if (pausedList.get(i).getCloudletId() == cloudletId) {
+				ResCloudlet rcl = pausedList.remove(i);
+				rcl.setCloudletStatus(Cloudlet.QUEUED);
+				getCloudletWaitingList().add(rcl);
+				double capacity = scheduleLast(rcl);
+				if (rcl.getCloudletStatus() != Cloudlet.INEXEC) {
+					return 0.0;
+				}
+
+				// calculate the expected time for cloudlet completion
+				return CloudSim.clock()
+						+ (rcl.getExactRemainingCloudletLength() / (capacity * rcl.getNumberOfPes()));
+			}
+		}
+		return 0.0;
+	}
+
+	@Override
+	public void cloudletFinish(ResCloudlet rcl) {
+		super.cloudletFinish(rcl);
+		profile = null;
+	}
+
+	@Override
+	public Cloudlet migrateCloudlet() {
+		profile = null;
+		return super.migrateCloudlet();
+	}
+
+	/**
+	 * Removes a cloudlet from the execution list. Its PEs are still counted as used.
+	 *
+	 * @param cloudletId the id of the cloudlet
+	 * @return the cloudlet, or <tt>null</tt> if it is not running
+	 */
+	private ResCloudlet stopRunning(int cloudletId) {
+		List<ResCloudlet> execList = getCloudletExecList();
+		for (int i = 0; i < execList.size(); i++) {
+			if (execList.get(i).getCloudletId() == cloudletId) {
+				profile = null;
+				return execList.remove(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes a cloudlet from the waiting list.
+	 *
+	 * @param cloudletId the id of the cloudlet
+	 * @return the cloudlet, or <tt>null</tt> if it is not waiting
+	 */
+	private ResCloudlet removeWaiting(int cloudletId) {
+		List<ResCloudlet> waitingList = getCloudletWaitingList();
+		for (int i = 0; i < waitingList.size(); i++) {
+			if (waitingList.get(i).getCloudletId() == cloudletId) {
+				profile = null;
+				return waitingList.remove(i);
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,322 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+
+/**
+ * CloudletSchedulerProcessorSharing is a drop-in alternative to {@link CloudletSchedulerTimeShared}
+ * which runs the {@link Cloudlet Cloudlets} of a VM with the same equal-share policy, but whose
+ * updates do not depend on the number of running cloudlets.
+ * <p>
+ * As every PE of a running cloudlet executes the same number of MIPS, the scheduler keeps a
+ * virtual time, which is the number of MI executed by each of those PEs since the scheduler was
+ * created. A cloudlet finishes when the virtual time reaches the virtual time at which it
+ * started to run plus its length divided by its number of PEs. The running cloudlets are kept
+ * in a heap ordered by that virtual finish time, so an update only advances the virtual time
+ * and removes the cloudlets that have finished, in O(log n) each, and the next finish time is
+ * given by the top of the heap. The progress of the other cloudlets is only recorded when they
+ * leave the scheduler, because they are finished, paused, canceled or migrated.
+ * <p>
+ * The finish times are the same as those of {@link CloudletSchedulerTimeShared}, except that
+ * the progress of the cloudlets is not rounded down to whole instructions at each update. The
+ * order of the cloudlets in the {@link #getCloudletExecList() execution list} is not kept when
+ * cloudlets leave it.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see CloudletSchedulerTimeShared
+ */
+public class CloudletSchedulerProcessorSharing extends CloudletSchedulerTimeShared {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The MI that may remain of a finished cloudlet with
+	 * {@link CloudSim#isExactCompletionTimes() exact completion times}, as in
+	 * {@link ResCloudlet#isExecuted()}.
+	 */
+	private static final double EXACT_COMPLETION_TOLERANCE = 0.001;
+
+	/**
+	 * A running cloudlet, with the virtual times at which it started to run and will finish.
+	 */
+	private static final class Entry implements Comparable<Entry>, Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ResCloudlet rcl;
+
+		private final double virtualStart;
+
+		private final double virtualFinish;
+
+		/** The order in which the cloudlet started to run, to break ties. */
+		private final long sequence;
+
+		/** The position of the cloudlet in the execution list. */
+		private int position;
+
+		private Entry(ResCloudlet rcl, double virtualStart, long sequence, int position) {
+			this.rcl = rcl;
+			this.virtualStart = virtualStart;
+			virtualFinish = virtualStart + rcl.getExactRemainingCloudletLength() / rcl.getNumberOfPes();
+			this.sequence = sequence;
+			this.position = position;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = Double.compare(virtualFinish, other.virtualFinish);
+			return result != 0 ? result : Long.compare(sequence, other.sequence);
+		}
+
+	}
+
+	/** The MI executed so far by each PE of a running cloudlet. */
+	private double virtualTime;
+
+	/** The running cloudlets, ordered by virtual finish time. */
+	private final PriorityQueue<Entry> finishQueue;
+
+	/** The entry of each running cloudlet. */
+	private final Map<ResCloudlet, Entry> entries;
+
+	/** The number of PEs requested by the running cloudlets. */
+	private int pesInUse;
+
+	/** The number of cloudlets that have started to run. */
+	private long startedCloudlets;
+
+	/**
+	 * Creates a new CloudletSchedulerProcessorSharing object. This method must be invoked before
+	 * starting the actual simulation.
+	 */
+	public CloudletSchedulerProcessorSharing() {
+		super();
+		finishQueue = new PriorityQueue<Entry>();
+		entries = new HashMap<ResCloudlet, Entry>();
+	}
+
+	@Override
+	public double updateVmProcessing(double currentTime, List<Double> mipsShare) {
+		setCurrentMipsShare(mipsShare);
+		double timeSpam = currentTime - getPreviousTime();
+		setPreviousTime(currentTime);
+		if (getCloudletExecList().size() == 0) {
+			return 0.0;
+		}
+		virtualTime += getCapacity(mipsShare) * timeSpam;
+
+		// finish the cloudlets whose remaining length is lower than the tolerance
+		double tolerance = CloudSim.isExactCompletionTimes() ? EXACT_COMPLETION_TOLERANCE : 1.0;
+		while (!finishQueue.isEmpty()) {
+			Entry entry = finishQueue.peek();
+			if ((entry.virtualFinish - virtualTime) * entry.rcl.getNumberOfPes() >= tolerance) {
+				break;
+			}
+			finishQueue.poll();
+			removeRunning(entry);
+			ResCloudlet rcl = entry.rcl;
+			rcl.updateCloudletFinishedSoFar(Math.round(rcl.getExactRemainingCloudletLength() * Consts.MILLION));
+			cloudletFinish(rcl);
+		}
+		if (finishQueue.isEmpty()) {
+			return Double.MAX_VALUE;
+		}
+
+		// estimate the finish time of the next cloudlet
+		double estimatedFinishTime = currentTime
+				+ (finishQueue.peek().virtualFinish - virtualTime) / getCapacity(mipsShare);
+		if (!CloudSim.isExactCompletionTimes()
+				&& estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents()) {
+			estimatedFinishTime = currentTime + CloudSim.getMinTimeBetweenEvents();
+		}
+		return estimatedFinishTime;
+	}
+
+	/**
+	 * Gets the individual MIPS capacity available for each PE available for the scheduler,
+	 * without going through the running cloudlets.
+	 */
+	@Override
+	protected double getCapacity(List<Double> mipsShare) {
+		double capacity = 0.0;
+		int cpus = 0;
+		for (Double mips : mipsShare) {
+			capacity += mips;
+			if (mips > 0.0) {
+				cpus++;
+			}
+		}
+		currentCPUs = cpus;
+		return capacity / Math.max(pesInUse, currentCPUs);
+	}
+
+	/**
+	 * Creates the object that represents a cloudlet submitted to the scheduler.
+	 *
+	 * @param cloudlet the cloudlet
+	 * @return the cloudlet in execution
+	 */
+	protected ResCloudlet createResCloudlet(Cloudlet cloudlet) {
+		return new ResCloudlet(cloudlet);
+	}
+
+	@Override
+	public double cloudletSubmit(Cloudlet cloudlet, double fileTransferTime) {
+		ResCloudlet rcl = createResCloudlet(cloudlet);
+		rcl.setCloudletStatus(Cloudlet.INEXEC);
+		for (int i = 0; i < cloudlet.getNumberOfPes(); i++) {
+			rcl.setMachineAndPeId(0, i);
+		}
+		pesInUse += rcl.getNumberOfPes();
+
+		// use the current capacity to estimate the extra amount of
+		// time to file transferring. It must be added to the cloudlet length
+		double extraSize = getCapacity(getCurrentMipsShare()) * fileTransferTime;
+		long length = (long) (cloudlet.getCloudletLength() + extraSize);
+		cloudlet.setCloudletLength(length);
+		addRunning(rcl);
+
+		return cloudlet.getCloudletLength() / getCapacity(getCurrentMipsShare());
+	}
+
+	@Override
+	public Cloudlet cloudletCancel(int cloudletId) {
+		// First, looks in the finished queue
+		List<ResCloudlet> finishedList = getCloudletFinishedList();
+		for (int i = 0; i < finishedList.size(); i++) {
+			if (finishedList.get(i).getCloudletId() == cloudletId) {
+				return finishedList.remove(i).getCloudlet();
+			}
+		}
+
+		// Then searches in the exec list
+		ResCloudlet rcl = stopRunning(cloudletId);
+		if (rcl != null) {
+			if (rcl.getRemainingCloudletLength() == 0) {
+				cloudletFinish(rcl);
+			} else {
+				rcl.setCloudletStatus(Cloudlet.CANCELED);
+			}
+			return rcl.getCloudlet();
+		}
+
+		// Now, looks in the paused queue
+		List<ResCloudlet> pausedList = getCloudletPausedList();
+		for (int i = 0; i < pausedList.size(); i++) {
+			if (pausedList.get(i).getCloudletId() == cloudletId) {
+				rcl = pausedList.remove(i);
+				rcl.setCloudletStatus(Cloudlet.CANCELED);
+				return rcl.getCloudlet();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean cloudletPause(int cloudletId) {
+		ResCloudlet rcl = stopRunning(cloudletId);
+		if (rcl == null) {
+			return false;
+		}
+		if (rcl.getRemainingCloudletLength() == 0) {
+			cloudletFinish(rcl);
+		} else {
+			rcl.setCloudletStatus(Cloudlet.PAUSED);
+			getCloudletPausedList().add(rcl);
+		}
+		return true;
+	}
+
+	@Override
+	public double cloudletResume(int cloudletId) {
+		List<ResCloudlet> pausedList = getCloudletPausedList();
+		for (int i = 0; i < pausedList.size(); i++) {
+			if (pausedList.get(i).getCloudletId() == cloudletId) {
+				ResCloudlet rcl = pausedList.remove(i);
+				rcl.setCloudletStatus(Cloudlet.INEXEC);
+				pesInUse += rcl.getNumberOfPes();
+				addRunning(rcl);
+
+				// calculate the expected time for cloudlet completion
+				return CloudSim.clock()
+						+ (rcl.getExactRemainingCloudletLength() / (getCapacity(getCurrentMipsShare()) * rcl
+								.getNumberOfPes()));
+			}
+		}
+		return 0.0;
+	}
+
+	@Override
+	public Cloudlet migrateCloudlet() {
+		ResCloudlet rcl = getCloudletExecList().get(0);
+		stopRunning(rcl.getCloudletId());
+		rcl.finalizeCloudlet();
+		return rcl.getCloudlet();
+	}
+
+	/**
+	 * Adds a cloudlet to the running cloudlets. Its PEs have to be counted in the PEs in use
+	 * before.
+	 *
+	 * @param rcl the cloudlet
+	 */
+	private void addRunning(ResCloudlet rcl) {
+		List<ResCloudlet> execList = getCloudletExecList();
+		Entry entry = new Entry(rcl, virtualTime, startedCloudlets++, execList.size());
+		execList.add(rcl);
+		entries.put(rcl, entry);
+		finishQueue.add(entry);
+	}
+
+	/**
+	 * Removes a cloudlet from the running cloudlets and records its progress.
+	 *
+	 * @param cloudletId the id of the cloudlet
+	 * @return the cloudlet, or <tt>null</tt> if it is not running
+	 */
+	private ResCloudlet stopRunning(int cloudletId) {
+		for (ResCloudlet rcl : getCloudletExecList()) {
+			if (rcl.getCloudletId() == cloudletId) {
+				Entry entry = entries.get(rcl);
+				finishQueue.remove(entry);
+				removeRunning(entry);
+				rcl.updateCloudletFinishedSoFar((long) ((virtualTime - entry.virtualStart) * rcl.getNumberOfPes()
+						* Consts.MILLION));
+				return rcl;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes a cloudlet that is no longer in the finish queue from the execution list, by moving
+	 * the last cloudlet of the list to its position.
+	 *
+	 * @param entry the entry of the cloudlet
+	 */
+	private void removeRunning(Entry entry) {
+		List<ResCloudlet> execList = getCloudletExecList();
+		ResCloudlet last = execList.remove(execList.size() - 1);
+		if (last != entry.rcl) {
+			execList.set(entry.position, last);
+			entries.get(last).position = entry.position;
+		}
+		entries.remove(entry.rcl);
+		pesInUse -= entry.rcl.getNumberOfPes();
+	}
+
+}
@@ -26,6 +26,9 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @since CloudSim Toolkit 1.0
  */
 public class CloudletSchedulerSpaceShared extends CloudletScheduler {
+
+	private static final long serialVersionUID = 1L;
+
 	/** The number of PEs currently available for the VM using the scheduler,
          * according to the mips share provided to it by
          * {@link #updateVmProcessing(double, java.util.List)} method. */
@@ -80,7 +83,7 @@ public class CloudletSchedulerSpaceShared extends CloudletScheduler {
 		List<ResCloudlet> toRemove = new ArrayList<ResCloudlet>();
 		for (ResCloudlet rcl : getCloudletExecList()) {
 			// finished anyway, rounding issue...
-			if (rcl.getRemainingCloudletLength() == 0) {
+			if (rcl.isExecuted()) {
 				toRemove.add(rcl);
 				cloudletFinish(rcl);
 				finished++;
@@ -111,9 +114,11 @@ public class CloudletSchedulerSpaceShared extends CloudletScheduler {
 		// estimate finish time of cloudlets in the execution queue
 		double nextEvent = Double.MAX_VALUE;
 		for (ResCloudlet rcl : getCloudletExecList()) {
-			double remainingLength = rcl.getRemainingCloudletLength();
+			double remainingLength = CloudSim.isExactCompletionTimes() ? rcl.getExactRemainingCloudletLength()
+					: rcl.getRemainingCloudletLength();
 			double estimatedFinishTime = currentTime + (remainingLength / (capacity * rcl.getNumberOfPes()));
-			if (estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents()) {
+			if (!CloudSim.isExactCompletionTimes()
+					&& estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents()) {
 				estimatedFinishTime = currentTime + CloudSim.getMinTimeBetweenEvents();
 			}
 			if (estimatedFinishTime < nextEvent) {
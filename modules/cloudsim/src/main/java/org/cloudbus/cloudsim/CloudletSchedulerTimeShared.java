@@ -23,6 +23,9 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @since CloudSim Toolkit 1.0
  */
 public class CloudletSchedulerTimeShared extends CloudletScheduler {
+
+	private static final long serialVersionUID = 1L;
+
 	/** The number of PEs currently available for the VM using the scheduler,
          * according to the mips share provided to it by
          * {@link #updateVmProcessing(double, java.util.List)} method. */
@@ -58,8 +61,7 @@ public class CloudletSchedulerTimeShared extends CloudletScheduler {
 		double nextEvent = Double.MAX_VALUE;
 		List<ResCloudlet> toRemove = new ArrayList<ResCloudlet>();
 		for (ResCloudlet rcl : getCloudletExecList()) {
-			long remainingLength = rcl.getRemainingCloudletLength();
-			if (remainingLength == 0) {// finished: remove from the list
+			if (rcl.isExecuted()) {// finished: remove from the list
 				toRemove.add(rcl);
 				cloudletFinish(rcl);
 				continue;
@@ -69,9 +71,12 @@ public class CloudletSchedulerTimeShared extends CloudletScheduler {
 
 		// estimate finish time of cloudlets
 		for (ResCloudlet rcl : getCloudletExecList()) {
+			double remainingLength = CloudSim.isExactCompletionTimes() ? rcl.getExactRemainingCloudletLength()
+					: rcl.getRemainingCloudletLength();
 			double estimatedFinishTime = currentTime
-					+ (rcl.getRemainingCloudletLength() / (getCapacity(mipsShare) * rcl.getNumberOfPes()));
-			if (estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents()) {
+					+ (remainingLength / (getCapacity(mipsShare) * rcl.getNumberOfPes()));
+			if (!CloudSim.isExactCompletionTimes()
+					&& estimatedFinishTime - currentTime < CloudSim.getMinTimeBetweenEvents()) {
 				estimatedFinishTime = currentTime + CloudSim.getMinTimeBetweenEvents();
 			}
 
@@ -8,6 +8,7 @@
 package org.cloudbus.cloudsim;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -15,8 +16,11 @@ import java.util.Map;
 
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.ParallelUpdate;
 import org.cloudbus.cloudsim.core.SimEntity;
 import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.core.SimEventHandler;
+import org.cloudbus.cloudsim.util.CompletionIndex;
 
 /**
  * Datacenter class is a CloudResource whose hostList are virtualized. It deals with processing of
@@ -36,6 +40,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class Datacenter extends SimEntity {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The characteristics. */
 	private DatacenterCharacteristics characteristics;
 
@@ -59,6 +65,22 @@ public class Datacenter extends SimEntity {
 	/** The scheduling delay to process each datacenter received event. */
 	private double schedulingInterval;
 
+	/**
+	 * Indicates if only the hosts whose VMs or cloudlets changed, or whose next cloudlet
+	 * completion is due, are updated when processing the cloudlets.
+	 * @see #setTimeIndexedScheduling(boolean)
+	 */
+	private boolean timeIndexedScheduling;
+
+	/** The position of each host in the host list. */
+	private Map<Host, Integer> hostIndexes;
+
+	/** The changed hosts and the next cloudlet completion times of the hosts. */
+	private CompletionIndex hostCompletionIndex;
+
+	/** The hosts updated since the cloudlet completions were last checked. */
+	private BitSet updatedHosts;
+
 	/**
 	 * Allocates a new Datacenter object.
 	 * 
@@ -107,6 +129,8 @@ public class Datacenter extends SimEntity {
 
 		// stores id of this class
 		getCharacteristics().setId(super.getId());
+
+		registerHandlers();
 	}
 
 	/**
@@ -124,142 +148,79 @@ public class Datacenter extends SimEntity {
 
 	@Override
 	public void processEvent(SimEvent ev) {
-		int srcId = -1;
-
-		switch (ev.getTag()) {
-		// Resource characteristics inquiry
-			case CloudSimTags.RESOURCE_CHARACTERISTICS:
-				srcId = ((Integer) ev.getData()).intValue();
-				sendNow(srcId, ev.getTag(), getCharacteristics());
-				break;
-
-			// Resource dynamic info inquiry
-			case CloudSimTags.RESOURCE_DYNAMICS:
-				srcId = ((Integer) ev.getData()).intValue();
-				sendNow(srcId, ev.getTag(), 0);
-				break;
-
-			case CloudSimTags.RESOURCE_NUM_PE:
-				srcId = ((Integer) ev.getData()).intValue();
-				int numPE = getCharacteristics().getNumberOfPes();
-				sendNow(srcId, ev.getTag(), numPE);
-				break;
-
-			case CloudSimTags.RESOURCE_NUM_FREE_PE:
-				srcId = ((Integer) ev.getData()).intValue();
-				int freePesNumber = getCharacteristics().getNumberOfFreePes();
-				sendNow(srcId, ev.getTag(), freePesNumber);
-				break;
-
-			// New Cloudlet arrives
-			case CloudSimTags.CLOUDLET_SUBMIT:
-				processCloudletSubmit(ev, false);
-				break;
-
-			// New Cloudlet arrives, but the sender asks for an ack
-			case CloudSimTags.CLOUDLET_SUBMIT_ACK:
-				processCloudletSubmit(ev, true);
-				break;
-
-			// Cancels a previously submitted Cloudlet
-			case CloudSimTags.CLOUDLET_CANCEL:
-				processCloudlet(ev, CloudSimTags.CLOUDLET_CANCEL);
-				break;
-
-			// Pauses a previously submitted Cloudlet
-			case CloudSimTags.CLOUDLET_PAUSE:
-				processCloudlet(ev, CloudSimTags.CLOUDLET_PAUSE);
-				break;
-
-			// Pauses a previously submitted Cloudlet, but the sender
-			// asks for an acknowledgement
-			case CloudSimTags.CLOUDLET_PAUSE_ACK:
-				processCloudlet(ev, CloudSimTags.CLOUDLET_PAUSE_ACK);
-				break;
-
-			// Resumes a previously submitted Cloudlet
-			case CloudSimTags.CLOUDLET_RESUME:
-				processCloudlet(ev, CloudSimTags.CLOUDLET_RESUME);
-				break;
-
-			// Resumes a previously submitted Cloudlet, but the sender
-			// asks for an acknowledgement
-			case CloudSimTags.CLOUDLET_RESUME_ACK:
-				processCloudlet(ev, CloudSimTags.CLOUDLET_RESUME_ACK);
-				break;
-
-			// Moves a previously submitted Cloudlet to a different resource
-			case CloudSimTags.CLOUDLET_MOVE:
-				processCloudletMove((int[]) ev.getData(), CloudSimTags.CLOUDLET_MOVE);
-				break;
-
-			// Moves a previously submitted Cloudlet to a different resource
-			case CloudSimTags.CLOUDLET_MOVE_ACK:
-				processCloudletMove((int[]) ev.getData(), CloudSimTags.CLOUDLET_MOVE_ACK);
-				break;
-
-			// Checks the status of a Cloudlet
-			case CloudSimTags.CLOUDLET_STATUS:
-				processCloudletStatus(ev);
-				break;
-
-			// Ping packet
-			case CloudSimTags.INFOPKT_SUBMIT:
-				processPingRequest(ev);
-				break;
-
-			case CloudSimTags.VM_CREATE:
-				processVmCreate(ev, false);
-				break;
-
-			case CloudSimTags.VM_CREATE_ACK:
-				processVmCreate(ev, true);
-				break;
-
-			case CloudSimTags.VM_DESTROY:
-				processVmDestroy(ev, false);
-				break;
-
-			case CloudSimTags.VM_DESTROY_ACK:
-				processVmDestroy(ev, true);
-				break;
-
-			case CloudSimTags.VM_MIGRATE:
-				processVmMigrate(ev, false);
-				break;
-
-			case CloudSimTags.VM_MIGRATE_ACK:
-				processVmMigrate(ev, true);
-				break;
-
-			case CloudSimTags.VM_DATA_ADD:
-				processDataAdd(ev, false);
-				break;
-
-			case CloudSimTags.VM_DATA_ADD_ACK:
-				processDataAdd(ev, true);
-				break;
-
-			case CloudSimTags.VM_DATA_DEL:
-				processDataDelete(ev, false);
-				break;
-
-			case CloudSimTags.VM_DATA_DEL_ACK:
-				processDataDelete(ev, true);
-				break;
-
-			case CloudSimTags.VM_DATACENTER_EVENT:
-				updateCloudletProcessing();
-				checkCloudletCompletion();
-				break;
-
+		if (!dispatchEvent(ev)) {
 			// other unknown tags are processed by this method
-			default:
-				processOtherEvent(ev);
-				break;
+			processOtherEvent(ev);
 		}
 	}
 
+	/**
+	 * Registers the handlers of the events processed by every datacenter.
+	 */
+	private void registerHandlers() {
+		// Resource characteristics inquiry
+		registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS,
+				(Datacenter dc, SimEvent ev) -> dc.sendNow((Integer) ev.getData(), ev.getTag(),
+						dc.getCharacteristics()));
+
+		// Resource dynamic info inquiry
+		registerHandler(CloudSimTags.RESOURCE_DYNAMICS,
+				(Datacenter dc, SimEvent ev) -> dc.sendNow((Integer) ev.getData(), ev.getTag(), 0));
+
+		registerHandler(CloudSimTags.RESOURCE_NUM_PE, (Datacenter dc, SimEvent ev) -> dc
+				.sendNow((Integer) ev.getData(), ev.getTag(), dc.getCharacteristics().getNumberOfPes()));
+
+		registerHandler(CloudSimTags.RESOURCE_NUM_FREE_PE, (Datacenter dc, SimEvent ev) -> dc
+				.sendNow((Integer) ev.getData(), ev.getTag(), dc.getCharacteristics().getNumberOfFreePes()));
+
+		// New Cloudlet arrives
+		registerHandler(CloudSimTags.CLOUDLET_SUBMIT,
+				(Datacenter dc, SimEvent ev) -> dc.processCloudletSubmit(ev, false));
+
+		// New Cloudlet arrives, but the sender asks for an ack
+		registerHandler(CloudSimTags.CLOUDLET_SUBMIT_ACK,
+				(Datacenter dc, SimEvent ev) -> dc.processCloudletSubmit(ev, true));
+
+		// Cancels, pauses or resumes a previously submitted Cloudlet, with an
+		// acknowledgement to the sender for the _ACK tags
+		SimEventHandler<Datacenter> processCloudlet = (Datacenter dc, SimEvent ev) -> dc.processCloudlet(ev,
+				ev.getTag());
+		registerHandler(CloudSimTags.CLOUDLET_CANCEL, processCloudlet);
+		registerHandler(CloudSimTags.CLOUDLET_PAUSE, processCloudlet);
+		registerHandler(CloudSimTags.CLOUDLET_PAUSE_ACK, processCloudlet);
+		registerHandler(CloudSimTags.CLOUDLET_RESUME, processCloudlet);
+		registerHandler(CloudSimTags.CLOUDLET_RESUME_ACK, processCloudlet);
+
+		// Moves a previously submitted Cloudlet to a different resource
+		SimEventHandler<Datacenter> processCloudletMove = (Datacenter dc, SimEvent ev) -> dc
+				.processCloudletMove((int[]) ev.getData(), ev.getTag());
+		registerHandler(CloudSimTags.CLOUDLET_MOVE, processCloudletMove);
+		registerHandler(CloudSimTags.CLOUDLET_MOVE_ACK, processCloudletMove);
+
+		// Checks the status of a Cloudlet
+		registerHandler(CloudSimTags.CLOUDLET_STATUS, (Datacenter dc, SimEvent ev) -> dc.processCloudletStatus(ev));
+
+		// Ping packet
+		registerHandler(CloudSimTags.INFOPKT_SUBMIT, (Datacenter dc, SimEvent ev) -> dc.processPingRequest(ev));
+
+		registerHandler(CloudSimTags.VM_CREATE, (Datacenter dc, SimEvent ev) -> dc.processVmCreate(ev, false));
+		registerHandler(CloudSimTags.VM_CREATE_ACK, (Datacenter dc, SimEvent ev) -> dc.processVmCreate(ev, true));
+		registerHandler(CloudSimTags.VM_DESTROY, (Datacenter dc, SimEvent ev) -> dc.processVmDestroy(ev, false));
+		registerHandler(CloudSimTags.VM_DESTROY_ACK, (Datacenter dc, SimEvent ev) -> dc.processVmDestroy(ev, true));
+		registerHandler(CloudSimTags.VM_MIGRATE, (Datacenter dc, SimEvent ev) -> dc.processVmMigrate(ev, false));
+		registerHandler(CloudSimTags.VM_MIGRATE_ACK, (Datacenter dc, SimEvent ev) -> dc.processVmMigrate(ev, true));
+		registerHandler(CloudSimTags.VM_DATA_ADD, (Datacenter dc, SimEvent ev) -> dc.processDataAdd(ev, false));
+		registerHandler(CloudSimTags.VM_DATA_ADD_ACK, (Datacenter dc, SimEvent ev) -> dc.processDataAdd(ev, true));
+		registerHandler(CloudSimTags.VM_DATA_DEL, (Datacenter dc, SimEvent ev) -> dc.processDataDelete(ev, false));
+		registerHandler(CloudSimTags.VM_DATA_DEL_ACK,
+				(Datacenter dc, SimEvent ev) -> dc.processDataDelete(ev, true));
+
+		registerHandler(CloudSimTags.VM_DATACENTER_EVENT, (Datacenter dc, SimEvent ev) -> {
+			dc.updateCloudletProcessing();
+			dc.checkCloudletCompletion();
+		});
+	}
+
 	/**
 	 * Process a file deletion request.
 	 * 
@@ -411,9 +372,12 @@ public class Datacenter extends SimEntity {
 
 	/**
 	 * Process non-default received events that aren't processed by
-         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method.
-         * This method should be overridden by subclasses in other to process
-         * new defined events.
+         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method,
+         * as no handler is {@link #registerHandler(int, SimEventHandler) registered}
+         * for their tag. Subclasses should rather register handlers for the
+         * events they define. The first event of each unknown tag is
+         * {@link #reportUnknownEvent(SimEvent, Class) reported}, unless a subclass
+         * overrides this method, as it may process the event after calling it.
 	 * 
 	 * @param ev information about the event just happened
          * 
@@ -423,7 +387,9 @@ public class Datacenter extends SimEntity {
 	protected void processOtherEvent(SimEvent ev) {
 		if (ev == null) {
 			Log.printConcatLine(getName(), ".processOtherEvent(): Error - an event is null.");
+			return;
 		}
+		reportUnknownEvent(ev, Datacenter.class);
 	}
 
 	/**
@@ -464,6 +430,7 @@ public class Datacenter extends SimEntity {
 
 			vm.updateVmProcessing(CloudSim.clock(), getVmAllocationPolicy().getHost(vm).getVmScheduler()
 					.getAllocatedMipsForVm(vm));
+			markHostChanged(getVmAllocationPolicy().getHost(vm));
 		}
 
 	}
@@ -482,6 +449,7 @@ public class Datacenter extends SimEntity {
 	 */
 	protected void processVmDestroy(SimEvent ev, boolean ack) {
 		Vm vm = (Vm) ev.getData();
+		markHostChanged(getVmAllocationPolicy().getHost(vm));
 		getVmAllocationPolicy().deallocateHostForVm(vm);
 
 		if (ack) {
@@ -519,6 +487,8 @@ public class Datacenter extends SimEntity {
 		Vm vm = (Vm) migrate.get("vm");
 		Host host = (Host) migrate.get("host");
 
+		markHostChanged(getVmAllocationPolicy().getHost(vm));
+		markHostChanged(host);
 		getVmAllocationPolicy().deallocateHostForVm(vm);
 		host.removeMigratingInVm(vm);
 		boolean result = getVmAllocationPolicy().allocateHostForVm(vm, host);
@@ -626,6 +596,8 @@ public class Datacenter extends SimEntity {
 	 * @post $none
 	 */
 	protected void processCloudletMove(int[] receivedData, int type) {
+		// the host is updated before the cloudlet is removed from its VM
+		markHostChanged(getVmAllocationPolicy().getHost(receivedData[2], receivedData[1]));
 		updateCloudletProcessing();
 
 		int[] array = receivedData;
@@ -634,6 +606,7 @@ public class Datacenter extends SimEntity {
 		int vmId = array[2];
 		int vmDestId = array[3];
 		int destId = array[4];
+		markHostChanged(getVmAllocationPolicy().getHost(vmId, userId));
 
 		// get the cloudlet
 		Cloudlet cl = getVmAllocationPolicy().getHost(vmId, userId).getVm(vmId,userId)
@@ -665,6 +638,7 @@ public class Datacenter extends SimEntity {
 					// time to transfer the files
 					double fileTransferTime = predictFileTransferTime(cl.getRequiredFiles());
 					vm.getCloudletScheduler().cloudletSubmit(cl, fileTransferTime);
+					markHostChanged(getVmAllocationPolicy().getHost(vmDestId, userId));
 				}
 			} else {// the cloudlet will migrate from one resource to another
 				int tag = ((type == CloudSimTags.CLOUDLET_MOVE_ACK) ? CloudSimTags.CLOUDLET_SUBMIT_ACK
@@ -697,6 +671,11 @@ public class Datacenter extends SimEntity {
 	 * @post $none
 	 */
 	protected void processCloudletSubmit(SimEvent ev, boolean ack) {
+		if (isTimeIndexedScheduling() && ev.getData() instanceof Cloudlet) {
+			// the host is updated before the cloudlet is added to its VM
+			Cloudlet cl = (Cloudlet) ev.getData();
+			markHostChanged(getVmAllocationPolicy().getHost(cl.getVmId(), cl.getUserId()));
+		}
 		updateCloudletProcessing();
 
 		try {
@@ -747,6 +726,7 @@ public class Datacenter extends SimEntity {
 			Vm vm = host.getVm(vmId, userId);
 			CloudletScheduler scheduler = vm.getCloudletScheduler();
 			double estimatedFinishTime = scheduler.cloudletSubmit(cl, fileTransferTime);
+			markHostChanged(host);
 
 			// if this cloudlet is in the exec queue
 			if (estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime)) {
@@ -814,6 +794,7 @@ public class Datacenter extends SimEntity {
 	protected void processCloudletResume(int cloudletId, int userId, int vmId, boolean ack) {
 		double eventTime = getVmAllocationPolicy().getHost(vmId, userId).getVm(vmId,userId)
 				.getCloudletScheduler().cloudletResume(cloudletId);
+		markHostChanged(getVmAllocationPolicy().getHost(vmId, userId));
 
 		boolean status = false;
 		if (eventTime > 0.0) { // if this cloudlet is in the exec queue
@@ -851,6 +832,7 @@ public class Datacenter extends SimEntity {
 	protected void processCloudletPause(int cloudletId, int userId, int vmId, boolean ack) {
 		boolean status = getVmAllocationPolicy().getHost(vmId, userId).getVm(vmId,userId)
 				.getCloudletScheduler().cloudletPause(cloudletId);
+		markHostChanged(getVmAllocationPolicy().getHost(vmId, userId));
 
 		if (ack) {
 			int[] data = new int[3];
@@ -878,6 +860,7 @@ public class Datacenter extends SimEntity {
 	protected void processCloudletCancel(int cloudletId, int userId, int vmId) {
 		Cloudlet cl = getVmAllocationPolicy().getHost(vmId, userId).getVm(vmId,userId)
 				.getCloudletScheduler().cloudletCancel(cloudletId);
+		markHostChanged(getVmAllocationPolicy().getHost(vmId, userId));
 		sendNow(userId, CloudSimTags.CLOUDLET_CANCEL, cl);
 	}
 
@@ -892,22 +875,31 @@ public class Datacenter extends SimEntity {
 	protected void updateCloudletProcessing() {
 		// if some time passed since last processing
 		// R: for term is to allow loop at simulation start. Otherwise, one initial
-		// simulation step is skipped and schedulers are not properly initialized
-		if (CloudSim.clock() < 0.111 || CloudSim.clock() > getLastProcessTime() + CloudSim.getMinTimeBetweenEvents()) {
+		// simulation step is skipped and schedulers are not properly initialized.
+		// With time-indexed scheduling, the changed hosts are always updated, as they
+		// may not have been updated at the last processing time. With exact completion
+		// times, only the updates at the same time are skipped
+		double minTimeBetweenUpdates = CloudSim.isExactCompletionTimes() ? 0.0 : CloudSim.getMinTimeBetweenEvents();
+		if (isTimeIndexedScheduling() || CloudSim.clock() < 0.111
+				|| CloudSim.clock() > getLastProcessTime() + minTimeBetweenUpdates) {
 			List<? extends Host> list = getVmAllocationPolicy().getHostList();
 			double smallerTime = Double.MAX_VALUE;
-			// for each host...
-			for (int i = 0; i < list.size(); i++) {
-				Host host = list.get(i);
-				// inform VMs to update processing
-				double time = host.updateVmsProcessing(CloudSim.clock());
-				// what time do we expect that the next cloudlet will finish?
-				if (time < smallerTime) {
-					smallerTime = time;
+			if (isTimeIndexedScheduling()) {
+				smallerTime = updateIndexedHostsProcessing();
+			} else {
+				// inform VMs of each host to update processing
+				double[] times = updateHostsProcessing(list);
+				for (int i = 0; i < times.length; i++) {
+					// what time do we expect that the next cloudlet will finish?
+					if (times[i] < smallerTime) {
+						smallerTime = times[i];
+					}
 				}
 			}
 			// gurantees a minimal interval before scheduling the event
-			if (smallerTime < CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01) {
+			if (CloudSim.isExactCompletionTimes()) {
+				smallerTime = Math.max(smallerTime, CloudSim.clock());
+			} else if (smallerTime < CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01) {
 				smallerTime = CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01;
 			}
 			if (smallerTime != Double.MAX_VALUE) {
@@ -926,19 +918,136 @@ public class Datacenter extends SimEntity {
 	 */
 	protected void checkCloudletCompletion() {
 		List<? extends Host> list = getVmAllocationPolicy().getHostList();
-		for (int i = 0; i < list.size(); i++) {
-			Host host = list.get(i);
-			for (Vm vm : host.getVmList()) {
-				while (vm.getCloudletScheduler().isFinishedCloudlets()) {
-					Cloudlet cl = vm.getCloudletScheduler().getNextFinishedCloudlet();
-					if (cl != null) {
-						sendNow(cl.getUserId(), CloudSimTags.CLOUDLET_RETURN, cl);
-					}
+		if (isTimeIndexedScheduling()) {
+			// only the hosts updated since the last check may have finished cloudlets
+			getHostCompletionIndex();
+			for (int i = updatedHosts.nextSetBit(0); i >= 0; i = updatedHosts.nextSetBit(i + 1)) {
+				checkCloudletCompletion(list.get(i));
+			}
+			updatedHosts.clear();
+		} else {
+			for (int i = 0; i < list.size(); i++) {
+				checkCloudletCompletion(list.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Sends the finished cloudlets of the VMs of a host to their User/Broker.
+	 * 
+	 * @param host the host
+	 */
+	protected void checkCloudletCompletion(Host host) {
+		for (Vm vm : host.getVmList()) {
+			while (vm.getCloudletScheduler().isFinishedCloudlets()) {
+				Cloudlet cl = vm.getCloudletScheduler().getNextFinishedCloudlet();
+				if (cl != null) {
+					sendNow(cl.getUserId(), CloudSimTags.CLOUDLET_RETURN, cl);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Updates the processing of the hosts whose VMs or cloudlets changed, or whose next cloudlet
+	 * completion is due, when time-indexed scheduling is used.
+	 * 
+	 * @return the expected time of the next cloudlet completion in the datacenter, or
+	 *         <tt>Double.MAX_VALUE</tt> if no host was updated
+	 */
+	private double updateIndexedHostsProcessing() {
+		CompletionIndex index = getHostCompletionIndex();
+		List<? extends Host> list = getVmAllocationPolicy().getHostList();
+		BitSet hosts = index.pollElementsToUpdate(CloudSim.clock());
+		List<Host> hostsToUpdate = new ArrayList<Host>(hosts.cardinality());
+		for (int i = hosts.nextSetBit(0); i >= 0; i = hosts.nextSetBit(i + 1)) {
+			hostsToUpdate.add(list.get(i));
+		}
+		double[] times = updateHostsProcessing(hostsToUpdate);
+		for (int i = hosts.nextSetBit(0), j = 0; i >= 0; i = hosts.nextSetBit(i + 1), j++) {
+			index.setCompletionTime(i, times[j]);
+		}
+		updatedHosts.or(hosts);
+		// if no host was updated, the next completion has already been scheduled
+		return hosts.isEmpty() ? Double.MAX_VALUE : index.getNextCompletionTime();
+	}
+
+	/**
+	 * Updates the processing of the VMs of some hosts, in parallel if there are at least
+	 * {@link CloudSim#getParallelUpdateThreshold()} of them and all of them
+	 * {@link Host#isUpdatableInParallel() can be updated in parallel}.
+	 * 
+	 * @param hosts the hosts
+	 * @return the expected time of the next cloudlet completion of each host
+	 */
+	protected double[] updateHostsProcessing(List<? extends Host> hosts) {
+		final double currentTime = CloudSim.clock();
+		return new ParallelUpdate<Host>() {
+
+			@Override
+			protected double update(Host host) {
+				return host.updateVmsProcessing(currentTime);
+			}
+
+			@Override
+			protected boolean isParallelSafe(Host host) {
+				return host.isUpdatableInParallel();
+			}
+
+		}.run(hosts);
+	}
+
+	/**
+	 * Gets the index of the hosts used by time-indexed scheduling, creating it if needed. A new
+	 * index has all the hosts marked as changed.
+	 * 
+	 * @return the index of the hosts
+	 */
+	private CompletionIndex getHostCompletionIndex() {
+		if (hostCompletionIndex == null) {
+			hostCompletionIndex = new CompletionIndex(getVmAllocationPolicy().getHostList().size());
+			hostCompletionIndex.markAllChanged();
+			updatedHosts = new BitSet();
+		}
+		return hostCompletionIndex;
+	}
+
+	/**
+	 * Records that the VMs or the cloudlets of a host have changed, so that the host is updated
+	 * by the next {@link #updateCloudletProcessing()} when time-indexed scheduling is used. A
+	 * subclass that changes the VMs or the cloudlets of a host outside of the methods of this
+	 * class has to call it.
+	 * 
+	 * @param host the host, or <tt>null</tt>
+	 * @see #setTimeIndexedScheduling(boolean)
+	 */
+	protected void markHostChanged(Host host) {
+		if (isTimeIndexedScheduling() && host != null) {
+			int index = getHostIndex(host);
+			if (index >= 0) {
+				getHostCompletionIndex().markChanged(index);
+			}
+		}
+	}
+
+	/**
+	 * Gets the position of a host in the host list of the vm allocation policy.
+	 * 
+	 * @param host the host
+	 * @return the position of the host, or -1 if it is not a host of this datacenter
+	 */
+	protected int getHostIndex(Host host) {
+		if (hostIndexes == null) {
+			List<? extends Host> list = getVmAllocationPolicy().getHostList();
+			hostIndexes = new HashMap<Host, Integer>();
+			for (int i = 0; i < list.size(); i++) {
+				hostIndexes.put(list.get(i), i);
+			}
+		}
+		Integer index = hostIndexes.get(host);
+		return index == null ? -1 : index;
+	}
+
 	/**
 	 * Adds a file into the resource's storage before the experiment starts. 
          * If the file is a master file, then it will be registered to the RC 
@@ -1123,6 +1232,8 @@ public class Datacenter extends SimEntity {
 	 */
 	protected void setVmAllocationPolicy(VmAllocationPolicy vmAllocationPolicy) {
 		this.vmAllocationPolicy = vmAllocationPolicy;
+		hostIndexes = null;
+		hostCompletionIndex = null;
 	}
 
 	/**
@@ -1198,4 +1309,38 @@ public class Datacenter extends SimEntity {
 		this.schedulingInterval = schedulingInterval;
 	}
 
+	/**
+	 * Checks if the processing of the cloudlets is time-indexed.
+	 * 
+	 * @return <tt>true</tt> if time-indexed scheduling is used, <tt>false</tt> otherwise
+	 * @see #setTimeIndexedScheduling(boolean)
+	 */
+	public boolean isTimeIndexedScheduling() {
+		return timeIndexedScheduling;
+	}
+
+	/**
+	 * Sets if the processing of the cloudlets is time-indexed. By default, each
+	 * {@link #updateCloudletProcessing()} updates all the hosts, and each
+	 * {@link #checkCloudletCompletion()} looks at all their VMs. With time-indexed scheduling,
+	 * the datacenter keeps the hosts whose VMs or cloudlets changed, and a heap of the next
+	 * cloudlet completion time of each host: only these hosts and the hosts whose completion is
+	 * due are updated, and only the updated hosts are checked for finished cloudlets. The cost
+	 * of processing an event then depends on the number of active hosts, instead of the size
+	 * of the datacenter.
+	 * <p>
+	 * The cloudlets of a host are then only updated when they change or when one of them
+	 * finishes, so time-indexed scheduling should not be used with hosts or cloudlets whose
+	 * processing depends on the updates in between, such as utilization models sampled at each
+	 * update, or hosts exchanging packets. It applies to the implementations of
+	 * {@link #updateCloudletProcessing()} and {@link #checkCloudletCompletion()} of this class.
+	 * 
+	 * @param timeIndexedScheduling <tt>true</tt> to use time-indexed scheduling
+	 */
+	public void setTimeIndexedScheduling(boolean timeIndexedScheduling) {
+		this.timeIndexedScheduling = timeIndexedScheduling;
+		hostCompletionIndex = null;
+		updatedHosts = null;
+	}
+
 }
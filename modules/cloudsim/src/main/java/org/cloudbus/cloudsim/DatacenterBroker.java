@@ -19,6 +19,7 @@ import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEntity;
 import org.cloudbus.cloudsim.core.SimEvent;
 import org.cloudbus.cloudsim.lists.CloudletList;
+import org.cloudbus.cloudsim.lists.ModificationCountingList;
 import org.cloudbus.cloudsim.lists.VmList;
 
 /**
@@ -31,6 +32,8 @@ import org.cloudbus.cloudsim.lists.VmList;
  */
 public class DatacenterBroker extends SimEntity {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The list of VMs submitted to be managed by the broker. */
 	protected List<? extends Vm> vmList;
 
@@ -75,6 +78,24 @@ public class DatacenterBroker extends SimEntity {
          * is a datacenter id and each value is its characteristics.. */
 	protected Map<Integer, DatacenterCharacteristics> datacenterCharacteristicsList;
 
+	/** The VMs of {@link #vmList} by id, or <tt>null</tt> if it has to be created again. */
+	private Map<Integer, Vm> vmsById;
+
+	/** The modification count of {@link #vmList} when {@link #vmsById} was created. */
+	private long vmsByIdModifications;
+
+	/** The VMs of {@link #vmsCreatedList} by id, or <tt>null</tt> if it has to be created again. */
+	private Map<Integer, Vm> vmsCreatedById;
+
+	/** The modification count of {@link #vmsCreatedList} when {@link #vmsCreatedById} was created. */
+	private long vmsCreatedByIdModifications;
+
+	/** The cloudlets of {@link #cloudletList} by id, or <tt>null</tt> if it has to be created again. */
+	private Map<Integer, Cloudlet> cloudletsById;
+
+	/** The modification count of {@link #cloudletList} when {@link #cloudletsById} was created. */
+	private long cloudletsByIdModifications;
+
 	/**
 	 * Created a new DatacenterBroker object.
 	 * 
@@ -86,9 +107,9 @@ public class DatacenterBroker extends SimEntity {
 	public DatacenterBroker(String name) throws Exception {
 		super(name);
 
-		setVmList(new ArrayList<Vm>());
-		setVmsCreatedList(new ArrayList<Vm>());
-		setCloudletList(new ArrayList<Cloudlet>());
+		setVmList(new ModificationCountingList<Vm>());
+		setVmsCreatedList(new ModificationCountingList<Vm>());
+		setCloudletList(new ModificationCountingList<Cloudlet>());
 		setCloudletSubmittedList(new ArrayList<Cloudlet>());
 		setCloudletReceivedList(new ArrayList<Cloudlet>());
 
@@ -101,6 +122,20 @@ public class DatacenterBroker extends SimEntity {
 		setDatacenterRequestedIdsList(new ArrayList<Integer>());
 		setVmsToDatacentersMap(new HashMap<Integer, Integer>());
 		setDatacenterCharacteristicsList(new HashMap<Integer, DatacenterCharacteristics>());
+
+		// Resource characteristics request
+		registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST,
+				(DatacenterBroker broker, SimEvent ev) -> broker.processResourceCharacteristicsRequest(ev));
+		// Resource characteristics answer
+		registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS,
+				(DatacenterBroker broker, SimEvent ev) -> broker.processResourceCharacteristics(ev));
+		// VM Creation answer
+		registerHandler(CloudSimTags.VM_CREATE_ACK, (DatacenterBroker broker, SimEvent ev) -> broker.processVmCreate(ev));
+		// A finished cloudlet returned
+		registerHandler(CloudSimTags.CLOUDLET_RETURN,
+				(DatacenterBroker broker, SimEvent ev) -> broker.processCloudletReturn(ev));
+		// if the simulation finishes
+		registerHandler(CloudSimTags.END_OF_SIMULATION, (DatacenterBroker broker, SimEvent ev) -> broker.shutdownEntity());
 	}
 
 	/**
@@ -143,36 +178,14 @@ public class DatacenterBroker extends SimEntity {
 	 * @post $none
 	 */
 	public void bindCloudletToVm(int cloudletId, int vmId) {
-		CloudletList.getById(getCloudletList(), cloudletId).setVmId(vmId);
+		CloudletList.getById(getCloudletsById(), cloudletId).setVmId(vmId);
 	}
 
 	@Override
 	public void processEvent(SimEvent ev) {
-		switch (ev.getTag()) {
-		// Resource characteristics request
-			case CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST:
-				processResourceCharacteristicsRequest(ev);
-				break;
-			// Resource characteristics answer
-			case CloudSimTags.RESOURCE_CHARACTERISTICS:
-				processResourceCharacteristics(ev);
-				break;
-			// VM Creation answer
-			case CloudSimTags.VM_CREATE_ACK:
-				processVmCreate(ev);
-				break;
-			// A finished cloudlet returned
-			case CloudSimTags.CLOUDLET_RETURN:
-				processCloudletReturn(ev);
-				break;
-			// if the simulation finishes
-			case CloudSimTags.END_OF_SIMULATION:
-				shutdownEntity();
-				break;
+		if (!dispatchEvent(ev)) {
 			// other unknown tags are processed by this method
-			default:
-				processOtherEvent(ev);
-				break;
+			processOtherEvent(ev);
 		}
 	}
 
@@ -227,10 +240,10 @@ public class DatacenterBroker extends SimEntity {
 
 		if (result == CloudSimTags.TRUE) {
 			getVmsToDatacentersMap().put(vmId, datacenterId);
-			getVmsCreatedList().add(VmList.getById(getVmList(), vmId));
+			addCreatedVm(VmList.getById(getVmsById(), vmId));
 			Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": VM #", vmId,
 					" has been created in Datacenter #", datacenterId, ", Host #",
-					VmList.getById(getVmsCreatedList(), vmId).getHost().getId());
+					VmList.getById(getVmsCreatedById(), vmId).getHost().getId());
 		} else {
 			Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": Creation of VM #", vmId,
 					" failed in Datacenter #", datacenterId);
@@ -294,15 +307,16 @@ public class DatacenterBroker extends SimEntity {
 
 	/**
 	 * Process non-default received events that aren't processed by
-         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method.
-         * This method should be overridden by subclasses in other to process
-         * new defined events.
+         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method,
+         * as no handler is {@link #registerHandler(int, org.cloudbus.cloudsim.core.SimEventHandler) registered}
+         * for their tag. Subclasses should rather register handlers for the
+         * events they define. The first event of each unknown tag is
+         * {@link #reportUnknownEvent(SimEvent, Class) reported}, unless a subclass
+         * overrides this method, as it may process the event after calling it.
 	 * 
 	 * @param ev a SimEvent object
 	 * @pre ev != null
 	 * @post $none
-         * @todo to ensure the method will be overridden, it should be defined 
-         * as abstract in a super class from where new brokers have to be extended.
 	 */
 	protected void processOtherEvent(SimEvent ev) {
 		if (ev == null) {
@@ -310,7 +324,7 @@ public class DatacenterBroker extends SimEntity {
 			return;
 		}
 
-		Log.printConcatLine(getName(), ".processOtherEvent(): Error - event unknown by this DatacenterBroker.");
+		reportUnknownEvent(ev, DatacenterBroker.class);
 	}
 
 	/**
@@ -349,19 +363,20 @@ public class DatacenterBroker extends SimEntity {
 	 */
 	protected void submitCloudlets() {
 		int vmIndex = 0;
-		List<Cloudlet> successfullySubmitted = new ArrayList<Cloudlet>();
+		List<Cloudlet> postponed = new ArrayList<Cloudlet>();
 		for (Cloudlet cloudlet : getCloudletList()) {
 			Vm vm;
 			// if user didn't bind this cloudlet and it has not been executed yet
 			if (cloudlet.getVmId() == -1) {
 				vm = getVmsCreatedList().get(vmIndex);
 			} else { // submit to the specific vm
-				vm = VmList.getById(getVmsCreatedList(), cloudlet.getVmId());
+				vm = VmList.getById(getVmsCreatedById(), cloudlet.getVmId());
 				if (vm == null) { // vm was not created
 					if(!Log.isDisabled()) {				    
 					    Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": Postponing execution of cloudlet ",
 							cloudlet.getCloudletId(), ": bount VM not available");
 					}
+					postponed.add(cloudlet);
 					continue;
 				}
 			}
@@ -376,11 +391,13 @@ public class DatacenterBroker extends SimEntity {
 			cloudletsSubmitted++;
 			vmIndex = (vmIndex + 1) % getVmsCreatedList().size();
 			getCloudletSubmittedList().add(cloudlet);
-			successfullySubmitted.add(cloudlet);
 		}
 
-		// remove submitted cloudlets from waiting list
-		getCloudletList().removeAll(successfullySubmitted);
+		// keep only the postponed cloudlets in the waiting list
+		if (postponed.size() < getCloudletList().size()) {
+			getCloudletList().clear();
+			getCloudletList().addAll(postponed);
+		}
 	}
 
 	/**
@@ -398,6 +415,88 @@ public class DatacenterBroker extends SimEntity {
 		getVmsCreatedList().clear();
 	}
 
+	/**
+	 * Adds a VM to the list of created VMs.
+	 * 
+	 * @param vm the VM
+	 */
+	protected void addCreatedVm(Vm vm) {
+		Map<Integer, Vm> index = getVmsCreatedById();
+		getVmsCreatedList().add(vm);
+		// the index is updated in place if the VM was the only change of the list
+		long modifications = ModificationCountingList.getModifications(getVmsCreatedList());
+		if (modifications == vmsCreatedByIdModifications + 1) {
+			if (!index.containsKey(vm.getId())) {
+				index.put(vm.getId(), vm);
+			}
+			vmsCreatedByIdModifications = modifications;
+		}
+	}
+
+	/**
+	 * Removes a VM from the list of created VMs.
+	 * 
+	 * @param vm the VM
+	 */
+	protected void removeCreatedVm(Vm vm) {
+		getVmsCreatedList().remove(vm);
+	}
+
+	/**
+	 * Gets the VMs of the {@link #getVmList() vm list} by id. The index is kept until the list
+	 * changes. A list that is not a {@link ModificationCountingList} is indexed again on each call.
+	 * When several VMs have the same id, the first one is indexed.
+	 * 
+	 * @param <T> the generic type
+	 * @return the VMs by id
+	 * @see VmList#getById(java.util.Map, int)
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T extends Vm> Map<Integer, T> getVmsById() {
+		long modifications = ModificationCountingList.getModifications(getVmList());
+		if (vmsById == null || modifications < 0 || modifications != vmsByIdModifications) {
+			vmsById = VmList.<Vm> indexById(getVmList());
+			vmsByIdModifications = modifications;
+		}
+		return (Map<Integer, T>) vmsById;
+	}
+
+	/**
+	 * Gets the VMs of the {@link #getVmsCreatedList() created vm list} by id. The index is kept
+	 * until the list changes, and {@link #addCreatedVm(Vm)} updates it in place.
+	 * 
+	 * @param <T> the generic type
+	 * @return the created VMs by id
+	 * @see VmList#getById(java.util.Map, int)
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T extends Vm> Map<Integer, T> getVmsCreatedById() {
+		long modifications = ModificationCountingList.getModifications(getVmsCreatedList());
+		if (vmsCreatedById == null || modifications < 0 || modifications != vmsCreatedByIdModifications) {
+			vmsCreatedById = VmList.<Vm> indexById(getVmsCreatedList());
+			vmsCreatedByIdModifications = modifications;
+		}
+		return (Map<Integer, T>) vmsCreatedById;
+	}
+
+	/**
+	 * Gets the cloudlets of the {@link #getCloudletList() cloudlet list} by id. The index is
+	 * kept until the list changes, as for {@link #getVmsById()}.
+	 * 
+	 * @param <T> the generic type
+	 * @return the cloudlets by id
+	 * @see CloudletList#getById(java.util.Map, int)
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T extends Cloudlet> Map<Integer, T> getCloudletsById() {
+		long modifications = ModificationCountingList.getModifications(getCloudletList());
+		if (cloudletsById == null || modifications < 0 || modifications != cloudletsByIdModifications) {
+			cloudletsById = CloudletList.<Cloudlet> indexById(getCloudletList());
+			cloudletsByIdModifications = modifications;
+		}
+		return (Map<Integer, T>) cloudletsById;
+	}
+
 	/**
 	 * Send an internal event communicating the end of the simulation.
 	 * 
@@ -438,6 +537,7 @@ public class DatacenterBroker extends SimEntity {
 	 */
 	protected <T extends Vm> void setVmList(List<T> vmList) {
 		this.vmList = vmList;
+		vmsById = null;
 	}
 
 	/**
@@ -459,6 +559,7 @@ public class DatacenterBroker extends SimEntity {
 	 */
 	protected <T extends Cloudlet> void setCloudletList(List<T> cloudletList) {
 		this.cloudletList = cloudletList;
+		cloudletsById = null;
 	}
 
 	/**
@@ -522,6 +623,7 @@ public class DatacenterBroker extends SimEntity {
 	 */
 	protected <T extends Vm> void setVmsCreatedList(List<T> vmsCreatedList) {
 		this.vmsCreatedList = vmsCreatedList;
+		vmsCreatedById = null;
 	}
 
 	/**
@@ -30,6 +30,8 @@ import org.cloudbus.cloudsim.distributions.ContinuousDistribution;
  */
 public class HarddriveStorage implements Storage {
 
+	private static final long serialVersionUID = 1L;
+
 	/** A list storing the names of all files on the hard drive. */
 	private List<String> nameList;
 
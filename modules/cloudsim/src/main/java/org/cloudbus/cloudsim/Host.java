@@ -7,6 +7,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,7 +26,9 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
  */
-public class Host {
+public class Host implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** The id of the host. */
 	private int id;
@@ -99,6 +102,7 @@ public class Host {
          * The current method returns {@link Double#MAX_VALUE}  while the other ones
          * return 0. It has to be checked if there is a reason for this
          * difference.}
+	 * @see #isUpdatableInParallel()
 	 */
 	public double updateVmsProcessing(double currentTime) {
 		double smallerTime = Double.MAX_VALUE;
@@ -114,6 +118,18 @@ public class Host {
 		return smallerTime;
 	}
 
+	/**
+	 * Checks if the host can be updated at the same time as the other hosts of its datacenter,
+	 * by a thread other than the simulation thread. This requires the updates of the host to
+	 * change only the state of the host, its VMs and their schedulers, and not to send events.
+	 * 
+	 * @return true if the host can be updated in parallel
+	 * @see org.cloudbus.cloudsim.core.ParallelUpdate
+	 */
+	public boolean isUpdatableInParallel() {
+		return true;
+	}
+
 	/**
 	 * Adds a VM migrating into the current host.
 	 * 
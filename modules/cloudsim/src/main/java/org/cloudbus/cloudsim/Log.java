@@ -11,9 +11,12 @@ package org.cloudbus.cloudsim;
 import java.io.IOException;
 import java.io.OutputStream;
 
+import org.cloudbus.cloudsim.core.SimulationContext;
+
 /**
  * Logger used for performing logging of the simulation process. It provides the ability to
- * substitute the output stream by any OutputStream subclass.
+ * substitute the output stream by any OutputStream subclass. The output stream and the
+ * disabled flag are kept by the {@link SimulationContext} bound to the calling thread.
  * 
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 2.0
@@ -25,16 +28,6 @@ public class Log {
 	/** The Constant LINE_SEPARATOR. */
 	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
-	/** The stream where the log will the outputted. */
-	private static OutputStream output;
-
-	/** Indicates if the logger is disabled or not. If set to true,
-         the call for any print method has no effect. */
-	private static boolean disabled;
-	
-	/** Buffer to avoid creating new string builder upon every print. */
-	private static StringBuilder buffer = new StringBuilder();		    
-
 	/**
 	 * Prints a message.
 	 * 
@@ -89,6 +82,7 @@ public class Log {
 	 */
 	public static void printConcat(Object... messages) {
 		if (!isDisabled()) {
+			StringBuilder buffer = SimulationContext.current().getLogBuffer();
 			buffer.setLength(0); // Clear the buffer		    
 			for(int i = 0 ; i < messages.length ; i ++) {
 				buffer.append(String.valueOf(messages[i]));
@@ -104,6 +98,7 @@ public class Log {
 	 */
 	public static void printConcatLine(Object... messages) {
 		if (!isDisabled()) {
+			StringBuilder buffer = SimulationContext.current().getLogBuffer();
 			buffer.setLength(0); // Clear the buffer		    
 			for(int i = 0 ; i < messages.length ; i ++) {
 				buffer.append(String.valueOf(messages[i]));
@@ -157,7 +152,7 @@ public class Log {
 	 * @param _output the new output
 	 */
 	public static void setOutput(OutputStream _output) {
-		output = _output;
+		SimulationContext.current().setLogOutput(_output);
 	}
 
 	/**
@@ -166,10 +161,48 @@ public class Log {
 	 * @return the output
 	 */
 	public static OutputStream getOutput() {
-		if (output == null) {
-			setOutput(System.out);
+		SimulationContext context = SimulationContext.current();
+		if (context.getLogOutput() == null) {
+			context.setLogOutput(System.out);
+		}
+		return context.getLogOutput();
+	}
+
+	/**
+	 * Prints a line of the allocation traces, such as the VM and vgpu allocations of the GPU
+	 * datacenters. The traces are written whether the log is disabled or not, and are kept in
+	 * the order of a sequential simulation like the messages of the log.
+	 * 
+	 * @param message the message
+	 */
+	public static void printTraceLine(String message) {
+		try {
+			getTraceOutput().write((message + LINE_SEPARATOR).getBytes());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Sets the output stream of the allocation traces.
+	 * 
+	 * @param _output the new output
+	 */
+	public static void setTraceOutput(OutputStream _output) {
+		SimulationContext.current().setTraceOutput(_output);
+	}
+
+	/**
+	 * Gets the output stream of the allocation traces. By default, it is the standard output.
+	 * 
+	 * @return the output
+	 */
+	public static OutputStream getTraceOutput() {
+		SimulationContext context = SimulationContext.current();
+		if (context.getTraceOutput() == null) {
+			context.setTraceOutput(System.out);
 		}
-		return output;
+		return context.getTraceOutput();
 	}
 
 	/**
@@ -178,7 +211,7 @@ public class Log {
 	 * @param _disabled the new disabled
 	 */
 	public static void setDisabled(boolean _disabled) {
-		disabled = _disabled;
+		SimulationContext.current().setLogDisabled(_disabled);
 	}
 
 	/**
@@ -187,7 +220,7 @@ public class Log {
 	 * @return true, if is disable
 	 */
 	public static boolean isDisabled() {
-		return disabled;
+		return SimulationContext.current().isLogDisabled();
 	}
 
 	/**
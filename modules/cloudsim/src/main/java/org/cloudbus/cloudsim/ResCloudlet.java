@@ -8,6 +8,8 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.core.CloudSim;
 
 /**
@@ -24,7 +26,15 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @author Rajkumar Buyya
  * @since CloudSim Toolkit 1.0
  */
-public class ResCloudlet {
+public class ResCloudlet implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The number of instructions that may remain when a cloudlet finishes at its exact completion
+	 * time, since the progress of each update is rounded down.
+	 */
+	private static final long EXACT_COMPLETION_TOLERANCE = 1000;
 
 	/** The Cloudlet object. */
 	private final Cloudlet cloudlet;
@@ -446,6 +456,31 @@ public class ResCloudlet {
 		return (long) Math.floor(length / Consts.MILLION);
 	}
 
+	/**
+	 * Gets the remaining cloudlet length that has to be execute yet, without rounding it down to
+	 * a whole MI as {@link #getRemainingCloudletLength()} does.
+	 * 
+	 * @return cloudlet length, in MI
+	 */
+	public double getExactRemainingCloudletLength() {
+		long length = cloudlet.getCloudletTotalLength() * Consts.MILLION - cloudletFinishedSoFar;
+		return length < 0 ? 0.0 : (double) length / Consts.MILLION;
+	}
+
+	/**
+	 * Checks if the cloudlet length has been executed, that is if less than one MI remains. With
+	 * {@link CloudSim#isExactCompletionTimes() exact completion times}, only the instructions
+	 * lost when rounding the progress of each update may remain.
+	 * 
+	 * @return true if the cloudlet has no length left to execute
+	 */
+	public boolean isExecuted() {
+		if (CloudSim.isExactCompletionTimes()) {
+			return cloudlet.getCloudletTotalLength() * Consts.MILLION - cloudletFinishedSoFar < EXACT_COMPLETION_TOLERANCE;
+		}
+		return getRemainingCloudletLength() == 0;
+	}
+
 	/**
 	 * Finalizes all relevant information before <tt>exiting</tt> the CloudResource entity. This
 	 * method sets the final data of:
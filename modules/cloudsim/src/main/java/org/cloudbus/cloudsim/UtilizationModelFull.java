@@ -17,6 +17,8 @@ package org.cloudbus.cloudsim;
  */
 public class UtilizationModelFull implements UtilizationModel {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Gets the utilization percentage of a given resource
          * in relation to the total capacity of that resource allocated
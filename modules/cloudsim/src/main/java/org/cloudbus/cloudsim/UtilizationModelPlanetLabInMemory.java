@@ -10,6 +10,8 @@ import java.io.IOException;
  * datacenter trace file.
  */
 public class UtilizationModelPlanetLabInMemory implements UtilizationModel {
+
+	private static final long serialVersionUID = 1L;
 	
 	/** The scheduling interval. */
 	private double schedulingInterval;
@@ -7,6 +7,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -20,7 +21,9 @@ import java.util.List;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
  */
-public class Vm {
+public class Vm implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** The VM unique id. */
 	private int id;
@@ -271,6 +274,29 @@ public class Vm {
 		return userId + "-" + vmId;
 	}
 
+	/**
+	 * Gets the key of the VM, which identifies it as its {@link #getUid() uid} does, but
+	 * without building a string.
+	 * 
+	 * @return the key of the VM
+	 * @see org.cloudbus.cloudsim.util.VmKeyMap
+	 */
+	public long getKey() {
+		return getKey(getUserId(), getId());
+	}
+
+	/**
+	 * Generates the key of a VM, packing the user id in the high 32 bits and the VM id in the
+	 * low 32 bits of a long.
+	 * 
+	 * @param userId the user id
+	 * @param vmId the vm id
+	 * @return the key of the VM
+	 */
+	public static long getKey(int userId, int vmId) {
+		return (long) userId << 32 | vmId & 0xFFFFFFFFL;
+	}
+
 	/**
 	 * Gets the VM id.
 	 * 
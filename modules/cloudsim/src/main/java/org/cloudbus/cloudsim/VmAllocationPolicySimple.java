@@ -9,11 +9,11 @@
 package org.cloudbus.cloudsim;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.util.VmKeyMap;
 
 /**
  * VmAllocationPolicySimple is an VmAllocationPolicy that chooses, as the host for a VM, the host
@@ -26,13 +26,15 @@ import org.cloudbus.cloudsim.core.CloudSim;
  */
 public class VmAllocationPolicySimple extends VmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The map between each VM and its allocated host.
-         * The map key is a VM UID and the value is the allocated host for that VM. */
-	private Map<String, Host> vmTable;
+         * The map key is a VM {@link Vm#getKey() key} and the value is the allocated host for that VM. */
+	private VmKeyMap<Host> vmTable;
 
 	/** The map between each VM and the number of Pes used. 
-         * The map key is a VM UID and the value is the number of used Pes for that VM. */
-	private Map<String, Integer> usedPes;
+         * The map key is a VM {@link Vm#getKey() key} and the value is the number of used Pes for that VM. */
+	private VmKeyMap<Integer> usedPes;
 
 	/** The number of free Pes for each host from {@link #getHostList() }. */
 	private List<Integer> freePes;
@@ -53,8 +55,8 @@ public class VmAllocationPolicySimple extends VmAllocationPolicy {
 
 		}
 
-		setVmTable(new HashMap<String, Host>());
-		setUsedPes(new HashMap<String, Integer>());
+		setVmHosts(new VmKeyMap<Host>());
+		setVmUsedPes(new VmKeyMap<Integer>());
 	}
 
 	/**
@@ -75,7 +77,7 @@ public class VmAllocationPolicySimple extends VmAllocationPolicy {
 			freePesTmp.add(freePes);
 		}
 
-		if (!getVmTable().containsKey(vm.getUid())) { // if this vm was not created
+		if (!getVmHosts().containsKey(vm.getKey())) { // if this vm was not created
 			do {// we still trying until we find a host or until we try all of them
 				int moreFree = Integer.MIN_VALUE;
 				int idx = -1;
@@ -92,8 +94,8 @@ public class VmAllocationPolicySimple extends VmAllocationPolicy {
 				result = host.vmCreate(vm);
 
 				if (result) { // if vm were succesfully created in the host
-					getVmTable().put(vm.getUid(), host);
-					getUsedPes().put(vm.getUid(), requiredPes);
+					getVmHosts().put(vm.getKey(), host);
+					getVmUsedPes().put(vm.getKey(), requiredPes);
 					getFreePes().set(idx, getFreePes().get(idx) - requiredPes);
 					result = true;
 					break;
@@ -110,9 +112,9 @@ public class VmAllocationPolicySimple extends VmAllocationPolicy {
 
 	@Override
 	public void deallocateHostForVm(Vm vm) {
-		Host host = getVmTable().remove(vm.getUid());
+		Host host = getVmHosts().remove(vm.getKey());
 		int idx = getHostList().indexOf(host);
-		int pes = getUsedPes().remove(vm.getUid());
+		int pes = getVmUsedPes().remove(vm.getKey());
 		if (host != null) {
 			host.vmDestroy(vm);
 			getFreePes().set(idx, getFreePes().get(idx) + pes);
@@ -121,48 +123,94 @@ public class VmAllocationPolicySimple extends VmAllocationPolicy {
 
 	@Override
 	public Host getHost(Vm vm) {
-		return getVmTable().get(vm.getUid());
+		return getVmHosts().get(vm.getKey());
 	}
 
 	@Override
 	public Host getHost(int vmId, int userId) {
-		return getVmTable().get(Vm.getUid(userId, vmId));
+		return getVmHosts().get(Vm.getKey(userId, vmId));
+	}
+
+	/**
+	 * Gets the host of each VM, by VM key.
+	 * 
+	 * @return the vm table
+	 */
+	public VmKeyMap<Host> getVmHosts() {
+		return vmTable;
+	}
+
+	/**
+	 * Sets the host of each VM, by VM key.
+	 * 
+	 * @param vmTable the vm table
+	 */
+	protected void setVmHosts(VmKeyMap<Host> vmTable) {
+		this.vmTable = vmTable;
 	}
 
 	/**
 	 * Gets the vm table.
 	 * 
 	 * @return the vm table
+	 * @deprecated use {@link #getVmHosts()}, which does not need VM uids; this is a view of it
 	 */
+	@Deprecated
 	public Map<String, Host> getVmTable() {
-		return vmTable;
+		return vmTable.asUidMap();
 	}
 
 	/**
 	 * Sets the vm table.
 	 * 
 	 * @param vmTable the vm table
+	 * @deprecated use {@link #setVmHosts(VmKeyMap)}; the entries of the given map are copied
 	 */
+	@Deprecated
 	protected void setVmTable(Map<String, Host> vmTable) {
-		this.vmTable = vmTable;
+		this.vmTable = new VmKeyMap<Host>();
+		this.vmTable.asUidMap().putAll(vmTable);
+	}
+
+	/**
+	 * Gets the number of PEs used by each VM, by VM key.
+	 * 
+	 * @return the used pes
+	 */
+	protected VmKeyMap<Integer> getVmUsedPes() {
+		return usedPes;
+	}
+
+	/**
+	 * Sets the number of PEs used by each VM, by VM key.
+	 * 
+	 * @param usedPes the used pes
+	 */
+	protected void setVmUsedPes(VmKeyMap<Integer> usedPes) {
+		this.usedPes = usedPes;
 	}
 
 	/**
 	 * Gets the used pes.
 	 * 
 	 * @return the used pes
+	 * @deprecated use {@link #getVmUsedPes()}, which does not need VM uids; this is a view of it
 	 */
+	@Deprecated
 	protected Map<String, Integer> getUsedPes() {
-		return usedPes;
+		return usedPes.asUidMap();
 	}
 
 	/**
 	 * Sets the used pes.
 	 * 
 	 * @param usedPes the used pes
+	 * @deprecated use {@link #setVmUsedPes(VmKeyMap)}; the entries of the given map are copied
 	 */
+	@Deprecated
 	protected void setUsedPes(Map<String, Integer> usedPes) {
-		this.usedPes = usedPes;
+		this.usedPes = new VmKeyMap<Integer>();
+		this.usedPes.asUidMap().putAll(usedPes);
 	}
 
 	/**
@@ -192,11 +240,11 @@ public class VmAllocationPolicySimple extends VmAllocationPolicy {
 	@Override
 	public boolean allocateHostForVm(Vm vm, Host host) {
 		if (host.vmCreate(vm)) { // if vm has been succesfully created in the host
-			getVmTable().put(vm.getUid(), host);
+			getVmHosts().put(vm.getKey(), host);
 
 			int requiredPes = vm.getNumberOfPes();
 			int idx = getHostList().indexOf(host);
-			getUsedPes().put(vm.getUid(), requiredPes);
+			getVmUsedPes().put(vm.getKey(), requiredPes);
 			getFreePes().set(idx, getFreePes().get(idx) - requiredPes);
 
 			Log.formatLine(
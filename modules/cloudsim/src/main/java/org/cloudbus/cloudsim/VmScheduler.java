@@ -7,6 +7,7 @@
 
 package org.cloudbus.cloudsim;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -20,12 +21,19 @@ import org.cloudbus.cloudsim.lists.PeList;
  * 
  * Each host has to use is own instance of a VmScheduler
  * that will so schedule the allocation of host's PEs for VMs running on it.
+ * <p>
+ * When the hosts of a datacenter are updated in parallel, the methods that only read the
+ * allocation, such as {@link #getAllocatedMipsForVm(Vm)}, are called by the thread that updates
+ * the host. They must not change the state of the scheduler, nor any state shared with the
+ * schedulers of the other hosts.
  * 
  * @author Rodrigo N. Calheiros
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
  */
-public abstract class VmScheduler {
+public abstract class VmScheduler implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** The PEs of the host where the scheduler is associated. */
 	private List<? extends Pe> peList;
@@ -82,6 +90,30 @@ public abstract class VmScheduler {
 	 */
 	public abstract boolean allocatePesForVm(Vm vm, List<Double> mipsShare);
 
+	/**
+	 * Checks if PEs could be allocated for a VM, without allocating them. Unlike
+	 * allocating and releasing them, the check does not change the allocation of
+	 * the other VMs. By default, each virtual PE of the VM must not require more
+	 * than the capacity of a physical PE, and the MIPS available in the host must
+	 * be enough for all of them.
+	 * 
+	 * @param vm the vm
+	 * @param mipsShare the list of MIPS share that would be allocated to the VM
+	 * @return $true if {@link #allocatePesForVm(Vm, List)} would allow the VM in the host,
+	 *         $false otherwise
+	 */
+	public boolean isSuitableForVm(Vm vm, List<Double> mipsShare) {
+		double totalRequestedMips = 0;
+		double peMips = getPeCapacity();
+		for (Double mips : mipsShare) {
+			if (mips > peMips) {
+				return false;
+			}
+			totalRequestedMips += mips;
+		}
+		return getAvailableMips() >= totalRequestedMips;
+	}
+
 	/**
 	 * Releases PEs allocated to a VM. After that, the PEs may be used
          * on demand by other VMs.
@@ -28,6 +28,8 @@ import java.util.Map;
  */
 public class VmSchedulerSpaceShared extends VmScheduler {
 
+	private static final long serialVersionUID = 1L;
+
 	/** A map between each VM and its allocated PEs, where the key is a VM ID and
          * the value a list of PEs allocated to VM. */
 	private Map<String, List<Pe>> peAllocationMap;
@@ -80,6 +82,31 @@ public class VmSchedulerSpaceShared extends VmScheduler {
 		return true;
 	}
 
+	@Override
+	public boolean isSuitableForVm(Vm vm, List<Double> mipsShare) {
+		if (getFreePes().size() < mipsShare.size()) {
+			return false;
+		}
+		if (mipsShare.isEmpty()) {
+			return true;
+		}
+
+		// the same selection of free PEs as allocatePesForVm, only counted
+		int selectedPes = 0;
+		Iterator<Pe> peIterator = getFreePes().iterator();
+		Pe pe = peIterator.next();
+		for (Double mips : mipsShare) {
+			if (mips <= pe.getMips()) {
+				selectedPes++;
+				if (!peIterator.hasNext()) {
+					break;
+				}
+				pe = peIterator.next();
+			}
+		}
+		return selectedPes >= mipsShare.size();
+	}
+
 	@Override
 	public void deallocatePesForVm(Vm vm) {
 		getFreePes().addAll(getPeAllocationMap().get(vm.getUid()));
@@ -26,6 +26,8 @@ import org.cloudbus.cloudsim.lists.PeList;
  */
 public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new vm scheduler time shared over subscription.
 	 * 
@@ -35,6 +37,19 @@ public class VmSchedulerTimeSharedOverSubscription extends VmSchedulerTimeShared
 		super(pelist);
 	}
 
+	/**
+	 * Checks if PEs could be allocated for a VM. As the policy allows over-subscription, they
+	 * always can.
+	 * 
+	 * @param vm the vm
+	 * @param mipsShare the list of mips share that would be allocated to the VM
+	 * @return true
+	 */
+	@Override
+	public boolean isSuitableForVm(Vm vm, List<Double> mipsShare) {
+		return true;
+	}
+
 	/**
 	 * Allocates PEs for vm. The policy allows over-subscription. In other words, the policy still
 	 * allows the allocation of VMs that require more CPU capacity than is available.
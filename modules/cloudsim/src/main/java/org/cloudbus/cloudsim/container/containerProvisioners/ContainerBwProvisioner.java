@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.container.containerProvisioners;
 
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.container.core.Container;
 
 /**
@@ -11,7 +13,9 @@ import org.cloudbus.cloudsim.container.core.Container;
  * @author Rodrigo N. Calheiros
  * @author Sareh Fotuhi Piraghaj
  */
-public abstract class ContainerBwProvisioner {
+public abstract class ContainerBwProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 
     /**
@@ -17,6 +17,9 @@ import org.cloudbus.cloudsim.container.core.Container;
  * @author Anton Beloglazov
  */
 public class ContainerBwProvisionerSimple extends ContainerBwProvisioner {
+
+	private static final long serialVersionUID = 1L;
+
     /**
      * The container Bw table.
      */
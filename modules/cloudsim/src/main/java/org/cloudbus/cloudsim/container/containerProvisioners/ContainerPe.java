@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.container.containerProvisioners;
 
+import java.io.Serializable;
+
 
 /**
  *
@@ -7,7 +9,9 @@ package org.cloudbus.cloudsim.container.containerProvisioners;
  */
 
 
-public class ContainerPe {
+public class ContainerPe implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * Denotes Pe is FREE for allocation.
@@ -1,11 +1,15 @@
 package org.cloudbus.cloudsim.container.containerProvisioners;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.cloudbus.cloudsim.container.core.Container;
 
 
-public abstract class ContainerPeProvisioner {
+public abstract class ContainerPeProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 	/** The mips. */
 	private double mips;
 
@@ -1,12 +1,16 @@
 package org.cloudbus.cloudsim.container.containerProvisioners;
 
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.container.core.Container;
 
 /**
  * This class takes care of the provisioning of Container's ram .
  * @author sareh
  */
-public abstract class ContainerRamProvisioner {
+public abstract class ContainerRamProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * The ram.
@@ -9,6 +9,9 @@ import org.cloudbus.cloudsim.container.core.Container;
  * @author sareh
  */
 public class ContainerRamProvisionerSimple extends ContainerRamProvisioner {
+
+	private static final long serialVersionUID = 1L;
+
     /**
      * The RAM table.
      */
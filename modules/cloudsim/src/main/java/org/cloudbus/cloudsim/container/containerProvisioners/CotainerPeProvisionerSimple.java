@@ -15,6 +15,8 @@ import org.cloudbus.cloudsim.container.core.Container;
  */
 public class CotainerPeProvisionerSimple extends ContainerPeProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The pe table.
      */
@@ -1,12 +1,16 @@
 package org.cloudbus.cloudsim.container.containerVmProvisioners;
 
 
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.container.core.ContainerVm;
 
 /**
  * Created by sareh on 10/07/15.
  */
-public abstract class ContainerVmBwProvisioner {
+public abstract class ContainerVmBwProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * The bw.
@@ -10,6 +10,8 @@ import java.util.Map;
  */
 public class ContainerVmBwProvisionerSimple extends ContainerVmBwProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The bw table.
      */
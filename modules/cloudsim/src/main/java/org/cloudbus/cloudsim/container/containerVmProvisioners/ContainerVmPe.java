@@ -1,10 +1,14 @@
 package org.cloudbus.cloudsim.container.containerVmProvisioners;
 
+import java.io.Serializable;
+
 
 /**
  * Created by sareh on 10/07/15.
  */
-public class ContainerVmPe {
+public class ContainerVmPe implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * Denotes Pe is FREE for allocation.
@@ -2,12 +2,15 @@ package org.cloudbus.cloudsim.container.containerVmProvisioners;
 
 import org.cloudbus.cloudsim.container.core.ContainerVm;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * Created by sareh on 10/07/15.
  */
-public abstract class ContainerVmPeProvisioner {
+public abstract class ContainerVmPeProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 
     /** The mips. */
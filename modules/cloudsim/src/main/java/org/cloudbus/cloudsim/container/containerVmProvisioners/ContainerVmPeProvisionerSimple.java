@@ -13,6 +13,8 @@ import java.util.Map;
  */
 public class ContainerVmPeProvisionerSimple extends ContainerVmPeProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
 
     /** The pe table. */
     private Map<String, List<Double>> peTable;
@@ -1,11 +1,15 @@
 package org.cloudbus.cloudsim.container.containerVmProvisioners;
 
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.container.core.ContainerVm;
 
 /**
  * Created by sareh on 10/07/15.
  */
-public abstract class ContainerVmRamProvisioner {
+public abstract class ContainerVmRamProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * The ram.
@@ -10,6 +10,8 @@ import java.util.Map;
  */
 public class ContainerVmRamProvisionerSimple extends ContainerVmRamProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The RAM table.
      */
@@ -4,6 +4,7 @@ import org.cloudbus.cloudsim.container.schedulers.ContainerCloudletScheduler;
 import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.util.MathUtil;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -11,7 +12,9 @@ import java.util.List;
 /**
  * Created by sareh on 9/07/15.
  */
-public class Container {
+public class Container implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * The id.
@@ -9,6 +9,9 @@ import java.util.List;
  * Created by sareh on 10/07/15.
  */
 public class ContainerCloudlet extends Cloudlet {
+
+	private static final long serialVersionUID = 1L;
+
     public int containerId = -1;
 
 
@@ -8,6 +8,7 @@ import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
 import org.cloudbus.cloudsim.core.SimEntity;
 import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.core.SimEventHandler;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -20,6 +21,8 @@ import java.util.Map;
  */
 public class ContainerDatacenter extends SimEntity {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The characteristics.
      */
@@ -116,6 +119,7 @@ public class ContainerDatacenter extends SimEntity {
 
         // stores id of this class
         getCharacteristics().setId(super.getId());
+        registerHandlers();
     }
 
     /**
@@ -129,158 +133,97 @@ public class ContainerDatacenter extends SimEntity {
         // empty. This should be override by a child class
     }
 
-    /**
-     * Processes events or services that are available for this PowerDatacenter.
-     *
-     * @param ev a Sim_event object
-     * @pre ev != null
-     * @post $none
-     */
     @Override
     public void processEvent(SimEvent ev) {
-        int srcId = -1;
-
-        switch (ev.getTag()) {
-            // Resource characteristics inquiry
-            case CloudSimTags.RESOURCE_CHARACTERISTICS:
-                srcId = ((Integer) ev.getData()).intValue();
-                sendNow(srcId, ev.getTag(), getCharacteristics());
-                break;
-
-            // Resource dynamic info inquiry
-            case CloudSimTags.RESOURCE_DYNAMICS:
-                srcId = ((Integer) ev.getData()).intValue();
-                sendNow(srcId, ev.getTag(), 0);
-                break;
-
-            case CloudSimTags.RESOURCE_NUM_PE:
-                srcId = ((Integer) ev.getData()).intValue();
-                int numPE = getCharacteristics().getNumberOfPes();
-                sendNow(srcId, ev.getTag(), numPE);
-                break;
-
-            case CloudSimTags.RESOURCE_NUM_FREE_PE:
-                srcId = ((Integer) ev.getData()).intValue();
-                int freePesNumber = getCharacteristics().getNumberOfFreePes();
-                sendNow(srcId, ev.getTag(), freePesNumber);
-                break;
-
-            // New Cloudlet arrives
-            case CloudSimTags.CLOUDLET_SUBMIT:
-                processCloudletSubmit(ev, false);
-                break;
-
-            // New Cloudlet arrives, but the sender asks for an ack
-            case CloudSimTags.CLOUDLET_SUBMIT_ACK:
-                processCloudletSubmit(ev, true);
-                break;
-
-            // Cancels a previously submitted Cloudlet
-            case CloudSimTags.CLOUDLET_CANCEL:
-                processCloudlet(ev, CloudSimTags.CLOUDLET_CANCEL);
-                break;
-
-            // Pauses a previously submitted Cloudlet
-            case CloudSimTags.CLOUDLET_PAUSE:
-                processCloudlet(ev, CloudSimTags.CLOUDLET_PAUSE);
-                break;
-
-            // Pauses a previously submitted Cloudlet, but the sender
-            // asks for an acknowledgement
-            case CloudSimTags.CLOUDLET_PAUSE_ACK:
-                processCloudlet(ev, CloudSimTags.CLOUDLET_PAUSE_ACK);
-                break;
-
-            // Resumes a previously submitted Cloudlet
-            case CloudSimTags.CLOUDLET_RESUME:
-                processCloudlet(ev, CloudSimTags.CLOUDLET_RESUME);
-                break;
-
-            // Resumes a previously submitted Cloudlet, but the sender
-            // asks for an acknowledgement
-            case CloudSimTags.CLOUDLET_RESUME_ACK:
-                processCloudlet(ev, CloudSimTags.CLOUDLET_RESUME_ACK);
-                break;
-
-            // Moves a previously submitted Cloudlet to a different resource
-            case CloudSimTags.CLOUDLET_MOVE:
-                processCloudletMove((int[]) ev.getData(), CloudSimTags.CLOUDLET_MOVE);
-                break;
-
-            // Moves a previously submitted Cloudlet to a different resource
-            case CloudSimTags.CLOUDLET_MOVE_ACK:
-                processCloudletMove((int[]) ev.getData(), CloudSimTags.CLOUDLET_MOVE_ACK);
-                break;
-
-            // Checks the status of a Cloudlet
-            case CloudSimTags.CLOUDLET_STATUS:
-                processCloudletStatus(ev);
-                break;
-
-            // Ping packet
-            case CloudSimTags.INFOPKT_SUBMIT:
-                processPingRequest(ev);
-                break;
-
-            case CloudSimTags.VM_CREATE:
-                processVmCreate(ev, false);
-                break;
-
-            case CloudSimTags.VM_CREATE_ACK:
-                processVmCreate(ev, true);
-                break;
-
-            case CloudSimTags.VM_DESTROY:
-                processVmDestroy(ev, false);
-                break;
-
-            case CloudSimTags.VM_DESTROY_ACK:
-                processVmDestroy(ev, true);
-                break;
-
-            case CloudSimTags.VM_MIGRATE:
-                processVmMigrate(ev, false);
-                break;
-
-            case CloudSimTags.VM_MIGRATE_ACK:
-                processVmMigrate(ev, true);
-                break;
-
-            case CloudSimTags.VM_DATA_ADD:
-                processDataAdd(ev, false);
-                break;
-
-            case CloudSimTags.VM_DATA_ADD_ACK:
-                processDataAdd(ev, true);
-                break;
-
-            case CloudSimTags.VM_DATA_DEL:
-                processDataDelete(ev, false);
-                break;
-
-            case CloudSimTags.VM_DATA_DEL_ACK:
-                processDataDelete(ev, true);
-                break;
-
-            case CloudSimTags.VM_DATACENTER_EVENT:
-                updateCloudletProcessing();
-                checkCloudletCompletion();
-                break;
-            case containerCloudSimTags.CONTAINER_SUBMIT:
-                processContainerSubmit(ev, true);
-                break;
-
-            case containerCloudSimTags.CONTAINER_MIGRATE:
-                processContainerMigrate(ev, false);
-                // other unknown tags are processed by this method
-                break;
-
-            default:
-                processOtherEvent(ev);
-                break;
+        if (!dispatchEvent(ev)) {
+            // other unknown tags are processed by this method
+            processOtherEvent(ev);
         }
     }
 
+    /**
+     * Registers the handlers of the events processed by every container datacenter.
+     */
+    private void registerHandlers() {
+        // Resource characteristics inquiry
+        registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.sendNow((Integer) ev.getData(), ev.getTag(),
+                        dc.getCharacteristics()));
+
+        // Resource dynamic info inquiry
+        registerHandler(CloudSimTags.RESOURCE_DYNAMICS,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.sendNow((Integer) ev.getData(), ev.getTag(), 0));
+
+        registerHandler(CloudSimTags.RESOURCE_NUM_PE, (ContainerDatacenter dc, SimEvent ev) -> dc
+                .sendNow((Integer) ev.getData(), ev.getTag(), dc.getCharacteristics().getNumberOfPes()));
+
+        registerHandler(CloudSimTags.RESOURCE_NUM_FREE_PE, (ContainerDatacenter dc, SimEvent ev) -> dc
+                .sendNow((Integer) ev.getData(), ev.getTag(), dc.getCharacteristics().getNumberOfFreePes()));
+
+        // New Cloudlet arrives
+        registerHandler(CloudSimTags.CLOUDLET_SUBMIT,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processCloudletSubmit(ev, false));
+
+        // New Cloudlet arrives, but the sender asks for an ack
+        registerHandler(CloudSimTags.CLOUDLET_SUBMIT_ACK,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processCloudletSubmit(ev, true));
+
+        // Cancels, pauses or resumes a previously submitted Cloudlet, with an
+        // acknowledgement to the sender for the _ACK tags
+        SimEventHandler<ContainerDatacenter> processCloudlet =
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processCloudlet(ev, ev.getTag());
+        registerHandler(CloudSimTags.CLOUDLET_CANCEL, processCloudlet);
+        registerHandler(CloudSimTags.CLOUDLET_PAUSE, processCloudlet);
+        registerHandler(CloudSimTags.CLOUDLET_PAUSE_ACK, processCloudlet);
+        registerHandler(CloudSimTags.CLOUDLET_RESUME, processCloudlet);
+        registerHandler(CloudSimTags.CLOUDLET_RESUME_ACK, processCloudlet);
+
+        // Moves a previously submitted Cloudlet to a different resource
+        SimEventHandler<ContainerDatacenter> processCloudletMove =
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processCloudletMove((int[]) ev.getData(), ev.getTag());
+        registerHandler(CloudSimTags.CLOUDLET_MOVE, processCloudletMove);
+        registerHandler(CloudSimTags.CLOUDLET_MOVE_ACK, processCloudletMove);
+
+        // Checks the status of a Cloudlet
+        registerHandler(CloudSimTags.CLOUDLET_STATUS,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processCloudletStatus(ev));
+
+        // Ping packet
+        registerHandler(CloudSimTags.INFOPKT_SUBMIT,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processPingRequest(ev));
+
+        registerHandler(CloudSimTags.VM_CREATE,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processVmCreate(ev, false));
+        registerHandler(CloudSimTags.VM_CREATE_ACK,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processVmCreate(ev, true));
+        registerHandler(CloudSimTags.VM_DESTROY,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processVmDestroy(ev, false));
+        registerHandler(CloudSimTags.VM_DESTROY_ACK,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processVmDestroy(ev, true));
+        registerHandler(CloudSimTags.VM_MIGRATE,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processVmMigrate(ev, false));
+        registerHandler(CloudSimTags.VM_MIGRATE_ACK,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processVmMigrate(ev, true));
+        registerHandler(CloudSimTags.VM_DATA_ADD,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processDataAdd(ev, false));
+        registerHandler(CloudSimTags.VM_DATA_ADD_ACK,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processDataAdd(ev, true));
+        registerHandler(CloudSimTags.VM_DATA_DEL,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processDataDelete(ev, false));
+        registerHandler(CloudSimTags.VM_DATA_DEL_ACK,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processDataDelete(ev, true));
+
+        registerHandler(CloudSimTags.VM_DATACENTER_EVENT, (ContainerDatacenter dc, SimEvent ev) -> {
+            dc.updateCloudletProcessing();
+            dc.checkCloudletCompletion();
+        });
+
+        registerHandler(containerCloudSimTags.CONTAINER_SUBMIT,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processContainerSubmit(ev, true));
+        registerHandler(containerCloudSimTags.CONTAINER_MIGRATE,
+                (ContainerDatacenter dc, SimEvent ev) -> dc.processContainerMigrate(ev, false));
+    }
+
     public void processContainerSubmit(SimEvent ev, boolean ack) {
         List<Container> containerList = (List<Container>) ev.getData();
 
@@ -469,8 +412,10 @@ public class ContainerDatacenter extends SimEntity {
     }
 
     /**
-     * Here all the method related to VM requests will be received and forwarded to the related
-     * method.
+     * Processes the events that no handler is registered for. The first event of
+     * each unknown tag is {@link #reportUnknownEvent(SimEvent, Class) reported},
+     * unless a subclass overrides this method, as it may process the event after
+     * calling it.
      *
      * @param ev the received event
      * @pre $none
@@ -479,7 +424,9 @@ public class ContainerDatacenter extends SimEntity {
     protected void processOtherEvent(SimEvent ev) {
         if (ev == null) {
             Log.printConcatLine(getName(), ".processOtherEvent(): Error - an event is null.");
+            return;
         }
+        reportUnknownEvent(ev, ContainerDatacenter.class);
     }
 
     /**
@@ -23,6 +23,8 @@ import java.util.HashMap;
 
 public class ContainerDatacenterBroker extends SimEntity {
 
+	private static final long serialVersionUID = 1L;
+
 
     /**
      * The vm list.
@@ -150,6 +152,27 @@ public class ContainerDatacenterBroker extends SimEntity {
         setContainersToDatacentersMap(new HashMap<Integer, Integer>());
         setDatacenterCharacteristicsList(new HashMap<Integer, ContainerDatacenterCharacteristics>());
         setNumberOfCreatedVMs(0);
+
+        // Resource characteristics request
+        registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST,
+                (ContainerDatacenterBroker broker, SimEvent ev) -> broker.processResourceCharacteristicsRequest(ev));
+        // Resource characteristics answer
+        registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS,
+                (ContainerDatacenterBroker broker, SimEvent ev) -> broker.processResourceCharacteristics(ev));
+        // VM Creation answer
+        registerHandler(CloudSimTags.VM_CREATE_ACK,
+                (ContainerDatacenterBroker broker, SimEvent ev) -> broker.processVmCreate(ev));
+        // New VM Creation answer
+        registerHandler(containerCloudSimTags.VM_NEW_CREATE,
+                (ContainerDatacenterBroker broker, SimEvent ev) -> broker.processNewVmCreate(ev));
+        // A finished cloudlet returned
+        registerHandler(CloudSimTags.CLOUDLET_RETURN,
+                (ContainerDatacenterBroker broker, SimEvent ev) -> broker.processCloudletReturn(ev));
+        // if the simulation finishes
+        registerHandler(CloudSimTags.END_OF_SIMULATION,
+                (ContainerDatacenterBroker broker, SimEvent ev) -> broker.shutdownEntity());
+        registerHandler(containerCloudSimTags.CONTAINER_CREATE_ACK,
+                (ContainerDatacenterBroker broker, SimEvent ev) -> broker.processContainerCreate(ev));
     }
 
     /**
@@ -209,38 +232,9 @@ public class ContainerDatacenterBroker extends SimEntity {
      */
     @Override
     public void processEvent(SimEvent ev) {
-        switch (ev.getTag()) {
-            // Resource characteristics request
-            case CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST:
-                processResourceCharacteristicsRequest(ev);
-                break;
-            // Resource characteristics answer
-            case CloudSimTags.RESOURCE_CHARACTERISTICS:
-                processResourceCharacteristics(ev);
-                break;
-            // VM Creation answer
-            case CloudSimTags.VM_CREATE_ACK:
-                processVmCreate(ev);
-                break;
-            // New VM Creation answer
-            case containerCloudSimTags.VM_NEW_CREATE:
-                processNewVmCreate(ev);
-                break;
-            // A finished cloudlet returned
-            case CloudSimTags.CLOUDLET_RETURN:
-                processCloudletReturn(ev);
-                break;
-            // if the simulation finishes
-            case CloudSimTags.END_OF_SIMULATION:
-                shutdownEntity();
-                break;
-            case containerCloudSimTags.CONTAINER_CREATE_ACK:
-                processContainerCreate(ev);
-                break;
+        if (!dispatchEvent(ev)) {
             // other unknown tags are processed by this method
-            default:
-                processOtherEvent(ev);
-                break;
+            processOtherEvent(ev);
         }
     }
 
@@ -418,8 +412,10 @@ public class ContainerDatacenterBroker extends SimEntity {
     }
 
     /**
-     * Overrides this method when making a new and different type of Broker. This method is called
-     * by  for incoming unknown tags.
+     * Processes the events that no handler is registered for. Subclasses should rather
+     * register handlers for the events they define. The first event of each unknown tag
+     * is {@link #reportUnknownEvent(SimEvent, Class) reported}, unless a subclass
+     * overrides this method, as it may process the event after calling it.
      *
      * @param ev a SimEvent object
      * @pre ev != null
@@ -430,8 +426,7 @@ public class ContainerDatacenterBroker extends SimEntity {
             Log.printConcatLine(getName(), ".processOtherEvent(): ", "Error - an event is null.");
             return;
         }
-
-        Log.printConcatLine(getName(), ".processOtherEvent(): Error - event unknown by this DatacenterBroker.");
+        reportUnknownEvent(ev, ContainerDatacenterBroker.class);
     }
 
     /**
@@ -3,12 +3,15 @@ package org.cloudbus.cloudsim.container.core;
 import org.cloudbus.cloudsim.container.lists.ContainerVmPeList;
 import org.cloudbus.cloudsim.core.CloudSim;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * Created by sareh on 10/07/15.
  */
-public class ContainerDatacenterCharacteristics {
+public class ContainerDatacenterCharacteristics implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * The resource id -- setup when Resource is created.
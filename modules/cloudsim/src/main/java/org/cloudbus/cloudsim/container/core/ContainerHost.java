@@ -7,13 +7,16 @@ import org.cloudbus.cloudsim.container.containerVmProvisioners.ContainerVmPe;
 import org.cloudbus.cloudsim.container.lists.ContainerVmPeList;
 import org.cloudbus.cloudsim.*;
 import org.cloudbus.cloudsim.core.CloudSim;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Created by sareh on 10/07/15.
  */
-public class ContainerHost {
+public class ContainerHost implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 
     /**
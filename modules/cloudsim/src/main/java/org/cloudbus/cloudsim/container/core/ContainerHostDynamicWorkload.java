@@ -17,6 +17,8 @@ import java.util.List;
  */
 public class ContainerHostDynamicWorkload extends ContainerHost{
 
+	private static final long serialVersionUID = 1L;
+
 
         /** The utilization mips. */
         private double utilizationMips;
@@ -9,6 +9,7 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.VmStateHistoryEntry;
 import org.cloudbus.cloudsim.core.CloudSim;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -25,7 +26,9 @@ import java.util.List;
  * <p/>
  * Created by sareh on 9/07/15.
  */
-public class ContainerVm {
+public class ContainerVm implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * The user id.
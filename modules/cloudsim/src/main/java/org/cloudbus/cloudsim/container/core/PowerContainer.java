@@ -12,6 +12,8 @@ import java.util.List;
  */
 public class PowerContainer extends Container{
 
+	private static final long serialVersionUID = 1L;
+
         /** The Constant HISTORY_LENGTH. */
         public static final int HISTORY_LENGTH = 30;
 
@@ -22,6 +22,8 @@ import java.util.Map;
  */
 public class PowerContainerDatacenter extends ContainerDatacenter {
 
+	private static final long serialVersionUID = 1L;
+
 
     /**
      * The power.
@@ -54,9 +56,9 @@ public class PowerContainerDatacenter extends ContainerDatacenter {
 
 
 
-    private CostumeCSVWriter vmMigrationWriter;
-    private CostumeCSVWriter containerMigrationWriter;
-    private CostumeCSVWriter datacenterEnergyWriter;
+    private transient CostumeCSVWriter vmMigrationWriter;
+    private transient CostumeCSVWriter containerMigrationWriter;
+    private transient CostumeCSVWriter datacenterEnergyWriter;
 
     /**
      * Instantiates a new datacenter.
@@ -20,12 +20,15 @@ import java.util.Map;
  * Created by sareh on 3/08/15.
  */
 public class PowerContainerDatacenterCM extends PowerContainerDatacenter {
+
+	private static final long serialVersionUID = 1L;
+
     /**
      * The disable container migrations.
      */
     private boolean disableMigrations;
     public int containerMigrationCount;
-    private CostumeCSVWriter newlyCreatedVmWriter;
+    private transient CostumeCSVWriter newlyCreatedVmWriter;
     private int newlyCreatedVms;
     private List<Integer> newlyCreatedVmsList;
     private double vmStartupDelay;
@@ -13,6 +13,8 @@ import java.util.List;
  */
 public class PowerContainerHost extends ContainerHostDynamicWorkload {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The power model.
      */
@@ -14,6 +14,8 @@ import java.util.List;
  */
 public class PowerContainerHostUtilizationHistory extends PowerContainerHost {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * Instantiates a new power host utilization history.
      *
@@ -15,6 +15,8 @@ import java.util.List;
  */
 public class PowerContainerVm extends ContainerVm {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The Constant HISTORY_LENGTH.
      */
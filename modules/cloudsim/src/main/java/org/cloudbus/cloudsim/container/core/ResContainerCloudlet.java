@@ -7,6 +7,9 @@ import org.cloudbus.cloudsim.ResCloudlet;
  * Created by sareh on 10/07/15.
  */
 public class ResContainerCloudlet extends ResCloudlet {
+
+	private static final long serialVersionUID = 1L;
+
     public ResContainerCloudlet(Cloudlet cloudlet) {
         super(cloudlet);
     }
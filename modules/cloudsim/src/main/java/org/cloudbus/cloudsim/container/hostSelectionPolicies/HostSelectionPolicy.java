@@ -2,13 +2,16 @@ package org.cloudbus.cloudsim.container.hostSelectionPolicies;
 
 import org.cloudbus.cloudsim.container.core.ContainerHost;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Set;
 
 /**
  * Created by sareh on 11/08/15.
  */
-public abstract class HostSelectionPolicy {
+public abstract class HostSelectionPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
     /**
      * Gets the host
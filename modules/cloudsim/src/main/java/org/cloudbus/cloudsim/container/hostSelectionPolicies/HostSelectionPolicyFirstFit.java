@@ -9,6 +9,9 @@ import java.util.Set;
  * Created by sareh on 12/08/15.
  */
 public class HostSelectionPolicyFirstFit extends HostSelectionPolicy {
+
+	private static final long serialVersionUID = 1L;
+
     @Override
     public ContainerHost getHost(List<ContainerHost> hostList, Object obj, Set<? extends ContainerHost> excludedHostList) {
         ContainerHost host = null;
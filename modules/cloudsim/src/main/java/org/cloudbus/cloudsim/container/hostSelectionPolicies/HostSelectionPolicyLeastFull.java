@@ -11,6 +11,8 @@ import java.util.Set;
  */
 public class HostSelectionPolicyLeastFull extends HostSelectionPolicy{
 
+	private static final long serialVersionUID = 1L;
+
     @Override
     public ContainerHost getHost(List<ContainerHost> hostList, Object obj,Set<? extends ContainerHost> excludedHostList) {
         double minUsage = Double.MAX_VALUE;
@@ -11,6 +11,8 @@ import java.util.Set;
  */
 public class HostSelectionPolicyMinimumCorrelation extends HostSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
     private HostSelectionPolicy fallbackPolicy;
 
     /**
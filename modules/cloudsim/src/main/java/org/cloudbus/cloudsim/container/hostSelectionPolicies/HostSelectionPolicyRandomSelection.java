@@ -12,6 +12,8 @@ import java.util.Set;
  */
 public class HostSelectionPolicyRandomSelection extends  HostSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
     @Override
     public ContainerHost getHost(List<ContainerHost> hostList, Object obj, Set<? extends ContainerHost> excludedHostList) {
         ContainerHost host = null;
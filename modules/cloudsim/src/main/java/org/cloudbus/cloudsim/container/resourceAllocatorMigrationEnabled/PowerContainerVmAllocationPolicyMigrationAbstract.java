@@ -15,6 +15,8 @@ import java.util.*;
  */
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstract extends PowerContainerVmAllocationAbstract {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The vm selection policy.
      */
@@ -26,6 +26,8 @@ import java.util.*;
 
 public abstract class PowerContainerVmAllocationPolicyMigrationAbstractContainerAdded extends PowerContainerVmAllocationPolicyMigrationAbstract {
 
+	private static final long serialVersionUID = 1L;
+
     private ContainerDatacenter datacenter;
     /**
      * The container selection policy.
@@ -11,6 +11,8 @@ import java.util.*;
  */
 public class PowerContainerVmAllocationPolicyMigrationAbstractHostSelection extends PowerContainerVmAllocationPolicyMigrationAbstract {
 
+	private static final long serialVersionUID = 1L;
+
     private HostSelectionPolicy hostSelectionPolicy;
     private double utilizationThreshold = 0.9;
     private double underUtilizationThreshold = 0.7;
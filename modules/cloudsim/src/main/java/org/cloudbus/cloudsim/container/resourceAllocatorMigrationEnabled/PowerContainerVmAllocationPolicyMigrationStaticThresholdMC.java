@@ -11,6 +11,9 @@ import java.util.List;
  * Created by sareh on 3/08/15.
  */
 public class PowerContainerVmAllocationPolicyMigrationStaticThresholdMC extends PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelection {
+
+	private static final long serialVersionUID = 1L;
+
 //public class PowerContainerVmAllocationPolicyMigrationStaticThresholdMC extends PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelectionUnderUtilizedAdded {
 
 
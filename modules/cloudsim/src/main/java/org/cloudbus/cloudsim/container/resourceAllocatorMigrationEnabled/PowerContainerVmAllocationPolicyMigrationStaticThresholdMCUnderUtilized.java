@@ -15,6 +15,8 @@ import java.util.List;
  */
 public class PowerContainerVmAllocationPolicyMigrationStaticThresholdMCUnderUtilized extends PowerContainerVmAllocationPolicyMigrationAbstractContainerHostSelectionUnderUtilizedAdded{
 
+	private static final long serialVersionUID = 1L;
+
 
     /**
      * The utilization threshold.
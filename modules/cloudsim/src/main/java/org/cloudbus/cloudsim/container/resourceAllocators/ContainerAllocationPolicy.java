@@ -8,6 +8,7 @@
 
 package org.cloudbus.cloudsim.container.resourceAllocators;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +25,10 @@ import org.cloudbus.cloudsim.container.core.ContainerVm;
  */
 
 
-public abstract class ContainerAllocationPolicy {
+public abstract class ContainerAllocationPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 		/**
 		 * The Vm list.
 		 */
@@ -10,6 +10,9 @@ import java.util.*;
  * Created by sareh on 16/12/15.
  */
 public class ContainerAllocationPolicyRS extends  PowerContainerAllocationPolicySimple{
+
+	private static final long serialVersionUID = 1L;
+
     /** The vm table. */
 
 
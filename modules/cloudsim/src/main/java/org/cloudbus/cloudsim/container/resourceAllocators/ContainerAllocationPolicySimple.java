@@ -19,6 +19,9 @@ import java.util.Map;
  *
  */
 public class ContainerAllocationPolicySimple extends ContainerAllocationPolicy {
+
+	private static final long serialVersionUID = 1L;
+
 	/** The vm table. */
 	private Map<String, ContainerVm> containerVmTable;
 
@@ -5,13 +5,16 @@ import org.cloudbus.cloudsim.container.core.ContainerDatacenter;
 import org.cloudbus.cloudsim.container.core.ContainerHost;
 import org.cloudbus.cloudsim.container.core.ContainerVm;
 
+import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Created by sareh on 10/07/15.
  */
-public abstract class ContainerVmAllocationPolicy {
+public abstract class ContainerVmAllocationPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 
     /**
@@ -16,6 +16,8 @@ import java.util.Map;
  */
 public class ContainerVmAllocationPolicySimple extends ContainerVmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The vm table.
      */
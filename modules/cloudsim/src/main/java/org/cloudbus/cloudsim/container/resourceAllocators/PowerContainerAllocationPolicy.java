@@ -14,6 +14,8 @@ import java.util.Map;
  */
 public abstract class PowerContainerAllocationPolicy extends ContainerAllocationPolicy{
 
+	private static final long serialVersionUID = 1L;
+
         /** The container table. */
         private final Map<String, ContainerVm> containerTable = new HashMap<>();
 
@@ -10,6 +10,8 @@ import java.util.Map;
  */
 public class PowerContainerAllocationPolicySimple extends PowerContainerAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 
     public PowerContainerAllocationPolicySimple() {
         super();
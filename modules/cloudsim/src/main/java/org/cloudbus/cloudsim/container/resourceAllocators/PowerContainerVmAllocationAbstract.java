@@ -15,6 +15,8 @@ import java.util.Map;
  */
 public abstract  class PowerContainerVmAllocationAbstract extends ContainerVmAllocationPolicy{
 
+	private static final long serialVersionUID = 1L;
+
         /** The vm table. */
         private final Map<String, ContainerHost> vmTable = new HashMap<String, ContainerHost>();
 
@@ -12,6 +12,8 @@ import java.util.Map;
  */
 public class PowerContainerVmAllocationSimple extends PowerContainerVmAllocationAbstract {
 
+	private static final long serialVersionUID = 1L;
+
     public PowerContainerVmAllocationSimple(List<? extends ContainerHost> list) {
         super(list);
     }
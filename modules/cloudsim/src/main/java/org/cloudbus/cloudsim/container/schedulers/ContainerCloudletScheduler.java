@@ -3,13 +3,17 @@ package org.cloudbus.cloudsim.container.schedulers;
 import org.cloudbus.cloudsim.Cloudlet;
 import org.cloudbus.cloudsim.ResCloudlet;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Created by sareh on 10/07/15.
  */
-public abstract class ContainerCloudletScheduler {
+public abstract class ContainerCloudletScheduler implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
         /** The previous time. */
         private double previousTime;
 
@@ -15,6 +15,8 @@ import java.util.ArrayList;
 
 public class ContainerCloudletSchedulerDynamicWorkload extends ContainerCloudletSchedulerTimeShared {
 
+	private static final long serialVersionUID = 1L;
+
         /** The mips. */
         private double mips;
 
@@ -13,6 +13,8 @@ import java.util.List;
  */
 public class ContainerCloudletSchedulerTimeShared extends ContainerCloudletScheduler {
 
+	private static final long serialVersionUID = 1L;
+
     /**
      * The current cp us.
      */
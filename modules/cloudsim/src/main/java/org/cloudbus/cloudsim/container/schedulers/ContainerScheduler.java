@@ -5,6 +5,7 @@ import org.cloudbus.cloudsim.container.lists.ContainerPeList;
 import org.cloudbus.cloudsim.container.core.Container;
 import org.cloudbus.cloudsim.Log;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -13,7 +14,10 @@ import java.util.Map;
 /**
  * Created by sareh on 9/07/15.
  */
-public abstract class  ContainerScheduler {
+public abstract class  ContainerScheduler implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
     /** The peList. */
     private List<? extends ContainerPe> peList;
 
@@ -12,6 +12,9 @@ import java.util.*;
  * Created by sareh on 9/07/15.
  */
 public class ContainerSchedulerTimeShared extends ContainerScheduler {
+
+	private static final long serialVersionUID = 1L;
+
     /**
      * The mips map requested.
      */
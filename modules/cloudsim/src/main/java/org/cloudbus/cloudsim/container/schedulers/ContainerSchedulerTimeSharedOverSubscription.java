@@ -12,6 +12,9 @@ import java.util.Map;
  * Created by sareh on 22/07/15.
  */
 public class ContainerSchedulerTimeSharedOverSubscription extends ContainerSchedulerTimeShared {
+
+	private static final long serialVersionUID = 1L;
+
     /**
      * Instantiates a new container scheduler time shared.
      *
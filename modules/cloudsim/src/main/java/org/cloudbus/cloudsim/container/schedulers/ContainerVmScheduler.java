@@ -7,6 +7,7 @@ import org.cloudbus.cloudsim.container.core.ContainerVm;
 import org.cloudbus.cloudsim.Log;
 
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -28,7 +29,9 @@ import java.util.Map;
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 1.0
  */
-public abstract class ContainerVmScheduler {
+public abstract class ContainerVmScheduler implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 
     /**
@@ -12,6 +12,9 @@ import java.util.*;
  * Created by sareh on 14/07/15.
  */
 public class ContainerVmSchedulerTimeShared extends ContainerVmScheduler {
+
+	private static final long serialVersionUID = 1L;
+
     /** The mips map requested. */
     private Map<String, List<Double>> mipsMapRequested;
 
@@ -12,6 +12,9 @@ import java.util.Map;
  * Created by sareh on 23/07/15.
  */
 public class ContainerVmSchedulerTimeSharedOverSubscription extends  ContainerVmSchedulerTimeShared{
+
+	private static final long serialVersionUID = 1L;
+
     public ContainerVmSchedulerTimeSharedOverSubscription(List<? extends ContainerVmPe> pelist) {
         super(pelist);
     }
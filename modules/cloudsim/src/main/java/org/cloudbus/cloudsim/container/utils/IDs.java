@@ -7,9 +7,8 @@ package org.cloudbus.cloudsim.container.utils;
 import org.cloudbus.cloudsim.container.containerProvisioners.ContainerPe;
 import org.cloudbus.cloudsim.container.containerVmProvisioners.ContainerVmPe;
 import org.cloudbus.cloudsim.container.core.*;
+import org.cloudbus.cloudsim.core.SimulationContext;
 
-import java.util.LinkedHashMap;
-import java.util.HashSet;
 import java.util.Set;
 import java.util.Map;
 
@@ -18,6 +17,7 @@ import java.util.Map;
  * are provided by the end user. This class is a utility for automatically
  * generating valid ids.
  * Modifies for containers
+ * The counters are kept by the {@link SimulationContext} bound to the calling thread.
  *
  * @author nikolay.grozev
  */
@@ -25,21 +25,27 @@ import java.util.Map;
 public final class IDs {
 
 
-    private static final Map<Class<?>, Integer> COUNTERS = new LinkedHashMap<>();
-    private static final Set<Class<?>> NO_COUNTERS = new HashSet<>();
-    private static int globalCounter = 1;
-
-    static {
-        COUNTERS.put(ContainerCloudlet.class, 1);
-        COUNTERS.put(ContainerVm.class, 1);
-        COUNTERS.put(Container.class, 1);
-        COUNTERS.put(ContainerHost.class, 1);
-        COUNTERS.put(ContainerDatacenterBroker.class, 1);
-        COUNTERS.put(ContainerPe.class, 1);
-        COUNTERS.put(ContainerVmPe.class, 1);
+    private IDs() {
     }
 
-    private IDs() {
+    /**
+     * Returns the id counters of the current simulation context, creating them the first time.
+     *
+     * @param context the simulation context
+     * @return the next id of each class that has its own id counter
+     */
+    private static Map<Class<?>, Integer> getCounters(final SimulationContext context) {
+        Map<Class<?>, Integer> counters = context.getIdCounters();
+        if (counters.isEmpty()) {
+            counters.put(ContainerCloudlet.class, 1);
+            counters.put(ContainerVm.class, 1);
+            counters.put(Container.class, 1);
+            counters.put(ContainerHost.class, 1);
+            counters.put(ContainerDatacenterBroker.class, 1);
+            counters.put(ContainerPe.class, 1);
+            counters.put(ContainerVmPe.class, 1);
+        }
+        return counters;
     }
 
     /**
@@ -48,12 +54,21 @@ public final class IDs {
      * @param clazz - the class of the object to get an id for. Must not be null.
      * @return a valid id for the specified class.
      */
-    public static synchronized int pollId(final Class<?> clazz) {
+    public static int pollId(final Class<?> clazz) {
+        final SimulationContext context = SimulationContext.current();
+        synchronized (context) {
+            return pollId(context, clazz);
+        }
+    }
+
+    private static int pollId(final SimulationContext context, final Class<?> clazz) {
+        final Map<Class<?>, Integer> counters = getCounters(context);
+        final Set<Class<?>> noCounters = context.getClassesWithoutIdCounter();
         Class<?> matchClass = null;
-        if (COUNTERS.containsKey(clazz)) {
+        if (counters.containsKey(clazz)) {
             matchClass = clazz;
-        } else if (!NO_COUNTERS.contains(clazz)) {
-            for (Class<?> key : COUNTERS.keySet()) {
+        } else if (!noCounters.contains(clazz)) {
+            for (Class<?> key : counters.keySet()) {
                 if (key.isAssignableFrom(clazz)) {
                     matchClass = key;
                     break;
@@ -63,11 +78,11 @@ public final class IDs {
 
         int result = -1;
         if (matchClass == null) {
-            NO_COUNTERS.add(clazz);
-            result = pollGlobalId();
+            noCounters.add(clazz);
+            result = context.pollGlobalId();
         } else {
-            result = COUNTERS.get(matchClass);
-            COUNTERS.put(matchClass, result + 1);
+            result = counters.get(matchClass);
+            counters.put(matchClass, result + 1);
         }
 
         if (result < 0) {
@@ -78,10 +93,6 @@ public final class IDs {
         return result;
     }
 
-    private static synchronized int pollGlobalId() {
-        return globalCounter++;
-    }
-
 }
 
 
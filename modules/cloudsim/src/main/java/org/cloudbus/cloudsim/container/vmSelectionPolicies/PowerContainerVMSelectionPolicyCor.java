@@ -15,6 +15,8 @@ import java.util.List;
  */
 public class PowerContainerVMSelectionPolicyCor extends PowerContainerVmSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 
     /**
      * The fallback policy.
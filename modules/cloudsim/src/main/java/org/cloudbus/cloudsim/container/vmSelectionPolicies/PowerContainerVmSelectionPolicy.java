@@ -3,13 +3,16 @@ package org.cloudbus.cloudsim.container.vmSelectionPolicies;
 
 import org.cloudbus.cloudsim.container.core.*;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Created by sareh on 28/07/15.
  */
-public abstract class PowerContainerVmSelectionPolicy {
+public abstract class PowerContainerVmSelectionPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
         /**
          * Gets the vms to migrate.
@@ -12,6 +12,8 @@ import java.util.List;
  */
 public class PowerContainerVmSelectionPolicyMaximumCorrelation extends PowerContainerVmSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 
         /** The fallback policy. */
         private PowerContainerVmSelectionPolicy fallbackPolicy;
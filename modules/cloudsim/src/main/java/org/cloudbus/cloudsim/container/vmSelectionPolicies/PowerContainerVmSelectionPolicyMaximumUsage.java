@@ -10,6 +10,9 @@ import java.util.List;
  * Created by sareh on 16/11/15.
  */
 public class PowerContainerVmSelectionPolicyMaximumUsage extends PowerContainerVmSelectionPolicy {
+
+	private static final long serialVersionUID = 1L;
+
     /*
      * (non-Javadoc)
      * @see
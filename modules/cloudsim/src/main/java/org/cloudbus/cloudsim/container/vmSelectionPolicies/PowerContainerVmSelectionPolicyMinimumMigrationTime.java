@@ -9,6 +9,8 @@ import java.util.List;
  */
 public class PowerContainerVmSelectionPolicyMinimumMigrationTime extends  PowerContainerVmSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 
 
     @Override
@@ -0,0 +1,557 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a calendar queue to be used as the future event list of
+ * {@link CloudSim}, as proposed by R. Brown in "Calendar Queues: A Fast O(1) Priority Queue
+ * Implementation for the Simulation Event Set Problem" (Communications of the ACM, 1988).
+ * <p>
+ * Events are hashed by their time into an array of buckets (the "days" of a calendar year) of
+ * a given width. Dequeueing sweeps the buckets in calendar order, so both adding and removing
+ * the first event take amortized constant time when the bucket width fits the distribution of
+ * the pending events. The number of buckets doubles or halves as the queue grows or shrinks,
+ * and the bucket width is then re-estimated from the events at the head of the queue.
+ * <p>
+ * Inside a bucket, events are kept sorted by {@link SimEvent#compareTo(SimEvent)}. As the day
+ * of an event is a monotone function of its time, the events are returned in exactly the same
+ * (time, serial) order as with the default {@link FutureQueue}. Bucket nodes are recycled, so
+ * a queue that has reached its steady-state size does not allocate memory.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see FutureEventList
+ * @see FutureQueue
+ */
+public class CalendarQueue implements FutureEventList {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The minimum number of buckets. It has to be a power of two. */
+	private static final int MIN_BUCKETS = 16;
+
+	/** The maximum number of head events used to estimate the bucket width on a resize. */
+	private static final int WIDTH_SAMPLE_SIZE = 25;
+
+	/**
+	 * The day of the events too far in the future for their day to be represented, such as the
+	 * events at {@link Double#MAX_VALUE} or at infinity that are used as "never". It leaves room
+	 * for the current day to advance over a whole year without overflowing.
+	 */
+	private static final long LAST_DAY = Long.MAX_VALUE / 4;
+
+	/** The default initial width of a bucket, in simulation time units. */
+	public static final double DEFAULT_BUCKET_WIDTH = 1.0;
+
+	/**
+	 * A node of the linked list that stores the events of a bucket.
+	 */
+	private static final class Node {
+
+		/** The event stored in this node. */
+		private SimEvent event;
+
+		/** The next node in the bucket. */
+		private Node next;
+
+	}
+
+	/** The first node of each bucket. */
+	private transient Node[] buckets;
+
+	/** The last node of each bucket. */
+	private transient Node[] tails;
+
+	/** The mask used to map a day to its bucket (number of buckets minus one). */
+	private int mask;
+
+	/** The width of a bucket. */
+	private double width;
+
+	/**
+	 * The day being currently swept. It is guaranteed that no event in the queue belongs to
+	 * a previous day.
+	 */
+	private long currentDay;
+
+	/** The number of events in the queue. */
+	private int size;
+
+	/** A incremental number used for {@link SimEvent#serial} event attribute. */
+	private long serial = 0;
+
+	/** The list of recycled nodes. */
+	private transient Node freeNodes;
+
+	/**
+	 * Creates a calendar queue with the {@link #DEFAULT_BUCKET_WIDTH default bucket width}.
+	 */
+	public CalendarQueue() {
+		this(DEFAULT_BUCKET_WIDTH);
+	}
+
+	/**
+	 * Creates a calendar queue.
+	 *
+	 * @param bucketWidth the initial width of a bucket. It is used until the queue is resized
+	 *            for the first time, and it is a good idea to set it to about three times
+	 *            the average time between consecutive events.
+	 */
+	public CalendarQueue(double bucketWidth) {
+		if (!(bucketWidth > 0) || Double.isInfinite(bucketWidth)) {
+			throw new IllegalArgumentException("The bucket width should be positive and finite, but is:"
+					+ bucketWidth);
+		}
+		width = bucketWidth;
+		buckets = new Node[MIN_BUCKETS];
+		tails = new Node[MIN_BUCKETS];
+		mask = MIN_BUCKETS - 1;
+	}
+
+	@Override
+	public void addEvent(SimEvent newEvent) {
+		newEvent.setSerial(serial++);
+		insert(newEvent);
+	}
+
+	@Override
+	public void addEventFirst(SimEvent newEvent) {
+		newEvent.setSerial(0);
+		insert(newEvent);
+	}
+
+	@Override
+	public SimEvent first() {
+		int bucket = locateFirst();
+		return bucket < 0 ? null : buckets[bucket].event;
+	}
+
+	@Override
+	public int pollFirstEvents(List<SimEvent> events) {
+		int bucket = locateFirst();
+		if (bucket < 0) {
+			return 0;
+		}
+
+		// All the events at the same time are in the same bucket, at its head
+		double time = buckets[bucket].event.eventTime();
+		int count = 0;
+		Node node = buckets[bucket];
+		while (node != null && node.event.eventTime() == time) {
+			events.add(node.event);
+			Node next = node.next;
+			node.event = null;
+			node.next = freeNodes;
+			freeNodes = node;
+			node = next;
+			count++;
+		}
+		buckets[bucket] = node;
+		if (node == null) {
+			tails[bucket] = null;
+		}
+		size -= count;
+
+		if (buckets.length > MIN_BUCKETS && size < buckets.length / 2) {
+			resize(buckets.length / 2);
+		}
+		return count;
+	}
+
+	@Override
+	public Iterator<SimEvent> iterator() {
+		return new CalendarIterator();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean remove(SimEvent event) {
+		return removeEvent(event, true);
+	}
+
+	@Override
+	public boolean removeAll(Collection<SimEvent> events) {
+		boolean changed = false;
+		for (SimEvent event : events) {
+			changed |= removeEvent(event, true);
+		}
+		return changed;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(buckets, null);
+		Arrays.fill(tails, null);
+		size = 0;
+		currentDay = 0;
+	}
+
+	/**
+	 * Writes the events of each bucket in order, instead of the linked nodes, whose
+	 * serialisation would recurse once per node.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.writeInt(buckets.length);
+		for (Node head : buckets) {
+			int count = 0;
+			for (Node node = head; node != null; node = node.next) {
+				count++;
+			}
+			out.writeInt(count);
+			for (Node node = head; node != null; node = node.next) {
+				out.writeObject(node.event);
+			}
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		int numberOfBuckets = in.readInt();
+		buckets = new Node[numberOfBuckets];
+		tails = new Node[numberOfBuckets];
+		for (int i = 0; i < numberOfBuckets; i++) {
+			int count = in.readInt();
+			for (int j = 0; j < count; j++) {
+				Node node = new Node();
+				node.event = (SimEvent) in.readObject();
+				if (tails[i] == null) {
+					buckets[i] = node;
+				} else {
+					tails[i].next = node;
+				}
+				tails[i] = node;
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of buckets currently used by the queue.
+	 *
+	 * @return the number of buckets
+	 */
+	public int getNumberOfBuckets() {
+		return buckets.length;
+	}
+
+	/**
+	 * Gets the width of the buckets currently used by the queue.
+	 *
+	 * @return the bucket width
+	 */
+	public double getBucketWidth() {
+		return width;
+	}
+
+	/**
+	 * Gets the day an event time belongs to, for the current bucket width.
+	 *
+	 * @param time the event time
+	 * @return the day
+	 */
+	private long day(double time) {
+		double day = Math.floor(time / width);
+		return day < LAST_DAY ? (long) day : LAST_DAY;
+	}
+
+	/**
+	 * Inserts an event that already has its serial number set.
+	 *
+	 * @param event the event
+	 */
+	private void insert(SimEvent event) {
+		Node node = freeNodes;
+		if (node == null) {
+			node = new Node();
+		} else {
+			freeNodes = node.next;
+			node.next = null;
+		}
+		node.event = event;
+
+		long eventDay = link(node);
+		if (size == 0 || eventDay < currentDay) {
+			currentDay = eventDay;
+		}
+		size++;
+
+		if (size > 2 * buckets.length) {
+			resize(2 * buckets.length);
+		}
+	}
+
+	/**
+	 * Links a node into the bucket of its event, preserving the order of the bucket.
+	 *
+	 * @param node the node
+	 * @return the day of the node's event
+	 */
+	private long link(Node node) {
+		SimEvent event = node.event;
+		long eventDay = day(event.eventTime());
+		int i = (int) (eventDay & mask);
+
+		Node tail = tails[i];
+		if (tail == null) {
+			buckets[i] = node;
+			tails[i] = node;
+		} else if (event.compareTo(tail.event) > 0) {
+			// The common case: the event happens after all the events in the bucket
+			tail.next = node;
+			tails[i] = node;
+		} else {
+			Node previous = null;
+			Node current = buckets[i];
+			while (event.compareTo(current.event) > 0) {
+				previous = current;
+				current = current.next;
+			}
+			node.next = current;
+			if (previous == null) {
+				buckets[i] = node;
+			} else {
+				previous.next = node;
+			}
+		}
+		return eventDay;
+	}
+
+	/**
+	 * Finds the bucket holding the first event of the queue, advancing the current day over the
+	 * empty days.
+	 *
+	 * @return the bucket index or -1 if the queue is empty
+	 */
+	private int locateFirst() {
+		if (size == 0) {
+			return -1;
+		}
+
+		for (int k = 0; k < buckets.length && currentDay <= LAST_DAY; k++) {
+			int i = (int) (currentDay & mask);
+			Node head = buckets[i];
+			if (head != null && day(head.event.eventTime()) == currentDay) {
+				return i;
+			}
+			currentDay++;
+		}
+
+		// A whole year (or the last day) has passed without finding an event: search for the
+		// first one directly
+		int first = directSearch(buckets);
+		currentDay = day(buckets[first].event.eventTime());
+		return first;
+	}
+
+	/**
+	 * Finds the bucket whose head node holds the smallest event.
+	 *
+	 * @param heads the head node of each bucket
+	 * @return the bucket index or -1 if all the buckets are empty
+	 */
+	private static int directSearch(Node[] heads) {
+		int first = -1;
+		for (int i = 0; i < heads.length; i++) {
+			if (heads[i] != null && (first < 0 || heads[i].event.compareTo(heads[first].event) < 0)) {
+				first = i;
+			}
+		}
+		return first;
+	}
+
+	/**
+	 * Removes an event from the queue.
+	 *
+	 * @param event the event
+	 * @param shrink if the queue can be shrunk after the removal
+	 * @return true, if the event was in the queue
+	 */
+	private boolean removeEvent(SimEvent event, boolean shrink) {
+		if (event == null || size == 0) {
+			return false;
+		}
+
+		int i = (int) (day(event.eventTime()) & mask);
+		Node previous = null;
+		Node current = buckets[i];
+		while (current != null && current.event != event) {
+			previous = current;
+			current = current.next;
+		}
+		if (current == null) {
+			return false;
+		}
+
+		if (previous == null) {
+			buckets[i] = current.next;
+		} else {
+			previous.next = current.next;
+		}
+		if (tails[i] == current) {
+			tails[i] = previous;
+		}
+		current.event = null;
+		current.next = freeNodes;
+		freeNodes = current;
+		size--;
+
+		if (shrink && buckets.length > MIN_BUCKETS && size < buckets.length / 2) {
+			resize(buckets.length / 2);
+		}
+		return true;
+	}
+
+	/**
+	 * Changes the number of buckets, re-estimates the bucket width and redistributes the events.
+	 *
+	 * @param numberOfBuckets the new number of buckets (a power of two)
+	 */
+	private void resize(int numberOfBuckets) {
+		double newWidth = estimateWidth();
+		Node[] oldBuckets = buckets;
+
+		buckets = new Node[numberOfBuckets];
+		tails = new Node[numberOfBuckets];
+		mask = numberOfBuckets - 1;
+		width = newWidth;
+
+		long firstDay = Long.MAX_VALUE;
+		for (Node node : oldBuckets) {
+			while (node != null) {
+				Node next = node.next;
+				node.next = null;
+				firstDay = Math.min(firstDay, link(node));
+				node = next;
+			}
+		}
+		currentDay = size == 0 ? 0 : firstDay;
+	}
+
+	/**
+	 * Estimates the bucket width as three times the average separation between the events at the
+	 * head of the queue, ignoring separations larger than twice the overall average. The events
+	 * at {@link Double#MAX_VALUE} or at infinity are not sampled.
+	 *
+	 * @return the new bucket width, or the current one if it cannot be estimated
+	 */
+	private double estimateWidth() {
+		int samples = Math.min(size, WIDTH_SAMPLE_SIZE);
+		if (samples < 2) {
+			return width;
+		}
+
+		double[] times = new double[samples];
+		Iterator<SimEvent> iterator = iterator();
+		for (int k = 0; k < samples; k++) {
+			times[k] = iterator.next().eventTime();
+			if (!(times[k] < Double.MAX_VALUE)) {
+				samples = k;
+				break;
+			}
+		}
+		if (samples < 2) {
+			return width;
+		}
+
+		double average = (times[samples - 1] - times[0]) / (samples - 1);
+		double total = 0;
+		int count = 0;
+		for (int k = 1; k < samples; k++) {
+			double separation = times[k] - times[k - 1];
+			if (separation <= 2 * average) {
+				total += separation;
+				count++;
+			}
+		}
+
+		double newWidth = count == 0 ? 0 : 3 * total / count;
+		if (!(newWidth > 0) || Double.isInfinite(newWidth)) {
+			// e.g. all the sampled events happen at the same time
+			return width;
+		}
+		return newWidth;
+	}
+
+	/**
+	 * An iterator that returns the events in the same order they would be dequeued. The queue
+	 * must not be modified while iterating, except through {@link #remove()}.
+	 */
+	private final class CalendarIterator implements Iterator<SimEvent> {
+
+		/** The next node to be visited in each bucket. */
+		private final Node[] cursors = buckets.clone();
+
+		/** The day being swept. */
+		private long day = currentDay;
+
+		/** The number of events not visited yet. */
+		private int remaining = size;
+
+		/** The last returned event. */
+		private SimEvent lastReturned;
+
+		@Override
+		public boolean hasNext() {
+			return remaining > 0;
+		}
+
+		@Override
+		public SimEvent next() {
+			if (remaining == 0) {
+				throw new NoSuchElementException();
+			}
+
+			int bucket = -1;
+			for (int k = 0; k < cursors.length && bucket < 0; k++) {
+				int i = (int) (day & mask);
+				if (cursors[i] != null && day(cursors[i].event.eventTime()) == day) {
+					bucket = i;
+				} else if (day < LAST_DAY) {
+					day++;
+				} else {
+					break;
+				}
+			}
+			if (bucket < 0) {
+				bucket = directSearch(cursors);
+				day = day(cursors[bucket].event.eventTime());
+			}
+
+			Node node = cursors[bucket];
+			cursors[bucket] = node.next;
+			remaining--;
+			lastReturned = node.event;
+			return lastReturned;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			// The queue is not shrunk, since that would invalidate the cursors
+			removeEvent(lastReturned, false);
+			lastReturned = null;
+		}
+
+	}
+
+}
@@ -20,6 +20,8 @@ package org.cloudbus.cloudsim.core;
  */
 public class CloudSimShutdown extends SimEntity {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The total number of cloud users. */
 	private int numUser;
 
@@ -8,81 +8,433 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateAny;
+import org.cloudbus.cloudsim.core.predicates.PredicateFrom;
+import org.cloudbus.cloudsim.core.predicates.PredicateNone;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
 
 /**
- * This class implements the deferred event queue used by {@link CloudSim}. 
- * The event queue uses a linked list to store the events.
- * 
+ * This class implements the deferred event queue used by {@link CloudSim}.
+ * The event queue is partitioned by destination entity: the events of each entity
+ * are stored in a linked list, in temporal order, so looking for the events of an entity
+ * does not go through the events of the other ones.
+ * <p>
+ * The number of events of each tag and from each source entity is also kept for every
+ * destination, so {@link PredicateType} and {@link PredicateFrom} queries can be answered
+ * without going through the events when there is no matching event.
+ *
  * @author Marcos Dias de Assuncao
  * @since CloudSim Toolkit 1.0
  * @see CloudSim
  * @see SimEvent
  */
-public class DeferredQueue {
+public class DeferredQueue implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The events sent to each entity, indexed by the entity id. */
+	private final List<EntityEvents> queues = new ArrayList<EntityEvents>();
+
+	/** The total number of events in the queue. */
+	private int size;
+
+	/**
+	 * The deferred events sent to a single entity.
+	 */
+	private static final class EntityEvents implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/** The list of events. */
+		private final LinkedList<SimEvent> list = new LinkedList<SimEvent>();
+
+		/** The max time that an added event is scheduled. */
+		private double maxTime = -1;
+
+		/** The number of events of each tag. */
+		private final Counts tagCounts = new Counts();
+
+		/** The number of events from each source entity. */
+		private final Counts sourceCounts = new Counts();
+
+		private void added(SimEvent event) {
+			tagCounts.add(event.getTag(), 1);
+			sourceCounts.add(event.getSource(), 1);
+		}
 
-	/** The list of events. */
-	private final List<SimEvent> list = new LinkedList<SimEvent>();
+		private void removed(SimEvent event) {
+			tagCounts.add(event.getTag(), -1);
+			sourceCounts.add(event.getSource(), -1);
+		}
 
-	/** The max time that an added event is scheduled. */
-	private double maxTime = -1;
+	}
+
+	/**
+	 * The number of events for each value of an int key, such as a tag or an entity id. The
+	 * keys between 0 and {@link #MAX_INDEXED_KEY} are counted in an array, indexed by key and
+	 * grown on demand, so that they are not boxed; the other keys are counted in a map.
+	 */
+	private static final class Counts implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		/** The greatest key that is counted in the array. */
+		private static final int MAX_INDEXED_KEY = 1023;
+
+		/** The counts of the keys between 0 and {@link #MAX_INDEXED_KEY}, indexed by key. */
+		private int[] indexed = new int[16];
+
+		/** The counts of the other keys, or <tt>null</tt> if there has been none. */
+		private Map<Integer, int[]> others;
+
+		private void add(int key, int delta) {
+			if (key >= 0 && key <= MAX_INDEXED_KEY) {
+				if (key >= indexed.length) {
+					indexed = Arrays.copyOf(indexed, Math.min(Math.max(key + 1, indexed.length * 2),
+							MAX_INDEXED_KEY + 1));
+				}
+				indexed[key] += delta;
+				return;
+			}
+			if (others == null) {
+				others = new HashMap<Integer, int[]>();
+			}
+			int[] count = others.get(key);
+			if (count == null) {
+				count = new int[1];
+				others.put(key, count);
+			}
+			count[0] += delta;
+		}
+
+		private int get(int key) {
+			if (key >= 0 && key <= MAX_INDEXED_KEY) {
+				return key < indexed.length ? indexed[key] : 0;
+			}
+			int[] count = others == null ? null : others.get(key);
+			return count == null ? 0 : count[0];
+		}
+
+	}
 
 	/**
 	 * Adds a new event to the queue. Adding a new event to the queue preserves the temporal order
 	 * of the events.
-	 * 
+	 *
 	 * @param newEvent The event to be added to the queue.
 	 */
 	public void addEvent(SimEvent newEvent) {
+		EntityEvents queue = getQueue(newEvent.getDestination(), true);
+		queue.added(newEvent);
+		size++;
+
 		// The event has to be inserted as the last of all events
 		// with the same event_time(). Yes, this matters.
 		double eventTime = newEvent.eventTime();
-		if (eventTime >= maxTime) {
-			list.add(newEvent);
-			maxTime = eventTime;
+		if (eventTime >= queue.maxTime) {
+			queue.list.add(newEvent);
+			queue.maxTime = eventTime;
 			return;
 		}
 
-		ListIterator<SimEvent> iterator = list.listIterator();
-		SimEvent event;
-		while (iterator.hasNext()) {
-			event = iterator.next();
-			if (event.eventTime() > eventTime) {
-				iterator.previous();
+		// Out of order events are usually close to the tail, so it is searched backwards
+		ListIterator<SimEvent> iterator = queue.list.listIterator(queue.list.size());
+		while (iterator.hasPrevious()) {
+			if (iterator.previous().eventTime() <= eventTime) {
+				iterator.next();
 				iterator.add(newEvent);
 				return;
 			}
 		}
 
-		list.add(newEvent);
+		queue.list.addFirst(newEvent);
+	}
+
+	/**
+	 * Counts the events sent to a given entity that match a predicate.
+	 *
+	 * @param destination the id of the destination entity
+	 * @param p the predicate
+	 * @return the number of matching events
+	 */
+	public int count(int destination, Predicate p) {
+		EntityEvents queue = getQueue(destination, false);
+		if (queue == null || queue.list.isEmpty()) {
+			return 0;
+		}
+
+		int count = countIndexed(queue, p);
+		if (count >= 0) {
+			return count;
+		}
+
+		count = 0;
+		for (SimEvent event : queue.list) {
+			if (p.match(event)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Finds the first event sent to a given entity that matches a predicate.
+	 *
+	 * @param destination the id of the destination entity
+	 * @param p the predicate
+	 * @return the first matching event or <tt>null</tt> if there is no such event
+	 */
+	public SimEvent find(int destination, Predicate p) {
+		return find(destination, p, false);
+	}
+
+	/**
+	 * Removes the first event sent to a given entity that matches a predicate.
+	 *
+	 * @param destination the id of the destination entity
+	 * @param p the predicate
+	 * @return the removed event or <tt>null</tt> if there is no matching event
+	 */
+	public SimEvent removeFirst(int destination, Predicate p) {
+		return find(destination, p, true);
+	}
+
+	/**
+	 * Returns the number of events sent to a given entity.
+	 *
+	 * @param destination the id of the destination entity
+	 * @return the number of events
+	 */
+	public int size(int destination) {
+		EntityEvents queue = getQueue(destination, false);
+		return queue == null ? 0 : queue.list.size();
 	}
 
 	/**
-	 * Returns an iterator to the events in the queue.
-	 * 
+	 * Returns an iterator to the events in the queue. The events are grouped by destination
+	 * entity, and the events of each entity are returned in temporal order.
+	 *
 	 * @return the iterator
 	 */
 	public Iterator<SimEvent> iterator() {
-		return list.iterator();
+		return new DeferredIterator();
 	}
 
 	/**
 	 * Returns the size of this event queue.
-	 * 
+	 *
 	 * @return the number of events in the queue.
 	 */
 	public int size() {
-		return list.size();
+		return size;
 	}
 
 	/**
 	 * Clears the queue.
 	 */
 	public void clear() {
-		list.clear();
+		queues.clear();
+		size = 0;
+	}
+
+	/**
+	 * Gets the events of a given entity.
+	 *
+	 * @param destination the id of the destination entity
+	 * @param create if the events list has to be created when it does not exist
+	 * @return the events list or <tt>null</tt> if it does not exist and it is not created
+	 */
+	private EntityEvents getQueue(int destination, boolean create) {
+		if (destination < 0) {
+			if (create) {
+				throw new IllegalArgumentException("Attempt to defer an event to a null entity detected.");
+			}
+			return null;
+		}
+		if (destination < queues.size()) {
+			EntityEvents queue = queues.get(destination);
+			if (queue == null && create) {
+				queue = new EntityEvents();
+				queues.set(destination, queue);
+			}
+			return queue;
+		}
+		if (!create) {
+			return null;
+		}
+		while (queues.size() < destination) {
+			queues.add(null);
+		}
+		EntityEvents queue = new EntityEvents();
+		queues.add(queue);
+		return queue;
+	}
+
+	/**
+	 * Counts the matching events of an entity without going through them, when the predicate
+	 * allows that.
+	 *
+	 * @param queue the events of the entity
+	 * @param p the predicate
+	 * @return the number of matching events, or -1 if they have to be counted one by one
+	 */
+	private static int countIndexed(EntityEvents queue, Predicate p) {
+		Class<?> type = p.getClass();
+		if (type == PredicateAny.class) {
+			return queue.list.size();
+		}
+		if (type == PredicateNone.class) {
+			return 0;
+		}
+		if (type == PredicateType.class) {
+			PredicateType predicate = (PredicateType) p;
+			int count = 0;
+			for (int i = 0; i < predicate.getNumberOfTags(); i++) {
+				if (!repeated(predicate, i)) {
+					count += queue.tagCounts.get(predicate.getTag(i));
+				}
+			}
+			return count;
+		}
+		if (type == PredicateFrom.class) {
+			PredicateFrom predicate = (PredicateFrom) p;
+			int count = 0;
+			for (int i = 0; i < predicate.getNumberOfSources(); i++) {
+				if (!repeated(predicate, i)) {
+					count += queue.sourceCounts.get(predicate.getSource(i));
+				}
+			}
+			return count;
+		}
+		return -1;
+	}
+
+	private static boolean repeated(PredicateType predicate, int index) {
+		for (int i = 0; i < index; i++) {
+			if (predicate.getTag(i) == predicate.getTag(index)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean repeated(PredicateFrom predicate, int index) {
+		for (int i = 0; i < index; i++) {
+			if (predicate.getSource(i) == predicate.getSource(index)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds, and optionally removes, the first event of an entity that matches a predicate.
+	 *
+	 * @param destination the id of the destination entity
+	 * @param p the predicate
+	 * @param remove if the found event has to be removed
+	 * @return the event or <tt>null</tt> if there is no matching event
+	 */
+	private SimEvent find(int destination, Predicate p, boolean remove) {
+		EntityEvents queue = getQueue(destination, false);
+		if (queue == null || queue.list.isEmpty() || countIndexed(queue, p) == 0) {
+			return null;
+		}
+		if (p.getClass() == PredicateAny.class) {
+			// the first event, which is what entities ask for when they are run
+			SimEvent event = remove ? queue.list.removeFirst() : queue.list.getFirst();
+			if (remove) {
+				queue.removed(event);
+				size--;
+			}
+			return event;
+		}
+
+		Iterator<SimEvent> iterator = queue.list.iterator();
+		while (iterator.hasNext()) {
+			SimEvent event = iterator.next();
+			if (p.match(event)) {
+				if (remove) {
+					iterator.remove();
+					queue.removed(event);
+					size--;
+				}
+				return event;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * An iterator that goes through the events of each entity in turn.
+	 */
+	private final class DeferredIterator implements Iterator<SimEvent> {
+
+		/** The index of the entity whose events are being iterated. */
+		private int destination = -1;
+
+		/** The iterator of the current entity's events. */
+		private Iterator<SimEvent> current;
+
+		/** The entity whose events are being iterated. */
+		private EntityEvents currentQueue;
+
+		/** The last returned event. */
+		private SimEvent lastReturned;
+
+		/** The iterator that returned the last event. */
+		private Iterator<SimEvent> lastIterator;
+
+		/** The entity whose events include the last returned event. */
+		private EntityEvents lastQueue;
+
+		@Override
+		public boolean hasNext() {
+			while (current == null || !current.hasNext()) {
+				if (++destination >= queues.size()) {
+					destination = queues.size();
+					return false;
+				}
+				currentQueue = queues.get(destination);
+				current = currentQueue == null ? null : currentQueue.list.iterator();
+			}
+			return true;
+		}
+
+		@Override
+		public SimEvent next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = current.next();
+			lastIterator = current;
+			lastQueue = currentQueue;
+			return lastReturned;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException();
+			}
+			lastIterator.remove();
+			lastQueue.removed(lastReturned);
+			size--;
+			lastReturned = null;
+		}
+
 	}
 
-}
\ No newline at end of file
+}
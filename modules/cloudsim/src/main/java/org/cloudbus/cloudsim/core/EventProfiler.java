@@ -0,0 +1,350 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A profiler of the event loop of a simulation. For each entity class and event tag, it counts
+ * the events that are:
+ * <ul>
+ * <li><b>enqueued</b>: sent to the future event queue;</li>
+ * <li><b>dequeued</b>: taken from the future event queue when their time has come;</li>
+ * <li><b>deferred</b>: put in the deferred queue, because their destination entity was not
+ * waiting for them;</li>
+ * <li><b>cancelled</b>: removed from the future event queue before their time;</li>
+ * <li><b>processed</b>: handled by the {@link SimEntity#processEvent(SimEvent)} method of their
+ * destination entity, whose wall-clock time is kept in a histogram.</li>
+ * </ul>
+ * The events are counted for the class of their destination entity, or of their source entity
+ * for the events that end a hold. The peak sizes of the future and deferred queues are also
+ * recorded.
+ * <p>
+ * The profiler is enabled with {@link CloudSim#setEventProfiler(EventProfiler)}, and its
+ * {@link #getReport() report} is printed to the log when the simulation finishes. It is not
+ * used when the simulation is run in parallel.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class EventProfiler {
+
+	/** The tag under which the events that end a hold are counted. */
+	static final int HOLD_TAG = Integer.MIN_VALUE;
+
+	/** The number of buckets of the handler time histograms, one for each power of 2 of nanoseconds. */
+	private static final int BUCKETS = 64;
+
+	/**
+	 * The counters of an entity class and tag.
+	 */
+	private static final class Counters {
+
+		private final Class<?> entityClass;
+
+		private final int tag;
+
+		private long enqueued;
+
+		private long dequeued;
+
+		private long deferred;
+
+		private long cancelled;
+
+		private long processed;
+
+		/** The total handler time, in nanoseconds. */
+		private long handlerTime;
+
+		/** The maximum handler time, in nanoseconds. */
+		private long maxHandlerTime;
+
+		/** The number of handler times in [2^(i-1), 2^i) nanoseconds, for each index i. */
+		private final long[] histogram = new long[BUCKETS];
+
+		private Counters(Class<?> entityClass, int tag) {
+			this.entityClass = entityClass;
+			this.tag = tag;
+		}
+
+		/**
+		 * Gets an upper bound of a percentile of the handler times, in nanoseconds.
+		 */
+		private long getPercentile(double percentile) {
+			long rank = (long) Math.ceil(processed * percentile);
+			long count = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				count += histogram[i];
+				if (count >= Math.max(rank, 1)) {
+					return Math.min(i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i, maxHandlerTime);
+				}
+			}
+			return maxHandlerTime;
+		}
+
+	}
+
+	/** The counters, by entity class and tag. */
+	private final Map<Class<?>, Map<Integer, Counters>> counters = new LinkedHashMap<Class<?>, Map<Integer, Counters>>();
+
+	/** The names of the tags that are known. */
+	private final Map<Integer, String> tagNames = new HashMap<Integer, String>();
+
+	/** The peak size of the future event queue. */
+	private int peakFutureQueueSize;
+
+	/** The peak size of the deferred event queue. */
+	private int peakDeferredQueueSize;
+
+	/**
+	 * Creates a new profiler, without any tag name.
+	 */
+	public EventProfiler() {
+	}
+
+	/**
+	 * Adds the names of the tags used in the report, which are the names of the
+	 * <tt>static final int</tt> fields of some classes, such as {@link CloudSimTags}. When
+	 * several fields have the same value, the name of the first one is kept.
+	 *
+	 * @param tagClasses the classes that define the tags
+	 * @return this profiler
+	 */
+	public EventProfiler addTagNames(Class<?>... tagClasses) {
+		for (Class<?> tagClass : tagClasses) {
+			for (Field field : tagClass.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers) && Modifier.isPublic(modifiers)
+						&& field.getType() == int.class) {
+					try {
+						int tag = field.getInt(null);
+						if (!tagNames.containsKey(tag)) {
+							tagNames.put(tag, field.getName());
+						}
+					} catch (IllegalAccessException e) {
+						throw new IllegalArgumentException(e);
+					}
+				}
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Removes all the recorded counters and queue sizes.
+	 */
+	public void reset() {
+		counters.clear();
+		peakFutureQueueSize = 0;
+		peakDeferredQueueSize = 0;
+	}
+
+	private Counters getCounters(Class<?> entityClass, int tag) {
+		Map<Integer, Counters> tags = counters.get(entityClass);
+		if (tags == null) {
+			tags = new HashMap<Integer, Counters>();
+			counters.put(entityClass, tags);
+		}
+		Counters c = tags.get(tag);
+		if (c == null) {
+			c = new Counters(entityClass, tag);
+			tags.put(tag, c);
+		}
+		return c;
+	}
+
+	private Counters findCounters(Class<?> entityClass, int tag) {
+		Map<Integer, Counters> tags = counters.get(entityClass);
+		return tags == null ? null : tags.get(tag);
+	}
+
+	void enqueued(SimEntity entity, int tag) {
+		if (entity != null) {
+			getCounters(entity.getClass(), tag).enqueued++;
+		}
+	}
+
+	void dequeued(SimEntity entity, int tag) {
+		if (entity != null) {
+			getCounters(entity.getClass(), tag).dequeued++;
+		}
+	}
+
+	void deferred(SimEntity entity, int tag) {
+		if (entity != null) {
+			getCounters(entity.getClass(), tag).deferred++;
+		}
+	}
+
+	void cancelled(SimEntity entity, int tag) {
+		if (entity != null) {
+			getCounters(entity.getClass(), tag).cancelled++;
+		}
+	}
+
+	void processed(SimEntity entity, int tag, long nanos) {
+		Counters c = getCounters(entity.getClass(), tag);
+		c.processed++;
+		c.handlerTime += nanos;
+		c.maxHandlerTime = Math.max(c.maxHandlerTime, nanos);
+		c.histogram[64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))]++;
+	}
+
+	void queueSizes(int futureQueueSize, int deferredQueueSize) {
+		peakFutureQueueSize = Math.max(peakFutureQueueSize, futureQueueSize);
+		peakDeferredQueueSize = Math.max(peakDeferredQueueSize, deferredQueueSize);
+	}
+
+	/**
+	 * Gets the number of events of an entity class and tag sent to the future event queue.
+	 *
+	 * @param entityClass the entity class
+	 * @param tag the tag
+	 * @return the number of events
+	 */
+	public long getEnqueued(Class<?> entityClass, int tag) {
+		Counters c = findCounters(entityClass, tag);
+		return c == null ? 0 : c.enqueued;
+	}
+
+	/**
+	 * Gets the number of events of an entity class and tag taken from the future event queue.
+	 *
+	 * @param entityClass the entity class
+	 * @param tag the tag
+	 * @return the number of events
+	 */
+	public long getDequeued(Class<?> entityClass, int tag) {
+		Counters c = findCounters(entityClass, tag);
+		return c == null ? 0 : c.dequeued;
+	}
+
+	/**
+	 * Gets the number of events of an entity class and tag put in the deferred queue.
+	 *
+	 * @param entityClass the entity class
+	 * @param tag the tag
+	 * @return the number of events
+	 */
+	public long getDeferred(Class<?> entityClass, int tag) {
+		Counters c = findCounters(entityClass, tag);
+		return c == null ? 0 : c.deferred;
+	}
+
+	/**
+	 * Gets the number of events of an entity class and tag removed from the future event queue
+	 * before their time.
+	 *
+	 * @param entityClass the entity class
+	 * @param tag the tag
+	 * @return the number of events
+	 */
+	public long getCancelled(Class<?> entityClass, int tag) {
+		Counters c = findCounters(entityClass, tag);
+		return c == null ? 0 : c.cancelled;
+	}
+
+	/**
+	 * Gets the number of events of an entity class and tag processed by the entities.
+	 *
+	 * @param entityClass the entity class
+	 * @param tag the tag
+	 * @return the number of events
+	 */
+	public long getProcessed(Class<?> entityClass, int tag) {
+		Counters c = findCounters(entityClass, tag);
+		return c == null ? 0 : c.processed;
+	}
+
+	/**
+	 * Gets the total wall-clock time spent processing the events of an entity class and tag.
+	 *
+	 * @param entityClass the entity class
+	 * @param tag the tag
+	 * @return the time in nanoseconds
+	 */
+	public long getHandlerTime(Class<?> entityClass, int tag) {
+		Counters c = findCounters(entityClass, tag);
+		return c == null ? 0 : c.handlerTime;
+	}
+
+	/**
+	 * Gets the peak number of events in the future event queue.
+	 *
+	 * @return the peak size of the queue
+	 */
+	public int getPeakFutureQueueSize() {
+		return peakFutureQueueSize;
+	}
+
+	/**
+	 * Gets the peak number of events in the deferred event queue.
+	 *
+	 * @return the peak size of the queue
+	 */
+	public int getPeakDeferredQueueSize() {
+		return peakDeferredQueueSize;
+	}
+
+	/**
+	 * Gets the report of the profiler, with a line for each entity class and tag, sorted by
+	 * decreasing handler time. The handler time percentiles are upper bounds, rounded up to a
+	 * power of 2 of nanoseconds.
+	 *
+	 * @return the report
+	 */
+	public String getReport() {
+		List<Counters> rows = new ArrayList<Counters>();
+		for (Map<Integer, Counters> tags : counters.values()) {
+			rows.addAll(tags.values());
+		}
+		Collections.sort(rows, new Comparator<Counters>() {
+
+			@Override
+			public int compare(Counters c1, Counters c2) {
+				if (c1.handlerTime != c2.handlerTime) {
+					return c1.handlerTime > c2.handlerTime ? -1 : 1;
+				}
+				if (c1.dequeued != c2.dequeued) {
+					return c1.dequeued > c2.dequeued ? -1 : 1;
+				}
+				int result = c1.entityClass.getName().compareTo(c2.entityClass.getName());
+				return result != 0 ? result : c1.tag < c2.tag ? -1 : c1.tag == c2.tag ? 0 : 1;
+			}
+
+		});
+
+		StringBuilder report = new StringBuilder();
+		String newLine = System.getProperty("line.separator");
+		report.append("========== EVENT PROFILE ==========").append(newLine);
+		report.append(String.format("%-28s %-40s %10s %10s %10s %10s %10s %11s %9s %9s %9s %9s", "Entity class",
+				"Tag", "Enqueued", "Dequeued", "Deferred", "Cancelled", "Processed", "Total (ms)", "Mean (us)",
+				"p50 (us)", "p99 (us)", "Max (us)")).append(newLine);
+		for (Counters c : rows) {
+			String tag = c.tag == HOLD_TAG ? "HOLD_DONE" : tagNames.containsKey(c.tag) ? tagNames.get(c.tag)
+					+ " (" + c.tag + ")" : String.valueOf(c.tag);
+			report.append(String.format("%-28s %-40s %10d %10d %10d %10d %10d %11.3f %9.2f %9.2f %9.2f %9.2f",
+					c.entityClass.getSimpleName(), tag, c.enqueued, c.dequeued, c.deferred, c.cancelled, c.processed,
+					c.handlerTime / 1e6, c.processed == 0 ? 0 : c.handlerTime / 1e3 / c.processed,
+					c.getPercentile(0.5) / 1e3, c.getPercentile(0.99) / 1e3, c.maxHandlerTime / 1e3)).append(newLine);
+		}
+		report.append("Peak future queue size: ").append(peakFutureQueueSize).append(newLine);
+		report.append("Peak deferred queue size: ").append(peakDeferredQueueSize);
+		return report.toString();
+	}
+
+}
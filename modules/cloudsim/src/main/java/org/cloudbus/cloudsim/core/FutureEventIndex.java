@@ -0,0 +1,302 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * An index of the events in the future event queue of {@link CloudSim} by source entity
+ * and tag. It allows cancelling the events of a given type sent by an entity without going
+ * through all the events in the queue.
+ * <p>
+ * The events of each source entity and tag are linked through the events themselves, so
+ * indexing an event does not allocate anything once its source entity and tag have been
+ * seen.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see CloudSim#cancelAll(int, org.cloudbus.cloudsim.core.predicates.Predicate)
+ */
+class FutureEventIndex implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The greatest tag whose events are kept in {@link SourceEvents#indexed}. */
+	private static final int MAX_INDEXED_TAG = 1023;
+
+	/** The events sent by each entity, indexed by the entity id. */
+	private transient List<SourceEvents> events = new ArrayList<SourceEvents>();
+
+	/**
+	 * Adds an event to the index.
+	 *
+	 * @param event the event
+	 */
+	public void add(SimEvent event) {
+		int source = event.getSource();
+		if (source < 0) {
+			return;
+		}
+		while (events.size() <= source) {
+			events.add(null);
+		}
+
+		SourceEvents eventsByTag = events.get(source);
+		if (eventsByTag == null) {
+			eventsByTag = new SourceEvents();
+			events.set(source, eventsByTag);
+		}
+		eventsByTag.getOrCreate(event.getTag()).link(event);
+	}
+
+	/**
+	 * Removes an event from the index.
+	 *
+	 * @param event the event
+	 */
+	public void remove(SimEvent event) {
+		if (event.indexBucket != null) {
+			event.indexBucket.unlink(event);
+		}
+	}
+
+	/**
+	 * Gets the events in the queue with a given source entity and tag. The returned collection
+	 * is backed by the index and must not be modified while iterating over it.
+	 *
+	 * @param source the id of the source entity
+	 * @param tag the tag
+	 * @return the events, which may be empty
+	 */
+	public Collection<SimEvent> getEvents(int source, int tag) {
+		if (source < 0 || source >= events.size() || events.get(source) == null) {
+			return Collections.emptySet();
+		}
+		Bucket bucket = events.get(source).get(tag);
+		return bucket == null ? Collections.<SimEvent> emptySet() : bucket;
+	}
+
+	/**
+	 * Clears the index.
+	 */
+	public void clear() {
+		for (SourceEvents eventsByTag : events) {
+			if (eventsByTag != null) {
+				eventsByTag.clear();
+			}
+		}
+		events.clear();
+	}
+
+	/**
+	 * Writes the indexed events, instead of the links between them, whose serialisation
+	 * would recurse once per event.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		List<SimEvent> indexed = new ArrayList<SimEvent>();
+		for (SourceEvents eventsByTag : events) {
+			if (eventsByTag != null) {
+				eventsByTag.collect(indexed);
+			}
+		}
+		out.writeInt(indexed.size());
+		for (SimEvent event : indexed) {
+			out.writeObject(event);
+		}
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		events = new ArrayList<SourceEvents>();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			add((SimEvent) in.readObject());
+		}
+	}
+
+	/**
+	 * The events sent by an entity, by tag.
+	 */
+	private static final class SourceEvents {
+
+		/** The events with a tag between 0 and {@link #MAX_INDEXED_TAG}, indexed by tag. */
+		private Bucket[] indexed = new Bucket[16];
+
+		/** The events with other tags, created on demand. */
+		private Map<Integer, Bucket> others;
+
+		Bucket get(int tag) {
+			if (tag >= 0 && tag <= MAX_INDEXED_TAG) {
+				return tag < indexed.length ? indexed[tag] : null;
+			}
+			return others == null ? null : others.get(tag);
+		}
+
+		Bucket getOrCreate(int tag) {
+			Bucket bucket = get(tag);
+			if (bucket != null) {
+				return bucket;
+			}
+			bucket = new Bucket();
+			if (tag >= 0 && tag <= MAX_INDEXED_TAG) {
+				if (tag >= indexed.length) {
+					indexed = Arrays.copyOf(indexed, Math.min(Math.max(tag + 1, indexed.length * 2),
+							MAX_INDEXED_TAG + 1));
+				}
+				indexed[tag] = bucket;
+			} else {
+				if (others == null) {
+					others = new HashMap<Integer, Bucket>();
+				}
+				others.put(tag, bucket);
+			}
+			return bucket;
+		}
+
+		void collect(List<SimEvent> list) {
+			for (Bucket bucket : indexed) {
+				if (bucket != null) {
+					list.addAll(bucket);
+				}
+			}
+			if (others != null) {
+				for (Bucket bucket : others.values()) {
+					list.addAll(bucket);
+				}
+			}
+		}
+
+		void clear() {
+			for (Bucket bucket : indexed) {
+				if (bucket != null) {
+					bucket.clear();
+				}
+			}
+			if (others != null) {
+				for (Bucket bucket : others.values()) {
+					bucket.clear();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * The events with a given source entity and tag, as a list linked through
+	 * {@link SimEvent#indexPrevious} and {@link SimEvent#indexNext}.
+	 */
+	static final class Bucket extends AbstractCollection<SimEvent> {
+
+		/** The first event. */
+		private SimEvent first;
+
+		/** The last event. */
+		private SimEvent last;
+
+		/** The number of events. */
+		private int size;
+
+		void link(SimEvent event) {
+			if (event.indexBucket != null) {
+				event.indexBucket.unlink(event);
+			}
+			event.indexBucket = this;
+			event.indexPrevious = last;
+			event.indexNext = null;
+			if (last == null) {
+				first = event;
+			} else {
+				last.indexNext = event;
+			}
+			last = event;
+			size++;
+		}
+
+		void unlink(SimEvent event) {
+			if (event.indexPrevious == null) {
+				first = event.indexNext;
+			} else {
+				event.indexPrevious.indexNext = event.indexNext;
+			}
+			if (event.indexNext == null) {
+				last = event.indexPrevious;
+			} else {
+				event.indexNext.indexPrevious = event.indexPrevious;
+			}
+			event.indexBucket = null;
+			event.indexPrevious = null;
+			event.indexNext = null;
+			size--;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return o instanceof SimEvent && ((SimEvent) o).indexBucket == this;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			SimEvent event = first;
+			while (event != null) {
+				SimEvent next = event.indexNext;
+				event.indexBucket = null;
+				event.indexPrevious = null;
+				event.indexNext = null;
+				event = next;
+			}
+			first = null;
+			last = null;
+			size = 0;
+		}
+
+		@Override
+		public Iterator<SimEvent> iterator() {
+			return new Iterator<SimEvent>() {
+
+				private SimEvent next = first;
+
+				@Override
+				public boolean hasNext() {
+					return next != null;
+				}
+
+				@Override
+				public SimEvent next() {
+					if (next == null) {
+						throw new NoSuchElementException();
+					}
+					SimEvent event = next;
+					next = event.indexNext;
+					return event;
+				}
+
+			};
+		}
+
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An interface to be implemented by each class that provides the future event list
+ * used by {@link CloudSim}. Implementations must keep the events ordered exactly as
+ * defined by {@link SimEvent#compareTo(SimEvent)}, that is, by event time and then
+ * by the serial number assigned when the event is added.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see FutureQueue
+ * @see CalendarQueue
+ * @see CloudSim#init(int, java.util.Calendar, boolean, FutureEventList)
+ */
+public interface FutureEventList extends Serializable {
+
+	/**
+	 * Adds a new event to the list. Adding a new event to the list preserves the temporal order of
+	 * the events in the list.
+	 *
+	 * @param newEvent The event to be put in the list.
+	 */
+	void addEvent(SimEvent newEvent);
+
+	/**
+	 * Adds a new event to the head of the list.
+	 *
+	 * @param newEvent The event to be put in the list.
+	 */
+	void addEventFirst(SimEvent newEvent);
+
+	/**
+	 * Returns the first event in the list, without removing it.
+	 *
+	 * @return the first event or <tt>null</tt> if the list is empty
+	 */
+	SimEvent first();
+
+	/**
+	 * Removes the first event of the list and all the other events scheduled at the same time,
+	 * appending them, in order, to a given list. This allows processing all the events of a
+	 * simulation tick with a single operation and without allocating a new list.
+	 *
+	 * @param events the list where the removed events are appended to
+	 * @return the number of removed events
+	 */
+	int pollFirstEvents(List<SimEvent> events);
+
+	/**
+	 * Returns an iterator to the list. The events are returned in temporal order.
+	 *
+	 * @return the iterator
+	 */
+	Iterator<SimEvent> iterator();
+
+	/**
+	 * Returns the size of this event list.
+	 *
+	 * @return the size
+	 */
+	int size();
+
+	/**
+	 * Removes the event from the list.
+	 *
+	 * @param event the event
+	 * @return true, if successful
+	 */
+	boolean remove(SimEvent event);
+
+	/**
+	 * Removes all the events from the list.
+	 *
+	 * @param events the events
+	 * @return true, if successful
+	 */
+	boolean removeAll(Collection<SimEvent> events);
+
+	/**
+	 * Clears the list.
+	 */
+	void clear();
+
+}
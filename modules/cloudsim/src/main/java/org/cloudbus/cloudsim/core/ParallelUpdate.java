@@ -0,0 +1,288 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.cloudbus.cloudsim.Log;
+
+/**
+ * An update of independent elements of a datacenter, such as its hosts, which returns the time
+ * of the next event expected by each element. When the number of elements reaches the
+ * {@link SimulationContext#getParallelUpdateThreshold() parallel update threshold} of the
+ * simulation, the elements are updated in parallel on the common {@link ForkJoinPool};
+ * otherwise they are updated in order by the calling thread.
+ * <p>
+ * An element can be updated in parallel only if its update changes nothing but the state of the
+ * element itself, and does not send events. While an element is updated in parallel, the
+ * thread that updates it is bound to the {@link SimulationContext} and to the partition of the
+ * calling thread, so that {@link CloudSim#clock()} returns the same time, and the messages of
+ * the {@link Log} and the allocation traces are buffered and written in the order of the elements
+ * once all of them are updated. The results are then the same as those of a sequential update.
+ *
+ * @param <T> the type of the elements
+ * @since CloudSim Toolkit 4.0
+ * @see SimulationContext#setParallelUpdateThreshold(int)
+ */
+public abstract class ParallelUpdate<T> {
+
+	/** The number of groups of elements updated by each thread of the pool. */
+	private static final int GROUPS_PER_THREAD = 4;
+
+	/** The group of elements updated by each thread of the pool, if any. */
+	private static final ThreadLocal<Group<?>> CURRENT_GROUP = new ThreadLocal<Group<?>>();
+
+	/**
+	 * Updates a group of consecutive elements in a thread of the pool.
+	 *
+	 * @param <T> the type of the elements
+	 */
+	private static final class Group<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ParallelUpdate<T> update;
+
+		private final List<? extends T> elements;
+
+		private final double[] times;
+
+		private final int from;
+
+		private final int to;
+
+		private final SimulationContext context;
+
+		private final Partition partition;
+
+		/** The log messages and allocation traces written by the updates of the group, in order. */
+		private final List<byte[]> chunks = new ArrayList<byte[]>();
+
+		/** The chunks that are allocation traces rather than log messages. */
+		private final BitSet traces = new BitSet();
+
+		/** The output stream of the log messages. */
+		private final OutputStream logOutput = new GroupOutput(false);
+
+		/** The output stream of the allocation traces. */
+		private final OutputStream traceOutput = new GroupOutput(true);
+
+		/** The buffer used to concatenate the log messages. */
+		private final StringBuilder logBuffer = new StringBuilder();
+
+		private Group(ParallelUpdate<T> update, List<? extends T> elements, double[] times, int from, int to,
+				SimulationContext context, Partition partition) {
+			this.update = update;
+			this.elements = elements;
+			this.times = times;
+			this.from = from;
+			this.to = to;
+			this.context = context;
+			this.partition = partition;
+		}
+
+		@Override
+		protected void compute() {
+			SimulationContext previousContext = SimulationContext.setCurrent(context);
+			PartitionedSimulation partitioned = context.getPartitionedSimulation();
+			Partition previousPartition = partitioned == null ? null : partitioned.setCurrentPartition(partition);
+			Group<?> previousGroup = CURRENT_GROUP.get();
+			CURRENT_GROUP.set(this);
+			try {
+				for (int i = from; i < to; i++) {
+					times[i] = update.update(elements.get(i));
+				}
+			} finally {
+				CURRENT_GROUP.set(previousGroup);
+				if (partitioned != null) {
+					partitioned.setCurrentPartition(previousPartition);
+				}
+				SimulationContext.setCurrent(previousContext);
+			}
+		}
+
+		/**
+		 * Writes the chunks of the group to the log and to the allocation traces.
+		 */
+		private void writeChunks() {
+			for (int i = 0; i < chunks.size(); i++) {
+				try {
+					if (traces.get(i)) {
+						Log.getTraceOutput().write(chunks.get(i));
+					} else if (!Log.isDisabled()) {
+						Log.getOutput().write(chunks.get(i));
+					}
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+
+		/**
+		 * An output stream that adds the written bytes to the chunks of the group.
+		 */
+		private final class GroupOutput extends OutputStream {
+
+			/** Whether the chunks are allocation traces. */
+			private final boolean trace;
+
+			private GroupOutput(boolean trace) {
+				this.trace = trace;
+			}
+
+			@Override
+			public void write(int b) {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				traces.set(chunks.size(), trace);
+				chunks.add(Arrays.copyOfRange(b, off, off + len));
+			}
+
+		}
+
+	}
+
+	/**
+	 * Gets the output stream of the log of the calling thread, if it is updating elements in
+	 * parallel.
+	 *
+	 * @return the output stream, or <tt>null</tt> if the thread is not updating elements in
+	 *         parallel
+	 */
+	static OutputStream getLogOutput() {
+		Group<?> group = CURRENT_GROUP.get();
+		return group == null ? null : group.logOutput;
+	}
+
+	/**
+	 * Gets the output stream of the allocation traces of the calling thread, if it is updating
+	 * elements in parallel.
+	 *
+	 * @return the output stream, or <tt>null</tt> if the thread is not updating elements in
+	 *         parallel
+	 */
+	static OutputStream getTraceOutput() {
+		Group<?> group = CURRENT_GROUP.get();
+		return group == null ? null : group.traceOutput;
+	}
+
+	/**
+	 * Gets the buffer used to concatenate the log messages of the calling thread, if it is
+	 * updating elements in parallel.
+	 *
+	 * @return the buffer, or <tt>null</tt> if the thread is not updating elements in parallel
+	 */
+	static StringBuilder getLogBuffer() {
+		Group<?> group = CURRENT_GROUP.get();
+		return group == null ? null : group.logBuffer;
+	}
+
+	/**
+	 * Updates an element. It may be called by several threads at the same time for different
+	 * elements.
+	 *
+	 * @param element the element
+	 * @return the time of the next event expected by the element
+	 */
+	protected abstract double update(T element);
+
+	/**
+	 * Checks if an element can be updated at the same time as the others. By default, all of
+	 * them can.
+	 *
+	 * @param element the element
+	 * @return true if the element can be updated in parallel
+	 */
+	protected boolean isParallelSafe(T element) {
+		return true;
+	}
+
+	/**
+	 * Updates the elements, in parallel if there are enough of them and all of them can be
+	 * updated in parallel.
+	 *
+	 * @param elements the elements
+	 * @return the time returned by the update of each element, in the order of the elements
+	 */
+	public double[] run(List<? extends T> elements) {
+		double[] times = new double[elements.size()];
+		if (isParallel(elements)) {
+			runInParallel(elements, times);
+		} else {
+			for (int i = 0; i < times.length; i++) {
+				times[i] = update(elements.get(i));
+			}
+		}
+		return times;
+	}
+
+	/**
+	 * Checks if the elements are updated in parallel.
+	 *
+	 * @param elements the elements
+	 * @return true if there are enough elements and all of them can be updated in parallel
+	 */
+	private boolean isParallel(List<? extends T> elements) {
+		int threshold = SimulationContext.current().getParallelUpdateThreshold();
+		if (threshold == 0 || elements.size() < threshold || elements.size() < 2
+				|| CURRENT_GROUP.get() != null) {
+			return false;
+		}
+		for (int i = 0; i < elements.size(); i++) {
+			if (!isParallelSafe(elements.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Updates the elements in groups on the common pool, and writes the log messages and the
+	 * allocation traces of the groups in order.
+	 *
+	 * @param elements the elements
+	 * @param times the array that receives the time returned by the update of each element
+	 */
+	private void runInParallel(List<? extends T> elements, double[] times) {
+		SimulationContext context = SimulationContext.current();
+		PartitionedSimulation partitioned = context.getPartitionedSimulation();
+		Partition partition = partitioned == null ? null : partitioned.getCurrentPartition();
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int groupSize = Math.max(1, elements.size() / (GROUPS_PER_THREAD * pool.getParallelism()));
+		final List<Group<T>> groups = new ArrayList<Group<T>>();
+		for (int from = 0; from < elements.size(); from += groupSize) {
+			groups.add(new Group<T>(this, elements, times, from, Math.min(from + groupSize, elements.size()),
+					context, partition));
+		}
+		pool.invoke(new RecursiveAction() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void compute() {
+				invokeAll(groups);
+			}
+
+		});
+		for (Group<T> group : groups) {
+			group.writeChunks();
+		}
+	}
+
+}
@@ -0,0 +1,607 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+
+/**
+ * A logical process of a {@link PartitionedSimulation}: a group of entities with their own
+ * event queues and clock, which is run by a single thread at a time.
+ * <p>
+ * The events, log messages and allocation traces produced in a time window are recorded with
+ * the time, generation and entity of the clock tick that produced them. Within a tick, the entities
+ * run in the order of their ids, as in a sequential simulation, so merging the records of
+ * all the partitions by this key gives the order of a sequential simulation. Until then,
+ * the new events have provisional serial numbers that are greater than all the final ones.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see Partitioning
+ */
+class Partition {
+
+	/** The first provisional serial number. */
+	private static final long FIRST_PROVISIONAL_SERIAL = Long.MAX_VALUE / 2;
+
+	/** The index of the partition. */
+	private final int index;
+
+	/** The simulation the partition belongs to. */
+	private final PartitionedSimulation simulation;
+
+	/** The entities of the partition, ordered by id. */
+	private final List<SimEntity> entities;
+
+	/** All the entities of the simulation, by id. */
+	private final List<SimEntity> allEntities;
+
+	/** The future event queue. */
+	private final TreeSet<SimEvent> future = new TreeSet<SimEvent>();
+
+	/** The deferred event queue. */
+	private final DeferredQueue deferred = new DeferredQueue();
+
+	/** The index of the events in the future event queue by source entity and tag. */
+	private final FutureEventIndex futureIndex = new FutureEventIndex();
+
+	/** The predicates used in entity wait methods. */
+	private final Map<Integer, Predicate> waitPredicates = new HashMap<Integer, Predicate>();
+
+	/** The buffer reused to hold the events processed in a clock tick. */
+	private final List<SimEvent> currentEvents = new ArrayList<SimEvent>();
+
+	/** The clock of the partition. */
+	private double clock;
+
+	/** The number of clock ticks at the current time before the current one. */
+	private int generation;
+
+	/** The id of the entity which is running, or -1 if there is none. */
+	private int runningEntity = -1;
+
+	/** The next provisional serial number. */
+	private long provisionalSerial = FIRST_PROVISIONAL_SERIAL;
+
+	/**
+	 * The events and cancellations produced in the current time window, in order. An event
+	 * is replaced by <tt>null</tt> when it is cancelled before it is sent to another partition.
+	 */
+	private Object[] records = new Object[64];
+
+	/** The time of the tick that produced each record. */
+	private double[] recordTimes = new double[64];
+
+	/** The generation of the tick that produced each record. */
+	private int[] recordGenerations = new int[64];
+
+	/** The entity that produced each record. */
+	private int[] recordEntities = new int[64];
+
+	/** The number of records. */
+	private int recordCount;
+
+	/** The log messages written in the current time window. */
+	private final PartitionLog log = new PartitionLog();
+
+	/** The buffer used to concatenate the log messages. */
+	private final StringBuilder logBuffer = new StringBuilder();
+
+	/** The start times of the execution time measurements. */
+	private final Map<String, Long> executionTimes = new HashMap<String, Long>();
+
+	/**
+	 * A request to cancel the events sent by an entity which are held by other partitions.
+	 */
+	static final class Cancellation {
+
+		/** The entity that sent the events. */
+		final int source;
+
+		/** The predicate matching the events. */
+		final Predicate predicate;
+
+		/** The partition whose events have already been cancelled, or <tt>null</tt>. */
+		final Partition cancelled;
+
+		Cancellation(int source, Predicate predicate, Partition cancelled) {
+			this.source = source;
+			this.predicate = predicate;
+			this.cancelled = cancelled;
+		}
+
+	}
+
+	/**
+	 * The log messages and allocation traces of the partition, kept in chunks written by the
+	 * same clock tick and entity until they can be merged with the messages of the other
+	 * partitions.
+	 */
+	private final class PartitionLog extends OutputStream {
+
+		/** The messages. */
+		private final List<byte[]> chunks = new ArrayList<byte[]>();
+
+		/** The time of the tick that wrote each message. */
+		private final List<Double> times = new ArrayList<Double>();
+
+		/** The generation of the tick and the entity that wrote each message. */
+		private final List<int[]> writers = new ArrayList<int[]>();
+
+		/** The messages that are allocation traces rather than log messages. */
+		private final BitSet traces = new BitSet();
+
+		/** The output stream of the allocation traces. */
+		private final OutputStream traceOutput = new OutputStream() {
+
+			@Override
+			public void write(int b) {
+				write(new byte[] { (byte) b }, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				add(b, off, len, true);
+			}
+
+		};
+
+		@Override
+		public void write(int b) {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			add(b, off, len, false);
+		}
+
+		private void add(byte[] b, int off, int len, boolean trace) {
+			traces.set(chunks.size(), trace);
+			chunks.add(Arrays.copyOfRange(b, off, off + len));
+			times.add(clock);
+			writers.add(new int[] { generation, runningEntity });
+		}
+
+	}
+
+	/**
+	 * Creates a new partition.
+	 *
+	 * @param simulation the simulation the partition belongs to
+	 * @param index the index of the partition
+	 * @param entities the entities of the partition, ordered by id
+	 * @param allEntities all the entities of the simulation, by id
+	 */
+	Partition(PartitionedSimulation simulation, int index, List<SimEntity> entities, List<SimEntity> allEntities) {
+		this.simulation = simulation;
+		this.index = index;
+		this.entities = entities;
+		this.allEntities = allEntities;
+	}
+
+	int getIndex() {
+		return index;
+	}
+
+	double getClock() {
+		return clock;
+	}
+
+	/**
+	 * Gets the time of the next event of the partition.
+	 *
+	 * @return the time, or -1 if the future event queue is empty
+	 */
+	double getNextEventTime() {
+		return future.isEmpty() ? -1 : future.first().eventTime();
+	}
+
+	DeferredQueue getDeferredQueue() {
+		return deferred;
+	}
+
+	Map<Integer, Predicate> getWaitPredicates() {
+		return waitPredicates;
+	}
+
+	OutputStream getLogOutput() {
+		return log;
+	}
+
+	OutputStream getTraceOutput() {
+		return log.traceOutput;
+	}
+
+	StringBuilder getLogBuffer() {
+		return logBuffer;
+	}
+
+	Map<String, Long> getExecutionTimes() {
+		return executionTimes;
+	}
+
+	/**
+	 * Sets the entity which is running, and the clock tick of the events it sends before the
+	 * simulation runs.
+	 *
+	 * @param entity the id of the entity, or -1
+	 */
+	void setRunningEntity(int entity) {
+		runningEntity = entity;
+		generation = -1;
+	}
+
+	// ======== EVENTS ===============//
+
+	/**
+	 * Adds an event sent by an entity of the partition to another entity of the partition.
+	 *
+	 * @param event the event
+	 * @param first whether the event has priority over the other events at the same time
+	 */
+	void addEvent(SimEvent event, boolean first) {
+		if (first) {
+			event.setSerial(0);
+		} else {
+			event.setSerial(provisionalSerial++);
+			record(event);
+		}
+		future.add(event);
+		futureIndex.add(event);
+	}
+
+	/**
+	 * Records an event sent by an entity of the partition to an entity of another partition,
+	 * which receives it at the end of the time window.
+	 *
+	 * @param event the event
+	 * @param first whether the event has priority over the other events at the same time
+	 */
+	void addRemoteEvent(SimEvent event, boolean first) {
+		event.setSerial(first ? 0 : provisionalSerial++);
+		record(event);
+	}
+
+	/**
+	 * Inserts an event sent by another partition, which already has its final serial number.
+	 *
+	 * @param event the event
+	 */
+	void insertEvent(SimEvent event) {
+		future.add(event);
+		futureIndex.add(event);
+	}
+
+	/**
+	 * Records a request to cancel the events held by other partitions.
+	 *
+	 * @param cancellation the request
+	 */
+	void addCancellation(Cancellation cancellation) {
+		record(cancellation);
+	}
+
+	private void record(Object record) {
+		if (recordCount == records.length) {
+			int length = 2 * recordCount;
+			records = Arrays.copyOf(records, length);
+			recordTimes = Arrays.copyOf(recordTimes, length);
+			recordGenerations = Arrays.copyOf(recordGenerations, length);
+			recordEntities = Arrays.copyOf(recordEntities, length);
+		}
+		records[recordCount] = record;
+		recordTimes[recordCount] = clock;
+		recordGenerations[recordCount] = generation;
+		recordEntities[recordCount] = runningEntity;
+		recordCount++;
+	}
+
+	int getRecordCount() {
+		return recordCount;
+	}
+
+	Object getRecord(int i) {
+		return records[i];
+	}
+
+	/**
+	 * Compares the keys of two records of different partitions.
+	 *
+	 * @param i the index of the record of this partition
+	 * @param other the other partition
+	 * @param j the index of the record of the other partition
+	 * @return a negative number, zero or a positive number if the first record was produced
+	 *         before, at the same time or after the second one
+	 */
+	int compareRecords(int i, Partition other, int j) {
+		if (recordTimes[i] != other.recordTimes[j]) {
+			return recordTimes[i] < other.recordTimes[j] ? -1 : 1;
+		}
+		if (recordGenerations[i] != other.recordGenerations[j]) {
+			return recordGenerations[i] < other.recordGenerations[j] ? -1 : 1;
+		}
+		return recordEntities[i] - other.recordEntities[j];
+	}
+
+	void clearRecords() {
+		Arrays.fill(records, 0, recordCount, null);
+		recordCount = 0;
+		provisionalSerial = FIRST_PROVISIONAL_SERIAL;
+	}
+
+	/**
+	 * Removes an event sent by an entity of the partition.
+	 *
+	 * @param event the event
+	 * @return true, if the event was still in the queue or waiting to be sent to another
+	 *         partition
+	 */
+	boolean cancel(SimEvent event) {
+		if (future.remove(event)) {
+			futureIndex.remove(event);
+			return true;
+		}
+		for (int i = 0; i < recordCount; i++) {
+			if (records[i] == event && simulation.getTargetPartition(event) != this) {
+				records[i] = null;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the first event sent by an entity of the partition to the partition that
+	 * matches a predicate.
+	 *
+	 * @param src the entity
+	 * @param p the predicate
+	 * @return the event, or <tt>null</tt> if there is no matching event
+	 */
+	SimEvent cancel(int src, Predicate p) {
+		SimEvent ev = null;
+		if (p.getClass() == PredicateType.class) {
+			PredicateType predicate = (PredicateType) p;
+			for (int i = 0; i < predicate.getNumberOfTags(); i++) {
+				for (SimEvent event : futureIndex.getEvents(src, predicate.getTag(i))) {
+					if (ev == null || event.compareTo(ev) < 0) {
+						ev = event;
+					}
+				}
+			}
+		} else {
+			for (SimEvent event : future) {
+				if (event.getSource() == src && p.match(event)) {
+					ev = event;
+					break;
+				}
+			}
+		}
+		if (ev != null) {
+			future.remove(ev);
+			futureIndex.remove(ev);
+		}
+		return ev;
+	}
+
+	/**
+	 * Removes all the events sent by an entity that match a predicate.
+	 *
+	 * @param src the entity
+	 * @param p the predicate
+	 * @param serialLimit only the events with a smaller serial number are removed
+	 * @param includeRecords whether to also remove the events waiting to be sent to other
+	 *            partitions
+	 * @return true, if at least one event has been removed
+	 */
+	boolean cancelAll(int src, Predicate p, long serialLimit, boolean includeRecords) {
+		int previousSize = future.size();
+		List<SimEvent> removed = new ArrayList<SimEvent>();
+		if (p.getClass() == PredicateType.class) {
+			PredicateType predicate = (PredicateType) p;
+			for (int i = 0; i < predicate.getNumberOfTags(); i++) {
+				for (SimEvent event : futureIndex.getEvents(src, predicate.getTag(i))) {
+					if (event.getSerial() < serialLimit) {
+						removed.add(event);
+					}
+				}
+			}
+		} else {
+			for (SimEvent event : future) {
+				if (event.getSource() == src && event.getSerial() < serialLimit && p.match(event)) {
+					removed.add(event);
+				}
+			}
+		}
+		for (SimEvent event : removed) {
+			future.remove(event);
+			futureIndex.remove(event);
+		}
+
+		boolean cancelledRemote = false;
+		for (int i = 0; includeRecords && i < recordCount; i++) {
+			if (records[i] instanceof SimEvent) {
+				SimEvent event = (SimEvent) records[i];
+				if (event.getSource() == src && event.getSerial() < serialLimit
+						&& simulation.getTargetPartition(event) != this && p.match(event)) {
+					records[i] = null;
+					cancelledRemote = true;
+				}
+			}
+		}
+		return cancelledRemote || previousSize > future.size();
+	}
+
+	// ======== CLOCK TICKS ===============//
+
+	/**
+	 * Processes the events of the partition in a time window.
+	 *
+	 * @param start the start of the window, which is the time of the next event of the
+	 *            simulation
+	 * @param startGeneration the generation of the clock tick at the start of the window
+	 * @param end the end of the window (exclusive), or the start of the window to process a
+	 *            single clock tick
+	 */
+	void runWindow(double start, int startGeneration, double end) {
+		if (end == start) {
+			if (getNextEventTime() == start) {
+				runClockTick(startGeneration);
+			}
+			return;
+		}
+		while (!future.isEmpty() && future.first().eventTime() < end) {
+			runClockTick(future.first().eventTime() == clock ? generation + 1 : 0);
+		}
+	}
+
+	/**
+	 * Takes the next event and all the events at the same time, and runs the entities.
+	 *
+	 * @param tickGeneration the generation of the clock tick
+	 */
+	private void runClockTick(int tickGeneration) {
+		pollEvents();
+		generation = tickGeneration;
+		for (int i = 0; i < entities.size(); i++) {
+			SimEntity ent = entities.get(i);
+			if (ent.getState() == SimEntity.RUNNABLE) {
+				runningEntity = ent.getId();
+				ent.run();
+			}
+		}
+		runningEntity = -1;
+	}
+
+	/**
+	 * Takes the next event and all the events at the same time, and delivers them to their
+	 * entities without running them.
+	 */
+	void pollEvents() {
+		SimEvent first = future.pollFirst();
+		currentEvents.add(first);
+		while (!future.isEmpty() && future.first().eventTime() == first.eventTime()) {
+			currentEvents.add(future.pollFirst());
+		}
+		for (int i = 0; i < currentEvents.size(); i++) {
+			futureIndex.remove(currentEvents.get(i));
+		}
+		for (int i = 0; i < currentEvents.size(); i++) {
+			processEvent(currentEvents.get(i));
+		}
+		currentEvents.clear();
+	}
+
+	/**
+	 * Processes an event, as done by {@link SimulationContext} in a sequential simulation.
+	 *
+	 * @param e the event
+	 */
+	private void processEvent(SimEvent e) {
+		if (e.eventTime() < clock) {
+			throw new IllegalArgumentException("Past event detected.");
+		}
+		clock = e.eventTime();
+
+		switch (e.getType()) {
+			case SimEvent.ENULL:
+				throw new IllegalArgumentException("Event has a null type.");
+
+			case SimEvent.SEND:
+				int dest = e.getDestination();
+				if (dest < 0) {
+					throw new IllegalArgumentException("Attempt to send to a null entity detected.");
+				}
+				SimEntity destEnt = allEntities.get(dest);
+				if (destEnt.getState() == SimEntity.WAITING) {
+					Integer destObj = Integer.valueOf(dest);
+					Predicate p = waitPredicates.get(destObj);
+					if ((p == null) || (e.getTag() == 9999) || (p.match(e))) {
+						destEnt.setEventBuffer(e);
+						destEnt.setState(SimEntity.RUNNABLE);
+						waitPredicates.remove(destObj);
+					} else {
+						deferred.addEvent(e);
+					}
+				} else {
+					deferred.addEvent(e);
+				}
+				break;
+
+			case SimEvent.HOLD_DONE:
+				int src = e.getSource();
+				if (src < 0) {
+					throw new IllegalArgumentException("Null entity holding.");
+				}
+				allEntities.get(src).setState(SimEntity.RUNNABLE);
+				break;
+
+			default:
+				break;
+		}
+	}
+
+	// ======== LOG ===============//
+
+	int getLogChunkCount() {
+		return log.chunks.size();
+	}
+
+	/**
+	 * Compares the keys of two log messages of different partitions.
+	 *
+	 * @param i the index of the message of this partition
+	 * @param other the other partition
+	 * @param j the index of the message of the other partition
+	 * @return a negative number, zero or a positive number if the first message was written
+	 *         before, at the same time or after the second one
+	 */
+	int compareLogChunks(int i, Partition other, int j) {
+		int result = Double.compare(log.times.get(i), other.log.times.get(j));
+		if (result == 0) {
+			int[] writer = log.writers.get(i);
+			int[] otherWriter = other.log.writers.get(j);
+			result = writer[0] != otherWriter[0] ? writer[0] - otherWriter[0] : writer[1] - otherWriter[1];
+		}
+		return result;
+	}
+
+	/**
+	 * Writes a log message to the log, or to the allocation traces if it is a trace.
+	 *
+	 * @param i the index of the message
+	 * @throws IOException if the message cannot be written
+	 */
+	void writeLogChunk(int i) throws IOException {
+		if (log.traces.get(i)) {
+			Log.getTraceOutput().write(log.chunks.get(i));
+		} else {
+			Log.getOutput().write(log.chunks.get(i));
+		}
+	}
+
+	void clearLog() {
+		log.chunks.clear();
+		log.times.clear();
+		log.writers.clear();
+		log.traces.clear();
+	}
+
+}
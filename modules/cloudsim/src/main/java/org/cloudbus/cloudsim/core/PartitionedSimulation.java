@@ -0,0 +1,567 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+
+/**
+ * The execution of a simulation whose entities have been divided into {@link Partition
+ * partitions}, which process the events of each time window in parallel. At the end of a
+ * window, the events, log messages and allocation traces produced by all the partitions are
+ * merged in the order of a sequential simulation, which gives the events their final serial
+ * numbers and delivers the events sent to other partitions.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see Partitioning
+ */
+class PartitionedSimulation {
+
+	/** The context of the simulation. */
+	private final SimulationContext context;
+
+	/** All the entities of the simulation, by id. */
+	private final List<SimEntity> entities;
+
+	/** The minimum delay of the events sent between different partitions. */
+	private final double lookahead;
+
+	/** The partitions. The first one is the default partition. */
+	private final Partition[] partitions;
+
+	/** The partition of each entity, by id. */
+	private final Partition[] partitionOf;
+
+	/** Whether each entity, by id, has sent events to another partition. */
+	private final boolean[] sentRemote;
+
+	/** The tasks that run the time windows of the partitions. */
+	private final WindowTask[] tasks;
+
+	/** The partition run by each thread. */
+	private final ThreadLocal<Partition> current = new ThreadLocal<Partition>();
+
+	/** The executor of the partitions, or <tt>null</tt> if they are run by the calling thread. */
+	private final ExecutorService executor;
+
+	/** The next final serial number. */
+	private long serial = 1;
+
+	/** The time of the last clock tick run in lock step. */
+	private double tickTime = -1;
+
+	/** The generation of the last clock tick run in lock step. */
+	private int tickGeneration;
+
+	/**
+	 * Runs a time window of a partition in a thread bound to the simulation context.
+	 */
+	private final class WindowTask implements Callable<Void> {
+
+		private final Partition partition;
+
+		private double start;
+
+		private int generation;
+
+		private double end;
+
+		private WindowTask(Partition partition) {
+			this.partition = partition;
+		}
+
+		@Override
+		public Void call() {
+			SimulationContext previous = SimulationContext.setCurrent(context);
+			current.set(partition);
+			try {
+				partition.runWindow(start, generation, end);
+			} finally {
+				current.remove();
+				SimulationContext.setCurrent(previous);
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * Creates the partitions of a simulation, and moves to them the events that have been
+	 * sent before the simulation started.
+	 *
+	 * @param context the context of the simulation
+	 * @param entities all the entities of the simulation, by id
+	 * @param partitioning the partitioning of the entities
+	 * @param initialEvents the events sent before the simulation started
+	 */
+	PartitionedSimulation(SimulationContext context, List<SimEntity> entities, Partitioning partitioning,
+			FutureEventList initialEvents) {
+		this.context = context;
+		this.entities = entities;
+		lookahead = partitioning.getLookahead();
+
+		List<List<SimEntity>> members = new ArrayList<List<SimEntity>>();
+		members.add(new ArrayList<SimEntity>());
+		int[] indexes = new int[entities.size()];
+		for (int i = 0; i < partitioning.getNumberOfPartitions(); i++) {
+			members.add(new ArrayList<SimEntity>());
+			for (SimEntity entity : partitioning.getPartition(i)) {
+				if (entity.getId() < 0 || entity.getId() >= entities.size() || entities.get(entity.getId()) != entity) {
+					throw new IllegalArgumentException("The entity " + entity.getName() + " is not in the simulation");
+				}
+				indexes[entity.getId()] = i + 1;
+			}
+		}
+		for (SimEntity entity : entities) {
+			members.get(indexes[entity.getId()]).add(entity);
+		}
+
+		partitions = new Partition[members.size()];
+		tasks = new WindowTask[members.size()];
+		for (int i = 0; i < partitions.length; i++) {
+			partitions[i] = new Partition(this, i, members.get(i), entities);
+			tasks[i] = new WindowTask(partitions[i]);
+		}
+		partitionOf = new Partition[entities.size()];
+		for (int id = 0; id < entities.size(); id++) {
+			partitionOf[id] = partitions[indexes[id]];
+		}
+		sentRemote = new boolean[entities.size()];
+
+		Iterator<SimEvent> iterator = initialEvents.iterator();
+		while (iterator.hasNext()) {
+			SimEvent event = iterator.next();
+			event.setSerial(serial++);
+			getTargetPartition(event).insertEvent(event);
+		}
+
+		int threads = Math.min(partitioning.getThreads(), partitions.length);
+		executor = threads > 1 ? Executors.newFixedThreadPool(threads, new ThreadFactory() {
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "CloudSim partition");
+				thread.setDaemon(true);
+				return thread;
+			}
+
+		}) : null;
+	}
+
+	/**
+	 * Gets the partition run by the calling thread.
+	 *
+	 * @return the partition, or <tt>null</tt> if the thread is not running any
+	 */
+	Partition getCurrentPartition() {
+		return current.get();
+	}
+
+	/**
+	 * Sets the partition run by the calling thread.
+	 *
+	 * @param partition the partition, or <tt>null</tt> if the thread is not running any
+	 * @return the partition run by the thread before
+	 */
+	Partition setCurrentPartition(Partition partition) {
+		Partition previous = current.get();
+		if (partition == null) {
+			current.remove();
+		} else {
+			current.set(partition);
+		}
+		return previous;
+	}
+
+	/**
+	 * Gets the partition that receives an event.
+	 *
+	 * @param event the event
+	 * @return the partition
+	 */
+	Partition getTargetPartition(SimEvent event) {
+		int entity = event.getType() == SimEvent.SEND && event.getDestination() >= 0 ? event.getDestination()
+				: event.getSource();
+		return entity >= 0 ? partitionOf[entity] : partitions[0];
+	}
+
+	/**
+	 * Gets the partition that is running an entity, which is the one of the calling thread
+	 * while a time window is run.
+	 *
+	 * @param entity the id of the entity
+	 * @return the partition
+	 */
+	private Partition getCallerPartition(int entity) {
+		Partition partition = current.get();
+		if (partition == null) {
+			partition = entity >= 0 ? partitionOf[entity] : partitions[0];
+		}
+		return partition;
+	}
+
+	// ======== EXECUTION ===============//
+
+	/**
+	 * Starts all the entities.
+	 */
+	void startEntities() {
+		for (SimEntity ent : entities) {
+			Partition partition = partitionOf[ent.getId()];
+			partition.setRunningEntity(ent.getId());
+			ent.startEntity();
+			partition.setRunningEntity(-1);
+		}
+		synchronize();
+	}
+
+	/**
+	 * Gets the time of the next event of the simulation.
+	 *
+	 * @return the time, or -1 if there are no more events
+	 */
+	double getNextEventTime() {
+		double time = -1;
+		for (Partition partition : partitions) {
+			double next = partition.getNextEventTime();
+			if (next >= 0 && (time < 0 || next < time)) {
+				time = next;
+			}
+		}
+		return time;
+	}
+
+	/**
+	 * Processes the events of a time window in all the partitions, and then exchanges the
+	 * events sent between them.
+	 *
+	 * @param start the start of the window, which is the time of the next event
+	 * @param end the end of the window (exclusive), or the start of the window to run a
+	 *            single clock tick in lock step
+	 * @return the time of the last processed events
+	 */
+	double runWindow(double start, double end) {
+		boolean lockStep = end == start;
+		int generation = 0;
+		if (lockStep) {
+			generation = start == tickTime ? tickGeneration + 1 : 0;
+			tickTime = start;
+			tickGeneration = generation;
+		}
+
+		List<WindowTask> active = new ArrayList<WindowTask>();
+		for (WindowTask task : tasks) {
+			double next = task.partition.getNextEventTime();
+			if (next >= 0 && (lockStep ? next == start : next < end)) {
+				task.start = start;
+				task.generation = generation;
+				task.end = end;
+				active.add(task);
+			}
+		}
+
+		// the default partition holds the CloudInformationService, whose resource list is read
+		// directly by the brokers, so it is run before the others
+		List<WindowTask> parallel = active;
+		if (!active.isEmpty() && active.get(0) == tasks[0]) {
+			tasks[0].call();
+			parallel = active.subList(1, active.size());
+		}
+
+		if (executor == null || parallel.size() <= 1) {
+			for (WindowTask task : parallel) {
+				task.call();
+			}
+		} else {
+			try {
+				for (Future<Void> future : executor.invokeAll(parallel)) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("The simulation has been interrupted", e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+
+		double clock = start;
+		for (WindowTask task : active) {
+			clock = Math.max(clock, task.partition.getClock());
+		}
+		synchronize();
+		return clock;
+	}
+
+	/**
+	 * Delivers the events at a given time to their entities, without running them.
+	 *
+	 * @param time the time of the next event
+	 */
+	void pollEvents(double time) {
+		for (Partition partition : partitions) {
+			if (partition.getNextEventTime() == time) {
+				partition.pollEvents();
+			}
+		}
+	}
+
+	/**
+	 * Merges the records of all the partitions in the order of a sequential simulation: gives
+	 * the events their final serial numbers, delivers the events sent to other partitions,
+	 * cancels the events held by other partitions and writes the log messages.
+	 */
+	private void synchronize() {
+		int[] positions = new int[partitions.length];
+		while (true) {
+			Partition next = null;
+			for (Partition partition : partitions) {
+				int i = positions[partition.getIndex()];
+				if (i < partition.getRecordCount()
+						&& (next == null || partition.compareRecords(i, next, positions[next.getIndex()]) < 0)) {
+					next = partition;
+				}
+			}
+			if (next == null) {
+				break;
+			}
+
+			Object record = next.getRecord(positions[next.getIndex()]++);
+			if (record instanceof SimEvent) {
+				SimEvent event = (SimEvent) record;
+				if (event.getSerial() != 0) {
+					event.setSerial(serial++);
+				}
+				Partition target = getTargetPartition(event);
+				if (target != next) {
+					target.insertEvent(event);
+				}
+			} else if (record != null) {
+				Partition.Cancellation cancellation = (Partition.Cancellation) record;
+				for (Partition partition : partitions) {
+					if (partition != cancellation.cancelled) {
+						partition.cancelAll(cancellation.source, cancellation.predicate, serial, false);
+					}
+				}
+			}
+		}
+		for (Partition partition : partitions) {
+			partition.clearRecords();
+		}
+
+		writeLog();
+	}
+
+	/**
+	 * Writes the log messages and allocation traces of all the partitions in the order of a
+	 * sequential simulation.
+	 */
+	private void writeLog() {
+		int[] positions = new int[partitions.length];
+		while (true) {
+			Partition next = null;
+			for (Partition partition : partitions) {
+				int i = positions[partition.getIndex()];
+				if (i < partition.getLogChunkCount()
+						&& (next == null || partition.compareLogChunks(i, next, positions[next.getIndex()]) < 0)) {
+					next = partition;
+				}
+			}
+			if (next == null) {
+				break;
+			}
+			try {
+				next.writeLogChunk(positions[next.getIndex()]++);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		for (Partition partition : partitions) {
+			partition.clearLog();
+		}
+	}
+
+	/**
+	 * Stops the threads that run the partitions.
+	 */
+	void shutdown() {
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	// ======== EVENTS ===============//
+
+	/**
+	 * Sends an event from one entity to another.
+	 *
+	 * @param src the src
+	 * @param dest the dest
+	 * @param delay the delay
+	 * @param tag the tag
+	 * @param data the data
+	 * @param first whether the event has priority over the other events at the same time
+	 * @return the sent event
+	 * @throws IllegalStateException if the event is sent to another partition with a delay
+	 *             shorter than the lookahead
+	 */
+	SimEvent send(int src, int dest, double delay, int tag, Object data, boolean first) {
+		if (delay < 0) {
+			throw new IllegalArgumentException("Send delay can't be negative.");
+		}
+
+		Partition source = getCallerPartition(src);
+		SimEvent e = new SimEvent(SimEvent.SEND, source.getClock() + delay, src, dest, tag, data);
+		if (getTargetPartition(e) == source) {
+			source.addEvent(e, first);
+		} else {
+			if (delay < lookahead) {
+				throw new IllegalStateException("The event " + tag + " from " + entities.get(src).getName() + " to "
+						+ entities.get(dest).getName() + " has a delay shorter than the lookahead: " + delay);
+			}
+			if (src >= 0) {
+				sentRemote[src] = true;
+			}
+			source.addRemoteEvent(e, first);
+		}
+		return e;
+	}
+
+	/**
+	 * Holds an entity for some time.
+	 *
+	 * @param src the src
+	 * @param delay the delay
+	 */
+	void hold(int src, double delay) {
+		Partition partition = getCallerPartition(src);
+		partition.addEvent(new SimEvent(SimEvent.HOLD_DONE, partition.getClock() + delay, src), false);
+		entities.get(src).setState(SimEntity.HOLDING);
+	}
+
+	/**
+	 * Sets an entity's state to be waiting for an event matching a predicate.
+	 *
+	 * @param src the src
+	 * @param p the p
+	 */
+	void wait(int src, Predicate p) {
+		entities.get(src).setState(SimEntity.WAITING);
+		if (p != CloudSim.SIM_ANY) {
+			partitionOf[src].getWaitPredicates().put(src, p);
+		}
+	}
+
+	/**
+	 * Counts the deferred events of an entity matching a predicate.
+	 *
+	 * @param d the d
+	 * @param p the p
+	 * @return the number of events
+	 */
+	int waiting(int d, Predicate p) {
+		return partitionOf[d].getDeferredQueue().count(d, p);
+	}
+
+	/**
+	 * Removes the first deferred event of an entity matching a predicate.
+	 *
+	 * @param src the src
+	 * @param p the p
+	 * @return the event, or <tt>null</tt> if there is no matching event
+	 */
+	SimEvent select(int src, Predicate p) {
+		return partitionOf[src].getDeferredQueue().removeFirst(src, p);
+	}
+
+	/**
+	 * Finds the first deferred event of an entity matching a predicate.
+	 *
+	 * @param src the src
+	 * @param p the p
+	 * @return the event, or <tt>null</tt> if there is no matching event
+	 */
+	SimEvent findFirstDeferred(int src, Predicate p) {
+		return partitionOf[src].getDeferredQueue().find(src, p);
+	}
+
+	/**
+	 * Removes an event sent by an entity of the calling partition.
+	 *
+	 * @param e the event
+	 * @return true, if the event was still in the queue and has been cancelled
+	 * @throws IllegalStateException if the event is held by another partition
+	 */
+	boolean cancel(SimEvent e) {
+		Partition partition = getCallerPartition(e.getSource());
+		if (partition.cancel(e)) {
+			return true;
+		}
+		if (getTargetPartition(e) != partition && e.eventTime() > partition.getClock()) {
+			throw new IllegalStateException("The event " + e.getTag() + " held by another partition cannot be cancelled");
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the first event sent by an entity to its own partition that matches a predicate.
+	 *
+	 * @param src the src
+	 * @param p the p
+	 * @return the event, or <tt>null</tt> if there is no matching event
+	 * @throws IllegalStateException if the entity is not in the calling partition
+	 */
+	SimEvent cancel(int src, Predicate p) {
+		Partition partition = getCallerPartition(src);
+		if (partition != partitionOf[src]) {
+			throw new IllegalStateException("The events of " + entities.get(src).getName()
+					+ " cannot be cancelled from another partition");
+		}
+		return partition.cancel(src, p);
+	}
+
+	/**
+	 * Removes all the events sent by an entity that match a predicate. The events held by
+	 * other partitions than the calling one are removed at the end of the time window.
+	 *
+	 * @param src the src
+	 * @param p the p
+	 * @return true, if at least one event of the calling partition has been cancelled
+	 */
+	boolean cancelAll(int src, Predicate p) {
+		Partition caller = getCallerPartition(src);
+		Partition cancelled = null;
+		boolean result = false;
+		if (caller == partitionOf[src]) {
+			result = caller.cancelAll(src, p, Long.MAX_VALUE, true);
+			cancelled = caller;
+		}
+		if (cancelled == null || sentRemote[src]) {
+			caller.addCancellation(new Partition.Cancellation(src, p, cancelled));
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The partitioning of the entities of a simulation into logical processes that are run in
+ * parallel, for example a partition for each datacenter and another one for the broker. Each
+ * partition has its own event queues and clock, and the partitions are synchronised with a
+ * conservative, window-based protocol: all the partitions process the events of a time window
+ * <tt>[T, T + lookahead)</tt> at the same time, and then exchange the events they have sent to
+ * each other. With a lookahead of 0 the partitions process each clock tick in lock step.
+ * <p>
+ * The events scheduled at the same time are processed in the same order as in a sequential
+ * simulation, so the results, including the log, are the same. This requires that:
+ * <ul>
+ * <li>the events sent between different partitions have a delay of at least the lookahead,
+ * which is checked when they are sent, e.g. the minimum latency of the
+ * {@link org.cloudbus.cloudsim.NetworkTopology network topology} between the partitions;</li>
+ * <li>the entities of different partitions only share objects through events, and do not
+ * modify the objects they have sent to another partition;</li>
+ * <li>entities are not added while the simulation is running, and the simulation is not
+ * paused at a given time.</li>
+ * </ul>
+ * The entities that are not in any partition, such as the {@link CloudInformationService},
+ * are put in an additional default partition, which is run before the others in each time
+ * window so that the brokers can read the {@link CloudSim#getCloudResourceList() resource list}.
+ * <p>
+ * An entity can only {@link CloudSim#cancel(SimEvent) cancel} single events that it has
+ * sent to its own partition. {@link CloudSim#cancelAll(int, org.cloudbus.cloudsim.core.predicates.Predicate)
+ * Cancelling all the events} sent by an entity also removes the ones held by other
+ * partitions at the end of the time window, so it is only exact with a lookahead of 0 or
+ * when these events are at least a lookahead away; its result only reflects the events
+ * of the partition of the entity. Terminating the simulation abruptly stops it at the end
+ * of the current time window.
+ *
+ * @since CloudSim Toolkit 4.0
+ * @see CloudSim#setPartitioning(Partitioning)
+ */
+public class Partitioning {
+
+	/** The minimum delay of the events sent between different partitions. */
+	private final double lookahead;
+
+	/** The entities of each partition. */
+	private final List<List<SimEntity>> partitions = new ArrayList<List<SimEntity>>();
+
+	/** The entities that have been put in a partition. */
+	private final Set<SimEntity> assigned = new HashSet<SimEntity>();
+
+	/** The maximum number of partitions that are run at the same time. */
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Creates a new partitioning, without any partition.
+	 *
+	 * @param lookahead the minimum delay of the events sent between different partitions
+	 */
+	public Partitioning(double lookahead) {
+		if (lookahead < 0 || Double.isNaN(lookahead) || Double.isInfinite(lookahead)) {
+			throw new IllegalArgumentException("The lookahead should be a non-negative number, but is: " + lookahead);
+		}
+		this.lookahead = lookahead;
+	}
+
+	/**
+	 * Adds a new partition.
+	 *
+	 * @param entities the entities of the partition
+	 * @return this partitioning
+	 */
+	public Partitioning addPartition(SimEntity... entities) {
+		return addPartition(Arrays.asList(entities));
+	}
+
+	/**
+	 * Adds a new partition.
+	 *
+	 * @param entities the entities of the partition
+	 * @return this partitioning
+	 */
+	public Partitioning addPartition(List<? extends SimEntity> entities) {
+		if (entities.isEmpty()) {
+			throw new IllegalArgumentException("A partition should have at least one entity");
+		}
+		for (SimEntity entity : entities) {
+			if (entity == null || assigned.contains(entity)) {
+				throw new IllegalArgumentException("The entity " + entity + " is null or already in a partition");
+			}
+		}
+		assigned.addAll(entities);
+		partitions.add(Collections.unmodifiableList(new ArrayList<SimEntity>(entities)));
+		return this;
+	}
+
+	/**
+	 * Gets the minimum delay of the events sent between different partitions.
+	 *
+	 * @return the lookahead
+	 */
+	public double getLookahead() {
+		return lookahead;
+	}
+
+	/**
+	 * Gets the number of partitions, not counting the default partition.
+	 *
+	 * @return the number of partitions
+	 */
+	public int getNumberOfPartitions() {
+		return partitions.size();
+	}
+
+	/**
+	 * Gets the entities of a partition.
+	 *
+	 * @param index the index of the partition, in the order they were added
+	 * @return the unmodifiable list of entities
+	 */
+	public List<SimEntity> getPartition(int index) {
+		return partitions.get(index);
+	}
+
+	/**
+	 * Gets the maximum number of partitions that are run at the same time.
+	 *
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return threads;
+	}
+
+	/**
+	 * Sets the maximum number of partitions that are run at the same time. By default, it is
+	 * the number of available processors.
+	 *
+	 * @param threads the number of threads
+	 * @return this partitioning
+	 */
+	public Partitioning setThreads(int threads) {
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads should be positive, but is: " + threads);
+		}
+		this.threads = threads;
+		return this;
+	}
+
+}
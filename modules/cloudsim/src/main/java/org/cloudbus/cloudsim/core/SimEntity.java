@@ -8,6 +8,13 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.NetworkTopology;
 import org.cloudbus.cloudsim.core.predicates.Predicate;
@@ -24,6 +31,10 @@ import org.cloudbus.cloudsim.core.predicates.Predicate;
  * finishes. If you want to save data in log files this is the method in which the corresponding
  * code would be placed.
  * </ul>
+ * An entity may also {@link #registerHandler(int, SimEventHandler) register} the handler of each
+ * event tag it processes when it is constructed, each subclass adding its own, and
+ * {@link #dispatchEvent(SimEvent) dispatch} the events to them in {@link #processEvent(SimEvent)}
+ * with a single lookup.
  * 
  * @todo the list above is redundant once all mentioned methods are abstract.
  * The documentation duplication may lead to have some of them
@@ -32,7 +43,9 @@ import org.cloudbus.cloudsim.core.predicates.Predicate;
  * @author Marcos Dias de Assuncao
  * @since CloudSim Toolkit 1.0
  */
-public abstract class SimEntity implements Cloneable {
+public abstract class SimEntity implements Cloneable, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** The entity name. */
 	private String name;
@@ -46,6 +59,27 @@ public abstract class SimEntity implements Cloneable {
 	/** The entity's current state. */
 	private int state;
 
+	/** The simulation context the entity belongs to. */
+	private final SimulationContext context;
+
+	/** The greatest tag whose handler is kept in {@link #handlers}. */
+	private static final int MAX_INDEXED_TAG = 1023;
+
+	/** The registered handlers of the events with a tag between 0 and {@link #MAX_INDEXED_TAG}, indexed by tag. */
+	private SimEventHandler<?>[] handlers;
+
+	/** The registered handlers of the events with other tags, by tag. */
+	private Map<Integer, SimEventHandler<?>> otherHandlers;
+
+	/** The tags of the unknown events that have been reported. */
+	private Set<Integer> reportedTags;
+
+	/**
+	 * Whether the class of the entity overrides the default method that processes the events
+	 * without handler, or <tt>null</tt> if it has not been checked yet.
+	 */
+	private Boolean otherEventsOverridden;
+
 	/**
 	 * Creates a new entity.
 	 * 
@@ -58,7 +92,8 @@ public abstract class SimEntity implements Cloneable {
 		this.name = name;
 		id = -1;
 		state = RUNNABLE;
-		CloudSim.addEntity(this);
+		context = SimulationContext.current();
+		context.addEntity(this);
 	}
 
 	/**
@@ -79,6 +114,16 @@ public abstract class SimEntity implements Cloneable {
 		return id;
 	}
 
+	/**
+	 * Gets the simulation context the entity belongs to, which is the one bound to the thread
+	 * that created the entity.
+	 * 
+	 * @return the simulation context
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
 	// The schedule functions
 
 	/**
@@ -89,12 +134,13 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void schedule(int dest, double delay, int tag, Object data) {
-		if (!CloudSim.running()) {
-			return;
+	public SimEvent schedule(int dest, double delay, int tag, Object data) {
+		if (!context.running()) {
+			return null;
 		}
-		CloudSim.send(id, dest, delay, tag, data);
+		return context.send(id, dest, delay, tag, data);
 	}
 
 	/**
@@ -104,9 +150,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The unique id number of the destination entity
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void schedule(int dest, double delay, int tag) {
-		schedule(dest, delay, tag, null);
+	public SimEvent schedule(int dest, double delay, int tag) {
+		return schedule(dest, delay, tag, null);
 	}
 
 	/**
@@ -117,9 +164,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void schedule(String dest, double delay, int tag, Object data) {
-		schedule(CloudSim.getEntityId(dest), delay, tag, data);
+	public SimEvent schedule(String dest, double delay, int tag, Object data) {
+		return schedule(context.getEntityId(dest), delay, tag, data);
 	}
 
 	/**
@@ -129,9 +177,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The name of the port to send the event through
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void schedule(String dest, double delay, int tag) {
-		schedule(dest, delay, tag, null);
+	public SimEvent schedule(String dest, double delay, int tag) {
+		return schedule(dest, delay, tag, null);
 	}
 
 	/**
@@ -141,9 +190,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The unique id number of the destination entity
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleNow(int dest, int tag, Object data) {
-		schedule(dest, 0, tag, data);
+	public SimEvent scheduleNow(int dest, int tag, Object data) {
+		return schedule(dest, 0, tag, data);
 	}
 
 	/**
@@ -152,9 +202,10 @@ public abstract class SimEntity implements Cloneable {
 	 * 
 	 * @param dest The unique id number of the destination entity
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleNow(int dest, int tag) {
-		schedule(dest, 0, tag, null);
+	public SimEvent scheduleNow(int dest, int tag) {
+		return schedule(dest, 0, tag, null);
 	}
 
 	/**
@@ -164,9 +215,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The name of the port to send the event through
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleNow(String dest, int tag, Object data) {
-		schedule(CloudSim.getEntityId(dest), 0, tag, data);
+	public SimEvent scheduleNow(String dest, int tag, Object data) {
+		return schedule(context.getEntityId(dest), 0, tag, data);
 	}
 
 	/**
@@ -176,9 +228,10 @@ public abstract class SimEntity implements Cloneable {
 	 * 
 	 * @param dest The name of the port to send the event through
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleNow(String dest, int tag) {
-		schedule(dest, 0, tag, null);
+	public SimEvent scheduleNow(String dest, int tag) {
+		return schedule(dest, 0, tag, null);
 	}
 
 	/**
@@ -189,12 +242,13 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirst(int dest, double delay, int tag, Object data) {
-		if (!CloudSim.running()) {
-			return;
+	public SimEvent scheduleFirst(int dest, double delay, int tag, Object data) {
+		if (!context.running()) {
+			return null;
 		}
-		CloudSim.sendFirst(id, dest, delay, tag, data);
+		return context.sendFirst(id, dest, delay, tag, data);
 	}
 
 	/**
@@ -204,9 +258,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The unique id number of the destination entity
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirst(int dest, double delay, int tag) {
-		scheduleFirst(dest, delay, tag, null);
+	public SimEvent scheduleFirst(int dest, double delay, int tag) {
+		return scheduleFirst(dest, delay, tag, null);
 	}
 
 	/**
@@ -217,9 +272,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirst(String dest, double delay, int tag, Object data) {
-		scheduleFirst(CloudSim.getEntityId(dest), delay, tag, data);
+	public SimEvent scheduleFirst(String dest, double delay, int tag, Object data) {
+		return scheduleFirst(context.getEntityId(dest), delay, tag, data);
 	}
 
 	/**
@@ -229,9 +285,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The name of the port to send the event through
 	 * @param delay How long from the current simulation time the event should be sent
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirst(String dest, double delay, int tag) {
-		scheduleFirst(dest, delay, tag, null);
+	public SimEvent scheduleFirst(String dest, double delay, int tag) {
+		return scheduleFirst(dest, delay, tag, null);
 	}
 
 	/**
@@ -242,9 +299,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The unique id number of the destination entity
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirstNow(int dest, int tag, Object data) {
-		scheduleFirst(dest, 0, tag, data);
+	public SimEvent scheduleFirstNow(int dest, int tag, Object data) {
+		return scheduleFirst(dest, 0, tag, data);
 	}
 
 	/**
@@ -254,9 +312,10 @@ public abstract class SimEntity implements Cloneable {
 	 * 
 	 * @param dest The unique id number of the destination entity
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirstNow(int dest, int tag) {
-		scheduleFirst(dest, 0, tag, null);
+	public SimEvent scheduleFirstNow(int dest, int tag) {
+		return scheduleFirst(dest, 0, tag, null);
 	}
 
 	/**
@@ -267,9 +326,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @param dest The name of the port to send the event through
 	 * @param tag An user-defined number representing the type of event.
 	 * @param data The data to be sent with the event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirstNow(String dest, int tag, Object data) {
-		scheduleFirst(CloudSim.getEntityId(dest), 0, tag, data);
+	public SimEvent scheduleFirstNow(String dest, int tag, Object data) {
+		return scheduleFirst(context.getEntityId(dest), 0, tag, data);
 	}
 
 	/**
@@ -278,9 +338,10 @@ public abstract class SimEntity implements Cloneable {
 	 * 
 	 * @param dest The name of the port to send the event through
 	 * @param tag An user-defined number representing the type of event.
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 */
-	public void scheduleFirstNow(String dest, int tag) {
-		scheduleFirst(dest, 0, tag, null);
+	public SimEvent scheduleFirstNow(String dest, int tag) {
+		return scheduleFirst(dest, 0, tag, null);
 	}
 
 	/**
@@ -292,10 +353,10 @@ public abstract class SimEntity implements Cloneable {
 		if (delay < 0) {
 			throw new IllegalArgumentException("Negative delay supplied.");
 		}
-		if (!CloudSim.running()) {
+		if (!context.running()) {
 			return;
 		}
-		CloudSim.pause(id, delay);
+		context.pause(id, delay);
 	}
 
 	/**
@@ -305,7 +366,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @return The count of matching events
 	 */
 	public int numEventsWaiting(Predicate p) {
-		return CloudSim.waiting(id, p);
+		return context.waiting(id, p);
 	}
 
 	/**
@@ -314,7 +375,7 @@ public abstract class SimEntity implements Cloneable {
 	 * @return The count of events
 	 */
 	public int numEventsWaiting() {
-		return CloudSim.waiting(id, CloudSim.SIM_ANY);
+		return context.waiting(id, CloudSim.SIM_ANY);
 	}
 
 	/**
@@ -324,11 +385,26 @@ public abstract class SimEntity implements Cloneable {
 	 * @return the simulation event
 	 */
 	public SimEvent selectEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!context.running()) {
 			return null;
 		}
 
-		return CloudSim.select(id, p);
+		return context.select(id, p);
+	}
+
+	/**
+	 * Cancels an event previously scheduled by this entity, using the event returned when it was
+	 * scheduled as a handle.
+	 * 
+	 * @param ev the event returned by one of the schedule or send methods
+	 * @return true if the event was waiting in the future queue and has been cancelled
+	 */
+	public boolean cancelEvent(SimEvent ev) {
+		if (!context.running() || ev == null || ev.isRecycled() || ev.getSource() != id) {
+			return false;
+		}
+
+		return context.cancel(ev);
 	}
 
 	/**
@@ -338,11 +414,11 @@ public abstract class SimEntity implements Cloneable {
 	 * @return The number of events cancelled (0 or 1)
 	 */
 	public SimEvent cancelEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!context.running()) {
 			return null;
 		}
 
-		return CloudSim.cancel(id, p);
+		return context.cancel(id, p);
 	}
 
 	/**
@@ -353,13 +429,10 @@ public abstract class SimEntity implements Cloneable {
 	 * @return the simulation event
 	 */
 	public SimEvent getNextEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!context.running()) {
 			return null;
 		}
-		if (numEventsWaiting(p) > 0) {
-			return selectEvent(p);
-		}
-		return null;
+		return context.select(id, p);
 	}
 
 	/**
@@ -369,11 +442,11 @@ public abstract class SimEntity implements Cloneable {
 	 * @param p The predicate to match
 	 */
 	public void waitForEvent(Predicate p) {
-		if (!CloudSim.running()) {
+		if (!context.running()) {
 			return;
 		}
 
-		CloudSim.wait(id, p);
+		context.wait(id, p);
 		state = WAITING;
 	}
 
@@ -387,6 +460,110 @@ public abstract class SimEntity implements Cloneable {
 		return getNextEvent(CloudSim.SIM_ANY);
 	}
 
+	/**
+	 * Registers the handler of the events with a given tag, replacing the one registered before
+	 * for the tag, if any. Subclasses register their handlers in their constructors, after the
+	 * ones of their superclasses, so that they can replace them.
+	 * 
+	 * @param <T> the type of the entity, which must be a type of this entity
+	 * @param tag the tag of the events
+	 * @param handler the handler, or <tt>null</tt> to remove the handler of the tag
+	 */
+	protected <T extends SimEntity> void registerHandler(int tag, SimEventHandler<T> handler) {
+		if (tag >= 0 && tag <= MAX_INDEXED_TAG) {
+			if (handlers == null) {
+				handlers = new SimEventHandler<?>[Math.max(tag + 1, 64)];
+			} else if (tag >= handlers.length) {
+				handlers = Arrays.copyOf(handlers, Math.min(Math.max(tag + 1, handlers.length * 2),
+						MAX_INDEXED_TAG + 1));
+			}
+			handlers[tag] = handler;
+		} else if (handler != null) {
+			if (otherHandlers == null) {
+				otherHandlers = new HashMap<Integer, SimEventHandler<?>>();
+			}
+			otherHandlers.put(tag, handler);
+		} else if (otherHandlers != null) {
+			otherHandlers.remove(tag);
+		}
+	}
+
+	/**
+	 * Gets the handler of the events with a given tag.
+	 * 
+	 * @param tag the tag of the events
+	 * @return the registered handler, or <tt>null</tt> if there is none
+	 */
+	protected SimEventHandler<?> getHandler(int tag) {
+		if (tag >= 0 && tag <= MAX_INDEXED_TAG) {
+			return handlers != null && tag < handlers.length ? handlers[tag] : null;
+		}
+		return otherHandlers != null ? otherHandlers.get(tag) : null;
+	}
+
+	/**
+	 * Processes an event with the handler registered for its tag.
+	 * 
+	 * @param ev the event
+	 * @return <tt>true</tt> if the event has been processed, <tt>false</tt> if there is no
+	 *         handler for its tag
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected boolean dispatchEvent(SimEvent ev) {
+		SimEventHandler handler = getHandler(ev.getTag());
+		if (handler == null) {
+			return false;
+		}
+		handler.processEvent(this, ev);
+		return true;
+	}
+
+	/**
+	 * Reports an event that the entity does not know how to process. Only the first event with
+	 * each tag is reported. It is meant for the last fallback of an entity, once its subclasses
+	 * had the chance to process the event.
+	 * 
+	 * @param ev the event
+	 * @see #reportUnknownEvent(SimEvent, Class)
+	 */
+	protected void reportUnknownEvent(SimEvent ev) {
+		if (reportedTags == null) {
+			reportedTags = new HashSet<Integer>();
+		}
+		if (reportedTags.add(ev.getTag())) {
+			Log.printConcatLine(getName(), ": Error - unknown event tag ", ev.getTag(),
+					"; the next events with this tag will not be reported.");
+		}
+	}
+
+	/**
+	 * Reports an event that reached the default {@code processOtherEvent(SimEvent)} method of a
+	 * class, if the class of the entity does not override it, so that it is the last fallback of
+	 * the entity. An overriding method may process the event after calling the default one, so
+	 * the events of the entities that override it are not reported.
+	 * 
+	 * @param ev the event
+	 * @param declaringClass the class that declares the default method
+	 * @see #reportUnknownEvent(SimEvent)
+	 */
+	protected void reportUnknownEvent(SimEvent ev, Class<? extends SimEntity> declaringClass) {
+		if (otherEventsOverridden == null) {
+			otherEventsOverridden = false;
+			for (Class<?> type = getClass(); type != declaringClass && type != null; type = type.getSuperclass()) {
+				try {
+					type.getDeclaredMethod("processOtherEvent", SimEvent.class);
+					otherEventsOverridden = true;
+					break;
+				} catch (NoSuchMethodException e) {
+					// the class inherits the method
+				}
+			}
+		}
+		if (!otherEventsOverridden) {
+			reportUnknownEvent(ev);
+		}
+	}
+
 	/**
 	 * This method is invoked by the {@link CloudSim} class when the simulation is started. 
 	 * It should be responsible for starting the entity up.
@@ -416,14 +593,23 @@ public abstract class SimEntity implements Cloneable {
          * The run loop to process events fired during the simulation.
          * The events that will be processed are defined
          * in the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method.
+         * Each event is recycled once it has been processed.
          * 
          * @see #processEvent(org.cloudbus.cloudsim.core.SimEvent) 
          */
 	public void run() {
 		SimEvent ev = evbuf != null ? evbuf : getNextEvent();
+		EventProfiler profiler = context.getActiveProfiler();
 
 		while (ev != null) {
-			processEvent(ev);
+			if (profiler == null) {
+				processEvent(ev);
+			} else {
+				long start = System.nanoTime();
+				processEvent(ev);
+				profiler.processed(this, ev.getTag(), System.nanoTime() - start);
+			}
+			context.recycle(ev);
 			if (state != RUNNABLE) {
 				break;
 			}
@@ -448,6 +634,13 @@ public abstract class SimEntity implements Cloneable {
 		SimEntity copy = (SimEntity) super.clone();
 		copy.setName(name);
 		copy.setEventBuffer(null);
+		if (handlers != null) {
+			copy.handlers = handlers.clone();
+		}
+		if (otherHandlers != null) {
+			copy.otherHandlers = new HashMap<Integer, SimEventHandler<?>>(otherHandlers);
+		}
+		copy.reportedTags = null;
 		return copy;
 	}
 
@@ -533,14 +726,15 @@ public abstract class SimEntity implements Cloneable {
 	 *            a negative number, then it will be changed to 0
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
 	 * @param data A reference to data to be sent with the event
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityID > 0
 	 * @pre delay >= 0.0
 	 * @pre data != null
 	 * @post $none
 	 */
-	protected void send(int entityId, double delay, int cloudSimTag, Object data) {
+	protected SimEvent send(int entityId, double delay, int cloudSimTag, Object data) {
 		if (entityId < 0) {
-			return;
+			return null;
 		}
 
 		// if delay is -ve, then it doesn't make sense. So resets to 0.0
@@ -554,7 +748,7 @@ public abstract class SimEntity implements Cloneable {
 
 		if (entityId < 0) {
 			Log.printConcatLine(getName(), ".send(): Error - " + "invalid entity id ", entityId);
-			return;
+			return null;
 		}
 
 		int srcId = getId();
@@ -562,7 +756,7 @@ public abstract class SimEntity implements Cloneable {
 			delay += getNetworkDelay(srcId, entityId);
 		}
 
-		schedule(entityId, delay, cloudSimTag, data);
+		return schedule(entityId, delay, cloudSimTag, data);
 	}
 
 	/**
@@ -573,12 +767,13 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay how long from the current simulation time the event should be sent. If delay is
 	 *            a negative number, then it will be changed to 0
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityID > 0
 	 * @pre delay >= 0.0
 	 * @post $none
 	 */
-	protected void send(int entityId, double delay, int cloudSimTag) {
-		send(entityId, delay, cloudSimTag, null);
+	protected SimEvent send(int entityId, double delay, int cloudSimTag) {
+		return send(entityId, delay, cloudSimTag, null);
 	}
 
 	/**
@@ -590,13 +785,14 @@ public abstract class SimEntity implements Cloneable {
 	 *            a negative number, then it will be changed to 0
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
 	 * @param data A reference to data to be sent with the event
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityName != null
 	 * @pre delay >= 0.0
 	 * @pre data != null
 	 * @post $none
 	 */
-	protected void send(String entityName, double delay, int cloudSimTag, Object data) {
-		send(CloudSim.getEntityId(entityName), delay, cloudSimTag, data);
+	protected SimEvent send(String entityName, double delay, int cloudSimTag, Object data) {
+		return send(context.getEntityId(entityName), delay, cloudSimTag, data);
 	}
 
 	/**
@@ -607,12 +803,13 @@ public abstract class SimEntity implements Cloneable {
 	 * @param delay how long from the current simulation time the event should be sent. If delay is
 	 *            a negative number, then it will be changed to 0
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityName != null
 	 * @pre delay >= 0.0
 	 * @post $none
 	 */
-	protected void send(String entityName, double delay, int cloudSimTag) {
-		send(entityName, delay, cloudSimTag, null);
+	protected SimEvent send(String entityName, double delay, int cloudSimTag) {
+		return send(entityName, delay, cloudSimTag, null);
 	}
 
 	/**
@@ -621,13 +818,14 @@ public abstract class SimEntity implements Cloneable {
 	 * @param entityId the id number of the destination entity
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
 	 * @param data A reference to data to be sent with the event
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityID > 0
 	 * @pre delay >= 0.0
 	 * @pre data != null
 	 * @post $none
 	 */
-	protected void sendNow(int entityId, int cloudSimTag, Object data) {
-		send(entityId, 0, cloudSimTag, data);
+	protected SimEvent sendNow(int entityId, int cloudSimTag, Object data) {
+		return send(entityId, 0, cloudSimTag, data);
 	}
 
 	/**
@@ -635,12 +833,13 @@ public abstract class SimEntity implements Cloneable {
 	 * 
 	 * @param entityId the id number of the destination entity
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityID > 0
 	 * @pre delay >= 0.0
 	 * @post $none
 	 */
-	protected void sendNow(int entityId, int cloudSimTag) {
-		send(entityId, 0, cloudSimTag, null);
+	protected SimEvent sendNow(int entityId, int cloudSimTag) {
+		return send(entityId, 0, cloudSimTag, null);
 	}
 
 	/**
@@ -649,13 +848,14 @@ public abstract class SimEntity implements Cloneable {
 	 * @param entityName the name of the destination entity
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
 	 * @param data A reference to data to be sent with the event
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityName != null
 	 * @pre delay >= 0.0
 	 * @pre data != null
 	 * @post $none
 	 */
-	protected void sendNow(String entityName, int cloudSimTag, Object data) {
-		send(CloudSim.getEntityId(entityName), 0, cloudSimTag, data);
+	protected SimEvent sendNow(String entityName, int cloudSimTag, Object data) {
+		return send(context.getEntityId(entityName), 0, cloudSimTag, data);
 	}
 
 	/**
@@ -663,12 +863,13 @@ public abstract class SimEntity implements Cloneable {
 	 * 
 	 * @param entityName the name of the destination entity
 	 * @param cloudSimTag an user-defined number representing the type of an event/message
+	 * @return the scheduled event, or <tt>null</tt> if it was not scheduled
 	 * @pre entityName != null
 	 * @pre delay >= 0.0
 	 * @post $none
 	 */
-	protected void sendNow(String entityName, int cloudSimTag) {
-		send(entityName, 0, cloudSimTag, null);
+	protected SimEvent sendNow(String entityName, int cloudSimTag) {
+		return send(entityName, 0, cloudSimTag, null);
 	}
 
 	/**
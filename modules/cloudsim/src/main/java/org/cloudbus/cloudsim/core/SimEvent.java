@@ -8,20 +8,32 @@
 
 package org.cloudbus.cloudsim.core;
 
+import java.io.Serializable;
+
 /**
  * This class represents a simulation event which is passed between the entities in the simulation.
+ * <p>
+ * When the {@link CloudSim#setEventPooling(boolean) pool of events} is enabled, the events are
+ * recycled after they have been {@link SimEntity#processEvent(SimEvent) processed}, so entities
+ * should not keep references to the events they process, nor use the events returned when
+ * sending them once they have been processed. When assertions are enabled, accessing a
+ * recycled event throws an {@link IllegalStateException}; the
+ * {@link CloudSim#setEventPoolDebug(boolean) debug mode} of the pool never reuses the recycled
+ * events, so that any retained reference is detected.
  * 
  * @author Costas Simatos
  * @see Simulation
  * @see SimEntity
  */
-public class SimEvent implements Cloneable, Comparable<SimEvent> {
+public class SimEvent implements Cloneable, Comparable<SimEvent>, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** Internal event type. **/
-	private final int etype;
+	private int etype;
 
 	/** The time that this event was scheduled, at which it should occur. **/
-	private final double time;
+	private double time;
 
 	/** Time that the event was removed from the queue to start service. **/
 	private double endWaitingTime;
@@ -33,7 +45,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	private int entDst;
 
 	/** The user defined type of the event. **/
-	private final int tag;
+	private int tag;
 
 	/** 
          * Any data the event is carrying. 
@@ -41,7 +53,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
          * But this modification would incur several changes in the simulator core
          * that has to be assessed first.
          **/
-	private final Object data;
+	private Object data;
 
         /**
          * An attribute to help CloudSim to identify the order of received events
@@ -53,6 +65,18 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
          */
 	private long serial = -1;
 
+	/** If the event has been recycled, and is either in the pool or discarded. */
+	private boolean recycled;
+
+	/** The events of the {@link FutureEventIndex} with the same source and tag, if the event is indexed. */
+	transient FutureEventIndex.Bucket indexBucket;
+
+	/** The previous event of {@link #indexBucket}. */
+	transient SimEvent indexPrevious;
+
+	/** The next event of {@link #indexBucket}. */
+	transient SimEvent indexNext;
+
 	// Internal event types
 
 	public static final int ENULL = 0;
@@ -95,10 +119,65 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 		data = null;
 	}
 
+	/**
+	 * Reinitialises a recycled event, so that it can be sent again.
+	 */
+	void reset(int evtype, double time, int src, int dest, int tag, Object edata) {
+		etype = evtype;
+		this.time = time;
+		endWaitingTime = -1.0;
+		entSrc = src;
+		entDst = dest;
+		this.tag = tag;
+		data = edata;
+		serial = -1;
+		recycled = false;
+	}
+
+	/**
+	 * Marks the event as recycled, and releases its data.
+	 */
+	void recycle() {
+		recycled = true;
+		data = null;
+	}
+
+	/**
+	 * Checks if the event has been recycled.
+	 * 
+	 * @return true if the event has been recycled
+	 */
+	boolean isRecycled() {
+		return recycled;
+	}
+
+	/**
+	 * Checks that the event has not been recycled, before accessing it. It is only called in
+	 * assertions, so that the getters do not pay for it unless assertions are enabled.
+	 * 
+	 * @return true
+	 * @throws IllegalStateException if the event has been recycled
+	 */
+	private boolean checkNotRecycled() {
+		if (recycled) {
+			throw new IllegalStateException("The event has been recycled after it was processed");
+		}
+		return true;
+	}
+
 	protected void setSerial(long serial) {
 		this.serial = serial;
 	}
 
+	/**
+	 * Gets the serial number used to order events scheduled at the same time.
+	 * 
+	 * @return the serial number
+	 */
+	protected long getSerial() {
+		return serial;
+	}
+
 	/**
 	 * Sets the time that the event was removed from the queue to start service. 
 	 * 
@@ -122,6 +201,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return
 	 */
 	public int getType() {
+		assert checkNotRecycled();
 		return etype;
 	}
 
@@ -149,6 +229,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return the id number
 	 */
 	public int getDestination() {
+		assert checkNotRecycled();
 		return entDst;
 	}
 
@@ -158,6 +239,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return the id number
 	 */
 	public int getSource() {
+		assert checkNotRecycled();
 		return entSrc;
 	}
 
@@ -167,6 +249,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The simulation time
 	 */
 	public double eventTime() {
+		assert checkNotRecycled();
 		return time;
 	}
 
@@ -176,6 +259,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The simulation time
 	 */
 	public double endWaitingTime() {
+		assert checkNotRecycled();
 		return endWaitingTime;
 	}
 
@@ -185,6 +269,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The tag
 	 */
 	public int type() {
+		assert checkNotRecycled();
 		return tag;
 	}
 
@@ -194,6 +279,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return the id number
 	 */
 	public int scheduledBy() {
+		assert checkNotRecycled();
 		return entSrc;
 	}
 
@@ -203,6 +289,7 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return The tag
 	 */
 	public int getTag() {
+		assert checkNotRecycled();
 		return tag;
 	}
 
@@ -212,11 +299,13 @@ public class SimEvent implements Cloneable, Comparable<SimEvent> {
 	 * @return A reference to the data
 	 */
 	public Object getData() {
+		assert checkNotRecycled();
 		return data;
 	}
 
 	@Override
 	public Object clone() {
+		assert checkNotRecycled();
 		return new SimEvent(etype, time, entSrc, entDst, tag, data);
 	}
 
@@ -0,0 +1,32 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serializable;
+
+/**
+ * Processes the events with a given tag for an entity, which registers it with
+ * {@link SimEntity#registerHandler(int, SimEventHandler)}. The handler receives the entity
+ * rather than keeping a reference to it, so that the same handler keeps working for a
+ * {@link SimEntity#clone() clone} of the entity or for an entity restored from a checkpoint.
+ *
+ * @param <T> the type of the entity
+ * @since CloudSim Toolkit 4.0
+ */
+public interface SimEventHandler<T extends SimEntity> extends Serializable {
+
+	/**
+	 * Processes an event received by an entity.
+	 *
+	 * @param entity the entity that received the event
+	 * @param ev the event
+	 */
+	void processEvent(T entity, SimEvent ev);
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.Serializable;
+
+/**
+ * The pool of the {@link SimEvent events} of a simulation. The events are recycled once they
+ * have been processed, and reused for the next events that are sent, so that a simulation does
+ * not allocate a new object for each event.
+ * <p>
+ * The pool is disabled by default. The events returned when they are sent are also the handles
+ * used to {@link SimulationContext#cancel(SimEvent) cancel} them, and once an event has been
+ * reused, a handle kept after the event was processed would cancel the new event instead.
+ * <p>
+ * In debug mode, the recycled events are never reused: they stay marked as recycled, so an
+ * entity that accesses an event after it has been processed gets an
+ * {@link IllegalStateException} instead of the data of another event, when assertions are
+ * enabled.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+final class SimEventPool implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The maximum number of idle events kept in the pool. */
+	private static final int MAX_SIZE = 4096;
+
+	/** The idle events. */
+	private SimEvent[] events = new SimEvent[64];
+
+	/** The number of idle events. */
+	private int size;
+
+	/** If the pool is used; otherwise, a new event is created each time. */
+	private boolean enabled;
+
+	/** If the recycled events are discarded instead of reused. */
+	private boolean debug;
+
+	/** The number of events taken from the pool. */
+	private long obtained;
+
+	/** The number of events that have been reused. */
+	private long reused;
+
+	/**
+	 * Gets an event, reusing an idle one if there is any.
+	 */
+	SimEvent obtain(int evtype, double time, int src, int dest, int tag, Object edata) {
+		obtained++;
+		if (size == 0) {
+			return new SimEvent(evtype, time, src, dest, tag, edata);
+		}
+		SimEvent event = events[--size];
+		events[size] = null;
+		event.reset(evtype, time, src, dest, tag, edata);
+		reused++;
+		return event;
+	}
+
+	/**
+	 * Recycles an event that has been processed.
+	 *
+	 * @throws IllegalStateException if the event has already been recycled
+	 */
+	void recycle(SimEvent event) {
+		if (!enabled && !debug) {
+			return;
+		}
+		if (event.isRecycled()) {
+			throw new IllegalStateException("The event has already been recycled");
+		}
+		event.recycle();
+		if (debug || size == MAX_SIZE) {
+			return;
+		}
+		if (size == events.length) {
+			SimEvent[] newEvents = new SimEvent[size * 2];
+			System.arraycopy(events, 0, newEvents, 0, size);
+			events = newEvents;
+		}
+		events[size++] = event;
+	}
+
+	/**
+	 * Removes all the idle events.
+	 */
+	void clear() {
+		for (int i = 0; i < size; i++) {
+			events[i] = null;
+		}
+		size = 0;
+	}
+
+	boolean isEnabled() {
+		return enabled;
+	}
+
+	void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			clear();
+		}
+	}
+
+	boolean isDebug() {
+		return debug;
+	}
+
+	void setDebug(boolean debug) {
+		this.debug = debug;
+		if (debug) {
+			clear();
+		}
+	}
+
+	/**
+	 * Gets the number of events taken from the pool.
+	 */
+	long getObtained() {
+		return obtained;
+	}
+
+	/**
+	 * Gets the number of events that have been reused.
+	 */
+	long getReused() {
+		return reused;
+	}
+
+}
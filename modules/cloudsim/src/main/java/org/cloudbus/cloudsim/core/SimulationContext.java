@@ -0,0 +1,1833 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.predicates.Predicate;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+
+/**
+ * The state of a simulation: the simulation clock, the entities, the event queues and the
+ * status of the simulation, as well as the logging settings, the execution times measured
+ * by {@link org.cloudbus.cloudsim.util.ExecutionTimeMeasurer} and the id counters of
+ * {@link org.cloudbus.cloudsim.container.utils.IDs}. Different contexts do not share any
+ * mutable state, so independent simulations can be run at the same time on different threads.
+ * <p>
+ * {@link CloudSim} is a static facade to the context {@link #current() bound} to the calling
+ * thread, and each {@link SimEntity} belongs to the context that was bound when it was
+ * created. By default all threads share the same context, as in the previous versions of
+ * CloudSim. A simulation is isolated from the others by binding a new context to the thread
+ * that creates and runs it:
+ * 
+ * <pre>
+ * SimulationContext.setCurrent(new SimulationContext());
+ * CloudSim.init(1, null, false);
+ * // create the datacenters, brokers, VMs and cloudlets
+ * CloudSim.startSimulation();
+ * </pre>
+ * 
+ * The threads started by a thread inherit its context. A context must not be used by two
+ * simulations at the same time.
+ * <p>
+ * A context can be saved to a checkpoint file at a given simulation time, and
+ * {@link #restoreCheckpoint(File) restored} later into a new context that resumes the simulation
+ * from that time. The checkpoint contains all the objects reachable from the context, such as
+ * the entities, the events and their data, which therefore have to be {@link Serializable}.
+ * The static state of the toolkit, such as the {@link org.cloudbus.cloudsim.NetworkTopology}, is not part of a
+ * checkpoint, and a checkpoint can only be restored with the classes that wrote it.
+ * 
+ * @since CloudSim Toolkit 4.0
+ * @see CloudSim
+ */
+public class SimulationContext implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The context shared by all the threads which have not been bound to another one. */
+	private static final SimulationContext DEFAULT_CONTEXT = new SimulationContext();
+
+	/** The context bound to each thread, or <tt>null</tt> if it uses the default one. */
+	private static final InheritableThreadLocal<SimulationContext> CURRENT = new InheritableThreadLocal<SimulationContext>();
+
+	/** The Constant CLOUDSIM_VERSION_STRING. */
+	private static final String CLOUDSIM_VERSION_STRING = "3.0";
+
+	/** The id of CIS entity. */
+	private int cisId = -1;
+
+	/** The id of CloudSimShutdown entity. */
+	@SuppressWarnings("unused")
+	private int shutdownId = -1;
+
+	/** The CIS object. */
+	private CloudInformationService cis = null;
+
+	/** The Constant NOT_FOUND. */
+	private static final int NOT_FOUND = -1;
+
+	/** The trace flag. */
+	private boolean traceFlag = false;
+
+	/** The calendar. */
+	private Calendar calendar = null;
+
+	/** The termination time. */
+	private double terminateAt = -1;
+
+	/** The minimal time between events. Events within shorter periods after the last event are discarded. */
+	private double minTimeBetweenEvents = 0.1;
+
+	/** Indicates if the completion events are scheduled at the exact completion times. */
+	private boolean exactCompletionTimes;
+
+	/** The minimal number of hosts updated at once for their updates to run in parallel, or 0. */
+	private int parallelUpdateThreshold;
+
+	/** The output stream of the log, or <tt>null</tt> to use the standard output. */
+	private transient OutputStream logOutput;
+
+	/** The flag that disables the log. */
+	private boolean logDisabled;
+
+	/** The output stream of the allocation traces, or <tt>null</tt> to use the standard output. */
+	private transient OutputStream traceOutput;
+
+	/** The buffer used to concatenate the log messages. */
+	private final StringBuilder logBuffer = new StringBuilder();
+
+	/** The start times of the methods/processes whose execution time is being measured. */
+	private final Map<String, Long> executionTimes = new HashMap<String, Long>();
+
+	/** The next id of each class that has its own id counter. */
+	private final Map<Class<?>, Integer> idCounters = new LinkedHashMap<Class<?>, Integer>();
+
+	/** The classes that use the global id counter. */
+	private final Set<Class<?>> classesWithoutIdCounter = new HashSet<Class<?>>();
+
+	/** The next id of the global id counter. */
+	private int globalIdCounter = 1;
+
+	/**
+	 * Creates a new simulation context, with the log enabled and written to the standard output.
+	 */
+	public SimulationContext() {
+	}
+
+	/**
+	 * Gets the context bound to the current thread.
+	 * 
+	 * @return the context bound to the current thread, or the default context if the thread
+	 *         has not been bound to any
+	 */
+	public static SimulationContext current() {
+		SimulationContext context = CURRENT.get();
+		return context == null ? DEFAULT_CONTEXT : context;
+	}
+
+	/**
+	 * Binds a context to the current thread. The threads started afterwards by the current
+	 * thread inherit the context.
+	 * 
+	 * @param context the context, or <tt>null</tt> to go back to the default context
+	 * @return the context that was bound to the thread before, or <tt>null</tt> if it used
+	 *         the default context
+	 */
+	public static SimulationContext setCurrent(SimulationContext context) {
+		SimulationContext previous = CURRENT.get();
+		if (context == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(context);
+		}
+		return previous;
+	}
+
+	/**
+	 * Gets the default context, which is used by the threads that have not been bound to
+	 * another one.
+	 * 
+	 * @return the default context
+	 */
+	public static SimulationContext getDefault() {
+		return DEFAULT_CONTEXT;
+	}
+	
+	/**
+	 * Initialises all the common attributes.
+	 * 
+	 * @param _calendar the _calendar
+	 * @param _traceFlag the _trace flag
+	 * @param numUser number of users
+	 * @throws Exception This happens when creating this entity before initialising CloudSim package
+	 *             or this entity name is <tt>null</tt> or empty
+	 * @pre $none
+	 * @post $none
+	 */
+	private void initCommonVariable(Calendar _calendar, boolean _traceFlag, int numUser)
+			throws Exception {
+		initialize();
+		// NOTE: the order for the below 3 lines are important
+		traceFlag = _traceFlag;
+
+		// Set the current Wall clock time as the starting time of
+		// simulation
+		if (_calendar == null) {
+			calendar = Calendar.getInstance();
+		} else {
+			calendar = _calendar;
+		}
+
+		// creates a CloudSimShutdown object
+		CloudSimShutdown shutdown = new CloudSimShutdown("CloudSimShutdown", numUser);
+		shutdownId = shutdown.getId();
+	}
+
+	/**
+	 * Initialises CloudSim parameters. This method should be called before creating any entities.
+	 * <p>
+	 * Inside this method, it will create the following CloudSim entities:
+	 * <ul>
+	 * <li>CloudInformationService.
+	 * <li>CloudSimShutdown
+	 * </ul>
+	 * <p>
+	 * 
+	 * @param numUser the number of User Entities created. This parameters indicates that
+	 *            {@link gridsim.CloudSimShutdown} first waits for all user entities's
+	 *            END_OF_SIMULATION signal before issuing terminate signal to other entities
+	 * @param cal starting time for this simulation. If it is <tt>null</tt>, then the time will be
+	 *            taken from <tt>Calendar.getInstance()</tt>
+	 * @param traceFlag <tt>true</tt> if CloudSim trace need to be written
+	 * @see gridsim.CloudSimShutdown
+	 * @see CloudInformationService.CloudInformationService
+	 * @pre numUser >= 0
+	 * @post $none
+	 */
+	public void init(int numUser, Calendar cal, boolean traceFlag) {
+		// the entities created here have to belong to this context
+		SimulationContext previous = setCurrent(this);
+		try {
+			initCommonVariable(cal, traceFlag, numUser);
+
+			// create a GIS object
+			cis = new CloudInformationService("CloudInformationService");
+
+			// set all the above entity IDs
+			cisId = cis.getId();
+		} catch (IllegalArgumentException s) {
+			Log.printLine("CloudSim.init(): The simulation has been terminated due to an unexpected error");
+			Log.printLine(s.getMessage());
+		} catch (Exception e) {
+			Log.printLine("CloudSim.init(): The simulation has been terminated due to an unexpected error");
+			Log.printLine(e.getMessage());
+		} finally {
+			setCurrent(previous);
+		}
+	}
+
+	/**
+	 * Initialises CloudSim parameters. This method should be called before creating any entities.
+	 * <p>
+	 * Inside this method, it will create the following CloudSim entities:
+	 * <ul>
+	 * <li>CloudInformationService.
+	 * <li>CloudSimShutdown
+	 * </ul>
+	 * <p>
+	 * 
+	 * @param numUser the number of User Entities created. This parameters indicates that
+	 *            {@link gridsim.CloudSimShutdown} first waits for all user entities's
+	 *            END_OF_SIMULATION signal before issuing terminate signal to other entities
+	 * @param cal starting time for this simulation. If it is <tt>null</tt>, then the time will be
+	 *            taken from <tt>Calendar.getInstance()</tt>
+	 * @param traceFlag <tt>true</tt> if CloudSim trace need to be written
+	 * @param periodBetweenEvents - the minimal period between events. Events within shorter periods
+	 * after the last event are discarded.
+	 * @see gridsim.CloudSimShutdown
+	 * @see CloudInformationService.CloudInformationService
+	 * @pre numUser >= 0
+	 * @post $none
+	 */
+	public void init(int numUser, Calendar cal, boolean traceFlag, double periodBetweenEvents) {
+	    if (periodBetweenEvents <= 0) {
+		throw new IllegalArgumentException("The minimal time between events should be positive, but is:" + periodBetweenEvents);
+	    }
+	    
+	    init(numUser, cal, traceFlag);
+	    minTimeBetweenEvents = periodBetweenEvents;
+	}
+
+	/**
+	 * Initialises CloudSim parameters, using a given implementation of the future event list.
+	 * This method should be called before creating any entities.
+	 * 
+	 * @param numUser the number of User Entities created
+	 * @param cal starting time for this simulation. If it is <tt>null</tt>, then the time will be
+	 *            taken from <tt>Calendar.getInstance()</tt>
+	 * @param traceFlag <tt>true</tt> if CloudSim trace need to be written
+	 * @param futureEventList an empty future event list, e.g. a {@link FutureQueue} (the default)
+	 *            or a {@link CalendarQueue}
+	 * @see #init(int, Calendar, boolean)
+	 * @pre numUser >= 0
+	 * @pre futureEventList != null
+	 * @post $none
+	 */
+	public void init(int numUser, Calendar cal, boolean traceFlag, FutureEventList futureEventList) {
+	    if (futureEventList == null || futureEventList.size() > 0) {
+		throw new IllegalArgumentException("The future event list should be an empty list");
+	    }
+
+	    init(numUser, cal, traceFlag);
+	    future = futureEventList;
+	}
+
+	/**
+	 * Initialises CloudSim parameters, using a given implementation of the future event list.
+	 * This method should be called before creating any entities.
+	 * 
+	 * @param numUser the number of User Entities created
+	 * @param cal starting time for this simulation. If it is <tt>null</tt>, then the time will be
+	 *            taken from <tt>Calendar.getInstance()</tt>
+	 * @param traceFlag <tt>true</tt> if CloudSim trace need to be written
+	 * @param periodBetweenEvents - the minimal period between events. Events within shorter periods
+	 * after the last event are discarded.
+	 * @param futureEventList an empty future event list, e.g. a {@link FutureQueue} (the default)
+	 *            or a {@link CalendarQueue}
+	 * @see #init(int, Calendar, boolean, double)
+	 * @pre numUser >= 0
+	 * @pre futureEventList != null
+	 * @post $none
+	 */
+	public void init(int numUser, Calendar cal, boolean traceFlag, double periodBetweenEvents,
+			FutureEventList futureEventList) {
+	    if (periodBetweenEvents <= 0) {
+		throw new IllegalArgumentException("The minimal time between events should be positive, but is:" + periodBetweenEvents);
+	    }
+
+	    init(numUser, cal, traceFlag, futureEventList);
+	    minTimeBetweenEvents = periodBetweenEvents;
+	}
+	
+	
+	
+	/**
+	 * Starts the execution of CloudSim simulation. It waits for complete execution of all entities,
+	 * i.e. until all entities threads reach non-RUNNABLE state or there are no more events in the
+	 * future event queue.
+	 * <p>
+	 * <b>Note</b>: This method should be called after all the entities have been setup and added.
+	 * 
+	 * @return the last clock time
+	 * @throws NullPointerException This happens when creating this entity before initialising
+	 *             CloudSim package or this entity name is <tt>null</tt> or empty.
+	 * @see gridsim.CloudSim#init(int, Calendar, boolean)
+	 * @pre $none
+	 * @post $none
+	 */
+	public double startSimulation() throws NullPointerException {
+		SimulationContext previous = setCurrent(this);
+		try {
+			Log.printConcatLine("Starting CloudSim version ", CLOUDSIM_VERSION_STRING);
+			double clock = run();
+
+			// reset all the simulation variables
+			cisId = -1;
+			shutdownId = -1;
+			cis = null;
+			calendar = null;
+			traceFlag = false;
+
+			return clock;
+		} catch (IllegalArgumentException e) {
+			e.printStackTrace();
+			throw new NullPointerException("CloudSim.startCloudSimulation() :"
+					+ " Error - you haven't initialized CloudSim.");
+		} finally {
+			setCurrent(previous);
+		}
+	}
+
+	/**
+	 * Stops Cloud Simulation (based on {@link Simulation#runStop()}). This should be only called if
+	 * any of the user defined entities <b>explicitly</b> want to terminate simulation during
+	 * execution.
+	 * 
+	 * @throws NullPointerException This happens when creating this entity before initialising
+	 *             CloudSim package or this entity name is <tt>null</tt> or empty
+	 * @see gridsim.CloudSim#init(int, Calendar, boolean)
+	 * @see Simulation#runStop()
+	 * @pre $none
+	 * @post $none
+	 */
+	public void stopSimulation() throws NullPointerException {
+		try {
+			runStop();
+		} catch (IllegalArgumentException e) {
+			throw new NullPointerException("CloudSim.stopCloudSimulation() : "
+					+ "Error - can't stop Cloud Simulation.");
+		}
+	}
+
+	/**
+	 * This method is called if one wants to terminate the simulation.
+	 * 
+	 * @return true, if successful; false otherwise.
+	 */
+	public boolean terminateSimulation() {
+		running = false;
+		printMessage("Simulation: Reached termination time.");
+		return true;
+	}
+
+	/**
+	 * This method is called if one wants to terminate the simulation at a given time.
+	 * 
+	 * @param time the time at which the simulation has to be terminated
+	 * @return true, if successful otherwise.
+	 */
+	public boolean terminateSimulation(double time) {
+		if (time <= clock) {
+			return false;
+		} else {
+			terminateAt = time;
+		}
+		return true;
+	}
+
+	
+	/**
+	 * Returns the minimum time between events. Events within shorter periods after the last event are discarded. 
+	 * @return the minimum time between events.
+	 */
+	public double getMinTimeBetweenEvents() {
+	    return minTimeBetweenEvents;
+	}
+
+	/**
+	 * Checks if the completion events of the cloudlets and gpu tasks are scheduled at their exact
+	 * completion times.
+	 * 
+	 * @return true if the exact completion times are used
+	 * @see #setExactCompletionTimes(boolean)
+	 */
+	public boolean isExactCompletionTimes() {
+		return exactCompletionTimes;
+	}
+
+	/**
+	 * Sets if the completion events of the cloudlets and gpu tasks are scheduled at their exact
+	 * completion times. By default, the datacenters and the cloudlet schedulers schedule the next
+	 * event at least {@link #getMinTimeBetweenEvents()} after the current time, and only process
+	 * the cloudlets again once that time has passed. With exact completion times, the events are
+	 * scheduled at the finish times computed by the schedulers, and the updates are only
+	 * coalesced when they happen at the same time. It has to be set before starting the
+	 * simulation.
+	 * 
+	 * @param exactCompletionTimes true to use the exact completion times
+	 */
+	public void setExactCompletionTimes(boolean exactCompletionTimes) {
+		this.exactCompletionTimes = exactCompletionTimes;
+	}
+
+	/**
+	 * Gets the minimal number of hosts that a datacenter has to update at once for the updates
+	 * to run in parallel.
+	 * 
+	 * @return the threshold, or 0 if the hosts are always updated sequentially
+	 * @see #setParallelUpdateThreshold(int)
+	 */
+	public int getParallelUpdateThreshold() {
+		return parallelUpdateThreshold;
+	}
+
+	/**
+	 * Sets the minimal number of hosts that a datacenter has to update at once for the updates
+	 * to run in parallel on a fork/join pool, as a {@link ParallelUpdate}. The hosts, or the
+	 * vgpus of a {@link org.cloudbus.cloudsim.gpu.GpuDatacenter}, are still checked for finished
+	 * cloudlets and tasks in order by the simulation thread, so the results of the simulation do
+	 * not depend on the threshold. By default, the hosts are always updated sequentially.
+	 * 
+	 * @param parallelUpdateThreshold the threshold, or 0 to always update the hosts sequentially
+	 */
+	public void setParallelUpdateThreshold(int parallelUpdateThreshold) {
+		if (parallelUpdateThreshold < 0) {
+			throw new IllegalArgumentException("The parallel update threshold cannot be negative");
+		}
+		this.parallelUpdateThreshold = parallelUpdateThreshold;
+	}
+
+	/**
+	 * Sets the partitioning of the entities used to run the simulation in parallel. It has to
+	 * be set after all the entities have been created, before starting the simulation, and it
+	 * is only used for one run. It is not written to checkpoints, so it has to be set again
+	 * after {@link #restoreCheckpoint(File) restoring} one.
+	 * 
+	 * @param partitioning the partitioning, or <tt>null</tt> to run the simulation sequentially
+	 * @see Partitioning
+	 */
+	public void setPartitioning(Partitioning partitioning) {
+		if (running) {
+			throw new IllegalStateException("The partitioning cannot be changed while the simulation is running");
+		}
+		this.partitioning = partitioning;
+	}
+
+	/**
+	 * Gets the partitioning of the entities used to run the simulation in parallel.
+	 * 
+	 * @return the partitioning, or <tt>null</tt> if the simulation is run sequentially
+	 */
+	public Partitioning getPartitioning() {
+		return partitioning;
+	}
+
+	/**
+	 * Enables or disables the pool of events. When it is enabled, the events are recycled after
+	 * they have been processed and reused for the next events, so entities should not keep
+	 * references to the events they process, nor cancel an event through its handle once it has
+	 * been processed. The pool is disabled by default, and it is not used when the simulation
+	 * is run in parallel.
+	 * 
+	 * @param eventPooling true to reuse the events, false to create a new one each time
+	 * @see SimEvent
+	 */
+	public void setEventPooling(boolean eventPooling) {
+		eventPool.setEnabled(eventPooling);
+	}
+
+	/**
+	 * Checks if the events are recycled and reused.
+	 * 
+	 * @return true if the pool of events is enabled
+	 */
+	public boolean isEventPooling() {
+		return eventPool.isEnabled();
+	}
+
+	/**
+	 * Enables or disables the debug mode of the pool of events, in which the recycled events
+	 * are never reused. When assertions are enabled, any access to an event after it has been
+	 * processed then throws an {@link IllegalStateException}, which detects the entities that
+	 * keep references to the events they process.
+	 * 
+	 * @param debug true to enable the debug mode
+	 */
+	public void setEventPoolDebug(boolean debug) {
+		eventPool.setDebug(debug);
+	}
+
+	/**
+	 * Checks if the pool of events is in debug mode.
+	 * 
+	 * @return true if the recycled events are never reused
+	 */
+	public boolean isEventPoolDebug() {
+		return eventPool.isDebug();
+	}
+
+	/**
+	 * Sets the profiler of the event loop. Its report is printed to the log when the
+	 * simulation finishes. The profiler is not used when the simulation is run in parallel.
+	 * 
+	 * @param profiler the profiler, or <tt>null</tt> to disable the profiling
+	 * @see EventProfiler
+	 */
+	public void setEventProfiler(EventProfiler profiler) {
+		this.profiler = profiler;
+	}
+
+	/**
+	 * Gets the profiler of the event loop.
+	 * 
+	 * @return the profiler, or <tt>null</tt> if the event loop is not profiled
+	 */
+	public EventProfiler getEventProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * Gets the profiler that records the events of the simulation, which is not used when the
+	 * simulation is run in parallel.
+	 * 
+	 * @return the profiler, or <tt>null</tt> if the events are not profiled
+	 */
+	EventProfiler getActiveProfiler() {
+		return partitioned == null ? profiler : null;
+	}
+
+	/**
+	 * Gets the entity whose events are profiled: the destination of the sent events, and the
+	 * source of the other ones.
+	 * 
+	 * @return the entity, or <tt>null</tt> if the event has no valid entity
+	 */
+	private SimEntity getProfiledEntity(SimEvent e) {
+		return getProfiledEntity(e.getType() == SimEvent.SEND ? e.getDestination() : e.getSource());
+	}
+
+	/**
+	 * Gets the tag under which an event is profiled.
+	 */
+	private static int getProfiledTag(SimEvent e) {
+		return e.getType() == SimEvent.HOLD_DONE ? EventProfiler.HOLD_TAG : e.getTag();
+	}
+
+	private SimEntity getProfiledEntity(int id) {
+		return id >= 0 && id < entities.size() ? entities.get(id) : null;
+	}
+
+	/**
+	 * Gets the pool of events.
+	 * 
+	 * @return the pool of events
+	 */
+	SimEventPool getEventPool() {
+		return eventPool;
+	}
+
+	/**
+	 * Recycles an event once its destination entity has processed it. The events of a
+	 * simulation run in parallel are not recycled.
+	 * 
+	 * @param e the processed event
+	 */
+	void recycle(SimEvent e) {
+		if (partitioned == null) {
+			eventPool.recycle(e);
+		}
+	}
+
+	/**
+	 * Checks if the CloudSim trace has to be written.
+	 * 
+	 * @return the trace flag given when the simulation was initialised
+	 */
+	public boolean isTraceEnabled() {
+		return traceFlag;
+	}
+
+	/**
+	 * Gets a new copy of initial simulation Calendar.
+	 * 
+	 * @return a new copy of Calendar object or if CloudSim hasn't been initialized
+	 * @see gridsim.CloudSim#init(int, Calendar, boolean, String[], String[], String)
+	 * @see gridsim.CloudSim#init(int, Calendar, boolean)
+	 * @pre $none
+	 * @post $none
+	 */
+	public Calendar getSimulationCalendar() {
+		// make a new copy
+		Calendar clone = calendar;
+		if (calendar != null) {
+			clone = (Calendar) calendar.clone();
+		}
+
+		return clone;
+	}
+
+	/**
+	 * Gets the entity ID of <tt>CloudInformationService</tt>.
+	 * 
+	 * @return the Entity ID or if it is not found
+	 * @pre $none
+	 * @post $result >= -1
+	 */
+	public int getCloudInfoServiceEntityId() {
+		return cisId;
+	}
+
+	/**
+	 * Sends a request to Cloud Information Service (CIS) entity to get the list of all Cloud
+	 * hostList.
+	 * 
+	 * @return A List containing CloudResource ID (as an Integer object) or if a CIS entity hasn't
+	 *         been created before
+	 * @pre $none
+	 * @post $none
+	 */
+	public List<Integer> getCloudResourceList() {
+		if (cis == null) {
+			return null;
+		}
+
+		return cis.getList();
+	}
+
+	// ======== SIMULATION METHODS ===============//
+
+	/** The entities. */
+	private List<SimEntity> entities;
+
+	/** The future event queue. */
+	protected FutureEventList future;
+
+	/** The deferred event queue. */
+	protected DeferredQueue deferred;
+
+	/** The index of the events in the future event queue by source entity and tag. */
+	private FutureEventIndex futureIndex;
+
+	/** The profiler of the event loop, or <tt>null</tt> if it is not profiled. */
+	private transient EventProfiler profiler;
+
+	/** The pool of events, which are recycled after they have been processed. */
+	private final SimEventPool eventPool = new SimEventPool();
+
+	/** The buffer reused to hold the events processed in a clock tick. */
+	private final List<SimEvent> currentEvents = new ArrayList<SimEvent>();
+
+	/** 
+         * The current simulation clock.
+         */
+	private double clock;
+
+	/** Flag for checking if the simulation is running. */
+	private boolean running;
+
+	/** The entities by name. */
+	private Map<String, SimEntity> entitiesByName;
+
+	// The predicates used in entity wait methods
+	/** The wait predicates. */
+	private Map<Integer, Predicate> waitPredicates;
+
+	/** The paused. */
+	private volatile boolean paused = false;
+
+	/** The pause at. */
+	private long pauseAt = -1;
+
+	/** The abrupt terminate. */
+	private boolean abruptTerminate = false;
+
+	/**
+	 * The partitioning of the entities, or <tt>null</tt> to run the simulation sequentially. It
+	 * is not written to checkpoints.
+	 */
+	private transient Partitioning partitioning;
+
+	/** The partitioned execution of the simulation, while it is running. */
+	private transient PartitionedSimulation partitioned;
+
+	/** The files to which the checkpoints of the simulation are written, by simulation time. */
+	private final TreeMap<Double, File> checkpoints = new TreeMap<Double, File>();
+
+	/**
+	 * Initialise the simulation for stand alone simulations. This function should be called at the
+	 * start of the simulation.
+	 */
+	protected void initialize() {
+		Log.printLine("Initialising...");
+		entities = new ArrayList<SimEntity>();
+		entitiesByName = new LinkedHashMap<String, SimEntity>();
+		future = new FutureQueue();
+		deferred = new DeferredQueue();
+		futureIndex = new FutureEventIndex();
+		waitPredicates = new HashMap<Integer, Predicate>();
+		eventPool.clear();
+		clock = 0;
+		running = false;
+	}
+
+	// Public access methods
+
+	/**
+	 * Get the current simulation time.
+	 * 
+	 * @return the simulation time
+	 */
+	public double clock() {
+		if (partitioned != null) {
+			Partition partition = partitioned.getCurrentPartition();
+			if (partition != null) {
+				return partition.getClock();
+			}
+		}
+		return clock;
+	}
+
+	/**
+	 * Get the current number of entities in the simulation.
+	 * 
+	 * @return The number of entities
+	 */
+	public int getNumEntities() {
+		return entities.size();
+	}
+
+	/**
+	 * Get the entity with a given id.
+	 * 
+	 * @param id the entity's unique id number
+	 * @return The entity, or if it could not be found
+	 */
+	public SimEntity getEntity(int id) {
+		return entities.get(id);
+	}
+
+	/**
+	 * Get the entity with a given name.
+	 * 
+	 * @param name The entity's name
+	 * @return The entity
+	 */
+	public SimEntity getEntity(String name) {
+		return entitiesByName.get(name);
+	}
+
+	/**
+	 * Get the id of an entity with a given name.
+	 * 
+	 * @param name The entity's name
+	 * @return The entity's unique id number
+	 */
+	public int getEntityId(String name) {
+		SimEntity obj = entitiesByName.get(name);
+		if (obj == null) {
+			return NOT_FOUND;
+		} else {
+			return obj.getId();
+		}
+	}
+
+	/**
+	 * Gets name of the entity given its entity ID.
+	 * 
+	 * @param entityID the entity ID
+	 * @return the Entity name or if this object does not have one
+	 * @pre entityID > 0
+	 * @post $none
+	 */
+	public String getEntityName(int entityID) {
+		try {
+			return getEntity(entityID).getName();
+		} catch (IllegalArgumentException e) {
+			return null;
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Gets name of the entity given its entity ID.
+	 * 
+	 * @param entityID the entity ID
+	 * @return the Entity name or if this object does not have one
+	 * @pre entityID > 0
+	 * @post $none
+	 */
+	public String getEntityName(Integer entityID) {
+		if (entityID != null) {
+			return getEntityName(entityID.intValue());
+		}
+		return null;
+	}
+
+	/**
+	 * Returns a list of entities created for the simulation.
+	 * 
+	 * @return the entity iterator
+	 */
+	public List<SimEntity> getEntityList() {
+		// create a new list to prevent the user from changing
+		// the list of entities used by Simulation
+		List<SimEntity> list = new LinkedList<SimEntity>();
+		list.addAll(entities);
+		return list;
+	}
+
+	// Public update methods
+
+	/**
+	 * Add a new entity to the simulation. This is present for compatibility with existing
+	 * simulations since entities are automatically added to the simulation upon instantiation.
+	 * 
+	 * @param e The new entity
+	 */
+	public void addEntity(SimEntity e) {
+		SimEvent evt;
+		if (running && partitioned != null) {
+			throw new IllegalStateException("Entities cannot be added to a partitioned simulation while it is running");
+		}
+		if (running) {
+			// Post an event to make this entity
+			evt = new SimEvent(SimEvent.CREATE, clock, 1, 0, 0, e);
+			future.addEvent(evt);
+			futureIndex.add(evt);
+		}
+		if (e.getId() == -1) { // Only add once!
+			int id = entities.size();
+			e.setId(id);
+			entities.add(e);
+			entitiesByName.put(e.getName(), e);
+		}
+	}
+
+	/**
+	 * Internal method used to add a new entity to the simulation when the simulation is running. It
+	 * should <b>not</b> be called from user simulations.
+	 * 
+	 * @param e The new entity
+	 */
+	protected void addEntityDynamically(SimEntity e) {
+		if (e == null) {
+			throw new IllegalArgumentException("Adding null entity.");
+		} else {
+			printMessage("Adding: " + e.getName());
+		}
+		e.startEntity();
+	}
+
+	/**
+	 * Internal method used to run one tick of the simulation. This method should <b>not</b> be
+	 * called in simulations.
+	 * 
+	 * @return true, if successful otherwise
+         * @todo If the method shouldn't be called by the user,
+         * it should be protected in any way, such as changing
+         * its visibility to package.
+	 */
+	public boolean runClockTick() {
+		SimEntity ent;
+		boolean queue_empty;
+		
+		int entities_size = entities.size();
+
+		for (int i = 0; i < entities_size; i++) {
+			ent = entities.get(i);
+			if (ent.getState() == SimEntity.RUNNABLE) {
+				ent.run();
+			}
+		}
+				
+		// If there are more future events then deal with them
+		if (future.size() > 0) {
+			queue_empty = false;
+			if (profiler != null) {
+				profiler.queueSizes(future.size(), deferred.size());
+			}
+
+			// Takes the next event and all the events at the same time at once
+			future.pollFirstEvents(currentEvents);
+			for (int i = 0; i < currentEvents.size(); i++) {
+				futureIndex.remove(currentEvents.get(i));
+			}
+			for (int i = 0; i < currentEvents.size(); i++) {
+				processEvent(currentEvents.get(i));
+			}
+			currentEvents.clear();
+			if (profiler != null) {
+				profiler.queueSizes(future.size(), deferred.size());
+			}
+
+		} else {
+			queue_empty = true;
+			running = false;
+			printMessage("Simulation: No more future events");
+		}
+
+		return queue_empty;
+	}
+
+	/**
+	 * Internal method used to stop the simulation. This method should <b>not</b> be used directly.
+	 */
+	public void runStop() {
+		printMessage("Simulation completed.");
+	}
+
+	/**
+	 * Used to hold an entity for some time.
+	 * 
+	 * @param src the src
+	 * @param delay the delay
+	 */
+	public void hold(int src, long delay) {
+		if (partitioned != null) {
+			partitioned.hold(src, delay);
+			return;
+		}
+		SimEvent e = eventPool.obtain(SimEvent.HOLD_DONE, clock + delay, src, -1, -1, null);
+		future.addEvent(e);
+		futureIndex.add(e);
+		if (profiler != null) {
+			profiler.enqueued(getProfiledEntity(src), EventProfiler.HOLD_TAG);
+		}
+		entities.get(src).setState(SimEntity.HOLDING);
+	}
+
+	/**
+	 * Used to pause an entity for some time.
+	 * 
+	 * @param src the src
+	 * @param delay the delay
+	 */
+	public void pause(int src, double delay) {
+		if (partitioned != null) {
+			partitioned.hold(src, delay);
+			return;
+		}
+		SimEvent e = eventPool.obtain(SimEvent.HOLD_DONE, clock + delay, src, -1, -1, null);
+		future.addEvent(e);
+		futureIndex.add(e);
+		if (profiler != null) {
+			profiler.enqueued(getProfiledEntity(src), EventProfiler.HOLD_TAG);
+		}
+		entities.get(src).setState(SimEntity.HOLDING);
+	}
+
+	/**
+	 * Used to send an event from one entity to another.
+	 * 
+	 * @param src the src
+	 * @param dest the dest
+	 * @param delay the delay
+	 * @param tag the tag
+	 * @param data the data
+	 * @return the sent event, which can be used to {@link #cancel(SimEvent) cancel} it
+	 */
+	public SimEvent send(int src, int dest, double delay, int tag, Object data) {
+		if (delay < 0) {
+			throw new IllegalArgumentException("Send delay can't be negative.");
+		}
+		if (partitioned != null) {
+			return partitioned.send(src, dest, delay, tag, data, false);
+		}
+
+		SimEvent e = eventPool.obtain(SimEvent.SEND, clock + delay, src, dest, tag, data);
+		future.addEvent(e);
+		futureIndex.add(e);
+		if (profiler != null) {
+			profiler.enqueued(getProfiledEntity(dest), tag);
+		}
+		return e;
+	}
+
+	/**
+	 * Used to send an event from one entity to another, with priority in the queue.
+	 * 
+	 * @param src the src
+	 * @param dest the dest
+	 * @param delay the delay
+	 * @param tag the tag
+	 * @param data the data
+	 * @return the sent event, which can be used to {@link #cancel(SimEvent) cancel} it
+	 */
+	public SimEvent sendFirst(int src, int dest, double delay, int tag, Object data) {
+		if (delay < 0) {
+			throw new IllegalArgumentException("Send delay can't be negative.");
+		}
+		if (partitioned != null) {
+			return partitioned.send(src, dest, delay, tag, data, true);
+		}
+
+		SimEvent e = eventPool.obtain(SimEvent.SEND, clock + delay, src, dest, tag, data);
+		future.addEventFirst(e);
+		futureIndex.add(e);
+		if (profiler != null) {
+			profiler.enqueued(getProfiledEntity(dest), tag);
+		}
+		return e;
+	}
+
+	/**
+	 * Sets an entity's state to be waiting. The predicate used to wait for an event is now passed
+	 * to Sim_system. Only events that satisfy the predicate will be passed to the entity. This is
+	 * done to avoid unnecessary context switches.
+	 * 
+	 * @param src the src
+	 * @param p the p
+	 */
+	public void wait(int src, Predicate p) {
+		if (partitioned != null) {
+			partitioned.wait(src, p);
+			return;
+		}
+		entities.get(src).setState(SimEntity.WAITING);
+		if (p != CloudSim.SIM_ANY) {
+			// If a predicate has been used store it in order to check it
+			waitPredicates.put(src, p);
+		}
+	}
+
+	/**
+	 * Checks if events for a specific entity are present in the deferred event queue.
+	 * 
+	 * @param d the d
+	 * @param p the p
+	 * @return the int
+	 */
+	public int waiting(int d, Predicate p) {
+		if (partitioned != null) {
+			return partitioned.waiting(d, p);
+		}
+		return deferred.count(d, p);
+	}
+
+	/**
+	 * Selects an event matching a predicate.
+	 * 
+	 * @param src the src
+	 * @param p the p
+	 * @return the sim event or <tt>null</tt> if there is no matching event
+	 */
+	public SimEvent select(int src, Predicate p) {
+		if (partitioned != null) {
+			return partitioned.select(src, p);
+		}
+		return deferred.removeFirst(src, p);
+	}
+
+	/**
+	 * Find first deferred event matching a predicate.
+	 * 
+	 * @param src the src
+	 * @param p the p
+	 * @return the sim event or <tt>null</tt> if there is no matching event
+	 */
+	public SimEvent findFirstDeferred(int src, Predicate p) {
+		if (partitioned != null) {
+			return partitioned.findFirstDeferred(src, p);
+		}
+		return deferred.find(src, p);
+	}
+
+	/**
+	 * Removes an event from the future event queue. The event is the one returned when
+	 * it was {@link #send(int, int, double, int, Object) sent}.
+	 * 
+	 * @param e the event
+	 * @return true, if the event was still in the queue and has been cancelled
+	 */
+	public boolean cancel(SimEvent e) {
+		if (e == null || e.isRecycled()) {
+			// the event has already been processed
+			return false;
+		}
+		if (partitioned != null) {
+			return partitioned.cancel(e);
+		}
+		if (!future.remove(e)) {
+			return false;
+		}
+		futureIndex.remove(e);
+		if (profiler != null) {
+			profiler.cancelled(getProfiledEntity(e), getProfiledTag(e));
+		}
+		return true;
+	}
+
+	/**
+	 * Removes an event from the event queue. When the predicate is a {@link PredicateType},
+	 * only the events of the given types sent by the entity are checked.
+	 * 
+	 * @param src the src
+	 * @param p the p
+	 * @return the sim event or <tt>null</tt> if there is no matching event
+	 */
+	public SimEvent cancel(int src, Predicate p) {
+		if (partitioned != null) {
+			return partitioned.cancel(src, p);
+		}
+		SimEvent ev = null;
+		if (p.getClass() == PredicateType.class) {
+			PredicateType predicate = (PredicateType) p;
+			for (int i = 0; i < predicate.getNumberOfTags(); i++) {
+				for (SimEvent event : futureIndex.getEvents(src, predicate.getTag(i))) {
+					if (ev == null || event.compareTo(ev) < 0) {
+						ev = event;
+					}
+				}
+			}
+			cancel(ev);
+			return ev;
+		}
+
+		Iterator<SimEvent> iter = future.iterator();
+		while (iter.hasNext()) {
+			SimEvent event = iter.next();
+			if (event.getSource() == src && p.match(event)) {
+				iter.remove();
+				futureIndex.remove(event);
+				if (profiler != null) {
+					profiler.cancelled(getProfiledEntity(event), getProfiledTag(event));
+				}
+				ev = event;
+				break;
+			}
+		}
+
+		return ev;
+	}
+
+	/**
+	 * Removes all events that match a given predicate from the future event queue returns true if
+	 * at least one event has been cancelled; false otherwise. When the predicate is a
+	 * {@link PredicateType}, only the events of the given types sent by the entity are checked.
+	 * 
+	 * @param src the src
+	 * @param p the p
+	 * @return true, if successful
+	 */
+	public boolean cancelAll(int src, Predicate p) {
+		if (partitioned != null) {
+			return partitioned.cancelAll(src, p);
+		}
+		int previousSize = future.size();
+		if (p.getClass() == PredicateType.class) {
+			PredicateType predicate = (PredicateType) p;
+			for (int i = 0; i < predicate.getNumberOfTags(); i++) {
+				Collection<SimEvent> events = futureIndex.getEvents(src, predicate.getTag(i));
+				if (!events.isEmpty()) {
+					if (profiler != null) {
+						for (SimEvent ev : events) {
+							profiler.cancelled(getProfiledEntity(ev), getProfiledTag(ev));
+						}
+					}
+					future.removeAll(events);
+					events.clear();
+				}
+			}
+			return previousSize > future.size();
+		}
+
+		Iterator<SimEvent> iter = future.iterator();
+		while (iter.hasNext()) {
+			SimEvent ev = iter.next();
+			if (ev.getSource() == src && p.match(ev)) {
+				iter.remove();
+				futureIndex.remove(ev);
+				if (profiler != null) {
+					profiler.cancelled(getProfiledEntity(ev), getProfiledTag(ev));
+				}
+			}
+		}
+		return previousSize > future.size();
+	}
+
+	//
+	// Private internal methods
+	//
+
+	/**
+	 * Processes an event.
+	 * 
+	 * @param e the e
+	 */
+	private void processEvent(SimEvent e) {
+		int dest, src;
+		SimEntity dest_ent;
+		// Update the system's clock
+		if (e.eventTime() < clock) {
+			throw new IllegalArgumentException("Past event detected.");
+		}
+		clock = e.eventTime();
+		if (profiler != null && e.getType() != SimEvent.CREATE) {
+			profiler.dequeued(getProfiledEntity(e), getProfiledTag(e));
+		}
+
+		// Ok now process it
+		switch (e.getType()) {
+			case SimEvent.ENULL:
+				throw new IllegalArgumentException("Event has a null type.");
+
+			case SimEvent.CREATE:
+				SimEntity newe = (SimEntity) e.getData();
+				addEntityDynamically(newe);
+				break;
+
+			case SimEvent.SEND:
+				// Check for matching wait
+				dest = e.getDestination();
+				if (dest < 0) {
+					throw new IllegalArgumentException("Attempt to send to a null entity detected.");
+				} else {
+					int tag = e.getTag();
+					dest_ent = entities.get(dest);
+					if (dest_ent.getState() == SimEntity.WAITING) {
+						Integer destObj = Integer.valueOf(dest);
+						Predicate p = waitPredicates.get(destObj);
+						if ((p == null) || (tag == 9999) || (p.match(e))) {
+							dest_ent.setEventBuffer(e);
+							dest_ent.setState(SimEntity.RUNNABLE);
+							waitPredicates.remove(destObj);
+						} else {
+							deferred.addEvent(e);
+							if (profiler != null) {
+								profiler.deferred(dest_ent, tag);
+							}
+						}
+					} else {
+						deferred.addEvent(e);
+						if (profiler != null) {
+							profiler.deferred(dest_ent, tag);
+						}
+					}
+				}
+				break;
+
+			case SimEvent.HOLD_DONE:
+				src = e.getSource();
+				if (src < 0) {
+					throw new IllegalArgumentException("Null entity holding.");
+				} else {
+					entities.get(src).setState(SimEntity.RUNNABLE);
+				}
+				eventPool.recycle(e);
+				break;
+
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Internal method used to start the simulation. This method should <b>not</b> be used by user
+	 * simulations.
+	 */
+	public void runStart() {
+		running = true;
+		// Start all the entities
+		for (SimEntity ent : entities) {
+			ent.startEntity();
+		}
+
+		printMessage("Entities started.");
+	}
+
+	/**
+	 * Check if the simulation is still running. This method should be used by entities to check if
+	 * they should continue executing.
+	 * 
+	 * @return if the simulation is still running, otherwise
+	 */
+	public boolean running() {
+		return running;
+	}
+
+	/**
+	 * This method is called if one wants to pause the simulation.
+	 * 
+	 * @return true, if successful otherwise.
+	 */
+	public boolean pauseSimulation() {
+		paused = true;
+		return paused;
+	}
+
+	/**
+	 * This method is called if one wants to pause the simulation at a given time.
+	 * 
+	 * @param time the time at which the simulation has to be paused
+	 * @return true, if successful otherwise.
+	 */
+	public boolean pauseSimulation(long time) {
+		if (partitioning != null) {
+			throw new IllegalStateException("A partitioned simulation cannot be paused at a given time");
+		}
+		if (time <= clock) {
+			return false;
+		} else {
+			pauseAt = time;
+		}
+		return true;
+	}
+
+	/**
+	 * This method is called if one wants to resume the simulation that has previously been paused.
+	 * 
+	 * @return if the simulation has been restarted or or otherwise.
+	 */
+	public boolean resumeSimulation() {
+		paused = false;
+
+		if (pauseAt <= clock) {
+			pauseAt = -1;
+		}
+
+		return !paused;
+	}
+
+	/**
+	 * Schedules a checkpoint of the simulation, which is written to a file once all the events
+	 * up to a given time have been processed, when the events of the following clock tick have
+	 * been delivered to their entities but not yet processed. The clock of the checkpoint is
+	 * therefore the time of that tick. Checkpoints are not supported when the simulation is run
+	 * in parallel.
+	 * 
+	 * @param time the simulation time of the checkpoint
+	 * @param file the file to which the checkpoint is written
+	 * @see #restoreCheckpoint(File)
+	 */
+	public void checkpointAt(double time, File file) {
+		if (time < clock) {
+			throw new IllegalArgumentException("The checkpoint time " + time + " is in the past");
+		}
+		checkpoints.put(time, file);
+	}
+
+	/**
+	 * Writes the simulation to a checkpoint file. This method should not be called while the
+	 * entities are processing events: a checkpoint of a running simulation is
+	 * {@link #checkpointAt(double, File) scheduled} instead.
+	 * 
+	 * @param file the file to which the checkpoint is written
+	 * @throws IOException if the file cannot be written, or some of the objects of the
+	 *             simulation are not serializable
+	 */
+	public void saveCheckpoint(File file) throws IOException {
+		if (partitioned != null) {
+			throw new IllegalStateException("A checkpoint cannot be written while the simulation is run in parallel");
+		}
+		ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(
+				new FileOutputStream(file))));
+		try {
+			out.writeObject(this);
+		} finally {
+			out.close();
+		}
+	}
+
+	/**
+	 * Restores a simulation from a checkpoint file, into a new context that is bound to the
+	 * current thread. The simulation is then resumed by {@link #startSimulation() starting} it.
+	 * The entities and the other objects of the restored simulation are copies of the original
+	 * ones, which can be accessed by their name, e.g. with {@link CloudSim#getEntity(String)}.
+	 * A checkpoint can be restored several times, to run different branches of a simulation.
+	 * <p>
+	 * The log of the restored context is written to the standard output, its event loop is
+	 * not profiled and it is run sequentially, until they are set again.
+	 * 
+	 * @param file the checkpoint file
+	 * @return the restored context
+	 * @throws IOException if the file cannot be read, or is not a checkpoint
+	 */
+	public static SimulationContext restoreCheckpoint(File file) throws IOException {
+		ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(
+				new FileInputStream(file))));
+		SimulationContext context;
+		try {
+			context = (SimulationContext) in.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException("The checkpoint " + file + " uses an unknown class", e);
+		} catch (ClassCastException e) {
+			throw new IOException("The file " + file + " is not a checkpoint", e);
+		} finally {
+			in.close();
+		}
+		setCurrent(context);
+		return context;
+	}
+
+	/**
+	 * Writes the checkpoints scheduled before the clock, whose events have all been processed.
+	 */
+	private void writeCheckpoints() {
+		while (!checkpoints.isEmpty() && clock > checkpoints.firstKey()) {
+			File file = checkpoints.pollFirstEntry().getValue();
+			try {
+				saveCheckpoint(file);
+			} catch (IOException e) {
+				throw new IllegalStateException("The checkpoint could not be written to " + file, e);
+			}
+			printMessage("Simulation: checkpoint written to " + file);
+		}
+	}
+
+	/**
+	 * Start the simulation running. This should be called after all the entities have been setup
+	 * and added, and their ports linked.
+	 * 
+	 * @return the last clock value
+	 */
+	public double run() {
+		SimulationContext previous = setCurrent(this);
+		try {
+			if (partitioning != null) {
+				runPartitioned();
+			} else {
+				runSequential();
+			}
+
+			double clock = clock();
+
+			finishSimulation();
+			runStop();
+
+			return clock;
+		} finally {
+			setCurrent(previous);
+		}
+	}
+
+	/**
+	 * Runs the simulation in the calling thread, one clock tick after the other.
+	 */
+	private void runSequential() {
+		if (!running) {
+			runStart();
+		}
+		while (true) {
+			if (!checkpoints.isEmpty()) {
+				writeCheckpoints();
+			}
+			if (runClockTick() || abruptTerminate) {
+				break;
+			}
+
+			// this block allows termination of simulation at a specific time
+			if (terminateAt > 0.0 && clock >= terminateAt) {
+				terminateSimulation();
+				clock = terminateAt;
+				break;
+			}
+
+			if (pauseAt != -1
+					&& ((future.size() > 0 && clock <= pauseAt && pauseAt <= future.first().eventTime())
+							|| future.size() == 0 && pauseAt <= clock)) {
+				pauseSimulation();
+				clock = pauseAt;
+			}
+
+			while (paused) {
+				try {
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs the simulation with its entities divided into partitions, which process the
+	 * events of each time window in parallel.
+	 * 
+	 * @see Partitioning
+	 */
+	private void runPartitioned() {
+		if (!checkpoints.isEmpty()) {
+			throw new IllegalStateException("Checkpoints are not supported when the simulation is run in parallel");
+		}
+		partitioned = new PartitionedSimulation(this, entities, partitioning, future);
+		future.clear();
+		futureIndex.clear();
+		try {
+			if (!running) {
+				running = true;
+				partitioned.startEntities();
+				printMessage("Entities started.");
+			}
+			while (true) {
+				double next = partitioned.getNextEventTime();
+				if (next < 0) {
+					running = false;
+					printMessage("Simulation: No more future events");
+					break;
+				}
+
+				// this block allows termination of simulation at a specific time
+				if (terminateAt > 0.0 && next >= terminateAt) {
+					partitioned.pollEvents(next);
+					terminateSimulation();
+					clock = terminateAt;
+					break;
+				}
+
+				double end = next + partitioning.getLookahead();
+				if (terminateAt > 0.0 && end > terminateAt) {
+					end = terminateAt;
+				}
+				clock = partitioned.runWindow(next, end);
+				if (abruptTerminate) {
+					break;
+				}
+
+				while (paused) {
+					try {
+						Thread.sleep(100);
+					} catch (InterruptedException e) {
+						e.printStackTrace();
+					}
+				}
+			}
+		} finally {
+			partitioned.shutdown();
+		}
+	}
+
+	/**
+	 * Internal method that allows the entities to terminate. This method should <b>not</b> be used
+	 * in user simulations.
+	 */
+	public void finishSimulation() {
+		// Allow all entities to exit their body method
+		if (!abruptTerminate) {
+			for (SimEntity ent : entities) {
+				if (ent.getState() != SimEntity.FINISHED) {
+					ent.run();
+				}
+			}
+		}
+
+		for (SimEntity ent : entities) {
+			ent.shutdownEntity();
+		}
+
+		if (profiler != null && partitioning == null) {
+			Log.printLine(profiler.getReport());
+		}
+
+		// reset all the simulation variables
+		// Private data members
+		entities = null;
+		entitiesByName = null;
+		future = null;
+		deferred = null;
+		futureIndex = null;
+		currentEvents.clear();
+		clock = 0L;
+		running = false;
+
+		waitPredicates = null;
+		partitioning = null;
+		partitioned = null;
+		checkpoints.clear();
+		paused = false;
+		pauseAt = -1;
+		abruptTerminate = false;
+	}
+
+	/**
+	 * Abruptally terminate.
+	 */
+	public void abruptallyTerminate() {
+		abruptTerminate = true;
+	}
+
+	/**
+	 * Prints a message about the progress of the simulation.
+	 * 
+	 * @param message the message
+	 */
+	private void printMessage(String message) {
+		Log.printLine(message);
+	}
+
+	/**
+	 * Checks if is paused.
+	 * 
+	 * @return true, if is paused
+	 */
+	public boolean isPaused() {
+		return paused;
+	}
+
+
+	/**
+	 * Gets the future event queue.
+	 * 
+	 * @return the future event queue, or <tt>null</tt> if the simulation is not initialised
+	 */
+	FutureEventList getFutureEventList() {
+		return future;
+	}
+
+	/**
+	 * Gets the deferred event queue.
+	 * 
+	 * @return the deferred event queue, or <tt>null</tt> if the simulation is not initialised
+	 */
+	DeferredQueue getDeferredQueue() {
+		return deferred;
+	}
+
+	/**
+	 * Gets the partitioned execution of the simulation.
+	 * 
+	 * @return the partitioned execution, or <tt>null</tt> if the simulation is not running
+	 *         partitioned
+	 */
+	PartitionedSimulation getPartitionedSimulation() {
+		return partitioned;
+	}
+
+	// ======== LOG AND UTILITIES STATE ===============//
+
+	/**
+	 * Gets the output stream of the log. While a partitioned simulation runs, the messages
+	 * written by each partition are buffered and written in order at the end of each time
+	 * window. Likewise, the messages written by a {@link ParallelUpdate} are buffered and written
+	 * in the order of the updated elements once all of them are updated.
+	 * 
+	 * @return the output stream, or <tt>null</tt> if it has not been set
+	 * @see org.cloudbus.cloudsim.Log#getOutput()
+	 */
+	public OutputStream getLogOutput() {
+		OutputStream updateOutput = ParallelUpdate.getLogOutput();
+		if (updateOutput != null) {
+			return updateOutput;
+		}
+		Partition partition = partitioned == null ? null : partitioned.getCurrentPartition();
+		if (partition != null) {
+			return partition.getLogOutput();
+		}
+		return logOutput;
+	}
+
+	/**
+	 * Sets the output stream of the log.
+	 * 
+	 * @param logOutput the output stream
+	 * @see org.cloudbus.cloudsim.Log#setOutput(OutputStream)
+	 */
+	public void setLogOutput(OutputStream logOutput) {
+		this.logOutput = logOutput;
+	}
+
+	/**
+	 * Checks if the log is disabled.
+	 * 
+	 * @return true, if the log is disabled
+	 * @see org.cloudbus.cloudsim.Log#isDisabled()
+	 */
+	public boolean isLogDisabled() {
+		return logDisabled;
+	}
+
+	/**
+	 * Sets the flag that disables the log.
+	 * 
+	 * @param logDisabled true to disable the log
+	 * @see org.cloudbus.cloudsim.Log#setDisabled(boolean)
+	 */
+	public void setLogDisabled(boolean logDisabled) {
+		this.logDisabled = logDisabled;
+	}
+
+	/**
+	 * Gets the output stream of the allocation traces. Like the messages of the log, the traces
+	 * written by the partitions of a partitioned simulation and by a {@link ParallelUpdate}
+	 * are buffered and written in the order of a sequential simulation.
+	 * 
+	 * @return the output stream, or <tt>null</tt> if it has not been set
+	 * @see org.cloudbus.cloudsim.Log#getTraceOutput()
+	 * @see #getLogOutput()
+	 */
+	public OutputStream getTraceOutput() {
+		OutputStream updateOutput = ParallelUpdate.getTraceOutput();
+		if (updateOutput != null) {
+			return updateOutput;
+		}
+		Partition partition = partitioned == null ? null : partitioned.getCurrentPartition();
+		if (partition != null) {
+			return partition.getTraceOutput();
+		}
+		return traceOutput;
+	}
+
+	/**
+	 * Sets the output stream of the allocation traces.
+	 * 
+	 * @param traceOutput the output stream
+	 * @see org.cloudbus.cloudsim.Log#setTraceOutput(OutputStream)
+	 */
+	public void setTraceOutput(OutputStream traceOutput) {
+		this.traceOutput = traceOutput;
+	}
+
+	/**
+	 * Gets the buffer used to concatenate the log messages, which is a different one for each
+	 * partition of a partitioned simulation.
+	 * 
+	 * @return the buffer
+	 */
+	public StringBuilder getLogBuffer() {
+		StringBuilder updateBuffer = ParallelUpdate.getLogBuffer();
+		if (updateBuffer != null) {
+			return updateBuffer;
+		}
+		Partition partition = partitioned == null ? null : partitioned.getCurrentPartition();
+		if (partition != null) {
+			return partition.getLogBuffer();
+		}
+		return logBuffer;
+	}
+
+	/**
+	 * Gets the start times of the methods/processes whose execution time is being measured,
+	 * which are kept separately by each partition of a partitioned simulation.
+	 * 
+	 * @return the map of start times, by method/process name
+	 * @see org.cloudbus.cloudsim.util.ExecutionTimeMeasurer#getExecutionTimes()
+	 */
+	public Map<String, Long> getExecutionTimes() {
+		Partition partition = partitioned == null ? null : partitioned.getCurrentPartition();
+		if (partition != null) {
+			return partition.getExecutionTimes();
+		}
+		return executionTimes;
+	}
+
+	/**
+	 * Gets the next id of each class that has its own id counter.
+	 * 
+	 * @return the map of the next ids, by class
+	 * @see org.cloudbus.cloudsim.container.utils.IDs
+	 */
+	public Map<Class<?>, Integer> getIdCounters() {
+		return idCounters;
+	}
+
+	/**
+	 * Gets the classes that are known to use the global id counter.
+	 * 
+	 * @return the set of classes
+	 * @see org.cloudbus.cloudsim.container.utils.IDs
+	 */
+	public Set<Class<?>> getClassesWithoutIdCounter() {
+		return classesWithoutIdCounter;
+	}
+
+	/**
+	 * Returns the next id of the global id counter, and increments it.
+	 * 
+	 * @return the id
+	 * @see org.cloudbus.cloudsim.container.utils.IDs
+	 */
+	public int pollGlobalId() {
+		return globalIdCounter++;
+	}
+
+}
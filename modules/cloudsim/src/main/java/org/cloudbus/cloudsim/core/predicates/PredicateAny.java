@@ -25,6 +25,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateAny extends Predicate {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Considers there is no criteria to match an event,
          * so any event received by the predicate will match.
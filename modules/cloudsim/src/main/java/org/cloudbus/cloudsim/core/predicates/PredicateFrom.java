@@ -21,6 +21,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateFrom extends Predicate {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The IDs of source entities to check the reception of events from. */
 	private final int[] ids;
 
@@ -42,6 +44,25 @@ public class PredicateFrom extends Predicate {
 		ids = sourceIds.clone();
 	}
 
+	/**
+	 * Gets the number of source entities selected by this predicate.
+	 * 
+	 * @return the number of source entities
+	 */
+	public int getNumberOfSources() {
+		return ids.length;
+	}
+
+	/**
+	 * Gets the id of one of the source entities selected by this predicate.
+	 * 
+	 * @param index the index of the source entity, from 0 to {@link #getNumberOfSources()} - 1
+	 * @return the id of the source entity
+	 */
+	public int getSource(int index) {
+		return ids[index];
+	}
+
 	/**
 	 * Matches any event received from the registered sources.
 	 * 
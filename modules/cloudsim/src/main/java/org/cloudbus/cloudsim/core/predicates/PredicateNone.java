@@ -23,6 +23,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateNone extends Predicate {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Considers that no event received by the predicate matches.
 	 * 
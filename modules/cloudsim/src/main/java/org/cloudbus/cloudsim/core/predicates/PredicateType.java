@@ -20,6 +20,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PredicateType extends Predicate {
 
+	private static final long serialVersionUID = 1L;
+
 	/** Array of tags to verify if the tag of received events correspond to. */
 	private final int[] tags;
 
@@ -41,6 +43,25 @@ public class PredicateType extends Predicate {
 		this.tags = tags.clone();
 	}
 
+	/**
+	 * Gets the number of {@link #tags} selected by this predicate.
+	 * 
+	 * @return the number of tags
+	 */
+	public int getNumberOfTags() {
+		return tags.length;
+	}
+
+	/**
+	 * Gets one of the {@link #tags} selected by this predicate.
+	 * 
+	 * @param index the index of the tag, from 0 to {@link #getNumberOfTags()} - 1
+	 * @return the tag
+	 */
+	public int getTag(int index) {
+		return tags[index];
+	}
+
 	/**
 	 * Matches any event that has one of the specified {@link #tags}.
 	 * 
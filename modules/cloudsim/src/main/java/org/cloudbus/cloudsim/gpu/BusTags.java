@@ -12,4 +12,6 @@ package org.cloudbus.cloudsim.gpu;
 public class BusTags {
 	/** 15.75 GB/s */
 	public final static int PCI_E_3_X16_BW = 15750; // 15750 MB/s
+	/** 31.5 GB/s */
+	public final static int PCI_E_4_X16_BW = 31500; // 31500 MB/s
 }
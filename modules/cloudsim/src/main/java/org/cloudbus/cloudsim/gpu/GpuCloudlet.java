@@ -15,6 +15,8 @@ import org.cloudbus.cloudsim.UtilizationModel;
  */
 public class GpuCloudlet extends Cloudlet {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * A tag associated with the GpuCloudlet. A tag can be used to describe the
 	 * application.
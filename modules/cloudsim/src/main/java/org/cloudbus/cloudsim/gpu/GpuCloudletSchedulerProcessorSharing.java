@@ -0,0 +1,91 @@
+package org.cloudbus.cloudsim.gpu;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerProcessorSharing;
+import org.cloudbus.cloudsim.ResCloudlet;
+import org.cloudbus.cloudsim.core.CloudSim;
+
+/**
+ * {@link GpuCloudletSchedulerProcessorSharing} extends
+ * {@link CloudletSchedulerProcessorSharing} to schedule {@link GpuCloudlet}s. It
+ * is a drop-in alternative to {@link GpuCloudletSchedulerTimeShared}.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuCloudletSchedulerProcessorSharing extends CloudletSchedulerProcessorSharing
+		implements GpuCloudletScheduler {
+
+	private static final long serialVersionUID = 1L;
+
+	private List<GpuTask> gpuTaskList;
+
+	/**
+	 * {@link CloudletSchedulerProcessorSharing} with GpuCloudlet support. Assumes
+	 * all PEs have same MIPS capacity.
+	 */
+	public GpuCloudletSchedulerProcessorSharing() {
+		super();
+		setGpuTaskList(new ArrayList<GpuTask>());
+	}
+
+	@Override
+	protected ResCloudlet createResCloudlet(Cloudlet cloudlet) {
+		return new ResGpuCloudlet((GpuCloudlet) cloudlet);
+	}
+
+	@Override
+	public void cloudletFinish(ResCloudlet rcl) {
+		ResGpuCloudlet rgcl = (ResGpuCloudlet) rcl;
+		if (!rgcl.hasGpuTask()) {
+			super.cloudletFinish(rcl);
+		} else {
+			GpuTask gt = rgcl.getGpuTask();
+			getGpuTaskList().add(gt);
+			try {
+				rgcl.setCloudletStatus(GpuCloudlet.PAUSED);
+				getCloudletPausedList().add(rgcl);
+			} catch (Exception e) {
+				e.printStackTrace();
+				CloudSim.abruptallyTerminate();
+			}
+		}
+	}
+
+	protected List<GpuTask> getGpuTaskList() {
+		return gpuTaskList;
+	}
+
+	protected void setGpuTaskList(List<GpuTask> gpuTaskList) {
+		this.gpuTaskList = gpuTaskList;
+	}
+
+	@Override
+	public boolean hasGpuTask() {
+		return !getGpuTaskList().isEmpty();
+	}
+
+	@Override
+	public GpuTask getNextGpuTask() {
+		if (hasGpuTask()) {
+			return getGpuTaskList().remove(0);
+		}
+		return null;
+	}
+
+	@Override
+	public boolean notifyGpuTaskCompletion(GpuTask gt) {
+		for (ResCloudlet rcl : getCloudletPausedList()) {
+			ResGpuCloudlet rgcl = (ResGpuCloudlet) rcl;
+			if (rgcl.getGpuTask() == gt) {
+				rgcl.setCloudletStatus(GpuCloudlet.SUCCESS);
+				rgcl.finalizeCloudlet();
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
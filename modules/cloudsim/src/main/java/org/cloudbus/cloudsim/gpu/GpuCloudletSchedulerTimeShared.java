@@ -17,6 +17,8 @@ import org.cloudbus.cloudsim.core.CloudSim;
  */
 public class GpuCloudletSchedulerTimeShared extends CloudletSchedulerTimeShared implements GpuCloudletScheduler {
 
+	private static final long serialVersionUID = 1L;
+
 	private List<GpuTask> gpuTaskList;
 
 	/**
@@ -1,8 +1,14 @@
 package org.cloudbus.cloudsim.gpu;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.cloudbus.cloudsim.Datacenter;
 import org.cloudbus.cloudsim.DatacenterCharacteristics;
@@ -13,22 +19,59 @@ import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.core.CloudSimTags;
+import org.cloudbus.cloudsim.core.ParallelUpdate;
 import org.cloudbus.cloudsim.core.SimEvent;
 import org.cloudbus.cloudsim.gpu.core.GpuCloudSimTags;
+import org.cloudbus.cloudsim.util.CompletionIndex;
 
 /**
  * {@link GpuDatacenter} extends {@link Datacenter} to support
  * {@link GpuCloudlet}s as well as the memory transfer between CPU and GPU.
+ * <p>
+ * By default, the gpu tasks are processed in a time-indexed way: each vgpu
+ * registers the time of its next task completion in a {@link CompletionIndex},
+ * and only the vgpus whose tasks are due or have changed are updated and
+ * checked for finished tasks. The vgpus of a host that does not have
+ * {@link GpuHost#hasIndependentVgpus() independent vgpus} are updated together.
  * 
  * @author Ahmad Siavashi
  * 
  */
 public class GpuDatacenter extends Datacenter {
 
+	private static final long serialVersionUID = 1L;
+
 	private double gpuTaskLastProcessTime;
 
 	private Map<GpuTask, ResGpuCloudlet> gpuTaskResGpuCloudletMap;
 
+	/** Indicates if only the vgpus that are due or have changed are updated. */
+	private boolean timeIndexedGpuScheduling;
+
+	/**
+	 * The vgpu of each element of the gpu completion index, or null if the element
+	 * stands for all the vgpus of its host.
+	 */
+	private List<Vgpu> gpuUnitVgpus;
+
+	/** The host of each element of the gpu completion index. */
+	private List<GpuHost> gpuUnitHosts;
+
+	/** The element of the gpu completion index of each separately updated vgpu. */
+	private Map<Vgpu, Integer> vgpuUnits;
+
+	/** The element of the gpu completion index of each host whose vgpus are updated together. */
+	private Map<GpuHost, Integer> gpuHostUnits;
+
+	/** The elements of the gpu completion index that are no longer used. */
+	private Deque<Integer> freeGpuUnits;
+
+	/** The next completion time of the vgpus, when time-indexed gpu scheduling is used. */
+	private CompletionIndex gpuCompletionIndex;
+
+	/** The elements whose vgpus have to be checked for finished tasks. */
+	private BitSet gpuUnitsToCheck;
+
 	/**
 	 * See {@link Datacenter#Datacenter}
 	 */
@@ -37,33 +80,17 @@ public class GpuDatacenter extends Datacenter {
 		super(name, characteristics, vmAllocationPolicy, storageList, schedulingInterval);
 		setGpuTaskLastProcessTime(0.0);
 		setGpuTaskResGpuCloudletMap(new HashMap<>());
-	}
-
-	@Override
-	public void processEvent(SimEvent ev) {
-		super.processEvent(ev);
-	}
-
-	@Override
-	protected void processOtherEvent(SimEvent ev) {
-		switch (ev.getTag()) {
-		case GpuCloudSimTags.GPU_MEMORY_TRANSFER:
-			processGpuMemoryTransfer(ev);
-			break;
-		case GpuCloudSimTags.GPU_TASK_SUBMIT:
-			processGpuTaskSubmit(ev);
-			break;
-		case GpuCloudSimTags.GPU_CLOUDLET_RETURN:
-			processGpuCloudletReturn(ev);
-			break;
-		case GpuCloudSimTags.VGPU_DATACENTER_EVENT:
-			updateGpuTaskProcessing();
-			checkGpuTaskCompletion();
-			break;
-		default:
-			super.processOtherEvent(ev);
-			break;
-		}
+		setTimeIndexedGpuScheduling(true);
+
+		registerHandler(GpuCloudSimTags.GPU_MEMORY_TRANSFER,
+				(GpuDatacenter dc, SimEvent ev) -> dc.processGpuMemoryTransfer(ev));
+		registerHandler(GpuCloudSimTags.GPU_TASK_SUBMIT, (GpuDatacenter dc, SimEvent ev) -> dc.processGpuTaskSubmit(ev));
+		registerHandler(GpuCloudSimTags.GPU_CLOUDLET_RETURN,
+				(GpuDatacenter dc, SimEvent ev) -> dc.processGpuCloudletReturn(ev));
+		registerHandler(GpuCloudSimTags.VGPU_DATACENTER_EVENT, (GpuDatacenter dc, SimEvent ev) -> {
+			dc.updateGpuTaskProcessing();
+			dc.checkGpuTaskCompletion();
+		});
 	}
 
 	protected GpuVm getGpuTaskVm(GpuTask gt) {
@@ -80,6 +107,7 @@ public class GpuDatacenter extends Datacenter {
 		GpuVm vm = getGpuTaskVm(gt);
 		GpuCloudletScheduler scheduler = (GpuCloudletScheduler) vm.getCloudletScheduler();
 		scheduler.notifyGpuTaskCompletion(gt);
+		markHostChanged(vm.getHost());
 	}
 
 	protected void processGpuCloudletReturn(SimEvent ev) {
@@ -105,23 +133,30 @@ public class GpuDatacenter extends Datacenter {
 	protected void updateGpuTaskProcessing() {
 		// if some time passed since last processing
 		// R: for term is to allow loop at simulation start. Otherwise, one initial
-		// simulation step is skipped and schedulers are not properly initialized
-		if (CloudSim.clock() < 0.111
-				|| CloudSim.clock() > geGpuTasktLastProcessTime() + CloudSim.getMinTimeBetweenEvents()) {
-			List<? extends Host> list = getVmAllocationPolicy().getHostList();
+		// simulation step is skipped and schedulers are not properly initialized.
+		// With time-indexed gpu scheduling, the changed vgpus are always updated, as
+		// they may not have been updated at the last processing time. With exact
+		// completion times, only the updates at the same time are skipped
+		double minTimeBetweenUpdates = CloudSim.isExactCompletionTimes() ? 0.0 : CloudSim.getMinTimeBetweenEvents();
+		if (isTimeIndexedGpuScheduling() || CloudSim.clock() < 0.111
+				|| CloudSim.clock() > geGpuTasktLastProcessTime() + minTimeBetweenUpdates) {
 			double smallerTime = Double.MAX_VALUE;
-			// for each host...
-			for (int i = 0; i < list.size(); i++) {
-				GpuHost host = (GpuHost) list.get(i);
-				// inform VMs to update processing
-				double time = host.updateVgpusProcessing(CloudSim.clock());
-				// what time do we expect that the next task will finish?
-				if (time < smallerTime) {
-					smallerTime = time;
+			if (isTimeIndexedGpuScheduling()) {
+				smallerTime = updateIndexedVgpusProcessing();
+			} else {
+				// inform the vgpus of each host to update processing
+				double[] times = updateGpuHostsProcessing(getVmAllocationPolicy().getHostList());
+				for (int i = 0; i < times.length; i++) {
+					// what time do we expect that the next task will finish?
+					if (times[i] < smallerTime) {
+						smallerTime = times[i];
+					}
 				}
 			}
 			// guarantees a minimal interval before scheduling the event
-			if (smallerTime < CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01) {
+			if (CloudSim.isExactCompletionTimes()) {
+				smallerTime = Math.max(smallerTime, CloudSim.clock());
+			} else if (smallerTime < CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01) {
 				smallerTime = CloudSim.clock() + CloudSim.getMinTimeBetweenEvents() + 0.01;
 			}
 			if (smallerTime != Double.MAX_VALUE) {
@@ -131,44 +166,165 @@ public class GpuDatacenter extends Datacenter {
 		}
 	}
 
+	/**
+	 * Updates the vgpus that are due or have changed.
+	 * 
+	 * @return the earliest completion time of the tasks of all vgpus, or
+	 *         {@link Double#MAX_VALUE} if there is none or if no vgpu was updated
+	 */
+	private double updateIndexedVgpusProcessing() {
+		CompletionIndex index = getGpuCompletionIndex();
+		BitSet units = index.pollElementsToUpdate(CloudSim.clock());
+		boolean polled = !units.isEmpty();
+		for (int i = units.nextSetBit(0); i >= 0; i = units.nextSetBit(i + 1)) {
+			Vgpu vgpu = gpuUnitVgpus.get(i);
+			if (vgpu != null
+					&& !gpuUnitHosts.get(i).getVideoCardAllocationPolicy().getVgpuVideoCardMap().containsKey(vgpu)) {
+				// the vgpu has been destroyed
+				removeGpuUnit(i);
+				units.clear(i);
+			}
+		}
+		List<Integer> unitsToUpdate = new ArrayList<Integer>(units.cardinality());
+		for (int i = units.nextSetBit(0); i >= 0; i = units.nextSetBit(i + 1)) {
+			unitsToUpdate.add(i);
+		}
+		final double currentTime = CloudSim.clock();
+		double[] times = new ParallelUpdate<Integer>() {
+
+			@Override
+			protected double update(Integer unit) {
+				GpuHost host = gpuUnitHosts.get(unit);
+				Vgpu vgpu = gpuUnitVgpus.get(unit);
+				return vgpu == null ? host.updateVgpusProcessing(currentTime)
+						: host.updateVgpuProcessing(vgpu, currentTime);
+			}
+
+			@Override
+			protected boolean isParallelSafe(Integer unit) {
+				return gpuUnitHosts.get(unit).isUpdatableInParallel();
+			}
+
+		}.run(unitsToUpdate);
+		for (int j = 0; j < times.length; j++) {
+			index.setCompletionTime(unitsToUpdate.get(j), times[j]);
+		}
+		gpuUnitsToCheck.or(units);
+		// if no vgpu was due or changed, the next completion has already been scheduled
+		return polled ? index.getNextCompletionTime() : Double.MAX_VALUE;
+	}
+
+	/**
+	 * Updates the processing of the vgpus of some hosts, in parallel if there are
+	 * at least {@link CloudSim#getParallelUpdateThreshold()} of them and all of
+	 * them {@link Host#isUpdatableInParallel() can be updated in parallel}.
+	 * 
+	 * @param hosts the gpu hosts
+	 * @return the earliest completion time of the tasks of each host
+	 */
+	protected double[] updateGpuHostsProcessing(List<? extends Host> hosts) {
+		final double currentTime = CloudSim.clock();
+		return new ParallelUpdate<Host>() {
+
+			@Override
+			protected double update(Host host) {
+				return ((GpuHost) host).updateVgpusProcessing(currentTime);
+			}
+
+			@Override
+			protected boolean isParallelSafe(Host host) {
+				return host.isUpdatableInParallel();
+			}
+
+		}.run(hosts);
+	}
+
 	protected void checkGpuTaskCompletion() {
+		if (isTimeIndexedGpuScheduling()) {
+			checkIndexedGpuTaskCompletion();
+			return;
+		}
 		List<? extends Host> list = getVmAllocationPolicy().getHostList();
 		for (int i = 0; i < list.size(); i++) {
 			GpuHost host = (GpuHost) list.get(i);
 			for (Vm vm : host.getVmList()) {
 				GpuVm gpuVm = (GpuVm) vm;
-				Vgpu vgpu = gpuVm.getVgpu();
-				if (vgpu != null) {
-					while (vgpu.getGpuTaskScheduler().hasFinishedTasks()) {
-						ResGpuTask rgt = vgpu.getGpuTaskScheduler().getNextFinishedTask();
-						try {
-							sendNow(getId(), GpuCloudSimTags.GPU_MEMORY_TRANSFER, rgt.getGpuTask());
-						} catch (Exception e) {
-							e.printStackTrace();
-							CloudSim.abruptallyTerminate();
-						}
-					}
-				}
+				checkGpuTaskCompletion(gpuVm.getVgpu());
 			}
 		}
 	}
 
-	@Override
-	protected void checkCloudletCompletion() {
-		super.checkCloudletCompletion();
+	/**
+	 * Checks the vgpus that have been updated since the last check. They are
+	 * checked in the order of the hosts of their vms, as in a full check.
+	 */
+	private void checkIndexedGpuTaskCompletion() {
+		getGpuCompletionIndex();
+		if (gpuUnitsToCheck.isEmpty()) {
+			return;
+		}
+		Set<Vgpu> vgpus = new HashSet<Vgpu>();
+		for (int i = gpuUnitsToCheck.nextSetBit(0); i >= 0; i = gpuUnitsToCheck.nextSetBit(i + 1)) {
+			Vgpu vgpu = gpuUnitVgpus.get(i);
+			if (vgpu != null) {
+				vgpus.add(vgpu);
+			} else {
+				vgpus.addAll(gpuUnitHosts.get(i).getVideoCardAllocationPolicy().getVgpuVideoCardMap().keySet());
+			}
+		}
+		gpuUnitsToCheck.clear();
+
+		BitSet hosts = new BitSet();
+		for (Vgpu vgpu : vgpus) {
+			int hostIndex = vgpu.getVm() == null ? -1 : getHostIndex(vgpu.getVm().getHost());
+			if (hostIndex >= 0) {
+				hosts.set(hostIndex);
+			} else {
+				checkGpuTaskCompletion(vgpu);
+			}
+		}
 		List<? extends Host> list = getVmAllocationPolicy().getHostList();
-		for (int i = 0; i < list.size(); i++) {
-			Host host = list.get(i);
-			for (Vm vm : host.getVmList()) {
-				GpuCloudletScheduler scheduler = (GpuCloudletScheduler) vm.getCloudletScheduler();
-				while (scheduler.hasGpuTask()) {
-					GpuTask gt = scheduler.getNextGpuTask();
-					sendNow(getId(), GpuCloudSimTags.GPU_MEMORY_TRANSFER, gt);
+		for (int i = hosts.nextSetBit(0); i >= 0; i = hosts.nextSetBit(i + 1)) {
+			for (Vm vm : list.get(i).getVmList()) {
+				Vgpu vgpu = ((GpuVm) vm).getVgpu();
+				if (vgpus.contains(vgpu)) {
+					checkGpuTaskCompletion(vgpu);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sends the finished tasks of a vgpu to their memory transfer.
+	 * 
+	 * @param vgpu the vgpu, or null
+	 */
+	private void checkGpuTaskCompletion(Vgpu vgpu) {
+		if (vgpu != null) {
+			while (vgpu.getGpuTaskScheduler().hasFinishedTasks()) {
+				ResGpuTask rgt = vgpu.getGpuTaskScheduler().getNextFinishedTask();
+				try {
+					sendNow(getId(), GpuCloudSimTags.GPU_MEMORY_TRANSFER, rgt.getGpuTask());
+				} catch (Exception e) {
+					e.printStackTrace();
+					CloudSim.abruptallyTerminate();
 				}
 			}
 		}
 	}
 
+	@Override
+	protected void checkCloudletCompletion(Host host) {
+		super.checkCloudletCompletion(host);
+		for (Vm vm : host.getVmList()) {
+			GpuCloudletScheduler scheduler = (GpuCloudletScheduler) vm.getCloudletScheduler();
+			while (scheduler.hasGpuTask()) {
+				GpuTask gt = scheduler.getNextGpuTask();
+				sendNow(getId(), GpuCloudSimTags.GPU_MEMORY_TRANSFER, gt);
+			}
+		}
+	}
+
 	@Override
 	protected void processVmCreate(SimEvent ev, boolean ack) {
 		Vm vm = (Vm) ev.getData();
@@ -200,6 +356,7 @@ public class GpuDatacenter extends Datacenter {
 
 			vm.updateVmProcessing(CloudSim.clock(),
 					getVmAllocationPolicy().getHost(vm).getVmScheduler().getAllocatedMipsForVm(vm));
+			markHostChanged(getVmAllocationPolicy().getHost(vm));
 
 			if (vgpu != null) {
 				if (vgpu.isBeingInstantiated()) {
@@ -209,6 +366,8 @@ public class GpuDatacenter extends Datacenter {
 				VideoCard videoCard = vgpu.getVideoCard();
 				vgpu.updateGpuTaskProcessing(CloudSim.clock(),
 						videoCard.getVgpuScheduler().getAllocatedMipsForVgpu(vgpu));
+				// the new vgpu may change the mips allocated to the others
+				markGpuHostChanged(getVgpuHost(vgpu));
 			}
 		}
 
@@ -218,12 +377,19 @@ public class GpuDatacenter extends Datacenter {
 	protected void processVmDestroy(SimEvent ev, boolean ack) {
 		GpuVm vm = (GpuVm) ev.getData();
 		if (vm.hasVgpu()) {
+			GpuHost gpuHost = getVgpuHost(vm.getVgpu());
 			((GpuVmAllocationPolicy) getVmAllocationPolicy()).deallocateGpuForVgpu(vm.getVgpu());
+			removeVgpu(vm.getVgpu());
+			markGpuHostChanged(gpuHost);
 		}
 		super.processVmDestroy(ev, ack);
 	}
 
 	protected void processGpuTaskSubmit(SimEvent ev) {
+		// the vgpu is updated before the task is added to it
+		if (isTimeIndexedGpuScheduling() && ev.getData() instanceof GpuTask) {
+			markVgpuChanged(getGpuTaskVm((GpuTask) ev.getData()).getVgpu());
+		}
 		updateGpuTaskProcessing();
 
 		try {
@@ -242,6 +408,7 @@ public class GpuDatacenter extends Datacenter {
 			GpuTaskScheduler scheduler = vgpu.getGpuTaskScheduler();
 
 			double estimatedFinishTime = scheduler.taskSubmit(gt);
+			markVgpuChanged(vgpu);
 
 			// if this task is in the exec queue
 			if (estimatedFinishTime > 0.0 && !Double.isInfinite(estimatedFinishTime)) {
@@ -260,6 +427,171 @@ public class GpuDatacenter extends Datacenter {
 		checkGpuTaskCompletion();
 	}
 
+	/**
+	 * Gets the host where a vgpu is resident, which may not be the host of its vm.
+	 * 
+	 * @param vgpu the vgpu
+	 * @return the host of the vgpu, or null if it is not resident in a host of this
+	 *         datacenter
+	 */
+	protected GpuHost getVgpuHost(Vgpu vgpu) {
+		GpuHost host = null;
+		if (getVmAllocationPolicy() instanceof GpuVmAllocationPolicy) {
+			host = ((GpuVmAllocationPolicy) getVmAllocationPolicy()).getVgpuHosts().get(vgpu);
+		}
+		if (host == null && vgpu.getVm() != null && vgpu.getVm().getHost() instanceof GpuHost) {
+			host = (GpuHost) vgpu.getVm().getHost();
+		}
+		if (host == null || !host.isGpuEquipped()
+				|| !host.getVideoCardAllocationPolicy().getVgpuVideoCardMap().containsKey(vgpu)) {
+			return null;
+		}
+		return host;
+	}
+
+	/**
+	 * Records that the tasks of a vgpu have changed, so that the vgpu is updated
+	 * and checked at the next processing of the gpu tasks.
+	 * 
+	 * @param vgpu the vgpu
+	 */
+	protected void markVgpuChanged(Vgpu vgpu) {
+		if (!isTimeIndexedGpuScheduling() || vgpu == null) {
+			return;
+		}
+		GpuHost host = getVgpuHost(vgpu);
+		if (host != null) {
+			markGpuUnitChanged(getGpuUnit(host, vgpu));
+		}
+	}
+
+	/**
+	 * Records that all the vgpus of a host have changed, for instance because the
+	 * mips allocated to them have changed.
+	 * 
+	 * @param host the host, or null
+	 */
+	protected void markGpuHostChanged(GpuHost host) {
+		if (!isTimeIndexedGpuScheduling() || host == null || !host.isGpuEquipped()) {
+			return;
+		}
+		if (!host.hasIndependentVgpus()) {
+			markGpuUnitChanged(getGpuUnit(host, null));
+			return;
+		}
+		for (Vgpu vgpu : host.getVideoCardAllocationPolicy().getVgpuVideoCardMap().keySet()) {
+			markGpuUnitChanged(getGpuUnit(host, vgpu));
+		}
+	}
+
+	private void markGpuUnitChanged(int unit) {
+		getGpuCompletionIndex().markChanged(unit);
+		gpuUnitsToCheck.set(unit);
+	}
+
+	/**
+	 * Gets the element of the gpu completion index of a vgpu, and adds it if there
+	 * is none.
+	 * 
+	 * @param host the host of the vgpu
+	 * @param vgpu the vgpu
+	 * @return the position of the element
+	 */
+	private int getGpuUnit(GpuHost host, Vgpu vgpu) {
+		getGpuCompletionIndex();
+		if (!host.hasIndependentVgpus()) {
+			vgpu = null;
+		}
+		Integer unit = vgpu == null ? gpuHostUnits.get(host) : vgpuUnits.get(vgpu);
+		if (unit != null) {
+			return unit;
+		}
+		if (freeGpuUnits.isEmpty()) {
+			unit = gpuUnitVgpus.size();
+			gpuUnitVgpus.add(vgpu);
+			gpuUnitHosts.add(host);
+			gpuCompletionIndex.ensureSize(Math.max(2 * unit, 16));
+		} else {
+			unit = freeGpuUnits.poll();
+			gpuUnitVgpus.set(unit, vgpu);
+			gpuUnitHosts.set(unit, host);
+		}
+		if (vgpu == null) {
+			gpuHostUnits.put(host, unit);
+		} else {
+			vgpuUnits.put(vgpu, unit);
+		}
+		return unit;
+	}
+
+	/**
+	 * Removes a destroyed vgpu from the gpu completion index.
+	 * 
+	 * @param vgpu the vgpu
+	 */
+	private void removeVgpu(Vgpu vgpu) {
+		if (isTimeIndexedGpuScheduling() && vgpuUnits.containsKey(vgpu)) {
+			removeGpuUnit(vgpuUnits.get(vgpu));
+		}
+	}
+
+	private void removeGpuUnit(int unit) {
+		vgpuUnits.remove(gpuUnitVgpus.get(unit));
+		gpuUnitVgpus.set(unit, null);
+		gpuUnitHosts.set(unit, null);
+		gpuCompletionIndex.setCompletionTime(unit, Double.MAX_VALUE);
+		gpuUnitsToCheck.clear(unit);
+		freeGpuUnits.add(unit);
+	}
+
+	/**
+	 * Gets the index of the next completion time of the vgpus. It is created with
+	 * all the vgpus of the datacenter, which are marked as changed.
+	 * 
+	 * @return the gpu completion index
+	 */
+	private CompletionIndex getGpuCompletionIndex() {
+		if (gpuCompletionIndex == null) {
+			gpuUnitVgpus = new ArrayList<Vgpu>();
+			gpuUnitHosts = new ArrayList<GpuHost>();
+			vgpuUnits = new HashMap<Vgpu, Integer>();
+			gpuHostUnits = new HashMap<GpuHost, Integer>();
+			freeGpuUnits = new ArrayDeque<Integer>();
+			gpuUnitsToCheck = new BitSet();
+			gpuCompletionIndex = new CompletionIndex(0);
+			for (Host host : getVmAllocationPolicy().getHostList()) {
+				markGpuHostChanged((GpuHost) host);
+			}
+		}
+		return gpuCompletionIndex;
+	}
+
+	/**
+	 * Checks if the gpu tasks are processed in a time-indexed way, which is the
+	 * default.
+	 * 
+	 * @return true if only the vgpus that are due or have changed are updated
+	 */
+	public boolean isTimeIndexedGpuScheduling() {
+		return timeIndexedGpuScheduling;
+	}
+
+	/**
+	 * Sets if the gpu tasks are processed in a time-indexed way. Otherwise, all
+	 * the vgpus of the datacenter are updated and checked each time the gpu tasks
+	 * are processed. The full update should be used with gpu tasks whose
+	 * utilization has to be sampled at each update, and with hosts that override
+	 * {@link GpuHost#updateVgpusProcessing(double)} while having
+	 * {@link GpuHost#hasIndependentVgpus() independent vgpus}.
+	 * 
+	 * @param timeIndexedGpuScheduling true to only update the vgpus that are due
+	 *                                 or have changed
+	 */
+	public void setTimeIndexedGpuScheduling(boolean timeIndexedGpuScheduling) {
+		this.timeIndexedGpuScheduling = timeIndexedGpuScheduling;
+		gpuCompletionIndex = null;
+	}
+
 	protected double geGpuTasktLastProcessTime() {
 		return gpuTaskLastProcessTime;
 	}
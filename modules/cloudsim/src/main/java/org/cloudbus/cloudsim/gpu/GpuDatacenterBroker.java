@@ -1,8 +1,11 @@
 package org.cloudbus.cloudsim.gpu;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.cloudbus.cloudsim.Cloudlet;
@@ -28,12 +31,21 @@ import org.cloudbus.cloudsim.lists.VmList;
  */
 public class GpuDatacenterBroker extends DatacenterBroker {
 
+	private static final long serialVersionUID = 1L;
+
 	/** A structure to maintain VM-GpuCloudlet mapping */
 	private HashMap<String, List<GpuCloudlet>> vmGpuCloudletMap;
 
 	/** The number of submitted gpuCloudlets in each vm. */
 	private HashMap<String, Integer> vmGpuCloudletsSubmitted;
 
+	/**
+	 * The cloudlets of the cloudlet list that have been submitted or rejected
+	 * with their VM. They are removed from the list in batches, so that each
+	 * VM creation ack does not go through the list.
+	 */
+	private Set<Cloudlet> cloudletsToRemove;
+
 	/**
 	 * @see DatacenterBroker
 	 */
@@ -41,6 +53,11 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 		super(name);
 		setGpuVmCloudletMap(new HashMap<String, List<GpuCloudlet>>());
 		setVmGpuCloudletsSubmitted(new HashMap<String, Integer>());
+		cloudletsToRemove = Collections.newSetFromMap(new IdentityHashMap<Cloudlet, Boolean>());
+
+		// VM Destroy answer
+		registerHandler(CloudSimTags.VM_DESTROY_ACK,
+				(GpuDatacenterBroker broker, SimEvent ev) -> broker.processVmDestroy(ev));
 	}
 
 	@Override
@@ -58,7 +75,7 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 		// next one
 		int requestedVms = 0;
 		for (GpuVm vm : (List<GpuVm>) (List<?>) getVmList()) {
-			if (!getVmsToDatacentersMap().containsKey(vm.getId()) && !getVmsCreatedList().contains(vm)) {
+			if (!getVmsToDatacentersMap().containsKey(vm.getId()) && VmList.getById(getVmsCreatedById(), vm.getId()) != vm) {
 				getVmsToDatacentersMap().put(vm.getId(), datacenterId);
 				send(datacenterId, vm.getArrivalTime(), CloudSimTags.VM_CREATE_ACK, vm);
 				requestedVms++;
@@ -89,22 +106,22 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 		int vmId = data[1];
 		int result = data[2];
 
-		Vm vm = VmList.getById(getVmList(), vmId);
+		Vm vm = VmList.getById(getVmsById(), vmId);
 		String vmUid = vm.getUid();
 
 		if (result == CloudSimTags.TRUE) {
 			getVmsToDatacentersMap().put(vmId, datacenterId);
-			getVmsCreatedList().add(vm);
+			addCreatedVm(vm);
 			setVmsAcks(getVmsAcks() + 1);
 
 			Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": VM #", vmId, " has been created in Datacenter #",
 					datacenterId, ", Host #", vm.getHost().getId());
-			System.out.println("{'clock': " + CloudSim.clock() + ", 'type': 'vm allocation',  'vm': " + vm.getId()
+			Log.printTraceLine("{'clock': " + CloudSim.clock() + ", 'type': 'vm allocation',  'vm': " + vm.getId()
 					+ ", 'host': " + vm.getHost().getId() + "}");
 			Vgpu vgpu = ((GpuVm) vm).getVgpu();
 			if (vgpu != null) {
 				Pgpu pgpu = vgpu.getVideoCard().getVgpuScheduler().getPgpuForVgpu(vgpu);
-				System.out.println("{'clock': " + CloudSim.clock() + ", 'type': 'vgpu allocation', 'vgpu': "
+				Log.printTraceLine("{'clock': " + CloudSim.clock() + ", 'type': 'vgpu allocation', 'vgpu': "
 						+ vgpu.getId() + ", 'pgpu': " + pgpu.getId() + ", 'vm': " + vm.getId() + "}");
 			}
 			// VM has been created successfully, submit its cloudlets now.
@@ -114,8 +131,7 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 			}
 			getVmGpuCloudletsSubmitted().put(vmUid, vmCloudlets.size());
 			// Remove submitted cloudlets from queue
-			getCloudletList().removeAll(vmCloudlets);
-			getVmGpuCloudletMap().get(vmUid).removeAll(vmCloudlets);
+			removeWaitingCloudlets(vmCloudlets);
 			getVmGpuCloudletMap().remove(vmUid);
 		} else {
 			Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": Creation of VM #", vmId,
@@ -133,12 +149,9 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 				send(nextDatacenterId, CloudSim.getMinTimeBetweenEvents(), CloudSimTags.VM_CREATE_ACK, vm);
 			} else {
 				// Reject the VM
-				System.out.println(
+				Log.printTraceLine(
 						"{'clock': " + CloudSim.clock() + ", 'type': 'vm rejection',  'vm': " + vm.getId() + "}");
-				List<GpuCloudlet> vmCloudlets = getVmGpuCloudletMap().get(vmUid);
-				getCloudletList().removeAll(vmCloudlets);
-				getVmGpuCloudletMap().get(vmUid).removeAll(vmCloudlets);
-				getVmGpuCloudletMap().remove(vmUid);
+				removeWaitingCloudlets(getVmGpuCloudletMap().remove(vmUid));
 			}
 		}
 	}
@@ -151,7 +164,7 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 
 		if (result == CloudSimTags.TRUE) {
 			Log.printLine(CloudSim.clock() + ": VM #" + vmId + " destroyed in Datacenter #" + datacenterId);
-			System.out.println("{'clock': " + CloudSim.clock() + ", 'type': 'vm deallocation',  'vm': " + vmId + "}");
+			Log.printTraceLine("{'clock': " + CloudSim.clock() + ", 'type': 'vm deallocation',  'vm': " + vmId + "}");
 			setVmsDestroyed(getVmsDestroyed() + 1);
 			getVmGpuCloudletsSubmitted().remove(Vm.getUid(getId(), vmId));
 		} else {
@@ -164,35 +177,22 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 		Cloudlet cloudlet = (Cloudlet) ev.getData();
 		getCloudletReceivedList().add(cloudlet);
 		Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": Cloudlet ", cloudlet.getCloudletId(), " received");
-		GpuVm cloudletVm = (GpuVm) VmList.getByIdAndUserId(getVmList(), cloudlet.getVmId(), getId());
+		GpuVm cloudletVm = (GpuVm) VmList.getByIdAndUserId(getVmsById(), cloudlet.getVmId(), getId());
 		getVmGpuCloudletsSubmitted().replace(cloudletVm.getUid(),
 				getVmGpuCloudletsSubmitted().get(cloudletVm.getUid()) - 1);
 		cloudletsSubmitted--;
 		if (getVmGpuCloudletsSubmitted().get(cloudletVm.getUid()) == 0) {
 			sendNow(getVmsToDatacentersMap().get(cloudlet.getVmId()), CloudSimTags.VM_DESTROY_ACK, cloudletVm);
-			getVmsCreatedList().remove(cloudletVm);
+			removeCreatedVm(cloudletVm);
 		}
 		// all cloudlets executed
-		if (getCloudletList().isEmpty() && cloudletsSubmitted == 0) {
+		if (cloudletList.size() == cloudletsToRemove.size() && cloudletsSubmitted == 0) {
 			Log.printConcatLine(CloudSim.clock(), ": ", getName(), ": All Jobs executed. Finishing...");
 			clearDatacenters();
 			finishExecution();
 		}
 	}
 
-	@Override
-	protected void processOtherEvent(SimEvent ev) {
-		switch (ev.getTag()) {
-		// VM Destroy answer
-		case CloudSimTags.VM_DESTROY_ACK:
-			processVmDestroy(ev);
-			break;
-		default:
-			super.processOtherEvent(ev);
-			break;
-		}
-	}
-
 	protected void submitGpuCloudlet(GpuCloudlet gpuCloudlet) {
 		int datacenterId = getVmsToDatacentersMap().get(gpuCloudlet.getVmId());
 		sendNow(datacenterId, CloudSimTags.CLOUDLET_SUBMIT, gpuCloudlet);
@@ -200,6 +200,45 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 		cloudletsSubmitted++;
 	}
 
+	/**
+	 * Removes cloudlets from the cloudlet list. They are removed once the
+	 * cloudlets to remove are at least half of the list, or when the list is
+	 * read.
+	 * 
+	 * @param cloudlets the cloudlets, which are in the list
+	 */
+	protected void removeWaitingCloudlets(List<? extends Cloudlet> cloudlets) {
+		cloudletsToRemove.addAll(cloudlets);
+		if (cloudletsToRemove.size() * 2 >= cloudletList.size()) {
+			removeCloudlets();
+		}
+	}
+
+	/**
+	 * Removes from the cloudlet list the cloudlets that are still to be removed,
+	 * in one pass.
+	 */
+	private void removeCloudlets() {
+		List<Cloudlet> waitingCloudlets = super.getCloudletList();
+		int waiting = 0;
+		for (int i = 0; i < waitingCloudlets.size(); i++) {
+			Cloudlet cloudlet = waitingCloudlets.get(i);
+			if (!cloudletsToRemove.contains(cloudlet)) {
+				waitingCloudlets.set(waiting++, cloudlet);
+			}
+		}
+		waitingCloudlets.subList(waiting, waitingCloudlets.size()).clear();
+		cloudletsToRemove.clear();
+	}
+
+	@Override
+	public <T extends Cloudlet> List<T> getCloudletList() {
+		if (cloudletsToRemove != null && !cloudletsToRemove.isEmpty()) {
+			removeCloudlets();
+		}
+		return super.getCloudletList();
+	}
+
 	@Override
 	public void bindCloudletToVm(int cloudletId, int vmId) {
 		throw new NotImplementedException("not implemented");
@@ -211,11 +250,11 @@ public class GpuDatacenterBroker extends DatacenterBroker {
 		if (getVmList().isEmpty()) {
 			throw new IllegalArgumentException("no vm submitted.");
 		}
-		for (Cloudlet cloudlet : getCloudletList()) {
+		for (Cloudlet cloudlet : list) {
 			if (cloudlet.getVmId() < 0) {
 				throw new IllegalArgumentException("cloudlet (#" + cloudlet.getCloudletId() + ") has no VM.");
 			}
-			Vm vm = VmList.getById(getVmList(), cloudlet.getVmId());
+			Vm vm = VmList.getById(getVmsById(), cloudlet.getVmId());
 			if (vm == null) {
 				throw new IllegalArgumentException("no such vm (Id #" + cloudlet.getVmId() + ") exists for cloudlet (#"
 						+ cloudlet.getCloudletId() + ")");
@@ -1,6 +1,7 @@
 package org.cloudbus.cloudsim.gpu;
 
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.cloudbus.cloudsim.Host;
@@ -21,6 +22,8 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  */
 public class GpuHost extends Host {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * type of the host
 	 */
@@ -62,9 +65,10 @@ public class GpuHost extends Host {
 		double smallerTime = Double.MAX_VALUE;
 		if (isGpuEquipped()) {
 			// Update resident vGPUs
-			for (Vgpu vgpu : getVideoCardAllocationPolicy().getVgpuVideoCardMap().keySet()) {
-				double time = vgpu.updateGpuTaskProcessing(currentTime, getVideoCardAllocationPolicy()
-						.getVgpuVideoCardMap().get(vgpu).getVgpuScheduler().getAllocatedMipsForVgpu(vgpu));
+			for (Entry<Vgpu, VideoCard> entry : getVideoCardAllocationPolicy().getVgpuVideoCardMap().entrySet()) {
+				Vgpu vgpu = entry.getKey();
+				double time = vgpu.updateGpuTaskProcessing(currentTime,
+						entry.getValue().getVgpuScheduler().getAllocatedMipsForVgpu(vgpu));
 				if (time > 0.0 && time < smallerTime) {
 					smallerTime = time;
 				}
@@ -73,13 +77,58 @@ public class GpuHost extends Host {
 		return smallerTime;
 	}
 
+	/**
+	 * Updates the processing of the gpu tasks of a single vgpu of the host. It can
+	 * only be used if {@link #hasIndependentVgpus()} is true; otherwise, the vgpus
+	 * have to be updated together with {@link #updateVgpusProcessing(double)}. If
+	 * the host {@link #isUpdatableInParallel() can be updated in parallel}, its
+	 * vgpus may be updated at the same time by different threads.
+	 * 
+	 * @param vgpu        a vgpu resident in the host
+	 * @param currentTime current simulation time
+	 * @return the predicted completion time of the earliest finishing task of the
+	 *         vgpu, or {@link Double#MAX_VALUE} if there is none
+	 */
+	public double updateVgpuProcessing(Vgpu vgpu, double currentTime) {
+		double time = vgpu.updateGpuTaskProcessing(currentTime,
+				vgpu.getVideoCard().getVgpuScheduler().getAllocatedMipsForVgpu(vgpu));
+		return time > 0.0 ? time : Double.MAX_VALUE;
+	}
+
+	/**
+	 * Checks if the processing of each vgpu of the host only depends on the vgpu
+	 * itself and on its allocated mips, so that the vgpus can be updated
+	 * separately.
+	 * 
+	 * @return true if each vgpu can be updated on its own
+	 */
+	public boolean hasIndependentVgpus() {
+		return true;
+	}
+
+	/**
+	 * Checks if the VM could be created in the host by {@link #vmCreate(Vm)}. The
+	 * free storage, RAM, BW and PEs of the host are read from the host, its
+	 * provisioners and its {@link VmScheduler}, which keep them up to date as VMs
+	 * are created and destroyed, so nothing is allocated to answer.
+	 */
 	@Override
 	public boolean isSuitableForVm(Vm vm) {
-		boolean result = vmCreate(vm);
-		if (result) {
-			vmDestroy(vm);
-		}
-		return result;
+		return getStorage() >= vm.getSize() && getRamProvisioner().isSuitableForVm(vm, vm.getCurrentRequestedRam())
+				&& getBwProvisioner().isSuitableForVm(vm, vm.getCurrentRequestedBw())
+				&& getVmScheduler().isSuitableForVm(vm, vm.getCurrentRequestedMips());
+	}
+
+	/**
+	 * Checks if the vgpu could be created in one of the video cards of the host by
+	 * {@link #vgpuCreate(Vgpu)}, without allocating it. The free GDDRAM, BW and PEs
+	 * of each pgpu are read from its provisioners.
+	 * 
+	 * @param vgpu the vgpu
+	 * @return true if a video card of the host is suitable for the vgpu
+	 */
+	public boolean isSuitableForVgpu(Vgpu vgpu) {
+		return isGpuEquipped() && getVideoCardAllocationPolicy().isSuitable(vgpu);
 	}
 
 	/**
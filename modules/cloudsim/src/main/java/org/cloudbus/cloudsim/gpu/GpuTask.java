@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu;
 
+import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,7 +14,9 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @author Ahmad Siavashi
  * 
  */
-public class GpuTask {
+public class GpuTask implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * task Id.
@@ -275,7 +278,9 @@ public class GpuTask {
 	 * CloudResources. Each time a task is run on a given GPU, the task's execution
 	 * history on each VM is registered at {@link GpuTask#resList}
 	 */
-	private static class Resource {
+	private static class Resource implements Serializable {
+
+		private static final long serialVersionUID = 1L;
 
 		/**
 		 * Task's submission (arrival) time to a CloudResource.
@@ -1,8 +1,12 @@
 package org.cloudbus.cloudsim.gpu;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.cloudbus.cloudsim.util.MipsVector;
+import org.cloudbus.cloudsim.util.PeAllocator;
+
 /**
  * {@link GpuTaskScheduler} is an abstract class that represents the policy of
  * scheduling performed by a {@link Vgpu} to run its {@link GpuTask GpuTasks}.
@@ -14,7 +18,9 @@ import java.util.List;
  * @author Ahmad Siavashi
  *
  */
-public abstract class GpuTaskScheduler {
+public abstract class GpuTaskScheduler implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** The previous time. */
 	private double previousTime;
@@ -23,7 +29,13 @@ public abstract class GpuTaskScheduler {
 	 * The list of current mips share available for the {@link Vgpu} using the
 	 * scheduler.
 	 */
-	private List<Double> currentMipsShare;
+	private MipsVector currentMipsShare;
+
+	/**
+	 * The used PEs of the {@link Vgpu}, whose number follows the current mips
+	 * share.
+	 */
+	private final PeAllocator peAllocator;
 
 	/** The list of {@link GpuTask} waiting to be executed on the {@link Vgpu}. */
 	protected List<? extends ResGpuTask> taskWaitingList;
@@ -49,6 +61,7 @@ public abstract class GpuTaskScheduler {
 	 */
 	public GpuTaskScheduler() {
 		setPreviousTime(0.0);
+		peAllocator = new PeAllocator(0);
 		taskWaitingList = new ArrayList<ResGpuTask>();
 		taskExecList = new ArrayList<ResGpuTask>();
 		taskPausedList = new ArrayList<ResGpuTask>();
@@ -61,13 +74,27 @@ public abstract class GpuTaskScheduler {
 	 * scheduler.
 	 * 
 	 * @param currentTime current simulation time
-	 * @param mipsShare   list with MIPS share of each Pe available to the scheduler
+	 * @param mipsShare   MIPS share of each Pe available to the scheduler
 	 * @return the predicted completion time of the earliest finishing gpu task, or
 	 *         {@link Double#MAX_VALUE} if there is no next events
 	 * @pre currentTime >= 0
 	 * @post $none
 	 */
-	public abstract double updateGpuTaskProcessing(double currentTime, List<Double> mipsShare);
+	public abstract double updateGpuTaskProcessing(double currentTime, MipsVector mipsShare);
+
+	/**
+	 * Updates the processing of {@link GpuTask}s running under management of this
+	 * scheduler, with the MIPS share given as a list.
+	 * 
+	 * @param currentTime current simulation time
+	 * @param mipsShare   list with MIPS share of each Pe available to the scheduler
+	 * @return the predicted completion time of the earliest finishing gpu task, or
+	 *         {@link Double#MAX_VALUE} if there is no next events
+	 * @see #updateGpuTaskProcessing(double, MipsVector)
+	 */
+	public double updateGpuTaskProcessing(double currentTime, List<Double> mipsShare) {
+		return updateGpuTaskProcessing(currentTime, MipsVector.of(mipsShare));
+	}
 
 	/**
 	 * Receives a {@link GpuTask} to be executed in the {@link Vgpu} managed by this
@@ -208,7 +235,7 @@ public abstract class GpuTaskScheduler {
 	 * 
 	 * @return the current mips
 	 */
-	public abstract List<Double> getCurrentRequestedMips();
+	public abstract MipsVector getCurrentRequestedMips();
 
 	/**
 	 * Gets the total current available mips for the {@link GpuTask}.
@@ -217,7 +244,20 @@ public abstract class GpuTaskScheduler {
 	 * @param mipsShare the mips share
 	 * @return the total current mips
 	 */
-	public abstract double getTotalCurrentAvailableMipsForTask(ResGpuTask rcl, List<Double> mipsShare);
+	public abstract double getTotalCurrentAvailableMipsForTask(ResGpuTask rcl, MipsVector mipsShare);
+
+	/**
+	 * Gets the total current available mips for the {@link GpuTask}, with the MIPS
+	 * share given as a list.
+	 * 
+	 * @param rcl       the rcl
+	 * @param mipsShare the mips share
+	 * @return the total current mips
+	 * @see #getTotalCurrentAvailableMipsForTask(ResGpuTask, MipsVector)
+	 */
+	public double getTotalCurrentAvailableMipsForTask(ResGpuTask rcl, List<Double> mipsShare) {
+		return getTotalCurrentAvailableMipsForTask(rcl, MipsVector.of(mipsShare));
+	}
 
 	/**
 	 * Gets the total current requested mips for a given {@link GpuTask}.
@@ -244,7 +284,7 @@ public abstract class GpuTaskScheduler {
 	 * @param time the time
 	 * @return the current allocated mips for gpu task
 	 */
-	public abstract List<Double> getCurrentAllocatedMipsForTask(ResGpuTask rcl, double time);
+	public abstract MipsVector getCurrentAllocatedMipsForTask(ResGpuTask rcl, double time);
 
 	/**
 	 * Gets the current requested GDDRam.
@@ -283,8 +323,9 @@ public abstract class GpuTaskScheduler {
 	 * 
 	 * @param currentMipsShare the new current mips share
 	 */
-	protected void setCurrentMipsShare(List<Double> currentMipsShare) {
+	protected void setCurrentMipsShare(MipsVector currentMipsShare) {
 		this.currentMipsShare = currentMipsShare;
+		getPeAllocator().setPes(currentMipsShare == null ? 0 : currentMipsShare.size());
 	}
 
 	/**
@@ -292,10 +333,21 @@ public abstract class GpuTaskScheduler {
 	 * 
 	 * @return the current mips share
 	 */
-	public List<Double> getCurrentMipsShare() {
+	public MipsVector getCurrentMipsShare() {
 		return currentMipsShare;
 	}
 
+	/**
+	 * Gets the allocator of the PEs of the {@link Vgpu} to the tasks. Each
+	 * {@link ResGpuTask} holds the ids of its PEs in
+	 * {@link ResGpuTask#getPeIdList()}.
+	 * 
+	 * @return the PE allocator
+	 */
+	protected PeAllocator getPeAllocator() {
+		return peAllocator;
+	}
+
 	/**
 	 * Gets the gpu task waiting list.
 	 * 
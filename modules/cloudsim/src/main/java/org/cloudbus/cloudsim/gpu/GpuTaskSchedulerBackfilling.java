@@ -0,0 +1,342 @@
+package org.cloudbus.cloudsim.gpu;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.CloudletSchedulerBackfilling;
+import org.cloudbus.cloudsim.Consts;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.util.MipsVector;
+import org.cloudbus.cloudsim.util.PeAvailabilityProfile;
+
+/**
+ * GpuTaskSchedulerBackfilling implements a space-shared policy of scheduling
+ * performed by a {@link Vgpu} to run its {@link GpuTask GpuTasks}, with the
+ * backfilling of {@link CloudletSchedulerBackfilling}. Unlike
+ * {@link GpuTaskSchedulerLeftover}, a task waits until it can have as many PEs
+ * as its {@link GpuTask#getPesLimit() limit}, or as the vgpu has if it has less,
+ * and a waiting task runs ahead of the tasks before it only if it does not delay
+ * their reservations. As tasks have no estimated length, their expected run
+ * time is given by their length.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuTaskSchedulerBackfilling extends GpuTaskSchedulerLeftover {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Whether every waiting task has a reservation, or only the first one. */
+	private final boolean conservative;
+
+	/**
+	 * The free PEs of the vgpu over time, given the running tasks and the
+	 * reservations, or <tt>null</tt> if it has to be built again.
+	 */
+	private PeAvailabilityProfile profile;
+
+	/** The MIPS share when the profile was built. */
+	private MipsVector profileMipsShare;
+
+	/**
+	 * The time until which the profile is valid, that is the earliest time at
+	 * which a running task may run longer than expected.
+	 */
+	private double profileValidUntil;
+
+	/** Whether a waiting task has a reservation in the profile. */
+	private boolean reserved;
+
+	/**
+	 * Creates a new GpuTaskSchedulerBackfilling object with EASY backfilling.
+	 */
+	public GpuTaskSchedulerBackfilling() {
+		this(false);
+	}
+
+	/**
+	 * Creates a new GpuTaskSchedulerBackfilling object.
+	 *
+	 * @param conservative whether every waiting task has a reservation
+	 *                     (conservative backfilling), or only the first one (EASY
+	 *                     backfilling)
+	 */
+	public GpuTaskSchedulerBackfilling(boolean conservative) {
+		super();
+		this.conservative = conservative;
+	}
+
+	/**
+	 * Checks whether every waiting task has a reservation.
+	 *
+	 * @return <tt>true</tt> for conservative backfilling, <tt>false</tt> for EASY
+	 *         backfilling
+	 */
+	public boolean isConservative() {
+		return conservative;
+	}
+
+	@Override
+	public double updateGpuTaskProcessing(double currentTime, MipsVector mipsShare) {
+		setCurrentMipsShare(mipsShare);
+		double timeSpan = currentTime - getPreviousTime(); // time since last
+		for (ResGpuTask rcl : getTaskExecList()) {
+			rcl.updateTaskFinishedSoFar((long) (getTotalCurrentAvailableMipsForTask(rcl, mipsShare)
+					* rcl.getGpuTask().getUtilizationOfGpu(currentTime) * timeSpan * Consts.MILLION));
+		}
+
+		// no more tasks in this scheduler
+		if (getTaskExecList().isEmpty() && getTaskWaitingList().isEmpty()) {
+			setPreviousTime(currentTime);
+			return 0.0;
+		}
+
+		// finish the executed tasks, keeping the order of the others
+		List<ResGpuTask> execList = getTaskExecList();
+		int running = 0;
+		for (int i = 0; i < execList.size(); i++) {
+			ResGpuTask rcl = execList.get(i);
+			if (rcl.isExecuted()) {
+				taskFinish(rcl);
+			} else {
+				execList.set(running++, rcl);
+			}
+		}
+		execList.subList(running, execList.size()).clear();
+
+		if (profile != null && !mipsShare.equals(profileMipsShare)) {
+			profile = null;
+		}
+		if (!getTaskWaitingList().isEmpty() && (profile == null || currentTime >= profileValidUntil)) {
+			backfill(currentTime);
+		}
+
+		// estimate finish time of tasks in the execution queue
+		double nextEvent = Double.MAX_VALUE;
+		for (ResGpuTask rcl : getTaskExecList()) {
+			double estimatedFinishTime = currentTime + getEstimatedFinishTime(rcl);
+			if (estimatedFinishTime < nextEvent) {
+				nextEvent = estimatedFinishTime;
+			}
+		}
+		setPreviousTime(currentTime);
+		return nextEvent;
+	}
+
+	/**
+	 * Returns the number of PEs a task runs on.
+	 *
+	 * @param rcl the task
+	 * @return the number of PEs of the task
+	 */
+	protected int getRequiredPes(ResGpuTask rcl) {
+		return Math.min(rcl.getGpuTask().getPesLimit(), getCurrentMipsShare().size());
+	}
+
+	/**
+	 * Returns the expected amount of time that it takes for a waiting task to
+	 * finish, with the average MIPS of the PEs of the vgpu when the profile was
+	 * built.
+	 *
+	 * @param rcl the task
+	 * @return the expected run time of the task
+	 */
+	protected double getExpectedRunTime(ResGpuTask rcl) {
+		return rcl.getExactRemainingTaskLength()
+				/ (profileMipsShare.getTotalMips() / profileMipsShare.size() * getRequiredPes(rcl));
+	}
+
+	/**
+	 * Builds the profile of the free PEs and runs the waiting tasks that do not
+	 * delay the reservations of the tasks before them.
+	 *
+	 * @param currentTime the current time
+	 */
+	private void backfill(double currentTime) {
+		MipsVector mipsShare = getCurrentMipsShare();
+		if (mipsShare.isEmpty()) {
+			return;
+		}
+		profile = new PeAvailabilityProfile(currentTime, mipsShare.size());
+		profileMipsShare = mipsShare;
+		profileValidUntil = Double.MAX_VALUE;
+		reserved = false;
+		for (ResGpuTask rcl : getTaskExecList()) {
+			double finishTime = currentTime + getEstimatedFinishTime(rcl);
+			profile.allocate(currentTime, finishTime, rcl.getPeIdList().size());
+			profileValidUntil = Math.min(profileValidUntil, finishTime);
+		}
+
+		List<ResGpuTask> waitingList = getTaskWaitingList();
+		int waiting = 0;
+		for (int i = 0; i < waitingList.size(); i++) {
+			ResGpuTask rcl = waitingList.get(i);
+			if (!schedule(rcl, currentTime)) {
+				waitingList.set(waiting++, rcl);
+			}
+		}
+		waitingList.subList(waiting, waitingList.size()).clear();
+	}
+
+	/**
+	 * Runs a waiting task if it does not delay the reservations of the profile, or
+	 * reserves PEs for it.
+	 *
+	 * @param rcl         the task, which is still in the waiting list
+	 * @param currentTime the current time
+	 * @return <tt>true</tt> if the task runs
+	 */
+	private boolean schedule(ResGpuTask rcl, double currentTime) {
+		int pes = getRequiredPes(rcl);
+		int freePes = getPeAllocator().getNumberOfFreePes();
+		if (!conservative && reserved && freePes < pes) {
+			return false;
+		}
+		double duration = getExpectedRunTime(rcl);
+		double start = profile.findStart(currentTime, pes, duration);
+		if (start == currentTime && freePes >= pes) {
+			rcl.setTaskStatus(GpuTask.INEXEC);
+			getPeAllocator().allocate(pes, rcl.getPeIdList());
+			getTaskExecList().add(rcl);
+			profile.allocate(currentTime, currentTime + duration, pes);
+			profileValidUntil = Math.min(profileValidUntil, currentTime + duration);
+			return true;
+		}
+		if ((conservative || !reserved) && start != Double.MAX_VALUE) {
+			profile.allocate(start, start + duration, pes);
+			reserved = true;
+		}
+		return false;
+	}
+
+	/**
+	 * Schedules a task that has been added at the end of the waiting list, against
+	 * the current profile if it is still valid. A change of the MIPS of the PEs is
+	 * found at the next update, so only the number of PEs is checked here.
+	 *
+	 * @param rcl the task
+	 */
+	private void scheduleLast(ResGpuTask rcl) {
+		double currentTime = CloudSim.clock();
+		if (profile == null || getCurrentMipsShare().size() != profileMipsShare.size()
+				|| currentTime >= profileValidUntil) {
+			backfill(currentTime);
+		} else if (schedule(rcl, currentTime)) {
+			List<ResGpuTask> waitingList = getTaskWaitingList();
+			waitingList.remove(waitingList.size() - 1);
+		}
+	}
+
+	@Override
+	public double taskSubmit(GpuTask task) {
+		ResGpuTask rgt = new ResGpuTask(task);
+		rgt.setTaskStatus(GpuTask.QUEUED);
+		getTaskWaitingList().add(rgt);
+		scheduleLast(rgt);
+		if (rgt.getTaskStatus() != GpuTask.INEXEC) {
+			return 0.0;
+		}
+		return getEstimatedFinishTime(rgt);
+	}
+
+	@Override
+	public GpuTask taskCancel(int taskId) {
+		ResGpuTask rcl = stopRunning(taskId);
+		if (rcl != null) {
+			if (rcl.getRemainingTaskLength() == 0) {
+				taskFinish(rcl);
+			} else {
+				releasePes(rcl);
+				rcl.setTaskStatus(GpuTask.CANCELED);
+			}
+			return rcl.getGpuTask();
+		}
+		profile = null;
+		return super.taskCancel(taskId);
+	}
+
+	@Override
+	public boolean taskPause(int taskId) {
+		ResGpuTask rcl = stopRunning(taskId);
+		if (rcl == null) {
+			rcl = removeWaiting(taskId);
+			if (rcl == null) {
+				return false;
+			}
+		} else if (rcl.getRemainingTaskLength() == 0) {
+			taskFinish(rcl);
+			return true;
+		} else {
+			// the task will run on the PEs that are free when it is resumed
+			releasePes(rcl);
+			rcl.getPeIdList().clear();
+		}
+		rcl.setTaskStatus(GpuTask.PAUSED);
+		getTaskPausedList().add(rcl);
+		return true;
+	}
+
+	/**
+	 * Resumes a paused task. It is added at the end of the waiting list, and runs
+	 * if it does not delay the waiting tasks.
+	 */
+	@Override
+	public double taskResume(int taskId) {
+		List<ResGpuTask> pausedList = getTaskPausedList();
+		for (int i = 0; i < pausedList.size(); i++) {
+			if (pausedList.get(i).getTaskId() == taskId) {
+				ResGpuTask rcl = pausedList.remove(i);
+				rcl.setTaskStatus(GpuTask.QUEUED);
+				getTaskWaitingList().add(rcl);
+				scheduleLast(rcl);
+				if (rcl.getTaskStatus() != GpuTask.INEXEC) {
+					return 0.0;
+				}
+				return getEstimatedFinishTime(rcl);
+			}
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Releases the PEs a task runs on, so that the profile has to be built again.
+	 */
+	@Override
+	protected void releasePes(ResGpuTask rcl) {
+		super.releasePes(rcl);
+		profile = null;
+	}
+
+	/**
+	 * Removes a task from the execution list. Its PEs are still used.
+	 *
+	 * @param taskId the id of the task
+	 * @return the task, or <tt>null</tt> if it is not running
+	 */
+	private ResGpuTask stopRunning(int taskId) {
+		List<ResGpuTask> execList = getTaskExecList();
+		for (int i = 0; i < execList.size(); i++) {
+			if (execList.get(i).getTaskId() == taskId) {
+				profile = null;
+				return execList.remove(i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes a task from the waiting list.
+	 *
+	 * @param taskId the id of the task
+	 * @return the task, or <tt>null</tt> if it is not waiting
+	 */
+	private ResGpuTask removeWaiting(int taskId) {
+		List<ResGpuTask> waitingList = getTaskWaitingList();
+		for (int i = 0; i < waitingList.size(); i++) {
+			if (waitingList.get(i).getTaskId() == taskId) {
+				profile = null;
+				return waitingList.remove(i);
+			}
+		}
+		return null;
+	}
+
+}
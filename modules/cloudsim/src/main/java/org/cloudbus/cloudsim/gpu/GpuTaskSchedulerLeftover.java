@@ -1,11 +1,13 @@
 package org.cloudbus.cloudsim.gpu;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Consts;
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.MipsVector;
+import org.cloudbus.cloudsim.util.PeAllocator;
 
 /**
  * GpuTaskSchedulerLeftover implements a policy of scheduling performed by a
@@ -19,19 +21,18 @@ import org.cloudbus.cloudsim.util.MathUtil;
  * @author Ahmad Siavashi
  */
 public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
-	/** The number of used PEs. It holds virtual PE ids. */
-	protected List<Integer> usedPes;
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * Creates a new GpuTaskSchedulerLeftover object
 	 */
 	public GpuTaskSchedulerLeftover() {
 		super();
-		setUsedPes(new ArrayList<Integer>());
 	}
 
 	@Override
-	public double updateGpuTaskProcessing(double currentTime, List<Double> mipsShare) {
+	public double updateGpuTaskProcessing(double currentTime, MipsVector mipsShare) {
 		setCurrentMipsShare(mipsShare);
 		double timeSpan = currentTime - getPreviousTime(); // time since last
 		for (ResGpuTask rcl : getTaskExecList()) {
@@ -50,7 +51,7 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 		List<ResGpuTask> toRemove = new ArrayList<ResGpuTask>();
 		for (ResGpuTask rcl : getTaskExecList()) {
 			// finished anyway, rounding issue...
-			if (rcl.getRemainingTaskLength() == 0) {
+			if (rcl.isExecuted()) {
 				toRemove.add(rcl);
 				taskFinish(rcl);
 				finished++;
@@ -63,20 +64,9 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 			for (int i = 0; i < finished; i++) {
 				toRemove.clear();
 				for (ResGpuTask rcl : getTaskWaitingList()) {
-					int numberOfCurrentAvailablePEs = getCurrentMipsShare().size() - getUsedPes().size();
-					if (numberOfCurrentAvailablePEs > 0) {
+					if (getPeAllocator().getNumberOfFreePes() > 0) {
 						rcl.setTaskStatus(GpuTask.INEXEC);
-						int numberOfAllocatedPes = 0;
-						for (int k = 0; k < mipsShare.size(); k++) {
-							if (!getUsedPes().contains(k)) {
-								rcl.setPeId(k);
-								getUsedPes().add(k);
-								numberOfAllocatedPes += 1;
-								if (numberOfAllocatedPes == rcl.getGpuTask().getPesLimit()) {
-									break;
-								}
-							}
-						}
+						allocatePes(rcl);
 						getTaskExecList().add(rcl);
 						toRemove.add(rcl);
 						break;
@@ -116,6 +106,7 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 				if (rcl.getRemainingTaskLength() == 0) {
 					taskFinish(rcl);
 				} else {
+					releasePes(rcl);
 					rcl.setTaskStatus(GpuTask.CANCELED);
 				}
 				return rcl.getGpuTask();
@@ -164,6 +155,9 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 			if (rgl.getRemainingTaskLength() == 0) {
 				taskFinish(rgl);
 			} else {
+				// the task will run on the PEs that are free when it is resumed
+				releasePes(rgl);
+				rgl.getPeIdList().clear();
 				rgl.setTaskStatus(GpuTask.PAUSED);
 				getTaskPausedList().add(rgl);
 			}
@@ -202,11 +196,7 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 	public void taskFinish(ResGpuTask rcl) {
 		rcl.setTaskStatus(GpuTask.SUCCESS);
 		rcl.finalizeTask();
-		List<Integer> pesToRemove = new ArrayList<>();
-		for (Integer peId : getUsedPes()) {
-			pesToRemove.add(peId);
-		}
-		getUsedPes().removeAll(pesToRemove);
+		releasePes(rcl);
 		getTaskFinishedList().add(rcl);
 	}
 
@@ -227,17 +217,10 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 
 		if (found) {
 			ResGpuTask rcl = getTaskPausedList().remove(position);
-			int numberOfCurrentAvailablePEs = getCurrentMipsShare().size() - getUsedPes().size();
 			// it can go to the exec list
-			if (numberOfCurrentAvailablePEs > 0) {
+			if (getPeAllocator().getNumberOfFreePes() > 0) {
 				rcl.setTaskStatus(GpuTask.INEXEC);
-				for (int i = 0; i < rcl.getNumberOfBlocks() && i < getCurrentMipsShare().size(); i++) {
-					if (!getUsedPes().contains(i)) {
-						rcl.setPeId(i);
-						getUsedPes().add(i);
-					}
-				}
-
+				allocatePes(rcl);
 				getTaskExecList().add(rcl);
 
 				return getEstimatedFinishTime(rcl);
@@ -264,8 +247,10 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 	 * @return finish time estimation of the task
 	 */
 	protected double getEstimatedFinishTime(ResGpuTask rcl) {
-		List<Double> mipsShare = getCurrentMipsShare();
-		double totalMips = getTotalCurrentAvailableMipsForTask(rcl, mipsShare);
+		double totalMips = getTotalCurrentAvailableMipsForTask(rcl, getCurrentMipsShare());
+		if (CloudSim.isExactCompletionTimes()) {
+			return rcl.getExactRemainingTaskLength() / totalMips;
+		}
 		return rcl.getRemainingTaskLength() / totalMips;
 	}
 
@@ -275,21 +260,10 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 	@Override
 	public double taskSubmit(GpuTask task) {
 		ResGpuTask rgt = new ResGpuTask(task);
-		int numberOfCurrentAvailablePEs = getCurrentMipsShare().size() - getUsedPes().size();
 		// it can go to the exec list
-		if (numberOfCurrentAvailablePEs > 0) {
+		if (getPeAllocator().getNumberOfFreePes() > 0) {
 			rgt.setTaskStatus(GpuTask.INEXEC);
-			int numberOfAllocatedPes = 0;
-			for (int i = 0; i < getCurrentMipsShare().size(); i++) {
-				if (!getUsedPes().contains(i)) {
-					rgt.setPeId(i);
-					getUsedPes().add(i);
-					numberOfAllocatedPes++;
-					if (numberOfAllocatedPes == rgt.getGpuTask().getPesLimit()) {
-						break;
-					}
-				}
-			}
+			allocatePes(rgt);
 			getTaskExecList().add(rgt);
 			return getEstimatedFinishTime(rgt);
 		} else {// no enough free PEs: go to the waiting queue
@@ -301,7 +275,7 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 
 	@Override
 	public double getTotalUtilizationOfGpu(double time) {
-		final double totalMipsShare = MathUtil.sum(getCurrentMipsShare());
+		final double totalMipsShare = getCurrentMipsShare().getTotalMips();
 		double totalRequestedMips = 0.0;
 		for (ResGpuTask gl : getTaskExecList()) {
 			totalRequestedMips += gl.getGpuTask().getUtilizationOfGpu(time)
@@ -326,51 +300,40 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 		ResGpuTask rcl = getTaskExecList().remove(0);
 		rcl.finalizeTask();
 		GpuTask cl = rcl.getGpuTask();
-		List<Integer> pesToRemove = new ArrayList<>();
-		for (Integer peId : getUsedPes()) {
-			pesToRemove.add(peId);
-		}
-		getUsedPes().removeAll(pesToRemove);
+		releasePes(rcl);
 		return cl;
 	}
 
 	@Override
-	public List<Double> getCurrentRequestedMips() {
-		List<Double> mipsShare = new ArrayList<Double>();
-		if (getCurrentMipsShare() != null) {
-			double totalGpuUtilization = getTotalUtilizationOfGpu(CloudSim.clock());
-			for (Double mips : getCurrentMipsShare()) {
-				mipsShare.add(mips * totalGpuUtilization);
-			}
+	public MipsVector getCurrentRequestedMips() {
+		if (getCurrentMipsShare() == null) {
+			return MipsVector.EMPTY;
 		}
-		return mipsShare;
+		return getCurrentMipsShare().scale(getTotalUtilizationOfGpu(CloudSim.clock()));
 	}
 
 	@Override
-	public double getTotalCurrentAvailableMipsForTask(ResGpuTask rcl, List<Double> mipsShare) {
+	public double getTotalCurrentAvailableMipsForTask(ResGpuTask rcl, MipsVector mipsShare) {
 		double totalMips = 0.0;
-		for (Integer peId : rcl.getPeIdList()) {
-			totalMips += mipsShare.get(peId);
+		for (int peId : rcl.getPeIdList()) {
+			totalMips += mipsShare.getMips(peId);
 		}
 		return totalMips;
 	}
 
 	@Override
 	public double getTotalCurrentAllocatedMipsForTask(ResGpuTask rcl, double time) {
-		double totalMips = 0.0;
-		for (Double mips : getCurrentAllocatedMipsForTask(rcl, time)) {
-			totalMips += mips;
-		}
-		return totalMips;
+		return getCurrentAllocatedMipsForTask(rcl, time).getTotalMips();
 	}
 
 	@Override
-	public List<Double> getCurrentAllocatedMipsForTask(ResGpuTask rcl, double time) {
-		List<Double> allocatedMips = new ArrayList<Double>();
-		for (Integer peId : rcl.getPeIdList()) {
-			allocatedMips.add(getCurrentMipsShare().get(peId));
+	public MipsVector getCurrentAllocatedMipsForTask(ResGpuTask rcl, double time) {
+		List<Integer> peIds = rcl.getPeIdList();
+		double[] allocatedMips = new double[peIds.size()];
+		for (int i = 0; i < allocatedMips.length; i++) {
+			allocatedMips[i] = getCurrentMipsShare().getMips(peIds.get(i));
 		}
-		return allocatedMips;
+		return MipsVector.wrap(allocatedMips);
 	}
 
 	@Override
@@ -403,17 +366,62 @@ public class GpuTaskSchedulerLeftover extends GpuTaskScheduler {
 	}
 
 	/**
+	 * Allocates the free PEs to a task, up to its {@link GpuTask#getPesLimit()
+	 * limit}.
+	 * 
+	 * @param rcl the task
+	 * @return the number of PEs allocated to the task
+	 */
+	protected int allocatePes(ResGpuTask rcl) {
+		return getPeAllocator().allocate(rcl.getGpuTask().getPesLimit(), rcl.getPeIdList());
+	}
+
+	/**
+	 * Releases the PEs a task runs on, and only them.
+	 * 
+	 * @param rcl the task
+	 */
+	protected void releasePes(ResGpuTask rcl) {
+		getPeAllocator().release(rcl.getPeIdList());
+	}
+
+	/**
+	 * Gets the ids of the used PEs, in ascending order. The list is an unmodifiable
+	 * snapshot of the {@link #getPeAllocator() PE allocator}: it does not change when
+	 * PEs are allocated or released afterwards, and the used PEs are changed with
+	 * {@link #setUsedPes(List)}.
+	 * 
 	 * @return the usedPes
+	 * @deprecated use {@link #getPeAllocator()}, which finds and counts the free PEs
+	 *             without scanning the used ones
 	 */
+	@Deprecated
 	protected List<Integer> getUsedPes() {
-		return usedPes;
+		PeAllocator allocator = getPeAllocator();
+		List<Integer> usedPes = new ArrayList<Integer>(allocator.getNumberOfUsedPes());
+		for (int peId = allocator.nextUsedPe(0); peId >= 0; peId = allocator.nextUsedPe(peId + 1)) {
+			usedPes.add(peId);
+		}
+		return Collections.unmodifiableList(usedPes);
 	}
 
 	/**
+	 * Sets the used PEs. The PEs of the {@link #getPeAllocator() PE allocator}
+	 * that are not in the list are freed; later changes of the list are not seen
+	 * by the scheduler.
+	 * 
 	 * @param usedPes the usedPes to set
+	 * @deprecated use {@link #getPeAllocator()}
 	 */
+	@Deprecated
 	protected void setUsedPes(List<Integer> usedPes) {
-		this.usedPes = usedPes;
+		PeAllocator allocator = getPeAllocator();
+		for (int peId = allocator.nextUsedPe(0); peId >= 0; peId = allocator.nextUsedPe(peId + 1)) {
+			allocator.setUsed(peId, false);
+		}
+		for (int peId : usedPes) {
+			allocator.setUsed(peId, true);
+		}
 	}
 
 	/**
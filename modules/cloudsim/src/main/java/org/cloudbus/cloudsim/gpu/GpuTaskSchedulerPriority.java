@@ -0,0 +1,552 @@
+package org.cloudbus.cloudsim.gpu;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.cloudbus.cloudsim.Consts;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.util.MipsVector;
+
+/**
+ * GpuTaskSchedulerPriority implements a preemptive priority policy of
+ * scheduling performed by a {@link Vgpu} to run its {@link GpuTask GpuTasks}.
+ * The priority of a task is its {@link GpuTask#getClassType() class type}, the
+ * higher the class the higher the priority. As in
+ * {@link GpuTaskSchedulerLeftover}, a ready task runs as soon as there are free
+ * PEs, on up to its {@link GpuTask#getPesLimit() limit} of them. When there are
+ * none, a ready task preempts the running task of the lowest class below its
+ * own, so that latency-sensitive tasks do not wait for batch ones. The tasks of
+ * the same class share the PEs in round robin: a running task whose time slice
+ * is over is preempted by a ready task of the same class.
+ * <p/>
+ * A task that starts in the place of a preempted task, or that runs again after
+ * it has been preempted or paused, first spends the
+ * {@link #getContextSwitchTime(ResGpuTask) context switch time} without
+ * progress. The ready tasks are kept in a priority queue instead of the
+ * waiting list, so that a task is queued and dispatched in O(log n). The
+ * latency of the finished tasks, from their submission to their end, is kept
+ * for each class, so that the time slices can be tuned against its
+ * {@link #getLatencyPercentile(int, double) percentiles}.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuTaskSchedulerPriority extends GpuTaskSchedulerLeftover {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * A task with the state of the priority policy.
+	 */
+	protected static class PriorityTask extends ResGpuTask implements Comparable<PriorityTask> {
+
+		private static final long serialVersionUID = 1L;
+
+		/** The time the task was submitted. */
+		private final double submissionTime;
+
+		/** The order of the task in the ready queue among the tasks of its class. */
+		private long sequence;
+
+		/** The time the time slice of the task is over. */
+		private double sliceEnd;
+
+		/** The time the context switch of the task is over. */
+		private double switchEnd;
+
+		/** Whether the task has run before, so that its context has to be restored. */
+		private boolean switchedOut;
+
+		public PriorityTask(GpuTask task, double submissionTime) {
+			super(task);
+			this.submissionTime = submissionTime;
+		}
+
+		/**
+		 * The tasks of the highest class first, and the tasks of a class in the
+		 * order they were queued.
+		 */
+		@Override
+		public int compareTo(PriorityTask other) {
+			if (getTaskClassType() != other.getTaskClassType()) {
+				return getTaskClassType() > other.getTaskClassType() ? -1 : 1;
+			}
+			return Long.compare(sequence, other.sequence);
+		}
+	}
+
+	/** The ready tasks, the next task to run first. */
+	private final PriorityQueue<PriorityTask> readyQueue = new PriorityQueue<PriorityTask>();
+
+	/** The number of tasks queued so far, to order the tasks of a class. */
+	private long queued;
+
+	/** The time slice of the classes that have their own. */
+	private final Map<Integer, Double> timeSlices = new HashMap<Integer, Double>();
+
+	/** The time slice of the other classes. */
+	private final double timeSlice;
+
+	/** The time a context switch takes whatever the task. */
+	private final double contextSwitchLatency;
+
+	/** The bandwidth, in MB/s, at which the GDDRAM of a task is saved and restored. */
+	private final double contextSwitchBandwidth;
+
+	/** The latencies of the finished tasks of each class. */
+	private final Map<Integer, DescriptiveStatistics> latencies = new TreeMap<Integer, DescriptiveStatistics>();
+
+	/**
+	 * Creates a new GpuTaskSchedulerPriority object whose context switches take a
+	 * constant time.
+	 *
+	 * @param timeSlice            the time slice of the tasks
+	 * @param contextSwitchLatency the time a context switch takes
+	 */
+	public GpuTaskSchedulerPriority(double timeSlice, double contextSwitchLatency) {
+		this(timeSlice, contextSwitchLatency, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Creates a new GpuTaskSchedulerPriority object whose context switches also
+	 * take the time to save and restore the {@link GpuTask#getRequestedGddramSize()
+	 * GDDRAM} of the task.
+	 *
+	 * @param timeSlice              the time slice of the tasks
+	 * @param contextSwitchLatency   the time a context switch takes whatever the
+	 *                               task
+	 * @param contextSwitchBandwidth the bandwidth, in MB/s, at which the GDDRAM of
+	 *                               a task is saved and restored
+	 */
+	public GpuTaskSchedulerPriority(double timeSlice, double contextSwitchLatency, double contextSwitchBandwidth) {
+		super();
+		if (timeSlice <= 0) {
+			throw new IllegalArgumentException("timeSlice should be positive.");
+		}
+		if (contextSwitchLatency < 0) {
+			throw new IllegalArgumentException("contextSwitchLatency should be non-negative.");
+		}
+		if (contextSwitchBandwidth <= 0) {
+			throw new IllegalArgumentException("contextSwitchBandwidth should be positive.");
+		}
+		this.timeSlice = timeSlice;
+		this.contextSwitchLatency = contextSwitchLatency;
+		this.contextSwitchBandwidth = contextSwitchBandwidth;
+	}
+
+	/**
+	 * Gets the time slice of the tasks of a class.
+	 *
+	 * @param classType the class of the tasks
+	 * @return the time slice
+	 */
+	public double getTimeSlice(int classType) {
+		Double slice = timeSlices.get(classType);
+		return slice == null ? timeSlice : slice;
+	}
+
+	/**
+	 * Sets the time slice of the tasks of a class. The running tasks keep their
+	 * current slice.
+	 *
+	 * @param classType the class of the tasks
+	 * @param timeSlice the time slice
+	 */
+	public void setTimeSlice(int classType, double timeSlice) {
+		if (timeSlice <= 0) {
+			throw new IllegalArgumentException("timeSlice should be positive.");
+		}
+		timeSlices.put(classType, timeSlice);
+	}
+
+	/**
+	 * Returns the time it takes to switch the context of a vgpu to a task, during
+	 * which the task makes no progress. It is the constant latency of a context
+	 * switch plus the time to save and restore the GDDRAM of the task.
+	 *
+	 * @param rcl the task
+	 * @return the context switch time
+	 */
+	protected double getContextSwitchTime(ResGpuTask rcl) {
+		return contextSwitchLatency + rcl.getGpuTask().getRequestedGddramSize() / contextSwitchBandwidth;
+	}
+
+	@Override
+	public double updateGpuTaskProcessing(double currentTime, MipsVector mipsShare) {
+		setCurrentMipsShare(mipsShare);
+		for (ResGpuTask rcl : getTaskExecList()) {
+			updateProgress((PriorityTask) rcl, currentTime);
+		}
+		setPreviousTime(currentTime);
+
+		// no more tasks in this scheduler
+		if (getTaskExecList().isEmpty() && readyQueue.isEmpty()) {
+			return 0.0;
+		}
+
+		// finish the executed tasks, keeping the order of the others
+		List<ResGpuTask> execList = getTaskExecList();
+		int running = 0;
+		for (int i = 0; i < execList.size(); i++) {
+			ResGpuTask rcl = execList.get(i);
+			if (rcl.isExecuted()) {
+				taskFinish(rcl);
+			} else {
+				execList.set(running++, rcl);
+			}
+		}
+		execList.subList(running, execList.size()).clear();
+
+		dispatch(currentTime);
+
+		// the next event is the earliest end of a task, or of a time slice the next
+		// ready task can preempt
+		double nextEvent = Double.MAX_VALUE;
+		for (ResGpuTask rcl : getTaskExecList()) {
+			nextEvent = Math.min(nextEvent, currentTime + getEstimatedFinishTime(rcl));
+		}
+		return Math.min(nextEvent, getSliceEnd(readyQueue.peek()));
+	}
+
+	/**
+	 * Returns the earliest end of the time slices of the running tasks of the
+	 * class of a ready task. A ready task waits for the end of one of them, as it
+	 * would have preempted the running tasks of a lower class.
+	 *
+	 * @param task the ready task, or <tt>null</tt>
+	 * @return the earliest end of a time slice, or {@link Double#MAX_VALUE} if
+	 *         the task cannot preempt a running task
+	 */
+	private double getSliceEnd(PriorityTask task) {
+		double sliceEnd = Double.MAX_VALUE;
+		if (task != null) {
+			for (ResGpuTask rcl : getTaskExecList()) {
+				if (rcl.getTaskClassType() == task.getTaskClassType()) {
+					sliceEnd = Math.min(sliceEnd, ((PriorityTask) rcl).sliceEnd);
+				}
+			}
+		}
+		return sliceEnd;
+	}
+
+	/**
+	 * Returns the time until a task runs or can preempt a running task, as the
+	 * result of a submit or a resume.
+	 *
+	 * @param task the submitted or resumed task
+	 * @return the estimated finish time of the task if it runs; the time until it
+	 *         can preempt a running task of its class if it is ready; 0 otherwise
+	 */
+	private double getTimeToNextEvent(PriorityTask task) {
+		if (task.getTaskStatus() == GpuTask.INEXEC) {
+			return getEstimatedFinishTime(task);
+		}
+		double sliceEnd = getSliceEnd(task);
+		return sliceEnd == Double.MAX_VALUE ? 0.0 : sliceEnd - getCurrentTime();
+	}
+
+	/**
+	 * Returns the current time, which is the time of the last update if the
+	 * scheduler is updated ahead of the clock.
+	 *
+	 * @return the current time
+	 */
+	private double getCurrentTime() {
+		return Math.max(CloudSim.clock(), getPreviousTime());
+	}
+
+	/**
+	 * Adds the progress of a running task since the previous time, or since the
+	 * end of its context switch.
+	 *
+	 * @param task        the task
+	 * @param currentTime the current time
+	 */
+	private void updateProgress(PriorityTask task, double currentTime) {
+		double timeSpan = currentTime - Math.max(getPreviousTime(), task.switchEnd);
+		if (timeSpan > 0) {
+			task.updateTaskFinishedSoFar((long) (getTotalCurrentAvailableMipsForTask(task, getCurrentMipsShare())
+					* task.getGpuTask().getUtilizationOfGpu(currentTime) * timeSpan * Consts.MILLION));
+		}
+	}
+
+	/**
+	 * Runs the ready tasks on the free PEs, and then in the place of the running
+	 * tasks they preempt. The running tasks whose time slice is over and that are
+	 * not preempted get a new slice.
+	 *
+	 * @param currentTime the current time
+	 */
+	private void dispatch(double currentTime) {
+		while (!readyQueue.isEmpty()) {
+			PriorityTask next = readyQueue.peek();
+			if (getPeAllocator().getNumberOfFreePes() > 0) {
+				readyQueue.poll();
+				start(next, currentTime, next.switchedOut);
+				continue;
+			}
+			PriorityTask victim = findVictim(next, currentTime);
+			if (victim == null) {
+				break;
+			}
+			preempt(victim, currentTime);
+			readyQueue.poll();
+			start(next, currentTime, true);
+		}
+		for (ResGpuTask rcl : getTaskExecList()) {
+			PriorityTask task = (PriorityTask) rcl;
+			if (task.sliceEnd <= currentTime) {
+				task.sliceEnd = currentTime + getTimeSlice(task.getTaskClassType());
+			}
+		}
+	}
+
+	/**
+	 * Returns the running task a ready task preempts: the running task of the
+	 * lowest class below the class of the ready task, or else a running task of
+	 * its class whose time slice is over. Among the tasks of a class, the one
+	 * whose slice is over first is preempted.
+	 *
+	 * @param next        the ready task
+	 * @param currentTime the current time
+	 * @return the task to preempt, or <tt>null</tt> if the ready task has to wait
+	 */
+	private PriorityTask findVictim(PriorityTask next, double currentTime) {
+		PriorityTask victim = null;
+		for (ResGpuTask rcl : getTaskExecList()) {
+			PriorityTask task = (PriorityTask) rcl;
+			int classType = task.getTaskClassType();
+			if (classType > next.getTaskClassType()
+					|| (classType == next.getTaskClassType() && task.sliceEnd > currentTime)) {
+				continue;
+			}
+			if (victim == null || classType < victim.getTaskClassType()
+					|| (classType == victim.getTaskClassType() && task.sliceEnd < victim.sliceEnd)) {
+				victim = task;
+			}
+		}
+		return victim;
+	}
+
+	/**
+	 * Stops a running task and queues it again behind the ready tasks of its
+	 * class.
+	 *
+	 * @param task        the task
+	 * @param currentTime the current time
+	 */
+	private void preempt(PriorityTask task, double currentTime) {
+		updateProgress(task, currentTime);
+		getTaskExecList().remove(task);
+		releasePes(task);
+		task.getPeIdList().clear();
+		// paused first, so that the time it ran is counted
+		task.setTaskStatus(GpuTask.PAUSED);
+		queue(task);
+	}
+
+	/**
+	 * Runs a task on the free PEs.
+	 *
+	 * @param task          the task
+	 * @param currentTime   the current time
+	 * @param contextSwitch whether the task pays for a context switch
+	 */
+	private void start(PriorityTask task, double currentTime, boolean contextSwitch) {
+		task.setTaskStatus(GpuTask.INEXEC);
+		allocatePes(task);
+		getTaskExecList().add(task);
+		task.switchEnd = currentTime + (contextSwitch ? getContextSwitchTime(task) : 0.0);
+		task.sliceEnd = task.switchEnd + getTimeSlice(task.getTaskClassType());
+		task.switchedOut = true;
+	}
+
+	/**
+	 * Adds a task to the ready queue, behind the ready tasks of its class.
+	 *
+	 * @param task the task
+	 */
+	private void queue(PriorityTask task) {
+		task.setTaskStatus(GpuTask.QUEUED);
+		task.sequence = queued++;
+		readyQueue.add(task);
+	}
+
+	@Override
+	public double taskSubmit(GpuTask task) {
+		PriorityTask rgt = new PriorityTask(task, getCurrentTime());
+		queue(rgt);
+		dispatch(getCurrentTime());
+		return getTimeToNextEvent(rgt);
+	}
+
+	/**
+	 * Returns the estimated amount of time that it takes for this task to finish,
+	 * including the rest of its context switch.
+	 */
+	@Override
+	protected double getEstimatedFinishTime(ResGpuTask rcl) {
+		double switchTime = Math.max(0.0, ((PriorityTask) rcl).switchEnd - getCurrentTime());
+		return switchTime + super.getEstimatedFinishTime(rcl);
+	}
+
+	@Override
+	public void taskFinish(ResGpuTask rcl) {
+		super.taskFinish(rcl);
+		PriorityTask task = (PriorityTask) rcl;
+		DescriptiveStatistics statistics = latencies.get(task.getTaskClassType());
+		if (statistics == null) {
+			statistics = new DescriptiveStatistics();
+			latencies.put(task.getTaskClassType(), statistics);
+		}
+		statistics.addValue(getCurrentTime() - task.submissionTime);
+	}
+
+	@Override
+	public GpuTask taskCancel(int taskId) {
+		for (ResGpuTask rcl : getTaskExecList()) {
+			if (rcl.getTaskId() == taskId) {
+				getTaskExecList().remove(rcl);
+				if (rcl.getRemainingTaskLength() == 0) {
+					taskFinish(rcl);
+				} else {
+					releasePes(rcl);
+					rcl.setTaskStatus(GpuTask.CANCELED);
+				}
+				dispatch(getCurrentTime());
+				return rcl.getGpuTask();
+			}
+		}
+		PriorityTask task = removeReady(taskId);
+		if (task != null) {
+			task.setTaskStatus(GpuTask.CANCELED);
+			return task.getGpuTask();
+		}
+		return super.taskCancel(taskId);
+	}
+
+	@Override
+	public boolean taskPause(int taskId) {
+		for (ResGpuTask rcl : getTaskExecList()) {
+			if (rcl.getTaskId() == taskId) {
+				getTaskExecList().remove(rcl);
+				if (rcl.getRemainingTaskLength() == 0) {
+					taskFinish(rcl);
+				} else {
+					// the task will run on the PEs that are free when it is resumed
+					releasePes(rcl);
+					rcl.getPeIdList().clear();
+					rcl.setTaskStatus(GpuTask.PAUSED);
+					getTaskPausedList().add(rcl);
+				}
+				dispatch(getCurrentTime());
+				return true;
+			}
+		}
+		PriorityTask task = removeReady(taskId);
+		if (task == null) {
+			return false;
+		}
+		task.setTaskStatus(GpuTask.PAUSED);
+		getTaskPausedList().add(task);
+		return true;
+	}
+
+	/**
+	 * Resumes a paused task. It is queued behind the ready tasks of its class.
+	 */
+	@Override
+	public double taskResume(int taskId) {
+		List<PriorityTask> pausedList = getTaskPausedList();
+		for (int i = 0; i < pausedList.size(); i++) {
+			if (pausedList.get(i).getTaskId() == taskId) {
+				PriorityTask task = pausedList.remove(i);
+				queue(task);
+				dispatch(getCurrentTime());
+				return getTimeToNextEvent(task);
+			}
+		}
+		return 0.0;
+	}
+
+	/**
+	 * Removes a task from the ready queue.
+	 *
+	 * @param taskId the id of the task
+	 * @return the task, or <tt>null</tt> if it is not ready
+	 */
+	private PriorityTask removeReady(int taskId) {
+		for (Iterator<PriorityTask> it = readyQueue.iterator(); it.hasNext();) {
+			PriorityTask task = it.next();
+			if (task.getTaskId() == taskId) {
+				it.remove();
+				return task;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public int getTaskStatus(int taskId) {
+		int status = super.getTaskStatus(taskId);
+		if (status == -1) {
+			for (ResGpuTask rcl : readyQueue) {
+				if (rcl.getTaskId() == taskId) {
+					return rcl.getTaskStatus();
+				}
+			}
+		}
+		return status;
+	}
+
+	/**
+	 * Returns the number of tasks that are ready to run, including the preempted
+	 * ones.
+	 *
+	 * @return the number of ready tasks
+	 */
+	public int readyTasks() {
+		return readyQueue.size();
+	}
+
+	/**
+	 * Gets the classes of the tasks that have finished.
+	 *
+	 * @return the classes, in increasing order
+	 */
+	public Set<Integer> getFinishedClassTypes() {
+		return latencies.keySet();
+	}
+
+	/**
+	 * Gets the statistics of the latencies of the finished tasks of a class, from
+	 * their submission to their end.
+	 *
+	 * @param classType the class of the tasks
+	 * @return the statistics, or <tt>null</tt> if no task of the class has
+	 *         finished
+	 */
+	public DescriptiveStatistics getLatencyStatistics(int classType) {
+		return latencies.get(classType);
+	}
+
+	/**
+	 * Gets a percentile of the latencies of the finished tasks of a class, from
+	 * their submission to their end.
+	 *
+	 * @param classType  the class of the tasks
+	 * @param percentile the percentile, in the (0,100] interval
+	 * @return the percentile of the latencies, or {@link Double#NaN} if no task of
+	 *         the class has finished
+	 */
+	public double getLatencyPercentile(int classType, double percentile) {
+		DescriptiveStatistics statistics = latencies.get(classType);
+		return statistics == null ? Double.NaN : statistics.getPercentile(percentile);
+	}
+
+}
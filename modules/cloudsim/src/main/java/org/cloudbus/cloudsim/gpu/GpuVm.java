@@ -12,6 +12,8 @@ import org.cloudbus.cloudsim.Vm;
  */
 public class GpuVm extends Vm {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Describes vm's type. A type can be associated with a configuration, therefore
 	 * it helps identifying the vm
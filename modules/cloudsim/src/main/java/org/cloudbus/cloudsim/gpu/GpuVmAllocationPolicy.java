@@ -8,6 +8,7 @@ import java.util.Map;
 import org.cloudbus.cloudsim.Host;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
+import org.cloudbus.cloudsim.util.VmKeyMap;
 
 /**
  * {@link GpuVmAllocationPolicy} extends {@link VmAllocationPolicy} to support
@@ -18,11 +19,13 @@ import org.cloudbus.cloudsim.VmAllocationPolicy;
  */
 public abstract class GpuVmAllocationPolicy extends VmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
-	 * The map between each VM and its allocated host. The map key is a VM UID and
-	 * the value is the allocated host for that VM.
+	 * The map between each VM and its allocated host. The map key is a VM
+	 * {@link Vm#getKey() key} and the value is the allocated host for that VM.
 	 */
-	private Map<String, Host> vmTable;
+	private VmKeyMap<Host> vmTable;
 
 	/**
 	 * GPU-equipped hosts
@@ -39,7 +42,7 @@ public abstract class GpuVmAllocationPolicy extends VmAllocationPolicy {
 	 */
 	public GpuVmAllocationPolicy(List<? extends Host> list) {
 		super(list);
-		setVmTable(new HashMap<String, Host>());
+		setVmHosts(new VmKeyMap<Host>());
 		setGpuHostList(getHostList());
 		setVgpuHosts(new HashMap<Vgpu, GpuHost>());
 	}
@@ -51,7 +54,7 @@ public abstract class GpuVmAllocationPolicy extends VmAllocationPolicy {
 
 	@Override
 	public void deallocateHostForVm(Vm vm) {
-		getVmTable().remove(vm.getUid()).vmDestroy(vm);
+		getVmHosts().remove(vm.getKey()).vmDestroy(vm);
 	}
 
 	protected void deallocateGpuForVgpu(Vgpu vgpu) {
@@ -93,10 +96,10 @@ public abstract class GpuVmAllocationPolicy extends VmAllocationPolicy {
 
 	@Override
 	public boolean allocateHostForVm(Vm vm, Host host) {
-		if (!getVmTable().containsKey(vm.getUid())) {
+		if (!getVmHosts().containsKey(vm.getKey())) {
 			boolean result = host.vmCreate(vm);
 			if (result) {
-				getVmTable().put(vm.getUid(), host);
+				getVmHosts().put(vm.getKey(), host);
 				return true;
 			}
 		}
@@ -120,26 +123,47 @@ public abstract class GpuVmAllocationPolicy extends VmAllocationPolicy {
 
 	@Override
 	public Host getHost(Vm vm) {
-		return getVmTable().get(vm.getUid());
+		return getVmHosts().get(vm.getKey());
 	}
 
 	@Override
 	public Host getHost(int vmId, int userId) {
-		return getVmTable().get(Vm.getUid(userId, vmId));
+		return getVmHosts().get(Vm.getKey(userId, vmId));
+	}
+
+	/**
+	 * @return the host of each VM, by VM key
+	 */
+	protected VmKeyMap<Host> getVmHosts() {
+		return vmTable;
+	}
+
+	/**
+	 * @param vmTable the host of each VM, by VM key
+	 */
+	protected void setVmHosts(VmKeyMap<Host> vmTable) {
+		this.vmTable = vmTable;
 	}
 
 	/**
 	 * @return the vmTable
+	 * @deprecated use {@link #getVmHosts()}, which does not need VM uids; this is
+	 *             a view of it
 	 */
+	@Deprecated
 	protected Map<String, Host> getVmTable() {
-		return vmTable;
+		return vmTable.asUidMap();
 	}
 
 	/**
 	 * @param vmTable the vmTable to set
+	 * @deprecated use {@link #setVmHosts(VmKeyMap)}; the entries of the given map
+	 *             are copied
 	 */
+	@Deprecated
 	protected void setVmTable(Map<String, Host> vmTable) {
-		this.vmTable = vmTable;
+		this.vmTable = new VmKeyMap<Host>();
+		this.vmTable.asUidMap().putAll(vmTable);
 	}
 
 	protected List<GpuHost> getGpuHostList() {
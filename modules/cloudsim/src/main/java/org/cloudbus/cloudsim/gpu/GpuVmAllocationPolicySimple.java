@@ -14,6 +14,8 @@ import org.cloudbus.cloudsim.Vm;
  */
 public class GpuVmAllocationPolicySimple extends GpuVmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * @param list
 	 */
@@ -23,7 +25,7 @@ public class GpuVmAllocationPolicySimple extends GpuVmAllocationPolicy {
 
 	@Override
 	public boolean allocateHostForVm(Vm vm) {
-		if (!getVmTable().containsKey(vm.getUid())) {
+		if (!getVmHosts().containsKey(vm.getKey())) {
 			GpuVm gpuVm = (GpuVm) vm;
 			for (Host host : getHostList()) {
 				boolean result = allocateHostForVm(vm, host);
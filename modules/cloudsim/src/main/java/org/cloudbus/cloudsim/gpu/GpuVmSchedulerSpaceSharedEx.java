@@ -18,6 +18,8 @@ import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
  */
 public class GpuVmSchedulerSpaceSharedEx extends VmSchedulerSpaceShared {
 
+	private static final long serialVersionUID = 1L;
+
 	public GpuVmSchedulerSpaceSharedEx(List<? extends Pe> pelist) {
 		super(pelist);
 	}
@@ -59,4 +61,12 @@ public class GpuVmSchedulerSpaceSharedEx extends VmSchedulerSpaceShared {
 		return true;
 	}
 
+	/**
+	 * Checks if there are enough free PEs for the VM, whatever MIPS it requests.
+	 */
+	@Override
+	public boolean isSuitableForVm(Vm vm, List<Double> mipsShare) {
+		return getFreePes().size() >= vm.getNumberOfPes();
+	}
+
 }
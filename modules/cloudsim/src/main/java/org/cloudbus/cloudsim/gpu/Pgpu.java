@@ -3,6 +3,7 @@
  */
 package org.cloudbus.cloudsim.gpu;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.cloudbus.cloudsim.Pe;
@@ -16,7 +17,9 @@ import org.cloudbus.cloudsim.gpu.provisioners.GpuGddramProvisioner;
  * @author Ahmad Siavashi
  *
  */
-public class Pgpu {
+public class Pgpu implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * Pgpu Id
@@ -4,6 +4,8 @@ import org.cloudbus.cloudsim.ResCloudlet;
 
 public class ResGpuCloudlet extends ResCloudlet {
 
+	private static final long serialVersionUID = 1L;
+
 	private final GpuTask gpuTask;
 
 	public ResGpuCloudlet(GpuCloudlet cloudlet) {
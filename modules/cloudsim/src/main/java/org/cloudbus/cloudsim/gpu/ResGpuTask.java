@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,7 +22,15 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @author Ahmad Siavashi
  * 
  */
-public class ResGpuTask {
+public class ResGpuTask implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The number of instructions that may remain when a task finishes at its exact
+	 * completion time, since the progress of each update is rounded down.
+	 */
+	private static final long EXACT_COMPLETION_TOLERANCE = 1000;
 
 	/** The Task object. */
 	private final GpuTask task;
@@ -352,6 +361,32 @@ public class ResGpuTask {
 		return (long) Math.floor(length / Consts.MILLION);
 	}
 
+	/**
+	 * Gets the remaining gpu task length that has to be execute yet, without
+	 * rounding it down to a whole MI as {@link #getRemainingTaskLength()} does.
+	 * 
+	 * @return gpu task length, in MI
+	 */
+	public double getExactRemainingTaskLength() {
+		long length = task.getTaskTotalLength() * Consts.MILLION - taskFinishedSoFar;
+		return length < 0 ? 0.0 : (double) length / Consts.MILLION;
+	}
+
+	/**
+	 * Checks if the gpu task length has been executed, that is if less than one MI
+	 * remains. With {@link CloudSim#isExactCompletionTimes() exact completion
+	 * times}, only the instructions lost when rounding the progress of each update
+	 * may remain.
+	 * 
+	 * @return true if the task has no length left to execute
+	 */
+	public boolean isExecuted() {
+		if (CloudSim.isExactCompletionTimes()) {
+			return task.getTaskTotalLength() * Consts.MILLION - taskFinishedSoFar < EXACT_COMPLETION_TOLERANCE;
+		}
+		return getRemainingTaskLength() == 0;
+	}
+
 	/**
 	 * Finalizes all relevant information before <tt>exiting</tt> the CloudResource
 	 * entity. This method sets the final data of:
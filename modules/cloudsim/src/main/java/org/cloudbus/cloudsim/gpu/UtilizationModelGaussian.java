@@ -6,6 +6,8 @@ import org.cloudbus.cloudsim.UtilizationModel;
 
 public class UtilizationModelGaussian implements UtilizationModel{
 
+	private static final long serialVersionUID = 1L;
+
 	private Random random;
 	private double mean;
 	private double std;
@@ -1,12 +1,12 @@
 package org.cloudbus.cloudsim.gpu;
 
+import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.cloudbus.cloudsim.core.CloudSim;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * 
@@ -15,7 +15,9 @@ import org.cloudbus.cloudsim.util.MathUtil;
  * @author Ahmad Siavashi
  * 
  */
-public class Vgpu {
+public class Vgpu implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** The virtual GPU unique id. */
 	private int id;
@@ -62,7 +64,7 @@ public class Vgpu {
 	private long currentAllocatedBw;
 
 	/** The current allocated mips for each virtual gpu's PE. */
-	private List<Double> currentAllocatedMips;
+	private MipsVector currentAllocatedMips;
 
 	/** Indicates if the virtual gpu is being instantiated. */
 	private boolean beingInstantiated;
@@ -103,17 +105,31 @@ public class Vgpu {
 	 * Updates the processing of gpu tasks running on this vgpu.
 	 * 
 	 * @param currentTime current simulation time
-	 * @param mipsShare   list with MIPS share of each Pe available to the scheduler
+	 * @param mipsShare   MIPS share of each Pe available to the scheduler
 	 * @return time predicted completion time of the earliest finishing task, or 0
 	 *         if there is no next events
 	 */
-	public double updateGpuTaskProcessing(double currentTime, List<Double> mipsShare) {
+	public double updateGpuTaskProcessing(double currentTime, MipsVector mipsShare) {
 		if (mipsShare != null) {
 			return getGpuTaskScheduler().updateGpuTaskProcessing(currentTime, mipsShare);
 		}
 		return 0.0;
 	}
 
+	/**
+	 * Updates the processing of gpu tasks running on this vgpu, with the MIPS share
+	 * given as a list.
+	 * 
+	 * @param currentTime current simulation time
+	 * @param mipsShare   list with MIPS share of each Pe available to the scheduler
+	 * @return time predicted completion time of the earliest finishing task, or 0
+	 *         if there is no next events
+	 * @see #updateGpuTaskProcessing(double, MipsVector)
+	 */
+	public double updateGpuTaskProcessing(double currentTime, List<Double> mipsShare) {
+		return updateGpuTaskProcessing(currentTime, MipsVector.of(mipsShare));
+	}
+
 	/**
 	 * Updates the processing of vgpu memory transfers.
 	 * 
@@ -128,12 +144,11 @@ public class Vgpu {
 	 * 
 	 * @return the current requested mips
 	 */
-	public List<Double> getCurrentRequestedMips() {
-		List<Double> currentRequestedMips = getGpuTaskScheduler().getCurrentRequestedMips();
+	public MipsVector getCurrentRequestedMips() {
 		if (isBeingInstantiated()) {
-			currentRequestedMips = new ArrayList<Double>(Collections.nCopies(getNumberOfPes(), getPeMips()));
+			return MipsVector.nCopies(getNumberOfPes(), getPeMips());
 		}
-		return currentRequestedMips;
+		return getGpuTaskScheduler().getCurrentRequestedMips();
 	}
 
 	/**
@@ -142,7 +157,7 @@ public class Vgpu {
 	 * @return the current requested total mips
 	 */
 	public double getCurrentRequestedTotalMips() {
-		return MathUtil.sum(getCurrentRequestedMips());
+		return getCurrentRequestedMips().getTotalMips();
 	}
 
 	/**
@@ -151,7 +166,7 @@ public class Vgpu {
 	 * @return the current requested max mips
 	 */
 	public double getCurrentRequestedMaxMips() {
-		return Collections.max(getCurrentRequestedMips());
+		return getCurrentRequestedMips().getMaxMips();
 	}
 
 	/**
@@ -440,7 +455,7 @@ public class Vgpu {
 	 * @TODO replace returning the field by a call to
 	 *       getThreadScheduler().getCurrentMipsShare()
 	 */
-	public List<Double> getCurrentAllocatedMips() {
+	public MipsVector getCurrentAllocatedMips() {
 		return currentAllocatedMips;
 	}
 
@@ -450,7 +465,7 @@ public class Vgpu {
 	 * @param currentAllocatedMips the new current allocated mips
 	 */
 	public void setCurrentAllocatedMips(List<Double> currentAllocatedMips) {
-		this.currentAllocatedMips = currentAllocatedMips;
+		this.currentAllocatedMips = MipsVector.of(currentAllocatedMips);
 	}
 
 	/**
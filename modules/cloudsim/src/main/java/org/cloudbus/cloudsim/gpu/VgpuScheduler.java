@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -13,15 +14,24 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVideoCardTags;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * VgpuScheduler is an abstract class that represents the policy used by a
  * Virtual Machine Monitor (VMM) to share processing power of a
  * {@link VideoCard} among {@link Vgpu Vgpus} running in a {@link VideoCard}.*
+ * <p>
+ * When the hosts or the vgpus of a datacenter are updated in parallel, the
+ * methods that only read the allocation, such as
+ * {@link #getAllocatedMipsForVgpu(Vgpu)}, may be called by several threads at
+ * the same time. They must not change the state of the scheduler, nor any state
+ * shared with the schedulers of the other video cards.
  * 
  * @author Ahmad Siavashi
  */
-public abstract class VgpuScheduler {
+public abstract class VgpuScheduler implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** Type of the video card which this scheduler is associated with. */
 	private String videoCardType;
@@ -41,7 +51,8 @@ public abstract class VgpuScheduler {
 	private Map<Vgpu, List<Pe>> vgpuPeMap;
 
 	/**
-	 * The map of Vgpus to MIPS
+	 * The map of Vgpus to MIPS. The MIPS are kept as {@link MipsVector
+	 * MipsVectors}, so that they are given to the vgpus as they are.
 	 */
 	private Map<Vgpu, List<Double>> mipsMap;
 
@@ -179,8 +190,8 @@ public abstract class VgpuScheduler {
 	 * @return an array containing the amount of MIPS of each pe that is available
 	 *         to the Vgpu
 	 */
-	public List<Double> getAllocatedMipsForVgpu(Vgpu vgpu) {
-		return getMipsMap().get(vgpu);
+	public MipsVector getAllocatedMipsForVgpu(Vgpu vgpu) {
+		return MipsVector.of(getMipsMap().get(vgpu));
 	}
 
 	/**
@@ -220,14 +231,11 @@ public abstract class VgpuScheduler {
 	 * @return the total allocated mips for the vgpu
 	 */
 	public double getTotalAllocatedMipsForVgpu(Vgpu vgpu) {
-		double allocated = 0;
-		List<Double> mipsMap = getAllocatedMipsForVgpu(vgpu);
+		MipsVector mipsMap = getAllocatedMipsForVgpu(vgpu);
 		if (mipsMap != null) {
-			for (double mips : mipsMap) {
-				allocated += mips;
-			}
+			return mipsMap.getTotalMips();
 		}
-		return allocated;
+		return 0;
 	}
 
 	/**
@@ -11,6 +11,7 @@ import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
 import org.cloudbus.cloudsim.lists.PeList;
 import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * This is a Time-Shared {@link Vgpu} scheduler, which allows over-subscription.
@@ -23,6 +24,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class VgpuSchedulerFairShare extends VgpuSchedulerTimeShared {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Requested Vgpu mips (which defers from mipsMap that holds actual scales mips
 	 * values)
@@ -48,7 +51,7 @@ public class VgpuSchedulerFairShare extends VgpuSchedulerTimeShared {
 		pgpu.getGddramProvisioner().allocateGddramForVgpu(vgpu, gddramShare);
 		pgpu.getBwProvisioner().allocateBwForVgpu(vgpu, bwShare);
 		getPgpuVgpuMap().get(pgpu).add(vgpu);
-		getRequestedMipsMap().put(vgpu, mipsShare);
+		getRequestedMipsMap().put(vgpu, MipsVector.of(mipsShare));
 		getVgpuPeMap().put(vgpu, new ArrayList<Pe>());
 		double mipsChange = MathUtil.sum(mipsShare);
 		redistributeMipsDueToOverSubscription(pgpu, mipsChange);
@@ -81,19 +84,19 @@ public class VgpuSchedulerFairShare extends VgpuSchedulerTimeShared {
 			}
 		}
 		for (Vgpu vgpu : pgpuVgpus) {
-			List<Double> scaledVmMips = new ArrayList<Double>();
+			MipsVector requestedMips = MipsVector.of(getRequestedMipsMap().get(vgpu));
 			// scale
-			for (double mips : getRequestedMipsMap().get(vgpu)) {
-				scaledVmMips.add(Math.floor(mips * scaleFactor));
+			double[] scaledMips = new double[requestedMips.size()];
+			for (int i = 0; i < scaledMips.length; i++) {
+				scaledMips[i] = Math.floor(requestedMips.getMips(i) * scaleFactor);
 			}
-			double totalScaledMipsForVm = MathUtil.sum(scaledVmMips);
-			double totalRequestedMipsForVm = MathUtil.sum(getRequestedMipsMap().get(vgpu));
-			if (totalScaledMipsForVm < totalRequestedMipsForVm) {
+			MipsVector scaledVmMips = MipsVector.wrap(scaledMips);
+			if (scaledVmMips.getTotalMips() < requestedMips.getTotalMips()) {
 				getMipsMap().put(vgpu, scaledVmMips);
 				vgpu.setCurrentAllocatedMips(scaledVmMips);
 			} else {
-				getMipsMap().put(vgpu, getRequestedMipsMap().get(vgpu));
-				vgpu.setCurrentAllocatedMips(getRequestedMipsMap().get(vgpu));
+				getMipsMap().put(vgpu, requestedMips);
+				vgpu.setCurrentAllocatedMips(requestedMips);
 			}
 			// reallocate
 			Collections.sort(pgpu.getPeList(), Collections.reverseOrder(new Comparator<Pe>() {
@@ -106,7 +109,7 @@ public class VgpuSchedulerFairShare extends VgpuSchedulerTimeShared {
 			// No two Vgpu PEs are mapped to one Pgpu PE
 			for (int i = 0; i < scaledVmMips.size(); i++) {
 				Pe pe = pgpu.getPeList().get(i);
-				pe.getPeProvisioner().allocateMipsForVm(vgpu.getVm(), scaledVmMips.get(i));
+				pe.getPeProvisioner().allocateMipsForVm(vgpu.getVm(), scaledVmMips.getMips(i));
 				getVgpuPeMap().get(vgpu).add(pe);
 			}
 		}
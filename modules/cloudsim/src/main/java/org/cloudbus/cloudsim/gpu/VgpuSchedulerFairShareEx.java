@@ -5,7 +5,7 @@ import java.util.List;
 
 import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * A modification to {@link VgpuSchedulerFairShare} in which vGPU requested MIPS
@@ -16,6 +16,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class VgpuSchedulerFairShareEx extends VgpuSchedulerFairShare {
 
+	private static final long serialVersionUID = 1L;
+
 	public VgpuSchedulerFairShareEx(String videoCardType, List<Pgpu> pgpuList,
 			PgpuSelectionPolicy pgpuSelectionPolicy) {
 		super(videoCardType, pgpuList, pgpuSelectionPolicy);
@@ -30,7 +32,7 @@ public class VgpuSchedulerFairShareEx extends VgpuSchedulerFairShare {
 		// set processing power according to the allocated pgpu
 		vgpu.setNumberOfPes(pgpu.getPeList().size());
 		vgpu.setPeMips(pgpu.getPeList().get(0).getMips());
-		final List<Double> vgpuMipsShare = vgpu.getCurrentRequestedMips();
+		final MipsVector vgpuMipsShare = vgpu.getCurrentRequestedMips();
 		final long vgpuBwShare = pgpu.getBwProvisioner().getBw();
 
 		pgpu.getGddramProvisioner().allocateGddramForVgpu(vgpu, gddramShare);
@@ -39,7 +41,7 @@ public class VgpuSchedulerFairShareEx extends VgpuSchedulerFairShare {
 
 		getRequestedMipsMap().put(vgpu, vgpuMipsShare);
 		getVgpuPeMap().put(vgpu, new ArrayList<Pe>());
-		double mipsChange = MathUtil.sum(vgpuMipsShare);
+		double mipsChange = vgpuMipsShare.getTotalMips();
 		redistributeMipsDueToOverSubscription(pgpu, mipsChange);
 		return true;
 	}
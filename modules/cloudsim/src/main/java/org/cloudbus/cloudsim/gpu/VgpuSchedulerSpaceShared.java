@@ -8,6 +8,7 @@ import org.apache.commons.collections.Predicate;
 import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * VgpuSchedulerSpaceShared is a vgpu allocation policy that allocates one or
@@ -21,6 +22,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
  */
 public class VgpuSchedulerSpaceShared extends VgpuScheduler {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new vgpu space-shared scheduler.
 	 * 
@@ -114,8 +117,9 @@ public class VgpuSchedulerSpaceShared extends VgpuScheduler {
 		}
 		getPgpuVgpuMap().get(pgpu).add(vgpu);
 		getVgpuPeMap().put(vgpu, selectedPes);
-		getMipsMap().put(vgpu, mipsShare);
-		vgpu.setCurrentAllocatedMips(mipsShare);
+		MipsVector allocatedMips = MipsVector.of(mipsShare);
+		getMipsMap().put(vgpu, allocatedMips);
+		vgpu.setCurrentAllocatedMips(allocatedMips);
 		return true;
 	}
 
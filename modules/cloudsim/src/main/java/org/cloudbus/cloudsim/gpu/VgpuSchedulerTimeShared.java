@@ -5,6 +5,7 @@ import java.util.List;
 
 import org.cloudbus.cloudsim.Pe;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * VgpuSchedulerTimeShared is a vgpu allocation policy that allocates one or
@@ -15,6 +16,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
  */
 public class VgpuSchedulerTimeShared extends VgpuScheduler {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new vgpu time-shared scheduler.
 	 * 
@@ -78,8 +81,9 @@ public class VgpuSchedulerTimeShared extends VgpuScheduler {
 		}
 		getPgpuVgpuMap().get(pgpu).add(vgpu);
 		getVgpuPeMap().put(vgpu, selectedPes);
-		getMipsMap().put(vgpu, mipsShare);
-		vgpu.setCurrentAllocatedMips(mipsShare);
+		MipsVector allocatedMips = MipsVector.of(mipsShare);
+		getMipsMap().put(vgpu, allocatedMips);
+		vgpu.setCurrentAllocatedMips(allocatedMips);
 		return true;
 	}
 
@@ -8,6 +8,8 @@ import org.cloudbus.cloudsim.VmStateHistoryEntry;
  */
 public class VgpuStateHistoryEntry extends VmStateHistoryEntry {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * @see VmStateHistoryEntry#VmStateHistoryEntry
 	 */
@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.gpu;
 
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.gpu.provisioners.VideoCardBwProvisioner;
 
 /**
@@ -8,7 +10,9 @@ import org.cloudbus.cloudsim.gpu.provisioners.VideoCardBwProvisioner;
  * @author Ahmad Siavashi
  * 
  */
-public class VideoCard {
+public class VideoCard implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** identifier */
 	private int id;
@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu.allocation;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -17,7 +18,9 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
  * @author Ahmad Siavashi
  * 
  */
-public abstract class VideoCardAllocationPolicy {
+public abstract class VideoCardAllocationPolicy implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** vgpu to video card mapping */
 	private Map<Vgpu, VideoCard> vgpuVideoCardMap;
@@ -15,6 +15,8 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
  */
 public class VideoCardAllocationPolicyBestFit extends VideoCardAllocationPolicySimple {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Selects the video card with GPU with minimum available memory.
 	 */
@@ -19,6 +19,8 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
  */
 public class VideoCardAllocationPolicyBreadthFirst extends VideoCardAllocationPolicySimple {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new breadth-first allocation policy for video cards. Host
 	 * video cards are sorted in ascending order from the least loaded video card to
@@ -19,6 +19,8 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
  */
 public class VideoCardAllocationPolicyDepthFirst extends VideoCardAllocationPolicySimple {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * @param videoCards
 	 */
@@ -14,6 +14,9 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
  * 
  */
 public class VideoCardAllocationPolicyLeastLoad extends VideoCardAllocationPolicySimple {
+
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Selects the video card with GPU with maximum available memory.
 	 */
@@ -8,6 +8,8 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
 
 public class VideoCardAllocationPolicyNull extends VideoCardAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	public VideoCardAllocationPolicyNull(List<? extends VideoCard> videoCards) {
 		super(videoCards);
 	}
@@ -13,6 +13,8 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
  */
 public class VideoCardAllocationPolicySimple extends VideoCardAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Simply iterates over available video cards and finds the first that suits.
 	 */
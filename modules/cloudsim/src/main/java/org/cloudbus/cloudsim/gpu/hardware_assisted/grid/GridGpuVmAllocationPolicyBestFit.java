@@ -36,6 +36,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicyNull;
  */
 public class GridGpuVmAllocationPolicyBestFit extends GpuVmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	private List<Host> nonGpuHostList = new ArrayList<>();
 
 	public GridGpuVmAllocationPolicyBestFit(List<? extends Host> list) {
@@ -51,7 +53,7 @@ public class GridGpuVmAllocationPolicyBestFit extends GpuVmAllocationPolicy {
 
 	@Override
 	public boolean allocateHostForVm(Vm vm) {
-		if (!getVmTable().containsKey(vm.getUid())) {
+		if (!getVmHosts().containsKey(vm.getKey())) {
 			GpuVm gpuVm = (GpuVm) vm;
 			Vgpu vgpu = gpuVm.getVgpu();
 			// Case 1 - VM with GPU tasks
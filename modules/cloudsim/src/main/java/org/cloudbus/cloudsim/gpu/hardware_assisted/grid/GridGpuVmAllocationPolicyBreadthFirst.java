@@ -24,6 +24,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicyNull;
 
 public class GridGpuVmAllocationPolicyBreadthFirst extends GpuVmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * This class extends {@link GpuVmAllocationPolicy} to implement breadth-first
 	 * policy and enforce homogeneous vGPU allocation restriction of NVIDIA GRID
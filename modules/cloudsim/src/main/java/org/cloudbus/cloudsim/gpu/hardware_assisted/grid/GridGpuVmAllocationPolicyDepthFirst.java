@@ -28,6 +28,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicyNull;
  */
 public class GridGpuVmAllocationPolicyDepthFirst extends GridGpuVmAllocationPolicyBreadthFirst {
 
+	private static final long serialVersionUID = 1L;
+
 	public GridGpuVmAllocationPolicyDepthFirst(List<? extends Host> list) {
 		super(list);
 	}
@@ -25,6 +25,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicyNull;
 
 public class GridGpuVmAllocationPolicyVird extends GpuVmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * /** The VIRD policy is implemented according to, 
 	 * A. Garg, U. Kurkure, H. Sivaraman, L. Vu, Virtual machine placement solution 
@@ -13,6 +13,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicyNull;
 
 public class GridGpuVmAllocationPolicyViri extends GridGpuVmAllocationPolicyVird {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * /** The VIRI policy is implemented according to, 
 	 * A. Garg, U. Kurkure, H. Sivaraman, L. Vu, Virtual machine placement solution 
@@ -19,6 +19,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
  */
 public class GridVgpuSchedulerFairShare extends VgpuSchedulerFairShare {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new fair-share vgpu scheduler.
 	 * 
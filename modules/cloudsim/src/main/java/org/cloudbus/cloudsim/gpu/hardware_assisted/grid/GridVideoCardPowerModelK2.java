@@ -16,6 +16,8 @@ import org.cloudbus.cloudsim.gpu.power.models.VideoCardPowerModel;
  */
 public class GridVideoCardPowerModelK2 implements VideoCardPowerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	private Map<Pgpu, Double> pgpuScaleFactorMap;
 	private boolean powerGate;
 
@@ -0,0 +1,61 @@
+package org.cloudbus.cloudsim.gpu.hardware_assisted.mig;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.gpu.Pgpu;
+import org.cloudbus.cloudsim.gpu.Vgpu;
+import org.cloudbus.cloudsim.gpu.VgpuScheduler;
+import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+
+/**
+ * {@link MigPgpuSelectionPolicyLeastFragmentation} implements
+ * {@link PgpuSelectionPolicy} and selects the Pgpu where the new GPU instance
+ * blocks the least of the placements left for other instances (see
+ * {@link MigVgpuSchedulerSpaceShared#getFragmentationLoss(Pgpu, MigProfile)}).
+ * Ties go to the Pgpu with the most memory slices taken, so that empty Pgpus
+ * are kept for large instances. A vgpu whose type is not a MIG profile of the
+ * video card is not placed.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class MigPgpuSelectionPolicyLeastFragmentation implements PgpuSelectionPolicy {
+
+	private static final long serialVersionUID = 1L;
+
+	public MigPgpuSelectionPolicyLeastFragmentation() {
+		super();
+	}
+
+	@Override
+	public Pgpu selectPgpu(Vgpu vgpu, VgpuScheduler scheduler, List<Pgpu> pgpuList) {
+		if (pgpuList.isEmpty()) {
+			return null;
+		}
+		if (!(scheduler instanceof MigVgpuSchedulerSpaceShared)) {
+			return pgpuList.get(0);
+		}
+		final MigVgpuSchedulerSpaceShared migScheduler = (MigVgpuSchedulerSpaceShared) scheduler;
+		final MigProfile profile = MigVgpuTags.getProfile(scheduler.getVideoCardType(), vgpu.getType());
+		if (profile == null) {
+			return null;
+		}
+		Pgpu selectedPgpu = null;
+		int minLoss = Integer.MAX_VALUE;
+		int maxTaken = -1;
+		for (Pgpu pgpu : pgpuList) {
+			int loss = migScheduler.getFragmentationLoss(pgpu, profile);
+			// placed after a reconfiguration
+			if (loss == -1) {
+				loss = Integer.MAX_VALUE;
+			}
+			int taken = migScheduler.getTakenMemorySlices(pgpu);
+			if (selectedPgpu == null || loss < minLoss || (loss == minLoss && taken > maxTaken)) {
+				selectedPgpu = pgpu;
+				minLoss = loss;
+				maxTaken = taken;
+			}
+		}
+		return selectedPgpu;
+	}
+
+}
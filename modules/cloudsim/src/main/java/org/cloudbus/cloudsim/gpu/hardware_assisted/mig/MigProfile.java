@@ -0,0 +1,106 @@
+package org.cloudbus.cloudsim.gpu.hardware_assisted.mig;
+
+import java.io.Serializable;
+
+import org.apache.commons.lang3.ArrayUtils;
+
+/**
+ * A Multi-Instance GPU (MIG) profile: the compute and memory slices of a pgpu
+ * that an instance of the profile takes, and the memory slices it may start
+ * at. An instance that starts at memory slice <i>s</i> takes the memory slices
+ * from <i>s</i> and the compute slices from <i>s</i>, so that the instances of
+ * a pgpu never share a slice as long as their memory slices do not overlap.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public final class MigProfile implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The vgpu type of the instances of the profile. */
+	private final String type;
+
+	/** The number of compute slices of an instance. */
+	private final int computeSlices;
+
+	/** The number of memory slices of an instance. */
+	private final int memorySlices;
+
+	/** The memory slices an instance may start at. */
+	private final int[] starts;
+
+	/**
+	 * Creates a new MIG profile.
+	 *
+	 * @param type          the vgpu type of the instances of the profile
+	 * @param computeSlices the number of compute slices of an instance
+	 * @param memorySlices  the number of memory slices of an instance
+	 * @param starts        the memory slices an instance may start at
+	 */
+	public MigProfile(String type, int computeSlices, int memorySlices, int... starts) {
+		this.type = type;
+		this.computeSlices = computeSlices;
+		this.memorySlices = memorySlices;
+		this.starts = starts.clone();
+	}
+
+	/**
+	 * @return the vgpu type of the instances of the profile
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * @return the number of compute slices of an instance
+	 */
+	public int getComputeSlices() {
+		return computeSlices;
+	}
+
+	/**
+	 * @return the number of memory slices of an instance
+	 */
+	public int getMemorySlices() {
+		return memorySlices;
+	}
+
+	/**
+	 * @return the memory slices an instance may start at
+	 */
+	public int[] getStarts() {
+		return starts.clone();
+	}
+
+	/**
+	 * @return the maximum number of instances of the profile on a pgpu
+	 */
+	public int getMaxInstances() {
+		return starts.length;
+	}
+
+	/**
+	 * Checks whether an instance may start at a memory slice.
+	 *
+	 * @param start the memory slice
+	 * @return $true if an instance may start at the memory slice
+	 */
+	public boolean isValidStart(int start) {
+		return ArrayUtils.contains(starts, start);
+	}
+
+	/**
+	 * Returns the memory slices an instance takes as a bit mask.
+	 *
+	 * @param start the memory slice the instance starts at
+	 * @return the bit mask of the memory slices of the instance
+	 */
+	public int getSliceMask(int start) {
+		return ((1 << memorySlices) - 1) << start;
+	}
+
+	@Override
+	public String toString() {
+		return type;
+	}
+}
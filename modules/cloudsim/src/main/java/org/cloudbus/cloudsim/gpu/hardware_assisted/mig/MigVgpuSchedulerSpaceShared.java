@@ -0,0 +1,387 @@
+package org.cloudbus.cloudsim.gpu.hardware_assisted.mig;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.gpu.GpuTaskScheduler;
+import org.cloudbus.cloudsim.gpu.Pgpu;
+import org.cloudbus.cloudsim.gpu.Vgpu;
+import org.cloudbus.cloudsim.gpu.VgpuSchedulerSpaceShared;
+import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+import org.cloudbus.cloudsim.util.MipsVector;
+
+/**
+ * MigVgpuSchedulerSpaceShared is a space-shared vgpu scheduler for video cards
+ * that support Multi-Instance GPU (MIG). A vgpu is a GPU instance of one of the
+ * {@link MigProfile profiles} of the video card (see {@link MigVgpuTags}), and
+ * it is only placed at one of the memory slices the profile may start at. The
+ * instance gets the PEs of its compute slices, and its own share of the gddram
+ * and of the bandwidth of the pgpu, so the instances of a pgpu do not interfere
+ * with each other.
+ * <p>
+ * Among the free placements of a pgpu, the one that blocks the least of the
+ * placements left for the other instances is taken. When no placement is free,
+ * the scheduler may repack the instances of the pgpu, as long as none of them
+ * runs a task (see {@link #setReconfigurable(boolean)}).
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class MigVgpuSchedulerSpaceShared extends VgpuSchedulerSpaceShared {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The memory slices of each pgpu that are taken, as a bit mask. */
+	private Map<Pgpu, Integer> pgpuSliceMap;
+
+	/** The memory slice that each vgpu starts at. */
+	private Map<Vgpu, Integer> vgpuStartMap;
+
+	/** Whether the instances of a pgpu may be repacked to place a vgpu. */
+	private boolean reconfigurable;
+
+	/**
+	 * Instantiates a new MIG vgpu scheduler.
+	 *
+	 * @param videoCardType       type of the video card associated with this
+	 *                            vgpuScheduler (see {@link MigVideoCardTags})
+	 * @param pgpuList            list of video card's pgpus
+	 * @param pgpuSelectionPolicy vgpu to pgpu allocation policy
+	 */
+	public MigVgpuSchedulerSpaceShared(String videoCardType, List<Pgpu> pgpuList,
+			PgpuSelectionPolicy pgpuSelectionPolicy) {
+		super(videoCardType, pgpuList, pgpuSelectionPolicy);
+		setPgpuSliceMap(new HashMap<Pgpu, Integer>());
+		for (Pgpu pgpu : getPgpuList()) {
+			getPgpuSliceMap().put(pgpu, 0);
+		}
+		setVgpuStartMap(new HashMap<Vgpu, Integer>());
+	}
+
+	@Override
+	public boolean isSuitable(Pgpu pgpu, Vgpu vgpu) {
+		final MigProfile profile = MigVgpuTags.getProfile(getVideoCardType(), vgpu.getType());
+		if (profile == null) {
+			return false;
+		}
+		if (!pgpu.getGddramProvisioner().isSuitableForVgpu(vgpu, vgpu.getCurrentRequestedGddram())
+				|| !pgpu.getBwProvisioner().isSuitableForVgpu(vgpu, vgpu.getCurrentRequestedBw())) {
+			return false;
+		}
+		final List<Double> mipsShare = vgpu.getCurrentRequestedMips();
+		final int slicePes = getComputeSlicePes(pgpu);
+		if (mipsShare.size() > profile.getComputeSlices() * slicePes) {
+			return false;
+		}
+		// the pes of the compute slices are only used by the instance
+		final List<Pe> pgpuPes = pgpu.getPeList();
+		for (int i = 0; i < mipsShare.size(); i++) {
+			if (mipsShare.get(i) > pgpuPes.get(i).getPeProvisioner().getMips()) {
+				return false;
+			}
+		}
+		if (getFreeStart(pgpu, profile) != -1) {
+			return true;
+		}
+		return isReconfigurable() && isIdle(pgpu) && pack(pgpu, profile) != null;
+	}
+
+	@Override
+	public boolean allocatePgpuForVgpu(Pgpu pgpu, Vgpu vgpu, List<Double> mipsShare, int gddramShare, long bwShare) {
+		if (!isSuitable(pgpu, vgpu)) {
+			return false;
+		}
+		final MigProfile profile = MigVgpuTags.getProfile(getVideoCardType(), vgpu.getType());
+		int start = getFreeStart(pgpu, profile);
+		if (start == -1) {
+			int[] starts = pack(pgpu, profile);
+			relocate(pgpu, starts);
+			start = starts[starts.length - 1];
+		}
+
+		// allocate gddram
+		pgpu.getGddramProvisioner().allocateGddramForVgpu(vgpu, gddramShare);
+		// allocated gddram bandwidth
+		pgpu.getBwProvisioner().allocateBwForVgpu(vgpu, bwShare);
+		// and finally, take the pes of the compute slices
+		getPgpuVgpuMap().get(pgpu).add(vgpu);
+		getVgpuPeMap().put(vgpu, allocatePes(pgpu, vgpu.getVm(), start, mipsShare));
+		MipsVector allocatedMips = MipsVector.of(mipsShare);
+		getMipsMap().put(vgpu, allocatedMips);
+		vgpu.setCurrentAllocatedMips(allocatedMips);
+		getVgpuStartMap().put(vgpu, start);
+		getPgpuSliceMap().put(pgpu, getPgpuSliceMap().get(pgpu) | profile.getSliceMask(start));
+		return true;
+	}
+
+	@Override
+	public void deallocatePgpuForVgpu(Vgpu vgpu) {
+		final Pgpu pgpu = getPgpuForVgpu(vgpu);
+		final MigProfile profile = MigVgpuTags.getProfile(getVideoCardType(), vgpu.getType());
+		final int start = getVgpuStartMap().remove(vgpu);
+		super.deallocatePgpuForVgpu(vgpu);
+		getPgpuSliceMap().put(pgpu, getPgpuSliceMap().get(pgpu) & ~profile.getSliceMask(start));
+	}
+
+	@Override
+	public void deallocatePgpusForAllVgpus() {
+		super.deallocatePgpusForAllVgpus();
+		for (Pgpu pgpu : getPgpuList()) {
+			getPgpuSliceMap().put(pgpu, 0);
+		}
+		getVgpuStartMap().clear();
+	}
+
+	/**
+	 * Repacks the instances of a pgpu, so that its free memory slices are
+	 * contiguous. The instances keep their MIPS, gddram and bandwidth, but are
+	 * moved to other compute slices.
+	 *
+	 * @param pgpu the pgpu
+	 * @return $true if the instances are repacked; $false if one of them runs a
+	 *         task, or they cannot be repacked.
+	 */
+	public boolean reconfigure(Pgpu pgpu) {
+		if (!isIdle(pgpu)) {
+			return false;
+		}
+		int[] starts = pack(pgpu, null);
+		if (starts == null) {
+			return false;
+		}
+		relocate(pgpu, starts);
+		return true;
+	}
+
+	/**
+	 * Returns the memory slice that an instance of the profile is best placed
+	 * at on the pgpu, i.e. the free valid start that blocks the least of the
+	 * placements left on the pgpu (see
+	 * {@link #getFragmentationLoss(Pgpu, MigProfile)}). Ties go to the lowest
+	 * start.
+	 *
+	 * @param pgpu    the pgpu
+	 * @param profile the profile of the instance
+	 * @return the memory slice, or -1 if no valid start is free
+	 */
+	public int getFreeStart(Pgpu pgpu, MigProfile profile) {
+		final int taken = getPgpuSliceMap().get(pgpu);
+		final int capacity = getPlacementCapacity(taken);
+		int bestStart = -1;
+		int bestLoss = Integer.MAX_VALUE;
+		for (int start : profile.getStarts()) {
+			final int mask = profile.getSliceMask(start);
+			if ((taken & mask) != 0) {
+				continue;
+			}
+			final int loss = capacity - getPlacementCapacity(taken | mask);
+			if (loss < bestLoss) {
+				bestLoss = loss;
+				bestStart = start;
+			}
+		}
+		return bestStart;
+	}
+
+	/**
+	 * Returns how much of the placements left on a pgpu an instance of the
+	 * given profile blocks when it is placed at its best start. Each placement
+	 * counts by its memory slices.
+	 *
+	 * @param pgpu    the pgpu
+	 * @param profile the profile of the instance
+	 * @return the placements blocked by the instance, or -1 if no valid start
+	 *         is free
+	 */
+	public int getFragmentationLoss(Pgpu pgpu, MigProfile profile) {
+		final int start = getFreeStart(pgpu, profile);
+		if (start == -1) {
+			return -1;
+		}
+		final int taken = getPgpuSliceMap().get(pgpu);
+		return getPlacementCapacity(taken) - getPlacementCapacity(taken | profile.getSliceMask(start));
+	}
+
+	/**
+	 * @param pgpu the pgpu
+	 * @return the number of memory slices of the pgpu that are taken
+	 */
+	public int getTakenMemorySlices(Pgpu pgpu) {
+		return Integer.bitCount(getPgpuSliceMap().get(pgpu));
+	}
+
+	/**
+	 * @param vgpu the vgpu
+	 * @return the memory slice the vgpu starts at, or -1 if it is not placed
+	 */
+	public int getMemorySliceStart(Vgpu vgpu) {
+		Integer start = getVgpuStartMap().get(vgpu);
+		return start == null ? -1 : start;
+	}
+
+	/**
+	 * Sums the memory slices of all the placements that are left free by the
+	 * given taken memory slices.
+	 */
+	protected int getPlacementCapacity(int taken) {
+		int capacity = 0;
+		for (MigProfile profile : MigVgpuTags.getProfiles(getVideoCardType())) {
+			for (int start : profile.getStarts()) {
+				if ((taken & profile.getSliceMask(start)) == 0) {
+					capacity += profile.getMemorySlices();
+				}
+			}
+		}
+		return capacity;
+	}
+
+	/**
+	 * Returns the number of PEs of a compute slice of the pgpu.
+	 */
+	protected int getComputeSlicePes(Pgpu pgpu) {
+		return pgpu.getPeList().size() / MigVideoCardTags.getComputeSlices(getVideoCardType());
+	}
+
+	/**
+	 * Checks whether none of the instances of a pgpu runs a task.
+	 */
+	protected boolean isIdle(Pgpu pgpu) {
+		for (Vgpu vgpu : getPgpuVgpuMap().get(pgpu)) {
+			GpuTaskScheduler scheduler = vgpu.getGpuTaskScheduler();
+			if (scheduler != null && scheduler.runningTasks() > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Places the instances of a pgpu, and the new one if any, from scratch. The
+	 * largest instances are placed first, each at its lowest free valid start.
+	 *
+	 * @param pgpu       the pgpu
+	 * @param newProfile the profile of the new instance, or $null
+	 * @return the starts of the instances, in the order of the vgpus of the
+	 *         pgpu and then the new instance; or $null if they do not fit
+	 */
+	private int[] pack(Pgpu pgpu, MigProfile newProfile) {
+		final List<MigProfile> profiles = new ArrayList<MigProfile>();
+		for (Vgpu vgpu : getPgpuVgpuMap().get(pgpu)) {
+			profiles.add(MigVgpuTags.getProfile(getVideoCardType(), vgpu.getType()));
+		}
+		if (newProfile != null) {
+			profiles.add(newProfile);
+		}
+		final List<Integer> order = new ArrayList<Integer>();
+		for (int i = 0; i < profiles.size(); i++) {
+			order.add(i);
+		}
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				return Integer.compare(profiles.get(i2).getMemorySlices(), profiles.get(i1).getMemorySlices());
+			}
+		});
+		final int[] starts = new int[profiles.size()];
+		int taken = 0;
+		for (int i : order) {
+			MigProfile profile = profiles.get(i);
+			starts[i] = -1;
+			for (int start : profile.getStarts()) {
+				if ((taken & profile.getSliceMask(start)) == 0) {
+					starts[i] = start;
+					taken |= profile.getSliceMask(start);
+					break;
+				}
+			}
+			if (starts[i] == -1) {
+				return null;
+			}
+		}
+		return starts;
+	}
+
+	/**
+	 * Moves the instances of a pgpu to the given starts.
+	 */
+	private void relocate(Pgpu pgpu, int[] starts) {
+		final List<Vgpu> vgpus = getPgpuVgpuMap().get(pgpu);
+		for (Vgpu vgpu : vgpus) {
+			for (Pe pe : getVgpuPeMap().get(vgpu)) {
+				pe.getPeProvisioner().deallocateMipsForVm(vgpu.getVm());
+			}
+		}
+		int taken = 0;
+		for (int i = 0; i < vgpus.size(); i++) {
+			Vgpu vgpu = vgpus.get(i);
+			MigProfile profile = MigVgpuTags.getProfile(getVideoCardType(), vgpu.getType());
+			getVgpuPeMap().put(vgpu, allocatePes(pgpu, vgpu.getVm(), starts[i], getMipsMap().get(vgpu)));
+			getVgpuStartMap().put(vgpu, starts[i]);
+			taken |= profile.getSliceMask(starts[i]);
+		}
+		getPgpuSliceMap().put(pgpu, taken);
+	}
+
+	/**
+	 * Allocates the PEs of the compute slices from the given start.
+	 */
+	private List<Pe> allocatePes(Pgpu pgpu, Vm vm, int start, List<Double> mipsShare) {
+		final int first = start * getComputeSlicePes(pgpu);
+		final List<Pe> selectedPes = new ArrayList<Pe>();
+		for (int i = 0; i < mipsShare.size(); i++) {
+			Pe pe = pgpu.getPeList().get(first + i);
+			pe.getPeProvisioner().allocateMipsForVm(vm, mipsShare.get(i));
+			selectedPes.add(pe);
+		}
+		return selectedPes;
+	}
+
+	/**
+	 * @return whether the instances of a pgpu may be repacked to place a vgpu
+	 */
+	public boolean isReconfigurable() {
+		return reconfigurable;
+	}
+
+	/**
+	 * @param reconfigurable whether the instances of a pgpu may be repacked to
+	 *                       place a vgpu
+	 */
+	public void setReconfigurable(boolean reconfigurable) {
+		this.reconfigurable = reconfigurable;
+	}
+
+	/**
+	 * @return the pgpuSliceMap
+	 */
+	protected Map<Pgpu, Integer> getPgpuSliceMap() {
+		return pgpuSliceMap;
+	}
+
+	/**
+	 * @param pgpuSliceMap the pgpuSliceMap to set
+	 */
+	protected void setPgpuSliceMap(Map<Pgpu, Integer> pgpuSliceMap) {
+		this.pgpuSliceMap = pgpuSliceMap;
+	}
+
+	/**
+	 * @return the vgpuStartMap
+	 */
+	protected Map<Vgpu, Integer> getVgpuStartMap() {
+		return vgpuStartMap;
+	}
+
+	/**
+	 * @param vgpuStartMap the vgpuStartMap to set
+	 */
+	protected void setVgpuStartMap(Map<Vgpu, Integer> vgpuStartMap) {
+		this.vgpuStartMap = vgpuStartMap;
+	}
+
+}
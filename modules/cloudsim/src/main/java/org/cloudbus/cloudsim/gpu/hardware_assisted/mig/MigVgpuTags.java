@@ -0,0 +1,211 @@
+package org.cloudbus.cloudsim.gpu.hardware_assisted.mig;
+
+import org.cloudbus.cloudsim.gpu.BusTags;
+import org.cloudbus.cloudsim.gpu.GpuTaskScheduler;
+import org.cloudbus.cloudsim.gpu.Vgpu;
+
+/**
+ *
+ * Methods & constants that are related to the Multi-Instance GPU (MIG)
+ * {@link Vgpu virtual gpus} types and configurations. Each type is a
+ * {@link MigProfile profile} of GPU instance, with the valid placements of its
+ * instances on a pgpu.
+ *
+ * @since CloudSim Toolkit 4.0
+ *
+ */
+public class MigVgpuTags {
+
+	public final static String DONT_CARE = null;
+
+	/** The SMs of a compute slice, on the video cards of the catalogue. */
+	public final static int SMS_PER_COMPUTE_SLICE = 14;
+
+	/** NVIDIA A100 40GB Profiles */
+	public final static String A100_1G_5GB = "NVIDIA A100 1g.5gb";
+	public final static String A100_2G_10GB = "NVIDIA A100 2g.10gb";
+	public final static String A100_3G_20GB = "NVIDIA A100 3g.20gb";
+	public final static String A100_4G_20GB = "NVIDIA A100 4g.20gb";
+	public final static String A100_7G_40GB = "NVIDIA A100 7g.40gb";
+
+	public final static MigProfile A100_1G_5GB_PROFILE = new MigProfile(A100_1G_5GB, 1, 1, 0, 1, 2, 3, 4, 5, 6);
+	public final static MigProfile A100_2G_10GB_PROFILE = new MigProfile(A100_2G_10GB, 2, 2, 0, 2, 4);
+	public final static MigProfile A100_3G_20GB_PROFILE = new MigProfile(A100_3G_20GB, 3, 4, 0, 4);
+	public final static MigProfile A100_4G_20GB_PROFILE = new MigProfile(A100_4G_20GB, 4, 4, 0);
+	public final static MigProfile A100_7G_40GB_PROFILE = new MigProfile(A100_7G_40GB, 7, 8, 0);
+
+	public final static MigProfile[] A100_PROFILES = { A100_1G_5GB_PROFILE, A100_2G_10GB_PROFILE,
+			A100_3G_20GB_PROFILE, A100_4G_20GB_PROFILE, A100_7G_40GB_PROFILE };
+
+	/** NVIDIA A30 Profiles */
+	public final static String A30_1G_6GB = "NVIDIA A30 1g.6gb";
+	public final static String A30_2G_12GB = "NVIDIA A30 2g.12gb";
+	public final static String A30_4G_24GB = "NVIDIA A30 4g.24gb";
+
+	public final static MigProfile A30_1G_6GB_PROFILE = new MigProfile(A30_1G_6GB, 1, 1, 0, 1, 2, 3);
+	public final static MigProfile A30_2G_12GB_PROFILE = new MigProfile(A30_2G_12GB, 2, 2, 0, 2);
+	public final static MigProfile A30_4G_24GB_PROFILE = new MigProfile(A30_4G_24GB, 4, 4, 0);
+
+	public final static MigProfile[] A30_PROFILES = { A30_1G_6GB_PROFILE, A30_2G_12GB_PROFILE,
+			A30_4G_24GB_PROFILE };
+
+	/**
+	 * A100 Board 1g.5gb GPU instance 7/pGPU
+	 *
+	 * @return a 1g.5gb virtual GPU
+	 */
+	public static Vgpu getA100Mig1g5gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA100Vgpu(vgpuId, scheduler, A100_1G_5GB_PROFILE);
+	}
+
+	/**
+	 * A100 Board 2g.10gb GPU instance 3/pGPU
+	 *
+	 * @return a 2g.10gb virtual GPU
+	 */
+	public static Vgpu getA100Mig2g10gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA100Vgpu(vgpuId, scheduler, A100_2G_10GB_PROFILE);
+	}
+
+	/**
+	 * A100 Board 3g.20gb GPU instance 2/pGPU
+	 *
+	 * @return a 3g.20gb virtual GPU
+	 */
+	public static Vgpu getA100Mig3g20gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA100Vgpu(vgpuId, scheduler, A100_3G_20GB_PROFILE);
+	}
+
+	/**
+	 * A100 Board 4g.20gb GPU instance 1/pGPU
+	 *
+	 * @return a 4g.20gb virtual GPU
+	 */
+	public static Vgpu getA100Mig4g20gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA100Vgpu(vgpuId, scheduler, A100_4G_20GB_PROFILE);
+	}
+
+	/**
+	 * A100 Board 7g.40gb GPU instance 1/pGPU
+	 *
+	 * @return a 7g.40gb virtual GPU
+	 */
+	public static Vgpu getA100Mig7g40gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA100Vgpu(vgpuId, scheduler, A100_7G_40GB_PROFILE);
+	}
+
+	/**
+	 * A30 Board 1g.6gb GPU instance 4/pGPU
+	 *
+	 * @return a 1g.6gb virtual GPU
+	 */
+	public static Vgpu getA30Mig1g6gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA30Vgpu(vgpuId, scheduler, A30_1G_6GB_PROFILE);
+	}
+
+	/**
+	 * A30 Board 2g.12gb GPU instance 2/pGPU
+	 *
+	 * @return a 2g.12gb virtual GPU
+	 */
+	public static Vgpu getA30Mig2g12gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA30Vgpu(vgpuId, scheduler, A30_2G_12GB_PROFILE);
+	}
+
+	/**
+	 * A30 Board 4g.24gb GPU instance 1/pGPU
+	 *
+	 * @return a 4g.24gb virtual GPU
+	 */
+	public static Vgpu getA30Mig4g24gb(int vgpuId, GpuTaskScheduler scheduler) {
+		return createA30Vgpu(vgpuId, scheduler, A30_4G_24GB_PROFILE);
+	}
+
+	private static Vgpu createA100Vgpu(int vgpuId, GpuTaskScheduler scheduler, MigProfile profile) {
+		// GPU Clock: 1410 MHz
+		final double mips = MigVideoCardTags.NVIDIA_A100_CARD_PE_MIPS;
+		// SM count: 14 per compute slice
+		final int numberOfPes = SMS_PER_COMPUTE_SLICE * profile.getComputeSlices();
+		// GDDRAM: 5 GB per memory slice
+		final int gddram = MigVideoCardTags.NVIDIA_A100_CARD_GPU_MEM
+				/ MigVideoCardTags.NVIDIA_A100_CARD_MEMORY_SLICES * profile.getMemorySlices();
+		// Bandwidth: 1555 GB/s shared by the memory slices
+		final long bw = MigVideoCardTags.NVIDIA_A100_CARD_GPU_BW / MigVideoCardTags.NVIDIA_A100_CARD_MEMORY_SLICES
+				* profile.getMemorySlices();
+		return new Vgpu(vgpuId, mips, numberOfPes, gddram, bw, profile.getType(), DONT_CARE, scheduler,
+				BusTags.PCI_E_4_X16_BW);
+	}
+
+	private static Vgpu createA30Vgpu(int vgpuId, GpuTaskScheduler scheduler, MigProfile profile) {
+		// GPU Clock: 1440 MHz
+		final double mips = MigVideoCardTags.NVIDIA_A30_CARD_PE_MIPS;
+		// SM count: 14 per compute slice
+		final int numberOfPes = SMS_PER_COMPUTE_SLICE * profile.getComputeSlices();
+		// GDDRAM: 6 GB per memory slice
+		final int gddram = MigVideoCardTags.NVIDIA_A30_CARD_GPU_MEM
+				/ MigVideoCardTags.NVIDIA_A30_CARD_MEMORY_SLICES * profile.getMemorySlices();
+		// Bandwidth: 933 GB/s shared by the memory slices
+		final long bw = MigVideoCardTags.NVIDIA_A30_CARD_GPU_BW / MigVideoCardTags.NVIDIA_A30_CARD_MEMORY_SLICES
+				* profile.getMemorySlices();
+		return new Vgpu(vgpuId, mips, numberOfPes, gddram, bw, profile.getType(), DONT_CARE, scheduler,
+				BusTags.PCI_E_4_X16_BW);
+	}
+
+	/**
+	 * Returns the MIG profiles a video card type supports.
+	 *
+	 * @param videoCardType
+	 *            type of the videoCard
+	 * @return the profiles, none if the video card does not support MIG
+	 */
+	public static MigProfile[] getProfiles(String videoCardType) {
+		switch (videoCardType) {
+		case MigVideoCardTags.NVIDIA_A100_CARD:
+			return A100_PROFILES;
+		case MigVideoCardTags.NVIDIA_A30_CARD:
+			return A30_PROFILES;
+		default:
+			return new MigProfile[0];
+		}
+	}
+
+	/**
+	 * Returns the MIG profile of a vgpu type on a video card type.
+	 *
+	 * @param videoCardType
+	 *            type of the videoCard
+	 * @param vgpuType
+	 *            type of the vgpu
+	 * @return the profile, or $null if the videoCard does not support the
+	 *         given vgpu type
+	 */
+	public static MigProfile getProfile(String videoCardType, String vgpuType) {
+		for (MigProfile profile : getProfiles(videoCardType)) {
+			if (profile.getType().equals(vgpuType)) {
+				return profile;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether a videoCard type supports a given vgpu type or not.
+	 *
+	 * @param videoCardType
+	 *            type of the videoCard
+	 * @param vgpuType
+	 *            type of the vgpu
+	 * @return $true if the videoCard supports the given vgpu type; $false
+	 *         otherwise.
+	 */
+	public static boolean isVideoCardSuitable(String videoCardType, String vgpuType) {
+		return getProfile(videoCardType, vgpuType) != null;
+	}
+
+	/**
+	 * Singleton class (cannot be instantiated)
+	 */
+	private MigVgpuTags() {
+	}
+
+}
@@ -0,0 +1,134 @@
+package org.cloudbus.cloudsim.gpu.hardware_assisted.mig;
+
+import org.cloudbus.cloudsim.gpu.VideoCard;
+
+/**
+ *
+ * Methods & constants that are related to the {@link VideoCard VideoCards}
+ * types and configurations that support Multi-Instance GPU (MIG).
+ *
+ * @since CloudSim Toolkit 4.0
+ *
+ */
+public class MigVideoCardTags {
+
+	// Constants
+
+	public final static String NVIDIA_A100_CARD = "NVIDIA A100";
+	public final static String NVIDIA_A30_CARD = "NVIDIA A30";
+
+	public final static int NVIDIA_AMPERE_SM_CUDA_CORES = 64;
+
+	// NVIDIA A100 PCIe 40GB Spec
+
+	/** 250 Watts */
+	public final static int NVIDIA_A100_CARD_POWER = 250;
+	/** 1 GPU */
+	public final static int NVIDIA_A100_CARD_GPUS = 1;
+	/** GPU type */
+	public final static String NVIDIA_A100_GPU_TYPE = "GA100";
+	/** 40 GBs/GPU */
+	public final static int NVIDIA_A100_CARD_GPU_MEM = 40960;
+	/** 108 SMs / GPU */
+	public final static int NVIDIA_A100_CARD_GPU_PES = 108;
+	/** 1410 MHz */
+	public final static double NVIDIA_A100_CARD_PE_MIPS = getGpuPeMipsFromFrequency(NVIDIA_A100_CARD, 1410);
+	/** 1555 GB/s */
+	public final static long NVIDIA_A100_CARD_GPU_BW = 1555 * 1024;
+	/** 7 GPCs / GPU */
+	public final static int NVIDIA_A100_CARD_COMPUTE_SLICES = 7;
+	/** 8 memory slices / GPU */
+	public final static int NVIDIA_A100_CARD_MEMORY_SLICES = 8;
+
+	// NVIDIA A30 Spec
+
+	/** 165 Watts */
+	public final static int NVIDIA_A30_CARD_POWER = 165;
+	/** 1 GPU */
+	public final static int NVIDIA_A30_CARD_GPUS = 1;
+	/** GPU type */
+	public final static String NVIDIA_A30_GPU_TYPE = "GA100";
+	/** 24 GBs/GPU */
+	public final static int NVIDIA_A30_CARD_GPU_MEM = 24576;
+	/** 56 SMs / GPU */
+	public final static int NVIDIA_A30_CARD_GPU_PES = 56;
+	/** 1440 MHz */
+	public final static double NVIDIA_A30_CARD_PE_MIPS = getGpuPeMipsFromFrequency(NVIDIA_A30_CARD, 1440);
+	/** 933 GB/s */
+	public final static long NVIDIA_A30_CARD_GPU_BW = 933 * 1024;
+	/** 4 GPCs / GPU */
+	public final static int NVIDIA_A30_CARD_COMPUTE_SLICES = 4;
+	/** 4 memory slices / GPU */
+	public final static int NVIDIA_A30_CARD_MEMORY_SLICES = 4;
+
+	public static double getGpuPeFrequencyFromMips(String type, double mips) {
+		double frequency = mips;
+		switch (type) {
+		case NVIDIA_A100_CARD:
+		case NVIDIA_A30_CARD:
+			frequency /= NVIDIA_AMPERE_SM_CUDA_CORES * 2;
+			break;
+		default:
+			break;
+		}
+		return frequency;
+	}
+
+	public static double getGpuPeMipsFromFrequency(String type, double frequency) {
+		double mips = frequency;
+		switch (type) {
+		case NVIDIA_A100_CARD:
+		case NVIDIA_A30_CARD:
+			mips *= NVIDIA_AMPERE_SM_CUDA_CORES * 2;
+			break;
+		default:
+			break;
+		}
+		return mips;
+	}
+
+	/**
+	 * Returns the number of compute slices of a pgpu of a video card type.
+	 *
+	 * @param videoCardType
+	 *            type of the videoCard
+	 * @return the number of compute slices, or 0 if the video card does not
+	 *         support MIG
+	 */
+	public static int getComputeSlices(String videoCardType) {
+		switch (videoCardType) {
+		case NVIDIA_A100_CARD:
+			return NVIDIA_A100_CARD_COMPUTE_SLICES;
+		case NVIDIA_A30_CARD:
+			return NVIDIA_A30_CARD_COMPUTE_SLICES;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the number of memory slices of a pgpu of a video card type.
+	 *
+	 * @param videoCardType
+	 *            type of the videoCard
+	 * @return the number of memory slices, or 0 if the video card does not
+	 *         support MIG
+	 */
+	public static int getMemorySlices(String videoCardType) {
+		switch (videoCardType) {
+		case NVIDIA_A100_CARD:
+			return NVIDIA_A100_CARD_MEMORY_SLICES;
+		case NVIDIA_A30_CARD:
+			return NVIDIA_A30_CARD_MEMORY_SLICES;
+		default:
+			return 0;
+		}
+	}
+
+	/**
+	 * Singleton class (i.e. cannot be initialized)
+	 */
+	private MigVideoCardTags() {
+	}
+
+}
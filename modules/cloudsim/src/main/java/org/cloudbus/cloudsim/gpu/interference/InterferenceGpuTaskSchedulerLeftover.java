@@ -3,25 +3,41 @@
  */
 package org.cloudbus.cloudsim.gpu.interference;
 
-import java.util.List;
-
+import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.gpu.GpuTaskSchedulerLeftover;
 import org.cloudbus.cloudsim.gpu.ResGpuTask;
+import org.cloudbus.cloudsim.gpu.interference.models.AggregateInterferenceModel;
 import org.cloudbus.cloudsim.gpu.interference.models.InterferenceModel;
-import org.cloudbus.cloudsim.util.MathUtil;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * This class extends {@link org.cloudbus.cloudsim.gpu.GpuTaskSchedulerLeftover}
- * to simulate inter-process interference caused by hardware conflicts.
+ * to simulate inter-process interference caused by hardware conflicts. With an
+ * {@link AggregateInterferenceModel}, the total demand of the running tasks is
+ * kept as tasks start and stop, and computed again only when the simulation
+ * time changes, so that an update costs the same as without interference.
  * 
  * @author Ahmad Siavashi
  * 
  */
 public class InterferenceGpuTaskSchedulerLeftover extends GpuTaskSchedulerLeftover {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The interference model */
 	private InterferenceModel<ResGpuTask> interferenceModel;
 
+	/** The total demand of the running tasks, for an aggregate model. */
+	private double totalDemand;
+
+	/**
+	 * The time the total demand is for, or NaN if it has to be computed again.
+	 */
+	private double totalDemandTime = Double.NaN;
+
+	/** The number of running tasks the total demand is for. */
+	private int totalDemandTasks;
+
 	/**
 	 * This class extends {@link org.cloudbus.cloudsim.gpu.GpuTaskSchedulerLeftover}
 	 * to take the inter-process interference caused by hardware conflicts into
@@ -35,10 +51,58 @@ public class InterferenceGpuTaskSchedulerLeftover extends GpuTaskSchedulerLeftov
 	}
 
 	@Override
-	public double getTotalCurrentAvailableMipsForTask(ResGpuTask rcl, List<Double> mipsShare) {
-		List<Double> availableMips = getInterferenceModel().getAvailableMips(rcl, mipsShare, getTaskExecList());
-		double totalMips = MathUtil.sum(availableMips);
-		return totalMips;
+	public double getTotalCurrentAvailableMipsForTask(ResGpuTask rcl, MipsVector mipsShare) {
+		if (getInterferenceModel() instanceof AggregateInterferenceModel) {
+			AggregateInterferenceModel model = (AggregateInterferenceModel) getInterferenceModel();
+			double factor = model.getAvailableMipsFactor(getTotalDemand());
+			double totalMips = 0.0;
+			for (int peId : rcl.getPeIdList()) {
+				totalMips += mipsShare.getMips(peId) * factor;
+			}
+			return totalMips;
+		}
+		MipsVector availableMips = getInterferenceModel().getAvailableMips(rcl, mipsShare, getTaskExecList());
+		return availableMips.getTotalMips();
+	}
+
+	/**
+	 * Returns the total demand of the running tasks at the current simulation
+	 * time, for an aggregate interference model. It is summed over the running
+	 * tasks only if the time or the running tasks changed since it was last
+	 * summed.
+	 * 
+	 * @return the total demand of the running tasks
+	 */
+	protected double getTotalDemand() {
+		double time = CloudSim.clock();
+		if (totalDemandTime != time || totalDemandTasks != getTaskExecList().size()) {
+			AggregateInterferenceModel model = (AggregateInterferenceModel) getInterferenceModel();
+			totalDemand = 0.0;
+			for (ResGpuTask rgt : getTaskExecList()) {
+				totalDemand += model.getDemand(rgt, time);
+			}
+			totalDemandTime = time;
+			totalDemandTasks = getTaskExecList().size();
+		}
+		return totalDemand;
+	}
+
+	@Override
+	protected int allocatePes(ResGpuTask rcl) {
+		int pes = super.allocatePes(rcl);
+		// the task is appended to the exec list, so that its demand is added last
+		if (getInterferenceModel() instanceof AggregateInterferenceModel && totalDemandTime == CloudSim.clock()) {
+			totalDemand += ((AggregateInterferenceModel) getInterferenceModel()).getDemand(rcl, totalDemandTime);
+			totalDemandTasks++;
+		}
+		return pes;
+	}
+
+	@Override
+	protected void releasePes(ResGpuTask rcl) {
+		super.releasePes(rcl);
+		// summed again rather than subtracted, to sum the demands in the same order
+		totalDemandTime = Double.NaN;
 	}
 
 	/**
@@ -54,6 +118,7 @@ public class InterferenceGpuTaskSchedulerLeftover extends GpuTaskSchedulerLeftov
 	 */
 	protected void setInterferenceModel(InterferenceModel<ResGpuTask> interferenceModel) {
 		this.interferenceModel = interferenceModel;
+		totalDemandTime = Double.NaN;
 	}
 
 }
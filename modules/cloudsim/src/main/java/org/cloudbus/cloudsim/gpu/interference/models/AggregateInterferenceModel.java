@@ -0,0 +1,59 @@
+package org.cloudbus.cloudsim.gpu.interference.models;
+
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.gpu.ResGpuTask;
+import org.cloudbus.cloudsim.util.MipsVector;
+
+/**
+ * An {@link InterferenceModel} in which the slowdown of the running GpuTasks
+ * only depends on the total demand of the running GpuTasks on a shared
+ * resource. Every running task gets the same fraction of its MIPS, so that a
+ * scheduler can keep the total demand up to date as tasks start and stop, and
+ * compute the contention once per update instead of once per task.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public interface AggregateInterferenceModel extends InterferenceModel<ResGpuTask> {
+
+	/**
+	 * Returns the demand of a running GpuTask on the shared resource.
+	 *
+	 * @param rgt
+	 *            the running task
+	 * @param time
+	 *            the current simulation time
+	 * @return the demand of the task, that is added to the total demand
+	 */
+	public double getDemand(ResGpuTask rgt, double time);
+
+	/**
+	 * Returns the fraction of their MIPS that is available to the running
+	 * GpuTasks, given their total demand on the shared resource.
+	 *
+	 * @param totalDemand
+	 *            the sum of the demands of the running tasks
+	 * @return the fraction of the MIPS available to each running task, 1 if
+	 *         there is no slowdown
+	 */
+	public double getAvailableMipsFactor(double totalDemand);
+
+	/**
+	 * Returns the MIPS available for the GpuTask, with the total demand summed
+	 * over the given running tasks.
+	 */
+	@Override
+	public default MipsVector getAvailableMips(ResGpuTask rcl, MipsVector mipsShare, List<ResGpuTask> execList) {
+		double totalDemand = 0.0;
+		for (ResGpuTask rgt : execList) {
+			totalDemand += getDemand(rgt, CloudSim.clock());
+		}
+		double factor = getAvailableMipsFactor(totalDemand);
+		double[] allocatedMips = new double[mipsShare.size()];
+		for (int peId : rcl.getPeIdList()) {
+			allocatedMips[peId] = mipsShare.getMips(peId) * factor;
+		}
+		return MipsVector.wrap(allocatedMips);
+	}
+}
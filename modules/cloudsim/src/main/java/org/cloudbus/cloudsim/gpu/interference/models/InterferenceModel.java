@@ -1,7 +1,10 @@
 package org.cloudbus.cloudsim.gpu.interference.models;
 
+import java.io.Serializable;
 import java.util.List;
 
+import org.cloudbus.cloudsim.util.MipsVector;
+
 /**
  * The InterferenceModel interface needs to be implemented in order to provide a
  * model for inter-process interference. GpuTasks/Cloudlets running on a
@@ -11,7 +14,7 @@ import java.util.List;
  * @author Ahmad Siavashi
  * 
  */
-public interface InterferenceModel<T> {
+public interface InterferenceModel<T> extends Serializable {
 
 	/**
 	 * Returns the MIPS available for the Cloudlet/GpuTask when running with other
@@ -26,5 +29,15 @@ public interface InterferenceModel<T> {
 	 * @return available mips for the cloudlet/task, considering the possible
 	 *         slowdown.
 	 */
-	public List<Double> getAvailableMips(T rcl, List<Double> mipsShare, List<T> execList);
+	public MipsVector getAvailableMips(T rcl, MipsVector mipsShare, List<T> execList);
+
+	/**
+	 * Returns the MIPS available for the Cloudlet/GpuTask when running with other
+	 * Cloudlets/GpuTasks.
+	 * 
+	 * @see #getAvailableMips(Object, MipsVector, List)
+	 */
+	public default MipsVector getAvailableMips(T rcl, List<Double> mipsShare, List<T> execList) {
+		return getAvailableMips(rcl, MipsVector.of(mipsShare), execList);
+	}
 }
@@ -0,0 +1,78 @@
+package org.cloudbus.cloudsim.gpu.interference.models;
+
+import org.cloudbus.cloudsim.gpu.ResGpuTask;
+
+/**
+ * {@link InterferenceModelGpuL2Cache} considers the contention on the L2 cache
+ * of a Vgpu. The demand of a running GpuTask is the fraction of the L2 cache
+ * its working set takes, which grows with its utilization of the GPU. As long
+ * as the working sets fit in the cache, there is no slowdown. Beyond that, the
+ * hit rate of the tasks drops to the inverse of the total demand, and each
+ * miss costs a given fraction of the execution time of a task that would only
+ * hit.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class InterferenceModelGpuL2Cache implements AggregateInterferenceModel {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The fraction of the L2 cache a task takes when it fully utilizes the GPU. */
+	private final double workingSet;
+
+	/** The extra execution time of a task whose accesses all miss the cache. */
+	private final double missPenalty;
+
+	/**
+	 * A model in which the working set of a task is proportional to its
+	 * utilization of the GPU.
+	 * 
+	 * @param workingSet
+	 *            the fraction of the L2 cache a task takes when it fully
+	 *            utilizes the GPU, should be positive.
+	 * @param missPenalty
+	 *            the extra execution time of a task whose accesses all miss the
+	 *            cache, relative to a task whose accesses all hit, should be
+	 *            non-negative.
+	 */
+	public InterferenceModelGpuL2Cache(double workingSet, double missPenalty) {
+		if (workingSet <= 0) {
+			throw new IllegalArgumentException("workingSet should be positive.");
+		}
+		if (missPenalty < 0) {
+			throw new IllegalArgumentException("missPenalty should be non-negative.");
+		}
+		this.workingSet = workingSet;
+		this.missPenalty = missPenalty;
+	}
+
+	@Override
+	public double getDemand(ResGpuTask rgt, double time) {
+		return getWorkingSet() * rgt.getGpuTask().getUtilizationOfGpu(time);
+	}
+
+	@Override
+	public double getAvailableMipsFactor(double totalDemand) {
+		if (totalDemand <= 1) {
+			return 1.0;
+		}
+		double missRate = 1 - 1 / totalDemand;
+		return 1.0 / (1 + getMissPenalty() * missRate);
+	}
+
+	/**
+	 * @return the fraction of the L2 cache a task takes when it fully utilizes
+	 *         the GPU
+	 */
+	public double getWorkingSet() {
+		return workingSet;
+	}
+
+	/**
+	 * @return the extra execution time of a task whose accesses all miss the
+	 *         cache
+	 */
+	public double getMissPenalty() {
+		return missPenalty;
+	}
+}
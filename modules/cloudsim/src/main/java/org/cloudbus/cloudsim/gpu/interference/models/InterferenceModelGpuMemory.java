@@ -3,11 +3,6 @@
  */
 package org.cloudbus.cloudsim.gpu.interference.models;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
-import org.cloudbus.cloudsim.core.CloudSim;
 import org.cloudbus.cloudsim.gpu.ResGpuTask;
 
 /**
@@ -19,7 +14,9 @@ import org.cloudbus.cloudsim.gpu.ResGpuTask;
  * @author Ahmad Siavashi
  * 
  */
-public class InterferenceModelGpuMemory implements InterferenceModel<ResGpuTask> {
+public class InterferenceModelGpuMemory implements AggregateInterferenceModel {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * This class uses gddram bandwidth requests of vgpu's running gpuTasks to
@@ -31,22 +28,15 @@ public class InterferenceModelGpuMemory implements InterferenceModel<ResGpuTask>
 	}
 
 	@Override
-	public List<Double> getAvailableMips(ResGpuTask rcl, List<Double> mipsShare, List<ResGpuTask> execList) {
-		List<Double> allocatedMips = new ArrayList<Double>(Collections.nCopies(mipsShare.size(), 0.0));
-		for (Integer peId : rcl.getPeIdList()) {
-			allocatedMips.set(peId, mipsShare.get(peId));
-		}
-		double totalMemoryUtilization = 0.0;
-		for (ResGpuTask rgt : execList) {
-			totalMemoryUtilization += rgt.getGpuTask().getUtilizationOfGddram(CloudSim.clock());
-		}
-		if (totalMemoryUtilization <= 1) {
-			return allocatedMips;
-		}
-		double scaleFactor = 1.0 / totalMemoryUtilization;
-		for (int i = 0; i < allocatedMips.size(); i++) {
-			allocatedMips.set(i, allocatedMips.get(i) * scaleFactor);
+	public double getDemand(ResGpuTask rgt, double time) {
+		return rgt.getGpuTask().getUtilizationOfGddram(time);
+	}
+
+	@Override
+	public double getAvailableMipsFactor(double totalDemand) {
+		if (totalDemand <= 1) {
+			return 1.0;
 		}
-		return allocatedMips;
+		return 1.0 / totalDemand;
 	}
 }
@@ -0,0 +1,64 @@
+package org.cloudbus.cloudsim.gpu.interference.models;
+
+import org.cloudbus.cloudsim.gpu.ResGpuTask;
+
+/**
+ * {@link InterferenceModelGpuMemoryBandwidth} considers the contention on the
+ * GDDRAM bandwidth of a Vgpu. The demand of a running GpuTask is its
+ * utilization of the GDDRAM bandwidth. When the total demand exceeds the
+ * bandwidth, it is shared in proportion to the demands, and the memory-bound
+ * part of each task slows down by the total demand while the rest of it runs
+ * at full speed.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class InterferenceModelGpuMemoryBandwidth implements AggregateInterferenceModel {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The fraction of the execution time of a task spent waiting on memory. */
+	private final double memoryBoundFraction;
+
+	/**
+	 * A model in which the tasks are entirely memory-bound, so that they slow
+	 * down by the total demand on the bandwidth once it is exceeded.
+	 */
+	public InterferenceModelGpuMemoryBandwidth() {
+		this(1.0);
+	}
+
+	/**
+	 * A model in which a part of the execution time of the tasks is spent
+	 * waiting on memory.
+	 * 
+	 * @param memoryBoundFraction
+	 *            should be a number in [0,1] interval.
+	 */
+	public InterferenceModelGpuMemoryBandwidth(double memoryBoundFraction) {
+		if (memoryBoundFraction < 0 || memoryBoundFraction > 1) {
+			throw new IllegalArgumentException("memoryBoundFraction should be in [0,1] interval.");
+		}
+		this.memoryBoundFraction = memoryBoundFraction;
+	}
+
+	@Override
+	public double getDemand(ResGpuTask rgt, double time) {
+		return rgt.getGpuTask().getUtilizationOfBw(time);
+	}
+
+	@Override
+	public double getAvailableMipsFactor(double totalDemand) {
+		if (totalDemand <= 1) {
+			return 1.0;
+		}
+		return 1.0 / (1 - memoryBoundFraction + memoryBoundFraction * totalDemand);
+	}
+
+	/**
+	 * @return the fraction of the execution time of a task spent waiting on
+	 *         memory
+	 */
+	public double getMemoryBoundFraction() {
+		return memoryBoundFraction;
+	}
+}
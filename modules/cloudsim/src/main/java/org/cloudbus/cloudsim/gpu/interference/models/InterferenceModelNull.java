@@ -3,10 +3,6 @@
  */
 package org.cloudbus.cloudsim.gpu.interference.models;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 import org.cloudbus.cloudsim.gpu.ResGpuTask;
 
 /**
@@ -16,7 +12,9 @@ import org.cloudbus.cloudsim.gpu.ResGpuTask;
  * @author Ahmad Siavashi
  * 
  */
-public class InterferenceModelNull implements InterferenceModel<ResGpuTask> {
+public class InterferenceModelNull implements AggregateInterferenceModel {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * A simple interference model in which simultaneous execution of multiple tasks
@@ -26,11 +24,12 @@ public class InterferenceModelNull implements InterferenceModel<ResGpuTask> {
 	}
 
 	@Override
-	public List<Double> getAvailableMips(ResGpuTask rcl, List<Double> mipsShare, List<ResGpuTask> execList) {
-		List<Double> allocatedMips = new ArrayList<Double>(Collections.nCopies(mipsShare.size(), 0.0));
-		for (Integer peId : rcl.getPeIdList()) {
-			allocatedMips.set(peId, mipsShare.get(peId));
-		}
-		return allocatedMips;
+	public double getDemand(ResGpuTask rgt, double time) {
+		return 0.0;
+	}
+
+	@Override
+	public double getAvailableMipsFactor(double totalDemand) {
+		return 1.0;
 	}
 }
@@ -21,6 +21,8 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  */
 public class PerformanceGpuHost extends GpuHost {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * @see org.cloudbus.cloudsim.gpu.GpuHost#GpuHost GpuHost
 	 */
@@ -64,4 +66,13 @@ public class PerformanceGpuHost extends GpuHost {
 		return smallerTime;
 	}
 
+	/**
+	 * The mips available to a vgpu depend on the vgpus that run tasks on the same
+	 * video card, so the vgpus of the host are updated together.
+	 */
+	@Override
+	public boolean hasIndependentVgpus() {
+		return false;
+	}
+
 }
@@ -2,6 +2,8 @@ package org.cloudbus.cloudsim.gpu.performance;
 
 import java.util.List;
 
+import org.cloudbus.cloudsim.util.MipsVector;
+
 /**
  * Schedulers implement this interface to add support for
  * {@link org.cloudbus.cloudsim.gpu.performance.models.PerformanceModel
@@ -28,5 +30,5 @@ public interface PerformanceScheduler<T> {
 	 *            entities that their execution potentially interfere with the
 	 *            execution of <B>entity</B>
 	 */
-	public List<Double> getAvailableMips(T entity, List<T> entities);
+	public MipsVector getAvailableMips(T entity, List<T> entities);
 }
@@ -8,6 +8,7 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
 import org.cloudbus.cloudsim.gpu.VgpuSchedulerFairShare;
 import org.cloudbus.cloudsim.gpu.performance.models.PerformanceModel;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * * {@link PerformanceVgpuSchedulerFairShare} extends
@@ -20,6 +21,9 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
  * 
  */
 public class PerformanceVgpuSchedulerFairShare extends VgpuSchedulerFairShare implements PerformanceScheduler<Vgpu> {
+
+	private static final long serialVersionUID = 1L;
+
 	/** The performance model */
 	private PerformanceModel<VgpuScheduler, Vgpu> performanceModel;
 
@@ -38,7 +42,7 @@ public class PerformanceVgpuSchedulerFairShare extends VgpuSchedulerFairShare im
 	}
 
 	@Override
-	public List<Double> getAvailableMips(Vgpu vgpu, List<Vgpu> vgpuList) {
+	public MipsVector getAvailableMips(Vgpu vgpu, List<Vgpu> vgpuList) {
 		return this.performanceModel.getAvailableMips(this, vgpu, vgpuList);
 	}
 }
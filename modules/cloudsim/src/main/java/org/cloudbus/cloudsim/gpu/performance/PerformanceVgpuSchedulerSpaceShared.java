@@ -8,6 +8,7 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
 import org.cloudbus.cloudsim.gpu.VgpuSchedulerSpaceShared;
 import org.cloudbus.cloudsim.gpu.performance.models.PerformanceModel;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * {@link PerformanceVgpuSchedulerSpaceShared} extends
@@ -22,6 +23,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
 public class PerformanceVgpuSchedulerSpaceShared extends VgpuSchedulerSpaceShared
 		implements PerformanceScheduler<Vgpu> {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The performance model */
 	private PerformanceModel<VgpuScheduler, Vgpu> performanceModel;
 
@@ -39,7 +42,7 @@ public class PerformanceVgpuSchedulerSpaceShared extends VgpuSchedulerSpaceShare
 	}
 
 	@Override
-	public List<Double> getAvailableMips(Vgpu vgpu, List<Vgpu> vgpuList) {
+	public MipsVector getAvailableMips(Vgpu vgpu, List<Vgpu> vgpuList) {
 		return this.performanceModel.getAvailableMips(this, vgpu, vgpuList);
 	}
 
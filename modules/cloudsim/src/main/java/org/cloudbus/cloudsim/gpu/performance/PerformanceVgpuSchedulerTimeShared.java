@@ -8,6 +8,7 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
 import org.cloudbus.cloudsim.gpu.VgpuSchedulerTimeShared;
 import org.cloudbus.cloudsim.gpu.performance.models.PerformanceModel;
 import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * {@link PerformanceVgpuSchedulerTimeShared} extends
@@ -21,6 +22,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
  */
 public class PerformanceVgpuSchedulerTimeShared extends VgpuSchedulerTimeShared implements PerformanceScheduler<Vgpu> {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The performance model */
 	private PerformanceModel<VgpuScheduler, Vgpu> performanceModel;
 
@@ -38,7 +41,7 @@ public class PerformanceVgpuSchedulerTimeShared extends VgpuSchedulerTimeShared
 	}
 
 	@Override
-	public List<Double> getAvailableMips(Vgpu vgpu, List<Vgpu> vgpuList) {
+	public MipsVector getAvailableMips(Vgpu vgpu, List<Vgpu> vgpuList) {
 		return this.performanceModel.getAvailableMips(this, vgpu, vgpuList);
 	}
 }
@@ -3,8 +3,11 @@
  */
 package org.cloudbus.cloudsim.gpu.performance.models;
 
+import java.io.Serializable;
 import java.util.List;
 
+import org.cloudbus.cloudsim.util.MipsVector;
+
 /**
  * GpuVms/Vgpus that share resources of a GpuHost/Pgpu may experience
  * performance degradation due to hardware conflicts or virtualization
@@ -14,7 +17,7 @@ import java.util.List;
  * @author Ahmad Siavashi
  * 
  */
-public interface PerformanceModel<T, K> {
+public interface PerformanceModel<T, K> extends Serializable {
 
 	/**
 	 * Returns the available mips for a GpuVm/Vgpu when running with other
@@ -31,6 +34,6 @@ public interface PerformanceModel<T, K> {
 	 * @return the available mips for the entity considering possible performance
 	 *         degredation
 	 */
-	public List<Double> getAvailableMips(T scheduler, K entity, List<K> entities);
+	public MipsVector getAvailableMips(T scheduler, K entity, List<K> entities);
 
 }
@@ -3,11 +3,11 @@
  */
 package org.cloudbus.cloudsim.gpu.performance.models;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.cloudbus.cloudsim.gpu.Vgpu;
 import org.cloudbus.cloudsim.gpu.VgpuScheduler;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * {@link PerformanceModelGpuConstant} imposes a constant performance
@@ -20,6 +20,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PerformanceModelGpuConstant implements PerformanceModel<VgpuScheduler, Vgpu> {
 
+	private static final long serialVersionUID = 1L;
+
 	protected final double gain;
 
 	/**
@@ -40,12 +42,7 @@ public class PerformanceModelGpuConstant implements PerformanceModel<VgpuSchedul
 	 * getAvailableMips(org.cloudbus.cloudsim.gpu.GpuHost, java.util.List)
 	 */
 	@Override
-	public List<Double> getAvailableMips(VgpuScheduler scheduler, Vgpu vgpu, List<Vgpu> vgpus) {
-		List<Double> allocatedMips = scheduler.getAllocatedMipsForVgpu(vgpu);
-		List<Double> availableMips = new ArrayList<Double>(allocatedMips.size());
-		for (Double mips : allocatedMips) {
-			availableMips.add(this.gain * mips);
-		}
-		return availableMips;
+	public MipsVector getAvailableMips(VgpuScheduler scheduler, Vgpu vgpu, List<Vgpu> vgpus) {
+		return scheduler.getAllocatedMipsForVgpu(vgpu).scale(this.gain);
 	}
 }
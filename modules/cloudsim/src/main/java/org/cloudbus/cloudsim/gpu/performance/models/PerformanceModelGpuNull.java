@@ -7,6 +7,7 @@ import java.util.List;
 
 import org.cloudbus.cloudsim.gpu.Vgpu;
 import org.cloudbus.cloudsim.gpu.VgpuScheduler;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * {@link PerformanceModelGpuNull} does not impose any performance
@@ -17,6 +18,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PerformanceModelGpuNull implements PerformanceModel<VgpuScheduler, Vgpu> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * This class does not impose any performance degradation on Vgpus sharing a Pgpu.
 	 */
@@ -30,7 +33,7 @@ public class PerformanceModelGpuNull implements PerformanceModel<VgpuScheduler,
 	 * getAvailableMips(org.cloudbus.cloudsim.gpu.GpuHost, java.util.List)
 	 */
 	@Override
-	public List<Double> getAvailableMips(VgpuScheduler scheduler, Vgpu vgpu, List<Vgpu> vgpus) {
+	public MipsVector getAvailableMips(VgpuScheduler scheduler, Vgpu vgpu, List<Vgpu> vgpus) {
 		return scheduler.getAllocatedMipsForVgpu(vgpu);
 	}
 
@@ -11,6 +11,7 @@ import java.util.Map.Entry;
 import org.cloudbus.cloudsim.gpu.Pgpu;
 import org.cloudbus.cloudsim.gpu.Vgpu;
 import org.cloudbus.cloudsim.gpu.VgpuScheduler;
+import org.cloudbus.cloudsim.util.MipsVector;
 
 /**
  * {@link PerformanceModelGpuPlacementConstant} imposes a constant performance
@@ -24,6 +25,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PerformanceModelGpuPlacementConstant extends PerformanceModelGpuConstant {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * This class imposes a constant performance degradation on Vgpus that are
 	 * placed on the same Pgpu. This class assumes VMs with idle Vgpus have no
@@ -37,7 +40,7 @@ public class PerformanceModelGpuPlacementConstant extends PerformanceModelGpuCon
 	}
 
 	@Override
-	public List<Double> getAvailableMips(VgpuScheduler scheduler, Vgpu vgpu, List<Vgpu> vgpus) {
+	public MipsVector getAvailableMips(VgpuScheduler scheduler, Vgpu vgpu, List<Vgpu> vgpus) {
 		List<Vgpu> toRemove = new ArrayList<Vgpu>();
 		// TODO: Is this necessary?
 		for (Vgpu v : vgpus) {
@@ -47,8 +50,8 @@ public class PerformanceModelGpuPlacementConstant extends PerformanceModelGpuCon
 		}
 		vgpus.remove(vgpu);
 		vgpus.removeAll(toRemove);
-		List<Double> allocatedMips = scheduler.getAllocatedMipsForVgpu(vgpu);
-		List<Double> availableMips = super.getAvailableMips(scheduler, vgpu, vgpus);
+		MipsVector allocatedMips = scheduler.getAllocatedMipsForVgpu(vgpu);
+		MipsVector availableMips = super.getAvailableMips(scheduler, vgpu, vgpus);
 		for (Entry<Pgpu, List<Vgpu>> entry : scheduler.getPgpuVgpuMap().entrySet()) {
 			if (entry.getValue().contains(vgpu)) {
 				if (Collections.disjoint(entry.getValue(), vgpus)) {
@@ -16,6 +16,8 @@ import org.cloudbus.cloudsim.gpu.power.PowerGpuDatacenterBroker;
  */
 public class GpuDatacenterBrokerEx extends PowerGpuDatacenterBroker {
 
+	private static final long serialVersionUID = 1L;
+
 	public GpuDatacenterBrokerEx(String name) throws Exception {
 		super(name);
 	}
@@ -32,6 +32,8 @@ import org.cloudbus.cloudsim.gpu.power.PowerGpuDatacenter;
  */
 public class GpuDatacenterEx extends PowerGpuDatacenter {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * List of newly arrived VMs.
 	 */
@@ -48,6 +50,11 @@ public class GpuDatacenterEx extends PowerGpuDatacenter {
 		super(name, characteristics, vmAllocationPolicy, storageList, schedulingInterval);
 		setNewVms(new ArrayList<Entry<GpuVm, Boolean>>());
 		setPlacementWindow(placementWindow);
+
+		registerHandler(GpuCloudSimTags.GPU_VM_DATACENTER_PLACEMENT, (GpuDatacenterEx dc, SimEvent ev) -> {
+			dc.runPlacement(dc.getNewVms());
+			dc.schedule(dc.getId(), dc.getPlacementWindow(), GpuCloudSimTags.GPU_VM_DATACENTER_PLACEMENT);
+		});
 	}
 
 	@Override
@@ -62,17 +69,6 @@ public class GpuDatacenterEx extends PowerGpuDatacenter {
 		super.startEntity();
 	}
 
-	@Override
-	protected void processOtherEvent(SimEvent ev) {
-		super.processOtherEvent(ev);
-		switch (ev.getTag()) {
-		case GpuCloudSimTags.GPU_VM_DATACENTER_PLACEMENT:
-			runPlacement(getNewVms());
-			schedule(getId(), getPlacementWindow(), GpuCloudSimTags.GPU_VM_DATACENTER_PLACEMENT);
-			break;
-		}
-	}
-
 	protected void runPlacement(List<Entry<GpuVm, Boolean>> newVmList) {
 		// Guard
 		if (newVmList.isEmpty()) {
@@ -83,7 +79,7 @@ public class GpuDatacenterEx extends PowerGpuDatacenter {
 				.allocateHostForVms(newVmList.stream().map(x -> x.getKey()).collect(Collectors.toList()));
 		long endTime = System.nanoTime();
 		long durationMs = (endTime - startTime) / 1000000;
-		System.out.println(
+		Log.printTraceLine(
 				"{'clock': " + CloudSim.clock() + ", 'type': 'placement duration', 'duration': " + durationMs + "}");
 		for (Entry<GpuVm, Boolean> result : results.entrySet()) {
 			processVmCreate(result.getKey(), true, result.getValue());
@@ -118,6 +114,7 @@ public class GpuDatacenterEx extends PowerGpuDatacenter {
 
 			vm.updateVmProcessing(CloudSim.clock(),
 					getVmAllocationPolicy().getHost(vm).getVmScheduler().getAllocatedMipsForVm(vm));
+			markHostChanged(getVmAllocationPolicy().getHost(vm));
 
 			if (vgpu != null) {
 				if (vgpu.isBeingInstantiated()) {
@@ -127,6 +124,8 @@ public class GpuDatacenterEx extends PowerGpuDatacenter {
 				VideoCard videoCard = vgpu.getVideoCard();
 				vgpu.updateGpuTaskProcessing(CloudSim.clock(),
 						videoCard.getVgpuScheduler().getAllocatedMipsForVgpu(vgpu));
+				// the new vgpu may change the mips allocated to the others
+				markGpuHostChanged(getVgpuHost(vgpu));
 			}
 		}
 
@@ -24,6 +24,8 @@ import org.cloudbus.cloudsim.gpu.core.GpuCloudSimTags;
  */
 public class PowerGpuDatacenter extends GpuDatacenter {
 
+	private static final long serialVersionUID = 1L;
+
 	/** host-energy mapping. */
 	private Map<PowerGpuHost, Double> hostEnergyMap;
 	/** host-cpu energy mapping. */
@@ -61,6 +63,11 @@ public class PowerGpuDatacenter extends GpuDatacenter {
 			}
 		}
 		setPowerSavingMode(false);
+
+		registerHandler(GpuCloudSimTags.GPU_VM_DATACENTER_POWER_EVENT, (PowerGpuDatacenter dc, SimEvent ev) -> {
+			dc.updatePower(dc.getSchedulingInterval());
+			dc.schedule(dc.getId(), dc.getSchedulingInterval(), GpuCloudSimTags.GPU_VM_DATACENTER_POWER_EVENT);
+		});
 	}
 
 	@SuppressWarnings("unchecked")
@@ -97,17 +104,6 @@ public class PowerGpuDatacenter extends GpuDatacenter {
 		super.startEntity();
 	}
 
-	@Override
-	protected void processOtherEvent(SimEvent ev) {
-		super.processOtherEvent(ev);
-		switch (ev.getTag()) {
-		case GpuCloudSimTags.GPU_VM_DATACENTER_POWER_EVENT:
-			updatePower(getSchedulingInterval());
-			schedule(getId(), getSchedulingInterval(), GpuCloudSimTags.GPU_VM_DATACENTER_POWER_EVENT);
-			break;
-		}
-	}
-
 	/**
 	 * @return consumed energy so far
 	 */
@@ -14,6 +14,8 @@ import org.cloudbus.cloudsim.gpu.core.GpuCloudSimTags;
  */
 public class PowerGpuDatacenterBroker extends GpuDatacenterBroker {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * @see GpuDatacenterBroker#GpuDatacenterBroker(String)
 	 */
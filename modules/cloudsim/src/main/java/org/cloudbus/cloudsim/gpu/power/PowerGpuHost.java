@@ -24,6 +24,8 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  */
 public class PowerGpuHost extends PerformanceGpuHost {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The power model associated with this host (video cards excluded) */
 	private PowerModel powerModel;
 
@@ -23,6 +23,8 @@ import org.cloudbus.cloudsim.lists.PeList;
  */
 public class PowerVideoCard extends VideoCard {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The power model associated with this video card. */
 	private VideoCardPowerModel powerModel;
 
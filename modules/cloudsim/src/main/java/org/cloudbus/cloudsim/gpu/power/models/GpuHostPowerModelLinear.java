@@ -11,6 +11,8 @@ import org.cloudbus.cloudsim.power.models.PowerModelLinear;
  */
 public class GpuHostPowerModelLinear extends PowerModelLinear {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The same as {@link PowerModelLinear}, however, the host will not be power
 	 * gated when it is idle.
@@ -10,6 +10,8 @@ import org.cloudbus.cloudsim.power.models.PowerModel;
  */
 public class GpuHostPowerModelNull implements PowerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The host will be zeroed out.
 	 */
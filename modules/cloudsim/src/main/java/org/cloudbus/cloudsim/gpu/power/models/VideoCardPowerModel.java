@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu.power.models;
 
+import java.io.Serializable;
 import java.util.Map;
 
 import org.cloudbus.cloudsim.gpu.Pgpu;
@@ -12,7 +13,7 @@ import org.cloudbus.cloudsim.gpu.Pgpu;
  * @author Ahmad Siavashi
  * 
  */
-public interface VideoCardPowerModel {
+public interface VideoCardPowerModel extends Serializable {
 	public double getPower(Map<Pgpu, Double> pgpuUtilization, Map<Pgpu, Double> gddramUtilization,
 			double PCIeBwUtilization);
 }
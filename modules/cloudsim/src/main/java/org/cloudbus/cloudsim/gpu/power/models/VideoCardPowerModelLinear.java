@@ -14,6 +14,8 @@ import org.cloudbus.cloudsim.gpu.Pgpu;
  */
 public class VideoCardPowerModelLinear implements VideoCardPowerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	private boolean powerGate;
 	private double a3, a2, a1, a0;
 	private int frequency;
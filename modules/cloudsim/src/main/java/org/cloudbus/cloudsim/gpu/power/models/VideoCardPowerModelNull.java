@@ -13,6 +13,8 @@ import org.cloudbus.cloudsim.gpu.Pgpu;
  */
 public class VideoCardPowerModelNull implements VideoCardPowerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Implements a power model for which zeroes out the video card power
 	 * consumption. *
@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu.provisioners;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -12,7 +13,9 @@ import org.cloudbus.cloudsim.gpu.Vgpu;
  * @author Ahmad Siavashi
  *
  */
-public abstract class GpuBwProvisioner {
+public abstract class GpuBwProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * The total bandwidth capacity from the pgpu that the provisioner can allocate
@@ -11,6 +11,8 @@ import org.cloudbus.cloudsim.gpu.Vgpu;
  */
 public class GpuBwProvisionerShared extends GpuBwProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new GPU bw provisioner shared.
 	 * 
@@ -13,6 +13,8 @@ import org.cloudbus.cloudsim.gpu.Vgpu;
  */
 public class GpuBwProvisionerSimple extends GpuBwProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
 	long availableBw;
 
 	/**
@@ -1,5 +1,7 @@
 package org.cloudbus.cloudsim.gpu.provisioners;
 
+import java.io.Serializable;
+
 import org.cloudbus.cloudsim.gpu.Vgpu;
 
 /**
@@ -9,7 +11,9 @@ import org.cloudbus.cloudsim.gpu.Vgpu;
  * @author Ahmad Siavashi
  * 
  */
-public abstract class GpuGddramProvisioner {
+public abstract class GpuGddramProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * The total gddram capacity from the pgpu that the provisioner can allocate to
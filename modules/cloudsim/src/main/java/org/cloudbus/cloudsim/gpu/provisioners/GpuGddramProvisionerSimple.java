@@ -15,6 +15,8 @@ import org.cloudbus.cloudsim.gpu.Vgpu;
  */
 public class GpuGddramProvisionerSimple extends GpuGddramProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The GDDRAM map, where each key is a Vgpu and each value is the amount of
 	 * GDDRAM allocated to that Vgpu.
@@ -84,13 +86,9 @@ public class GpuGddramProvisionerSimple extends GpuGddramProvisioner {
 
 	@Override
 	public boolean isSuitableForVgpu(Vgpu vgpu, int gddram) {
-		int allocatedGddam = getAllocatedGddramForVgpu(vgpu);
-		boolean result = allocateGddramForVgpu(vgpu, gddram);
-		deallocateGddramForVgpu(vgpu);
-		if (allocatedGddam > 0) {
-			allocateGddramForVgpu(vgpu, allocatedGddam);
-		}
-		return result;
+		// as in allocateGddramForVgpu, the gddram already allocated to the vgpu is
+		// released first
+		return Math.min(gddram, vgpu.getGddram()) <= getAvailableGddram() + getAllocatedGddramForVgpu(vgpu);
 	}
 
 	/**
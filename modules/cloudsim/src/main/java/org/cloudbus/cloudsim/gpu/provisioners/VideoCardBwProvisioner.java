@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu.provisioners;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -13,7 +14,9 @@ import org.cloudbus.cloudsim.gpu.Pgpu;
  * @author Ahmad Siavashi
  *
  */
-public abstract class VideoCardBwProvisioner {
+public abstract class VideoCardBwProvisioner implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/**
 	 * The total PCIe bandwidth capacity from the video card that the provisioner
@@ -12,6 +12,8 @@ import org.cloudbus.cloudsim.gpu.Pgpu;
  */
 public class VideoCardBwProvisionerShared extends VideoCardBwProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new VideoCard PCIe bw provisioner shared.
 	 * 
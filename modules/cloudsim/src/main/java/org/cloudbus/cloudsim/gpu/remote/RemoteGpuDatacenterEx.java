@@ -25,6 +25,8 @@ import org.cloudbus.cloudsim.gpu.placement.GpuDatacenterEx;
  */
 public class RemoteGpuDatacenterEx extends GpuDatacenterEx {
 
+	private static final long serialVersionUID = 1L;
+
 	public RemoteGpuDatacenterEx(String name, DatacenterCharacteristics characteristics,
 			VmAllocationPolicy vmAllocationPolicy, List<Storage> storageList, double schedulingInterval,
 			double placementWindow) throws Exception {
@@ -5,6 +5,8 @@ import org.cloudbus.cloudsim.gpu.GpuTask;
 
 public class RemoteGpuTask extends GpuTask {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * The communication overhead when executed on a remote GPU.
 	 */
@@ -17,6 +17,8 @@ import org.cloudbus.cloudsim.gpu.Vgpu;
  */
 public abstract class RemoteGpuVmAllocationPolicy extends GpuVmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * This class extends {@link GpuVmAllocationPolicy} to add support for GPU
 	 * remoting.
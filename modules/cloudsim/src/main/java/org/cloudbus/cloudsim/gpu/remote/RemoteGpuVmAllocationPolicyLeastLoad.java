@@ -26,6 +26,8 @@ import org.cloudbus.cloudsim.gpu.VideoCard;
  */
 public class RemoteGpuVmAllocationPolicyLeastLoad extends RemoteGpuVmAllocationPolicySimple {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * This class extends {@link RemoteGpuVmAllocationPolicySimple} and allocates
 	 * GPU-enabled VMs on GPU hosts with least loaded (i.t.o. allocated memory)
@@ -18,6 +18,8 @@ import org.cloudbus.cloudsim.gpu.Vgpu;
  */
 public class RemoteGpuVmAllocationPolicySimple extends RemoteGpuVmAllocationPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * This class extends {@link RemoteGpuVmAllocationPolicy} and implements
 	 * first-fit allocation policy.
@@ -30,7 +32,7 @@ public class RemoteGpuVmAllocationPolicySimple extends RemoteGpuVmAllocationPoli
 
 	@Override
 	public boolean allocateHostForVm(Vm vm) {
-		if (!getVmTable().containsKey(vm.getUid())) {
+		if (!getVmHosts().containsKey(vm.getKey())) {
 			Vgpu vgpu = ((GpuVm) vm).getVgpu();
 			if (vgpu == null) {
 				for (Host host : getHostList()) {
@@ -22,6 +22,8 @@ import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicy;
 public class RemoteVgpuSchedulerFairShareEx extends PerformanceVgpuSchedulerFairShareEx
 		implements PerformanceScheduler<Vgpu> {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Extends {@link PerformanceVgpuSchedulerFairShareEx} to add support for GPU remoting.
 	 * 
@@ -1,5 +1,6 @@
 package org.cloudbus.cloudsim.gpu.selection;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.cloudbus.cloudsim.gpu.Pgpu;
@@ -15,7 +16,7 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  * @author Ahmad Siavashi
  * 
  */
-public interface PgpuSelectionPolicy {
+public interface PgpuSelectionPolicy extends Serializable {
 
 	/**
 	 * Selects a Pgpu from the given list of Pgpus according to the specified
@@ -17,6 +17,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PgpuSelectionPolicyBestFit implements PgpuSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	public PgpuSelectionPolicyBestFit() {
 		super();
 	}
@@ -18,6 +18,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PgpuSelectionPolicyBreadthFirst implements PgpuSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	public PgpuSelectionPolicyBreadthFirst() {
 		super();
 	}
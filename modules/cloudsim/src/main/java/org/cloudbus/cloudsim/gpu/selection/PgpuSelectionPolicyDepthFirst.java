@@ -17,6 +17,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PgpuSelectionPolicyDepthFirst implements PgpuSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Selects the Pgpu with the largest number of allocated Vgpus.
 	 */
@@ -17,6 +17,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PgpuSelectionPolicyLeastLoad implements PgpuSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	public PgpuSelectionPolicyLeastLoad() {
 		super();
 	}
@@ -9,6 +9,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
 
 public class PgpuSelectionPolicyNull implements PgpuSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	public PgpuSelectionPolicyNull() {
 	}
 
@@ -15,6 +15,8 @@ import org.cloudbus.cloudsim.gpu.VgpuScheduler;
  */
 public class PgpuSelectionPolicySimple implements PgpuSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Returns the first Pgpu or null if no choice has been provided.
 	 */
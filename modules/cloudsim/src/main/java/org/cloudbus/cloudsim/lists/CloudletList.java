@@ -10,7 +10,9 @@ package org.cloudbus.cloudsim.lists;
 
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.cloudbus.cloudsim.Cloudlet;
 
@@ -56,6 +58,36 @@ public class CloudletList {
 		return -1;
 	}
 	
+	/**
+	 * Creates an index of a list of cloudlets by id, to look cloudlets up with
+	 * {@link #getById(java.util.Map, int)} without going through the list. If several cloudlets
+	 * have the same id, the index keeps the first one, as {@link #getById(java.util.List, int)}
+	 * finds.
+	 * 
+	 * @param cloudletList the list of existing cloudlets
+	 * @return a map from the id of each cloudlet to the cloudlet
+	 */
+	public static <T extends Cloudlet> Map<Integer, T> indexById(List<T> cloudletList) {
+		Map<Integer, T> cloudletIndex = new HashMap<Integer, T>(cloudletList.size() * 4 / 3 + 1);
+		for (T cloudlet : cloudletList) {
+			if (!cloudletIndex.containsKey(cloudlet.getCloudletId())) {
+				cloudletIndex.put(cloudlet.getCloudletId(), cloudlet);
+			}
+		}
+		return cloudletIndex;
+	}
+
+	/**
+	 * Gets a {@link Cloudlet} with a given id from an index of cloudlets.
+	 * 
+	 * @param cloudletIndex the cloudlets by id, as created by {@link #indexById(java.util.List)}
+	 * @param id the Cloudlet id
+	 * @return a Cloudlet with the given ID or $null if not found
+	 */
+	public static <T extends Cloudlet> T getById(Map<Integer, T> cloudletIndex, int id) {
+		return cloudletIndex.get(id);
+	}
+
 	/**
 	 * Sorts the Cloudlets in a list based on their lengths.
 	 * 
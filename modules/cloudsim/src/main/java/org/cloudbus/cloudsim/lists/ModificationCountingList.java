@@ -0,0 +1,159 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.lists;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * An array list that counts every change of its elements, through the list itself, its
+ * iterators or its sub lists. An index built from the list, such as the one of
+ * {@link VmList#indexById(List)}, is up to date while the
+ * {@link #getModifications() modification count} is the one it was built at.
+ *
+ * @param <T> the type of the elements
+ * @since CloudSim Toolkit 4.0
+ */
+public class ModificationCountingList<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The elements. */
+	private final ArrayList<T> elements;
+
+	/** The number of changes of the elements. */
+	private long modifications;
+
+	/**
+	 * Creates an empty list.
+	 */
+	public ModificationCountingList() {
+		elements = new ArrayList<T>();
+	}
+
+	/**
+	 * Creates a list with the elements of a collection.
+	 *
+	 * @param collection the elements
+	 */
+	public ModificationCountingList(Collection<? extends T> collection) {
+		elements = new ArrayList<T>(collection);
+	}
+
+	/**
+	 * Gets the number of changes of the elements since the list was created.
+	 *
+	 * @return the modification count
+	 */
+	public long getModifications() {
+		return modifications;
+	}
+
+	/**
+	 * Gets the modification count of a list, or -1 if the list does not count its changes.
+	 *
+	 * @param list the list
+	 * @return the modification count of the list
+	 */
+	public static long getModifications(List<?> list) {
+		return list instanceof ModificationCountingList ? ((ModificationCountingList<?>) list).modifications : -1;
+	}
+
+	@Override
+	public T get(int index) {
+		return elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public T set(int index, T element) {
+		T previous = elements.set(index, element);
+		modifications++;
+		return previous;
+	}
+
+	@Override
+	public void add(int index, T element) {
+		elements.add(index, element);
+		modCount++;
+		modifications++;
+	}
+
+	@Override
+	public boolean add(T element) {
+		elements.add(element);
+		modCount++;
+		modifications++;
+		return true;
+	}
+
+	@Override
+	public T remove(int index) {
+		T removed = elements.remove(index);
+		modCount++;
+		modifications++;
+		return removed;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends T> collection) {
+		return changed(elements.addAll(collection));
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> collection) {
+		return changed(elements.removeAll(collection));
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> collection) {
+		return changed(elements.retainAll(collection));
+	}
+
+	@Override
+	public boolean removeIf(Predicate<? super T> filter) {
+		return changed(elements.removeIf(filter));
+	}
+
+	@Override
+	public void clear() {
+		changed(!elements.isEmpty());
+		elements.clear();
+	}
+
+	@Override
+	protected void removeRange(int fromIndex, int toIndex) {
+		changed(fromIndex < toIndex);
+		elements.subList(fromIndex, toIndex).clear();
+	}
+
+	/**
+	 * Counts a bulk change of the elements.
+	 *
+	 * @param changed whether the elements changed
+	 * @return the given value
+	 */
+	private boolean changed(boolean changed) {
+		if (changed) {
+			modCount++;
+			modifications++;
+		}
+		return changed;
+	}
+
+}
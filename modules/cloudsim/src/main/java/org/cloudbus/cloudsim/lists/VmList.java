@@ -8,7 +8,9 @@
 
 package org.cloudbus.cloudsim.lists;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.cloudbus.cloudsim.Vm;
 
@@ -74,4 +76,48 @@ public class VmList {
 		return null;
 	}
 
+	/**
+	 * Creates an index of a list of VMs by id, to look VMs up with
+	 * {@link #getById(java.util.Map, int)} without going through the list. If several VMs
+	 * have the same id, the index keeps the first one, as {@link #getById(java.util.List, int)}
+	 * finds.
+	 * 
+	 * @param vmList list of existing VMs
+	 * @return a map from the id of each VM to the VM
+	 */
+	public static <T extends Vm> Map<Integer, T> indexById(List<T> vmList) {
+		Map<Integer, T> vmIndex = new HashMap<Integer, T>(vmList.size() * 4 / 3 + 1);
+		for (T vm : vmList) {
+			if (!vmIndex.containsKey(vm.getId())) {
+				vmIndex.put(vm.getId(), vm);
+			}
+		}
+		return vmIndex;
+	}
+
+	/**
+	 * Gets a {@link Vm} with a given id from an index of VMs.
+	 * 
+	 * @param vmIndex the VMs by id, as created by {@link #indexById(java.util.List)}
+	 * @param id ID of required VM
+	 * @return a Vm with the given ID or $null if not found
+	 */
+	public static <T extends Vm> T getById(Map<Integer, T> vmIndex, int id) {
+		return vmIndex.get(id);
+	}
+
+	/**
+	 * Gets a {@link Vm} with a given id and owned by a given user from an index of VMs. As the
+	 * index has one VM per id, VMs of other users with the same id are not found.
+	 * 
+	 * @param vmIndex the VMs by id, as created by {@link #indexById(java.util.List)}
+	 * @param id ID of required VM
+	 * @param userId the user ID of the VM's owner
+	 * @return Vm with the given ID, $null if not found
+	 */
+	public static <T extends Vm> T getByIdAndUserId(Map<Integer, T> vmIndex, int id, int userId) {
+		T vm = vmIndex.get(id);
+		return vm != null && vm.getUserId() == userId ? vm : null;
+	}
+
 }
@@ -33,6 +33,8 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  */
 public class AggregateSwitch extends Switch {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a Aggregate Switch specifying the switches that are connected to its
 	 * downlink and uplink ports and corresponding bandwidths.
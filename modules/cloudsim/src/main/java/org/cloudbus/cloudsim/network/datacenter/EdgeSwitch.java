@@ -35,6 +35,8 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  */
 public class EdgeSwitch extends Switch {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a EdgeSwitch specifying switches that are connected to its downlink
 	 * and uplink ports, and corresponding bandwidths. 
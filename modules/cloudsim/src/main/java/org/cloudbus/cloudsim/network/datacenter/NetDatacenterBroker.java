@@ -39,6 +39,8 @@ import org.cloudbus.cloudsim.lists.VmList;
  */
 public class NetDatacenterBroker extends SimEntity {
 
+	private static final long serialVersionUID = 1L;
+
 	// TODO: remove unnecessary variables
 
 	/** The list of submitted VMs. */
@@ -132,6 +134,23 @@ public class NetDatacenterBroker extends SimEntity {
 		setVmsToDatacentersMap(new HashMap<Integer, Integer>());
 		setDatacenterCharacteristicsList(new HashMap<Integer, DatacenterCharacteristics>());
 
+		// Resource characteristics request
+		registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST,
+				(NetDatacenterBroker broker, SimEvent ev) -> broker.processResourceCharacteristicsRequest(ev));
+		// Resource characteristics answer
+		registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS,
+				(NetDatacenterBroker broker, SimEvent ev) -> broker.processResourceCharacteristics(ev));
+		// A finished cloudlet returned
+		registerHandler(CloudSimTags.CLOUDLET_RETURN,
+				(NetDatacenterBroker broker, SimEvent ev) -> broker.processCloudletReturn(ev));
+		// if the simulation finishes
+		registerHandler(CloudSimTags.END_OF_SIMULATION,
+				(NetDatacenterBroker broker, SimEvent ev) -> broker.shutdownEntity());
+		registerHandler(CloudSimTags.NextCycle, (NetDatacenterBroker broker, SimEvent ev) -> {
+			if (NetworkConstants.BASE) {
+				broker.createVmsInDatacenterBase(linkDC.getId());
+			}
+		});
 	}
 
 	/**
@@ -173,35 +192,9 @@ public class NetDatacenterBroker extends SimEntity {
 	 */
 	@Override
 	public void processEvent(SimEvent ev) {
-		switch (ev.getTag()) {
-		// Resource characteristics request
-			case CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST:
-				processResourceCharacteristicsRequest(ev);
-				break;
-			// Resource characteristics answer
-			case CloudSimTags.RESOURCE_CHARACTERISTICS:
-				processResourceCharacteristics(ev);
-				break;
-			// VM Creation answer
-
-			// A finished cloudlet returned
-			case CloudSimTags.CLOUDLET_RETURN:
-				processCloudletReturn(ev);
-				break;
-			// if the simulation finishes
-			case CloudSimTags.END_OF_SIMULATION:
-				shutdownEntity();
-				break;
-			case CloudSimTags.NextCycle:
-				if (NetworkConstants.BASE) {
-					createVmsInDatacenterBase(linkDC.getId());
-				}
-
-				break;
+		if (!dispatchEvent(ev)) {
 			// other unknown tags are processed by this method
-			default:
-				processOtherEvent(ev);
-				break;
+			processOtherEvent(ev);
 		}
 	}
 
@@ -283,9 +276,12 @@ public class NetDatacenterBroker extends SimEntity {
 
 	/**
 	 * Processes non-default received events that aren't processed by
-         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method.
-         * This method should be overridden by subclasses in other to process
-         * new defined events.
+         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method,
+         * as no handler is {@link #registerHandler(int, org.cloudbus.cloudsim.core.SimEventHandler) registered}
+         * for their tag. Subclasses should rather register handlers for the
+         * events they define. The first event of each unknown tag is
+         * {@link #reportUnknownEvent(SimEvent, Class) reported}, unless a subclass
+         * overrides this method, as it may process the event after calling it.
 	 * 
 	 * @param ev a SimEvent object
 	 * 
@@ -298,8 +294,7 @@ public class NetDatacenterBroker extends SimEntity {
 			return;
 		}
 
-		Log.printConcatLine(getName(), ".processOtherEvent(): ",
-				"Error - event unknown by this DatacenterBroker.");
+		reportUnknownEvent(ev, NetDatacenterBroker.class);
 	}
 
 	/**
@@ -32,6 +32,9 @@ import org.cloudbus.cloudsim.UtilizationModel;
  * of a super class and/or interface.
  */
 public class NetworkCloudlet extends Cloudlet implements Comparable<Object> {
+
+	private static final long serialVersionUID = 1L;
+
         /** Time when cloudlet will be submitted. */
 	public double submittime; 
 
@@ -36,6 +36,9 @@ import org.cloudbus.cloudsim.core.CloudSimTags;
  * @todo Attributes should be private
  */
 public class NetworkCloudletSpaceSharedScheduler extends CloudletScheduler {
+
+	private static final long serialVersionUID = 1L;
+
 	/** The current CPUs. */
 	protected int currentCpus;
 
@@ -49,6 +49,9 @@ import org.cloudbus.cloudsim.core.SimEvent;
  * @since CloudSim Toolkit 3.0
  */
 public class NetworkDatacenter extends Datacenter {
+
+	private static final long serialVersionUID = 1L;
+
         /**
          * A map between VMs and Switches, where each key
          * is a VM id and the corresponding value is the id of the switch where the VM is connected to.
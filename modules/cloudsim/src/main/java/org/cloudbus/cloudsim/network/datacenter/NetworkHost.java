@@ -40,6 +40,9 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  * @since CloudSim Toolkit 3.0
  */
 public class NetworkHost extends Host {
+
+	private static final long serialVersionUID = 1L;
+
 	public List<NetworkPacket> packetTosendLocal;
 
 	public List<NetworkPacket> packetTosendGlobal;
@@ -110,6 +113,15 @@ public class NetworkHost extends Host {
 
 	}
 
+	/**
+	 * The update of a network host sends the packets of its VMs to the shared switches, so the
+	 * network hosts are updated sequentially.
+	 */
+	@Override
+	public boolean isUpdatableInParallel() {
+		return false;
+	}
+
 	/**
 	 * Receives packets and forward them to the corresponding VM.
 	 */
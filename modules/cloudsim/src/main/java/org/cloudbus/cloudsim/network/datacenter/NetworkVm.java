@@ -29,6 +29,9 @@ import org.cloudbus.cloudsim.Vm;
  * @todo Attributes should be private
  */
 public class NetworkVm extends Vm implements Comparable<Object> {
+
+	private static final long serialVersionUID = 1L;
+
         /**
          * List of {@link NetworkCloudlet} of the VM.
          */
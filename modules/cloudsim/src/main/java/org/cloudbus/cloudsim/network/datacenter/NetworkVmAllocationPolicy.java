@@ -9,7 +9,6 @@
 package org.cloudbus.cloudsim.network.datacenter;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,6 +17,7 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.util.VmKeyMap;
 
 /**
  * NetworkVmAllocationPolicy is an {@link VmAllocationPolicy} that chooses, 
@@ -30,13 +30,15 @@ import org.cloudbus.cloudsim.core.CloudSim;
  */
 public class NetworkVmAllocationPolicy extends VmAllocationPolicy {
 
-	/** The vm map where each key is a VM id and
+	private static final long serialVersionUID = 1L;
+
+	/** The vm map where each key is a VM {@link Vm#getKey() key} and
          * each value is the host where the VM is placed. */
-	private Map<String, Host> vmTable;
+	private VmKeyMap<Host> vmTable;
 
-	/** The used PEs map, where each key is a VM id
+	/** The used PEs map, where each key is a VM {@link Vm#getKey() key}
          * and each value is the number of required PEs the VM is using. */
-	private Map<String, Integer> usedPes;
+	private VmKeyMap<Integer> usedPes;
 
 	/** The free pes. */
 	private List<Integer> freePes;
@@ -58,8 +60,8 @@ public class NetworkVmAllocationPolicy extends VmAllocationPolicy {
 
 		}
 
-		setVmTable(new HashMap<String, Host>());
-		setUsedPes(new HashMap<String, Integer>());
+		setVmHosts(new VmKeyMap<Host>());
+		setVmUsedPes(new VmKeyMap<Integer>());
 	}
 
 	/**
@@ -83,7 +85,7 @@ public class NetworkVmAllocationPolicy extends VmAllocationPolicy {
 			freePesTmp.add(freePes);
 		}
 
-		if (!getVmTable().containsKey(vm.getUid())) { // if this vm was not created
+		if (!getVmHosts().containsKey(vm.getKey())) { // if this vm was not created
 			do {// we still trying until we find a host or until we try all of them
 				int moreFree = Integer.MIN_VALUE;
 				int idx = -1;
@@ -100,8 +102,8 @@ public class NetworkVmAllocationPolicy extends VmAllocationPolicy {
 				result = host.vmCreate(vm);
 
 				if (result) { // if vm were succesfully created in the host
-					getVmTable().put(vm.getUid(), host);
-					getUsedPes().put(vm.getUid(), requiredPes);
+					getVmHosts().put(vm.getKey(), host);
+					getVmUsedPes().put(vm.getKey(), requiredPes);
 					getFreePes().set(idx, getFreePes().get(idx) - requiredPes);
 					result = true;
 					break;
@@ -147,9 +149,9 @@ public class NetworkVmAllocationPolicy extends VmAllocationPolicy {
 
 	@Override
 	public void deallocateHostForVm(Vm vm) {
-		Host host = getVmTable().remove(vm.getUid());
+		Host host = getVmHosts().remove(vm.getKey());
 		int idx = getHostList().indexOf(host);
-		int pes = getUsedPes().remove(vm.getUid());
+		int pes = getVmUsedPes().remove(vm.getKey());
 		if (host != null) {
 			host.vmDestroy(vm);
 			getFreePes().set(idx, getFreePes().get(idx) + pes);
@@ -158,48 +160,94 @@ public class NetworkVmAllocationPolicy extends VmAllocationPolicy {
 
 	@Override
 	public Host getHost(Vm vm) {
-		return getVmTable().get(vm.getUid());
+		return getVmHosts().get(vm.getKey());
 	}
 
 	@Override
 	public Host getHost(int vmId, int userId) {
-		return getVmTable().get(Vm.getUid(userId, vmId));
+		return getVmHosts().get(Vm.getKey(userId, vmId));
+	}
+
+	/**
+	 * Gets the host of each VM, by VM key.
+	 * 
+	 * @return the vm table
+	 */
+	public VmKeyMap<Host> getVmHosts() {
+		return vmTable;
+	}
+
+	/**
+	 * Sets the host of each VM, by VM key.
+	 * 
+	 * @param vmTable the vm table
+	 */
+	protected void setVmHosts(VmKeyMap<Host> vmTable) {
+		this.vmTable = vmTable;
 	}
 
 	/**
 	 * Gets the vm table.
 	 * 
 	 * @return the vm table
+	 * @deprecated use {@link #getVmHosts()}, which does not need VM uids; this is a view of it
 	 */
+	@Deprecated
 	public Map<String, Host> getVmTable() {
-		return vmTable;
+		return vmTable.asUidMap();
 	}
 
 	/**
 	 * Sets the vm table.
 	 * 
 	 * @param vmTable the vm table
+	 * @deprecated use {@link #setVmHosts(VmKeyMap)}; the entries of the given map are copied
 	 */
+	@Deprecated
 	protected void setVmTable(Map<String, Host> vmTable) {
-		this.vmTable = vmTable;
+		this.vmTable = new VmKeyMap<Host>();
+		this.vmTable.asUidMap().putAll(vmTable);
+	}
+
+	/**
+	 * Gets the number of PEs used by each VM, by VM key.
+	 * 
+	 * @return the used pes
+	 */
+	protected VmKeyMap<Integer> getVmUsedPes() {
+		return usedPes;
+	}
+
+	/**
+	 * Sets the number of PEs used by each VM, by VM key.
+	 * 
+	 * @param usedPes the used pes
+	 */
+	protected void setVmUsedPes(VmKeyMap<Integer> usedPes) {
+		this.usedPes = usedPes;
 	}
 
 	/**
 	 * Gets the used pes.
 	 * 
 	 * @return the used pes
+	 * @deprecated use {@link #getVmUsedPes()}, which does not need VM uids; this is a view of it
 	 */
+	@Deprecated
 	protected Map<String, Integer> getUsedPes() {
-		return usedPes;
+		return usedPes.asUidMap();
 	}
 
 	/**
 	 * Sets the used pes.
 	 * 
 	 * @param usedPes the used pes
+	 * @deprecated use {@link #setVmUsedPes(VmKeyMap)}; the entries of the given map are copied
 	 */
+	@Deprecated
 	protected void setUsedPes(Map<String, Integer> usedPes) {
-		this.usedPes = usedPes;
+		this.usedPes = new VmKeyMap<Integer>();
+		this.usedPes.asUidMap().putAll(usedPes);
 	}
 
 	/**
@@ -230,11 +278,11 @@ public class NetworkVmAllocationPolicy extends VmAllocationPolicy {
 	@Override
 	public boolean allocateHostForVm(Vm vm, Host host) {
 		if (host.vmCreate(vm)) { // if vm has been succesfully created in the host
-			getVmTable().put(vm.getUid(), host);
+			getVmHosts().put(vm.getKey(), host);
 
 			int requiredPes = vm.getNumberOfPes();
 			int idx = getHostList().indexOf(host);
-			getUsedPes().put(vm.getUid(), requiredPes);
+			getVmUsedPes().put(vm.getKey(), requiredPes);
 			getFreePes().set(idx, getFreePes().get(idx) - requiredPes);
 
 			Log.formatLine(
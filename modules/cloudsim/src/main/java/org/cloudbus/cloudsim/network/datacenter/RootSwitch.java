@@ -33,6 +33,8 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  */
 public class RootSwitch extends Switch {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a Root Switch specifying what other switches are connected to its downlink
 	 * ports, and corresponding bandwidths.
@@ -32,6 +32,8 @@ import org.cloudbus.cloudsim.lists.VmList;
  */
 public class Switch extends SimEntity {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The switch id */
 	public int id;
 
@@ -156,6 +158,17 @@ public class Switch extends SimEntity {
 		super(name);
 		this.level = level;
 		this.dc = dc;
+
+		// process the packet from down switch or host
+		registerHandler(CloudSimTags.Network_Event_UP, (Switch sw, SimEvent ev) -> sw.processpacket_up(ev));
+		// process the packet from uplink
+		registerHandler(CloudSimTags.Network_Event_DOWN, (Switch sw, SimEvent ev) -> sw.processpacket_down(ev));
+		registerHandler(CloudSimTags.Network_Event_send, (Switch sw, SimEvent ev) -> sw.processpacketforward(ev));
+		registerHandler(CloudSimTags.Network_Event_Host, (Switch sw, SimEvent ev) -> sw.processhostpacket(ev));
+		registerHandler(CloudSimTags.RESOURCE_Register, (Switch sw, SimEvent ev) -> sw.registerHost(ev));
+		// the request the switch sends itself when it starts is not answered
+		registerHandler(CloudSimTags.RESOURCE_CHARACTERISTICS_REQUEST, (Switch sw, SimEvent ev) -> {
+		});
 	}
 
 	@Override
@@ -167,31 +180,9 @@ public class Switch extends SimEntity {
 	@Override
 	public void processEvent(SimEvent ev) {
 		// Log.printLine(CloudSim.clock()+"[Broker]: event received:"+ev.getTag());
-		switch (ev.getTag()) {
-		// Resource characteristics request
-			case CloudSimTags.Network_Event_UP:
-				// process the packet from down switch or host
-				processpacket_up(ev);
-				break;
-			case CloudSimTags.Network_Event_DOWN:
-				// process the packet from uplink
-				processpacket_down(ev);
-				break;
-			case CloudSimTags.Network_Event_send:
-				processpacketforward(ev);
-				break;
-
-			case CloudSimTags.Network_Event_Host:
-				processhostpacket(ev);
-				break;
-			// Resource characteristics answer
-			case CloudSimTags.RESOURCE_Register:
-				registerHost(ev);
-				break;
+		if (!dispatchEvent(ev)) {
 			// other unknown tags are processed by this method
-			default:
-				processOtherEvent(ev);
-				break;
+			processOtherEvent(ev);
 		}
 	}
 
@@ -377,15 +368,15 @@ public class Switch extends SimEntity {
 
         /**
 	 * Process non-default received events that aren't processed by
-         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method.
-         * This method should be overridden by subclasses in other to process
-         * new defined events.
-         *  
-         * @todo the method should be protected to allow sub classes to override it,
-         * once it does nothing here.
+         * the {@link #processEvent(org.cloudbus.cloudsim.core.SimEvent)} method,
+         * as no handler is {@link #registerHandler(int, org.cloudbus.cloudsim.core.SimEventHandler) registered}
+         * for their tag. Subclasses should rather register handlers for the
+         * events they define. The first event of each unknown tag is
+         * {@link #reportUnknownEvent(SimEvent, Class) reported}, unless a subclass
+         * overrides this method, as it may process the event after calling it.
          */
-	private void processOtherEvent(SimEvent ev) {
-
+	protected void processOtherEvent(SimEvent ev) {
+		reportUnknownEvent(ev, Switch.class);
 	}
 
 	/**
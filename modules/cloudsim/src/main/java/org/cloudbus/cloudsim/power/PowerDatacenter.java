@@ -40,6 +40,8 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  */
 public class PowerDatacenter extends Datacenter {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The datacenter consumed power. */
 	private double power;
 
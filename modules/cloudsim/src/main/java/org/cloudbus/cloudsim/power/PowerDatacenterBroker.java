@@ -31,6 +31,8 @@ import org.cloudbus.cloudsim.core.SimEvent;
  */
 public class PowerDatacenterBroker extends DatacenterBroker {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new PowerDatacenterBroker.
 	 * 
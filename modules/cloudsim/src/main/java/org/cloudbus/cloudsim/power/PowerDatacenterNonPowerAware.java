@@ -39,6 +39,8 @@ import org.cloudbus.cloudsim.core.predicates.PredicateType;
  */
 public class PowerDatacenterNonPowerAware extends PowerDatacenter {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new datacenter.
 	 * 
@@ -35,6 +35,8 @@ import org.cloudbus.cloudsim.provisioners.RamProvisioner;
  */
 public class PowerHost extends HostDynamicWorkload {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The power model used by the host. */
 	private PowerModel powerModel;
 
@@ -36,6 +36,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class PowerHostUtilizationHistory extends PowerHost {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new PowerHostUtilizationHistory.
 	 * 
@@ -8,7 +8,6 @@
 
 package org.cloudbus.cloudsim.power;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +16,7 @@ import org.cloudbus.cloudsim.Log;
 import org.cloudbus.cloudsim.Vm;
 import org.cloudbus.cloudsim.VmAllocationPolicy;
 import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.util.VmKeyMap;
 
 /**
  * An abstract power-aware VM allocation policy.
@@ -36,9 +36,11 @@ import org.cloudbus.cloudsim.core.CloudSim;
  */
 public abstract class PowerVmAllocationPolicyAbstract extends VmAllocationPolicy {
 
-	/** The map map where each key is a VM id and
+	private static final long serialVersionUID = 1L;
+
+	/** The map map where each key is a VM {@link Vm#getKey() key} and
          * each value is the host where the VM is placed. */
-	private final Map<String, Host> vmTable = new HashMap<String, Host>();
+	private final VmKeyMap<Host> vmTable = new VmKeyMap<Host>();
 
 	/**
 	 * Instantiates a new PowerVmAllocationPolicyAbstract.
@@ -61,7 +63,7 @@ public abstract class PowerVmAllocationPolicyAbstract extends VmAllocationPolicy
 			return false;
 		}
 		if (host.vmCreate(vm)) { // if vm has been succesfully created in the host
-			getVmTable().put(vm.getUid(), host);
+			getVmHosts().put(vm.getKey(), host);
 			Log.formatLine(
 					"%.2f: VM #" + vm.getId() + " has been allocated to the host #" + host.getId(),
 					CloudSim.clock());
@@ -90,7 +92,7 @@ public abstract class PowerVmAllocationPolicyAbstract extends VmAllocationPolicy
 
 	@Override
 	public void deallocateHostForVm(Vm vm) {
-		Host host = getVmTable().remove(vm.getUid());
+		Host host = getVmHosts().remove(vm.getKey());
 		if (host != null) {
 			host.vmDestroy(vm);
 		}
@@ -98,21 +100,32 @@ public abstract class PowerVmAllocationPolicyAbstract extends VmAllocationPolicy
 
 	@Override
 	public Host getHost(Vm vm) {
-		return getVmTable().get(vm.getUid());
+		return getVmHosts().get(vm.getKey());
 	}
 
 	@Override
 	public Host getHost(int vmId, int userId) {
-		return getVmTable().get(Vm.getUid(userId, vmId));
+		return getVmHosts().get(Vm.getKey(userId, vmId));
+	}
+
+	/**
+	 * Gets the host of each VM, by VM key.
+	 * 
+	 * @return the vm table
+	 */
+	public VmKeyMap<Host> getVmHosts() {
+		return vmTable;
 	}
 
 	/**
 	 * Gets the vm table.
 	 * 
 	 * @return the vm table
+	 * @deprecated use {@link #getVmHosts()}, which does not need VM uids; this is a view of it
 	 */
+	@Deprecated
 	public Map<String, Host> getVmTable() {
-		return vmTable;
+		return vmTable.asUidMap();
 	}
 
 }
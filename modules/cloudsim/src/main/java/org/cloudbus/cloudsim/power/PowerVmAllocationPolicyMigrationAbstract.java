@@ -43,6 +43,8 @@ import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
  */
 public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAllocationPolicyAbstract {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The vm selection policy. */
 	private PowerVmSelectionPolicy vmSelectionPolicy;
 
@@ -546,7 +548,7 @@ public abstract class PowerVmAllocationPolicyMigrationAbstract extends PowerVmAl
 				Log.printConcatLine("Couldn't restore VM #", vm.getId(), " on host #", host.getId());
 				System.exit(0);
 			}
-			getVmTable().put(vm.getUid(), host);
+			getVmHosts().put(vm.getKey(), host);
 		}
 	}
 
@@ -35,6 +35,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
 public class PowerVmAllocationPolicyMigrationInterQuartileRange extends
 		PowerVmAllocationPolicyMigrationAbstract {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The safety parameter in percentage (at scale from 0 to 1).
          * It is a tuning parameter used by the allocation policy to 
          * estimate host utilization (load). The host overload detection is based
@@ -33,6 +33,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class PowerVmAllocationPolicyMigrationLocalRegression extends PowerVmAllocationPolicyMigrationAbstract {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The scheduling interval that defines the periodicity of VM migrations. */
 	private double schedulingInterval;
 
@@ -33,6 +33,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
 public class PowerVmAllocationPolicyMigrationLocalRegressionRobust extends
 		PowerVmAllocationPolicyMigrationLocalRegression {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new PowerVmAllocationPolicyMigrationLocalRegressionRobust.
 	 * 
@@ -32,6 +32,8 @@ import org.cloudbus.cloudsim.Vm;
  */
 public class PowerVmAllocationPolicyMigrationStaticThreshold extends PowerVmAllocationPolicyMigrationAbstract {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The static host CPU utilization threshold to detect over utilization.
          * It is a percentage value from 0 to 1
          * that can be changed when creating an instance of the class. */
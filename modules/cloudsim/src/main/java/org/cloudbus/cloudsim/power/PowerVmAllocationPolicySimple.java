@@ -32,6 +32,8 @@ import org.cloudbus.cloudsim.Vm;
  */
 public class PowerVmAllocationPolicySimple extends PowerVmAllocationPolicyAbstract {
 
+	private static final long serialVersionUID = 1L;
+
 	/**
 	 * Instantiates a new PowerVmAllocationPolicySimple.
 	 * 
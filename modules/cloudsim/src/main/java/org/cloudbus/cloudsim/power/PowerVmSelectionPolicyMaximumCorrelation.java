@@ -34,6 +34,8 @@ import org.cloudbus.cloudsim.util.MathUtil;
  */
 public class PowerVmSelectionPolicyMaximumCorrelation extends PowerVmSelectionPolicy {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The fallback VM selection policy to be used when
          * the  Maximum Correlation policy doesn't have data to be computed. */
 	private PowerVmSelectionPolicy fallbackPolicy;
@@ -29,6 +29,9 @@ import org.cloudbus.cloudsim.Vm;
  * @since CloudSim Toolkit 3.0
  */
 public class PowerVmSelectionPolicyMinimumMigrationTime extends PowerVmSelectionPolicy {
+
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public Vm getVmToMigrate(PowerHost host) {
 		List<PowerVm> migratableVms = getMigratableVms(host);
@@ -31,6 +31,9 @@ import org.cloudbus.cloudsim.core.CloudSim;
  * @since CloudSim Toolkit 3.0
  */
 public class PowerVmSelectionPolicyMinimumUtilization extends PowerVmSelectionPolicy {
+
+	private static final long serialVersionUID = 1L;
+
 	@Override
 	public Vm getVmToMigrate(PowerHost host) {
 		List<PowerVm> migratableVms = getMigratableVms(host);
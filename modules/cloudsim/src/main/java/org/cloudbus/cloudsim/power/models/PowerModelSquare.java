@@ -26,6 +26,8 @@ package org.cloudbus.cloudsim.power.models;
  */
 public class PowerModelSquare implements PowerModel {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The max power that can be consumed. */
 	private double maxPower;
 
@@ -25,6 +25,8 @@ import org.cloudbus.cloudsim.Vm;
  */
 public class BwProvisionerSimple extends BwProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The BW map, where each key is a VM id and each value
          * is the amount of BW allocated to that VM. */
 	private Map<String, Long> bwTable;
@@ -79,13 +81,8 @@ public class BwProvisionerSimple extends BwProvisioner {
 
 	@Override
 	public boolean isSuitableForVm(Vm vm, long bw) {
-		long allocatedBw = getAllocatedBwForVm(vm);
-		boolean result = allocateBwForVm(vm, bw);
-		deallocateBwForVm(vm);
-		if (allocatedBw > 0) {
-			allocateBwForVm(vm, allocatedBw);
-		}
-		return result;
+		// as in allocateBwForVm, the bw already allocated to the VM is released first
+		return bw <= getAvailableBw() + getAllocatedBwForVm(vm);
 	}
 
 	/**
@@ -24,6 +24,8 @@ import org.cloudbus.cloudsim.Vm;
  */
 public class RamProvisionerSimple extends RamProvisioner {
 
+	private static final long serialVersionUID = 1L;
+
 	/** The RAM map, where each key is a VM id and each value
          * is the amount of RAM allocated to that VM. */
 	private Map<String, Integer> ramTable;
@@ -87,13 +89,8 @@ public class RamProvisionerSimple extends RamProvisioner {
 
 	@Override
 	public boolean isSuitableForVm(Vm vm, int ram) {
-		int allocatedRam = getAllocatedRamForVm(vm);
-		boolean result = allocateRamForVm(vm, ram);
-		deallocateRamForVm(vm);
-		if (allocatedRam > 0) {
-			allocateRamForVm(vm, allocatedRam);
-		}
-		return result;
+		// as in allocateRamForVm, the ram already allocated to the VM is released first
+		return Math.min(ram, vm.getRam()) <= getAvailableRam() + getAllocatedRamForVm(vm);
 	}
 
 	/**
@@ -0,0 +1,206 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An index of the elements of a simulation that have to be updated, such as the hosts of a
+ * datacenter: the elements whose state has changed, and the expected time of the next
+ * completion of each element. The elements are identified by their position, from 0 to the
+ * size of the index. The completion times are kept in an indexed binary heap, so the elements
+ * that are due at a given time are found without looking at the others.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class CompletionIndex implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The elements whose state has changed since they were last updated. */
+	private final BitSet changed = new BitSet();
+
+	/** The completion time of each element, or <tt>Double.MAX_VALUE</tt> if it has none. */
+	private double[] times;
+
+	/** The heap of the elements which have a completion time, ordered by time. */
+	private int[] heap;
+
+	/** The position of each element in the heap, or -1 if it is not in the heap. */
+	private int[] positions;
+
+	/** The number of elements in the heap. */
+	private int heapSize;
+
+	/**
+	 * Creates a new index, where no element has changed or has a completion time.
+	 *
+	 * @param size the number of elements
+	 */
+	public CompletionIndex(int size) {
+		times = new double[size];
+		Arrays.fill(times, Double.MAX_VALUE);
+		heap = new int[size];
+		positions = new int[size];
+		Arrays.fill(positions, -1);
+	}
+
+	/**
+	 * Gets the number of elements of the index.
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return times.length;
+	}
+
+	/**
+	 * Adds elements to the index, so that it has at least a given number of elements. The new
+	 * elements have not changed and have no completion time.
+	 *
+	 * @param size the number of elements
+	 */
+	public void ensureSize(int size) {
+		int previousSize = times.length;
+		if (size <= previousSize) {
+			return;
+		}
+		times = Arrays.copyOf(times, size);
+		Arrays.fill(times, previousSize, size, Double.MAX_VALUE);
+		heap = Arrays.copyOf(heap, size);
+		positions = Arrays.copyOf(positions, size);
+		Arrays.fill(positions, previousSize, size, -1);
+	}
+
+	/**
+	 * Records that the state of an element has changed, so that it has to be updated.
+	 *
+	 * @param element the position of the element
+	 */
+	public void markChanged(int element) {
+		changed.set(element);
+	}
+
+	/**
+	 * Marks all the elements as changed.
+	 */
+	public void markAllChanged() {
+		changed.set(0, times.length);
+	}
+
+	/**
+	 * Takes the elements that have to be updated at a given time: the elements that have
+	 * changed, and the elements whose completion time is not after that time. Their completion
+	 * times are removed, and have to be {@link #setCompletionTime(int, double) set} again once
+	 * they are updated.
+	 *
+	 * @param time the current simulation time
+	 * @return the positions of the elements to update, in increasing order
+	 */
+	public BitSet pollElementsToUpdate(double time) {
+		while (heapSize > 0 && times[heap[0]] <= time) {
+			int element = heap[0];
+			changed.set(element);
+			setCompletionTime(element, Double.MAX_VALUE);
+		}
+		BitSet elements = (BitSet) changed.clone();
+		changed.clear();
+		return elements;
+	}
+
+	/**
+	 * Sets the expected time of the next completion of an element.
+	 *
+	 * @param element the position of the element
+	 * @param time the completion time, or <tt>Double.MAX_VALUE</tt> if the element has none
+	 */
+	public void setCompletionTime(int element, double time) {
+		double previousTime = times[element];
+		times[element] = time;
+		int position = positions[element];
+		if (position < 0) {
+			if (time != Double.MAX_VALUE) {
+				heap[heapSize] = element;
+				positions[element] = heapSize;
+				siftUp(heapSize++);
+			}
+		} else if (time == Double.MAX_VALUE) {
+			int last = heap[--heapSize];
+			positions[element] = -1;
+			if (position < heapSize) {
+				heap[position] = last;
+				positions[last] = position;
+				siftDown(siftUp(position));
+			}
+		} else if (time < previousTime) {
+			siftUp(position);
+		} else {
+			siftDown(position);
+		}
+	}
+
+	/**
+	 * Gets the expected time of the next completion of an element.
+	 *
+	 * @param element the position of the element
+	 * @return the completion time, or <tt>Double.MAX_VALUE</tt> if the element has none
+	 */
+	public double getCompletionTime(int element) {
+		return times[element];
+	}
+
+	/**
+	 * Gets the earliest completion time of the elements.
+	 *
+	 * @return the completion time, or <tt>Double.MAX_VALUE</tt> if no element has one
+	 */
+	public double getNextCompletionTime() {
+		return heapSize == 0 ? Double.MAX_VALUE : times[heap[0]];
+	}
+
+	private int siftUp(int position) {
+		int element = heap[position];
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (times[heap[parent]] <= times[element]) {
+				break;
+			}
+			heap[position] = heap[parent];
+			positions[heap[position]] = position;
+			position = parent;
+		}
+		heap[position] = element;
+		positions[element] = position;
+		return position;
+	}
+
+	private void siftDown(int position) {
+		int element = heap[position];
+		while (true) {
+			int child = 2 * position + 1;
+			if (child >= heapSize) {
+				break;
+			}
+			if (child + 1 < heapSize && times[heap[child + 1]] < times[heap[child]]) {
+				child++;
+			}
+			if (times[element] <= times[heap[child]]) {
+				break;
+			}
+			heap[position] = heap[child];
+			positions[heap[position]] = position;
+			position = child;
+		}
+		heap[position] = element;
+		positions[element] = position;
+	}
+
+}
@@ -8,37 +8,26 @@
 
 package org.cloudbus.cloudsim.util;
 
-import java.util.HashMap;
 import java.util.Map;
 
+import org.cloudbus.cloudsim.core.SimulationContext;
+
 /**
- * Measurement of execution times of CloudSim's methods.
+ * Measurement of execution times of CloudSim's methods. The measurements are kept by the
+ * {@link SimulationContext} bound to the calling thread.
  * 
  * @author Anton Beloglazov
  * @since CloudSim Toolkit 3.0
  */
 public class ExecutionTimeMeasurer {
 
-	/** A map of execution times where each key
-         * represents the name of the method/process being its
-         * execution time computed and each key is the
-         * time the method/process started (in milliseconds). 
-         * Usually, this name is the method/process name, making
-         * easy to identify the execution times into the map.
-         * 
-         * @todo The name of the attribute doesn't match with what it stores.
-         * It in fact stores the method/process start time,
-         * no the time it spent executing.
-         */
-	private final static Map<String, Long> executionTimes = new HashMap<String, Long>();
-
 	/**
 	 * Start measuring the execution time of a method/process.
          * Usually this method has to be called at the first line of the method
          * that has to be its execution time measured.
 	 * 
 	 * @param name the name of the method/process being measured.
-         * @see #executionTimes
+         * @see SimulationContext#getExecutionTimes()
 	 */
 	public static void start(String name) {
 		getExecutionTimes().put(name, System.currentTimeMillis());
@@ -49,7 +38,7 @@ public class ExecutionTimeMeasurer {
 	 * 
 	 * @param name the name of the method/process being measured.
 	 * @return the time the method/process spent in execution (in seconds)
-         * @see #executionTimes
+         * @see SimulationContext#getExecutionTimes()
 	 */
 	public static double end(String name) {
 		double time = (System.currentTimeMillis() - getExecutionTimes().get(name)) / 1000.0;
@@ -61,10 +50,10 @@ public class ExecutionTimeMeasurer {
 	 * Gets map the execution times.
 	 * 
 	 * @return the execution times map
-         * @see #executionTimes
+         * @see SimulationContext#getExecutionTimes()
 	 */
 	public static Map<String, Long> getExecutionTimes() {
-		return executionTimes;
+		return SimulationContext.current().getExecutionTimes();
 	}
 
 }
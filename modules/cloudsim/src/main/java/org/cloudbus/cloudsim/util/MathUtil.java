@@ -25,12 +25,15 @@ import org.apache.commons.math3.stat.regression.SimpleRegression;
 public class MathUtil {
 
 	/**
-	 * Sums a list of numbers.
+	 * Sums a list of numbers. The total of a {@link MipsVector} is not computed again.
 	 * 
 	 * @param list the list of numbers
 	 * @return the double
 	 */
 	public static double sum(final List<? extends Number> list) {
+		if (list instanceof MipsVector) {
+			return ((MipsVector) list).getTotalMips();
+		}
 		double sum = 0;
 		for (Number number : list) {
 			sum += number.doubleValue();
@@ -0,0 +1,204 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * An immutable MIPS share, with the MIPS of each PE kept in a <tt>double[]</tt> and their
+ * total computed once. It is a read-only {@link List} of the MIPS, so that it can be given
+ * to the code that takes a <tt>List&lt;Double&gt;</tt>, while the code that knows it reads
+ * the MIPS with {@link #getMips(int)} and {@link #getTotalMips()} without boxing them.
+ * A list that is already a MipsVector is not copied by {@link #of(List)}, so that a MIPS
+ * share can be passed along several layers for nothing.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public final class MipsVector extends AbstractList<Double> implements RandomAccess, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The empty MIPS share. */
+	public static final MipsVector EMPTY = new MipsVector(new double[0]);
+
+	/** The MIPS of each PE. */
+	private final double[] mips;
+
+	/** The total MIPS, summed in the order of the PEs. */
+	private final double totalMips;
+
+	/**
+	 * Creates a MIPS share that keeps the given array, which must not be changed afterwards.
+	 *
+	 * @param mips the MIPS of each PE
+	 */
+	private MipsVector(double[] mips) {
+		this.mips = mips;
+		double total = 0;
+		for (double value : mips) {
+			total += value;
+		}
+		totalMips = total;
+	}
+
+	/**
+	 * Creates a MIPS share with a copy of the MIPS of each PE.
+	 *
+	 * @param mips the MIPS of each PE
+	 * @return the MIPS share
+	 */
+	public static MipsVector copyOf(double... mips) {
+		return mips.length == 0 ? EMPTY : new MipsVector(mips.clone());
+	}
+
+	/**
+	 * Creates a MIPS share that keeps the given array instead of copying it. The array must
+	 * not be changed afterwards.
+	 *
+	 * @param mips the MIPS of each PE
+	 * @return the MIPS share
+	 */
+	public static MipsVector wrap(double[] mips) {
+		return mips.length == 0 ? EMPTY : new MipsVector(mips);
+	}
+
+	/**
+	 * Gets a list of MIPS as a MIPS share. The list itself is returned if it is a MIPS share.
+	 *
+	 * @param mips the MIPS of each PE, or <tt>null</tt>
+	 * @return the MIPS share, or <tt>null</tt> if the list is <tt>null</tt>
+	 */
+	public static MipsVector of(List<Double> mips) {
+		if (mips == null || mips instanceof MipsVector) {
+			return (MipsVector) mips;
+		}
+		double[] values = new double[mips.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = mips.get(i);
+		}
+		return wrap(values);
+	}
+
+	/**
+	 * Creates a MIPS share where every PE has the same MIPS.
+	 *
+	 * @param pes the number of PEs
+	 * @param mips the MIPS of each PE
+	 * @return the MIPS share
+	 */
+	public static MipsVector nCopies(int pes, double mips) {
+		double[] values = new double[pes];
+		Arrays.fill(values, mips);
+		return wrap(values);
+	}
+
+	/**
+	 * Gets the MIPS of a PE.
+	 *
+	 * @param index the index of the PE
+	 * @return the MIPS of the PE
+	 */
+	public double getMips(int index) {
+		return mips[index];
+	}
+
+	/**
+	 * Gets the total MIPS of the PEs.
+	 *
+	 * @return the total MIPS
+	 */
+	public double getTotalMips() {
+		return totalMips;
+	}
+
+	/**
+	 * Gets the maximum MIPS of the PEs.
+	 *
+	 * @return the maximum MIPS
+	 * @throws NoSuchElementException if there is no PE
+	 */
+	public double getMaxMips() {
+		if (mips.length == 0) {
+			throw new NoSuchElementException();
+		}
+		double max = mips[0];
+		for (int i = 1; i < mips.length; i++) {
+			max = Math.max(max, mips[i]);
+		}
+		return max;
+	}
+
+	/**
+	 * Creates a MIPS share with the MIPS of each PE multiplied by a factor.
+	 *
+	 * @param factor the factor
+	 * @return the scaled MIPS share
+	 */
+	public MipsVector scale(double factor) {
+		double[] values = new double[mips.length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = factor * mips[i];
+		}
+		return wrap(values);
+	}
+
+	/**
+	 * Gets a copy of the MIPS of each PE.
+	 *
+	 * @return the MIPS of each PE
+	 */
+	public double[] toDoubleArray() {
+		return mips.clone();
+	}
+
+	@Override
+	public Double get(int index) {
+		return mips[index];
+	}
+
+	@Override
+	public int size() {
+		return mips.length;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this) {
+			return true;
+		}
+		if (o instanceof MipsVector) {
+			double[] other = ((MipsVector) o).mips;
+			if (other.length != mips.length) {
+				return false;
+			}
+			for (int i = 0; i < mips.length; i++) {
+				if (Double.doubleToLongBits(mips[i]) != Double.doubleToLongBits(other[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = 1;
+		for (double value : mips) {
+			hashCode = 31 * hashCode + Double.hashCode(value);
+		}
+		return hashCode;
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The used PEs of a resource whose PEs are allocated to jobs one by one, by their ids
+ * from 0 to the number of PEs of the resource. The used PEs are kept in a bit set, so that
+ * the free PEs are found a range of free PEs at a time and the number of free PEs is known
+ * without looking at them, whatever the number of PEs.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class PeAllocator implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The used PEs. */
+	private final BitSet usedPes = new BitSet();
+
+	/** The number of PEs of the resource. */
+	private int pes;
+
+	/** The number of used PEs whose id is less than the number of PEs. */
+	private int used;
+
+	/**
+	 * Creates a new allocator where all the PEs are free.
+	 *
+	 * @param pes the number of PEs of the resource
+	 */
+	public PeAllocator(int pes) {
+		this.pes = pes;
+	}
+
+	/**
+	 * Gets the number of PEs of the resource.
+	 *
+	 * @return the number of PEs
+	 */
+	public int getPes() {
+		return pes;
+	}
+
+	/**
+	 * Sets the number of PEs of the resource. The PEs that are used beyond the new number
+	 * stay used until they are released, but are not counted as used PEs of the resource.
+	 *
+	 * @param pes the number of PEs
+	 */
+	public void setPes(int pes) {
+		if (pes != this.pes) {
+			this.pes = pes;
+			used = usedPes.get(0, pes).cardinality();
+		}
+	}
+
+	/**
+	 * Gets the number of free PEs of the resource.
+	 *
+	 * @return the number of free PEs
+	 */
+	public int getNumberOfFreePes() {
+		return pes - used;
+	}
+
+	/**
+	 * Gets the number of used PEs of the resource.
+	 *
+	 * @return the number of used PEs
+	 */
+	public int getNumberOfUsedPes() {
+		return used;
+	}
+
+	/**
+	 * Checks whether a PE is used.
+	 *
+	 * @param peId the id of the PE
+	 * @return <tt>true</tt> if the PE is used
+	 */
+	public boolean isUsed(int peId) {
+		return usedPes.get(peId);
+	}
+
+	/**
+	 * Marks a PE as used or free, whatever the jobs it is allocated to.
+	 *
+	 * @param peId the id of the PE
+	 * @param isUsed whether the PE is used
+	 */
+	public void setUsed(int peId, boolean isUsed) {
+		if (usedPes.get(peId) != isUsed) {
+			usedPes.set(peId, isUsed);
+			if (peId < pes) {
+				used += isUsed ? 1 : -1;
+			}
+		}
+	}
+
+	/**
+	 * Gets the first used PE whose id is greater than or equal to a given id.
+	 *
+	 * @param fromPeId the id to start from
+	 * @return the id of the used PE, or -1 if there is none
+	 */
+	public int nextUsedPe(int fromPeId) {
+		return usedPes.nextSetBit(fromPeId);
+	}
+
+	/**
+	 * Allocates the free PEs with the lowest ids, up to a given number of PEs.
+	 *
+	 * @param count the number of PEs to allocate
+	 * @param peIds the list the ids of the allocated PEs are added to
+	 * @return the number of allocated PEs, which is less than the requested number if
+	 *         there are not enough free PEs
+	 */
+	public int allocate(int count, List<Integer> peIds) {
+		int allocated = 0;
+		int start = usedPes.nextClearBit(0);
+		while (allocated < count && start < pes) {
+			int end = usedPes.nextSetBit(start);
+			if (end < 0 || end > pes) {
+				end = pes;
+			}
+			end = Math.min(end, start + count - allocated);
+			usedPes.set(start, end);
+			for (int peId = start; peId < end; peId++) {
+				peIds.add(peId);
+			}
+			allocated += end - start;
+			start = usedPes.nextClearBit(end);
+		}
+		used += allocated;
+		return allocated;
+	}
+
+	/**
+	 * Releases some PEs. The PEs that are already free are ignored.
+	 *
+	 * @param peIds the ids of the PEs
+	 */
+	public void release(List<Integer> peIds) {
+		for (int peId : peIds) {
+			if (usedPes.get(peId)) {
+				usedPes.clear(peId);
+				if (peId < pes) {
+					used--;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The number of free PEs of a resource over time, from a start time on, given the periods
+ * during which some PEs are allocated to running or reserved jobs. It is kept as a step
+ * function, with the number of free PEs from each time at which it changes until the next
+ * one, so that the earliest time at which a job can run is found by looking only at the
+ * periods it would overlap. It is used to plan the execution of waiting jobs, as in
+ * backfilling schedulers.
+ *
+ * @since CloudSim Toolkit 4.0
+ */
+public class PeAvailabilityProfile implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The number of free PEs from each time at which it changes until the next one. */
+	private final TreeMap<Double, Integer> freePes = new TreeMap<Double, Integer>();
+
+	/** The time at which the profile starts. */
+	private final double startTime;
+
+	/** The number of PEs of the resource. */
+	private final int pes;
+
+	/**
+	 * Creates a new profile where all the PEs are free.
+	 *
+	 * @param startTime the time at which the profile starts
+	 * @param pes the number of PEs of the resource
+	 */
+	public PeAvailabilityProfile(double startTime, int pes) {
+		this.startTime = startTime;
+		this.pes = pes;
+		freePes.put(startTime, pes);
+	}
+
+	/**
+	 * Gets the number of PEs of the resource.
+	 *
+	 * @return the number of PEs
+	 */
+	public int getPes() {
+		return pes;
+	}
+
+	/**
+	 * Gets the number of free PEs at a given time.
+	 *
+	 * @param time a time not before the start of the profile
+	 * @return the number of free PEs
+	 */
+	public int getFreePes(double time) {
+		return freePes.floorEntry(Math.max(time, startTime)).getValue();
+	}
+
+	/**
+	 * Allocates PEs during a period.
+	 *
+	 * @param start the start of the period, which is moved to the start of the profile if it is
+	 *            before
+	 * @param end the end of the period, which may be <tt>Double.MAX_VALUE</tt>
+	 * @param number the number of PEs
+	 */
+	public void allocate(double start, double end, int number) {
+		start = Math.max(start, startTime);
+		if (end <= start || number == 0) {
+			return;
+		}
+		split(start);
+		split(end);
+		for (Map.Entry<Double, Integer> entry : freePes.subMap(start, true, end, false).entrySet()) {
+			entry.setValue(entry.getValue() - number);
+		}
+	}
+
+	/**
+	 * Finds the earliest time at which a number of PEs are free during a period.
+	 *
+	 * @param earliest the earliest start time
+	 * @param number the number of PEs
+	 * @param duration the duration of the period
+	 * @return the earliest start time of the period, or <tt>Double.MAX_VALUE</tt> if the resource
+	 *         does not have enough PEs
+	 */
+	public double findStart(double earliest, int number, double duration) {
+		if (number > pes) {
+			return Double.MAX_VALUE;
+		}
+		double start = Math.max(earliest, startTime);
+		for (Map.Entry<Double, Integer> entry : freePes.tailMap(freePes.floorKey(start), true).entrySet()) {
+			if (entry.getKey() > start && entry.getKey() >= start + duration) {
+				break;
+			}
+			if (entry.getValue() < number) {
+				// the period cannot start before the end of this step
+				Double next = freePes.higherKey(entry.getKey());
+				if (next == null) {
+					return Double.MAX_VALUE;
+				}
+				start = next;
+			}
+		}
+		return start;
+	}
+
+	/**
+	 * Makes the number of free PEs change at a given time, if it does not already.
+	 *
+	 * @param time the time
+	 */
+	private void split(double time) {
+		if (time != Double.MAX_VALUE && !freePes.containsKey(time)) {
+			freePes.put(time, freePes.floorEntry(time).getValue());
+		}
+	}
+
+}
@@ -0,0 +1,353 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.cloudbus.cloudsim.Vm;
+
+/**
+ * A map whose keys are VMs, identified by the {@link Vm#getKey() key} that packs the id of
+ * their user and their id in a long. The keys are kept in an array with open addressing, so
+ * that looking a VM up neither builds its {@link Vm#getUid() uid} nor boxes its key.
+ * <p>
+ * The map does not accept <tt>null</tt> values.
+ *
+ * @param <V> the type of the values
+ * @since CloudSim Toolkit 4.0
+ */
+public class VmKeyMap<V> implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** The initial number of slots, which is a power of 2. */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/** The key in each slot. */
+	private long[] keys;
+
+	/** The value in each slot, or <tt>null</tt> if the slot is free. */
+	private Object[] values;
+
+	/** The number of keys. */
+	private int size;
+
+	/**
+	 * Creates an empty map.
+	 */
+	public VmKeyMap() {
+		keys = new long[INITIAL_CAPACITY];
+		values = new Object[INITIAL_CAPACITY];
+	}
+
+	/**
+	 * Gets the number of keys.
+	 *
+	 * @return the number of keys
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks whether the map is empty.
+	 *
+	 * @return <tt>true</tt> if the map has no key
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Gets the value of a VM.
+	 *
+	 * @param key the key of the VM
+	 * @return the value, or <tt>null</tt> if the VM is not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int slot = find(key);
+		return slot < 0 ? null : (V) values[slot];
+	}
+
+	/**
+	 * Checks whether a VM is in the map.
+	 *
+	 * @param key the key of the VM
+	 * @return <tt>true</tt> if the VM is in the map
+	 */
+	public boolean containsKey(long key) {
+		return find(key) >= 0;
+	}
+
+	/**
+	 * Sets the value of a VM.
+	 *
+	 * @param key the key of the VM
+	 * @param value the value
+	 * @return the previous value, or <tt>null</tt> if the VM was not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (value == null) {
+			throw new NullPointerException("null values are not supported");
+		}
+		int mask = keys.length - 1;
+		int slot = hash(key, mask);
+		while (values[slot] != null) {
+			if (keys[slot] == key) {
+				V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		if (++size * 2 > keys.length) {
+			resize(keys.length * 2);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes a VM from the map.
+	 *
+	 * @param key the key of the VM
+	 * @return the value of the VM, or <tt>null</tt> if it was not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		int slot = find(key);
+		if (slot < 0) {
+			return null;
+		}
+		V previous = (V) values[slot];
+		values[slot] = null;
+		size--;
+
+		// move back the following keys that would no longer be found
+		int mask = keys.length - 1;
+		int next = slot;
+		while (true) {
+			next = (next + 1) & mask;
+			if (values[next] == null) {
+				break;
+			}
+			int home = hash(keys[next], mask);
+			boolean reachable = slot <= next ? slot < home && home <= next : slot < home || home <= next;
+			if (!reachable) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				values[next] = null;
+				slot = next;
+			}
+		}
+		return previous;
+	}
+
+	/**
+	 * Removes all the VMs from the map.
+	 */
+	public void clear() {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * Gets a view of the map keyed by the {@link Vm#getUid() uid} of the VMs, for the code that
+	 * uses VM uids. Changes to the view are made to the map, but the entries cannot be removed
+	 * through the iterator of the view.
+	 *
+	 * @return the map keyed by VM uid
+	 */
+	public Map<String, V> asUidMap() {
+		return new UidMap();
+	}
+
+	/**
+	 * Gets the key of a VM from its uid.
+	 *
+	 * @param uid the uid of the VM
+	 * @return the key of the VM
+	 * @throws NumberFormatException if the uid is not that of a VM
+	 */
+	public static long getKey(String uid) {
+		// the user id may be negative
+		int separator = uid.indexOf('-', 1);
+		if (separator < 0) {
+			throw new NumberFormatException("not a VM uid: " + uid);
+		}
+		return Vm.getKey(Integer.parseInt(uid.substring(0, separator)),
+				Integer.parseInt(uid.substring(separator + 1)));
+	}
+
+	/**
+	 * Finds the slot of a key.
+	 *
+	 * @param key the key
+	 * @return the slot, or -1 if the key is not in the map
+	 */
+	private int find(long key) {
+		int mask = keys.length - 1;
+		int slot = hash(key, mask);
+		while (values[slot] != null) {
+			if (keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the first slot where a key is looked for.
+	 *
+	 * @param key the key
+	 * @param mask the number of slots minus one
+	 * @return the slot
+	 */
+	private static int hash(long key, int mask) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ hash >>> 32) & mask;
+	}
+
+	/**
+	 * Changes the number of slots.
+	 *
+	 * @param capacity the new number of slots, which is a power of 2
+	 */
+	@SuppressWarnings("unchecked")
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		keys = new long[capacity];
+		values = new Object[capacity];
+		size = 0;
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				put(oldKeys[i], (V) oldValues[i]);
+			}
+		}
+	}
+
+	/**
+	 * The view of the map keyed by VM uid.
+	 */
+	private class UidMap extends AbstractMap<String, V> implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public boolean containsKey(Object uid) {
+			return findUid(uid) >= 0;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public V get(Object uid) {
+			int slot = findUid(uid);
+			return slot < 0 ? null : (V) values[slot];
+		}
+
+		@Override
+		public V put(String uid, V value) {
+			return VmKeyMap.this.put(getKey(uid), value);
+		}
+
+		@Override
+		public V remove(Object uid) {
+			int slot = findUid(uid);
+			return slot < 0 ? null : VmKeyMap.this.remove(keys[slot]);
+		}
+
+		/**
+		 * Finds the slot of a VM uid.
+		 *
+		 * @param uid the uid
+		 * @return the slot, or -1 if the uid is not in the map or is not a VM uid
+		 */
+		private int findUid(Object uid) {
+			if (!(uid instanceof String)) {
+				return -1;
+			}
+			try {
+				return find(getKey((String) uid));
+			} catch (NumberFormatException e) {
+				return -1;
+			}
+		}
+
+		@Override
+		public void clear() {
+			VmKeyMap.this.clear();
+		}
+
+		@Override
+		public Set<Map.Entry<String, V>> entrySet() {
+			return new AbstractSet<Map.Entry<String, V>>() {
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public Iterator<Map.Entry<String, V>> iterator() {
+					return new Iterator<Map.Entry<String, V>>() {
+
+						private int slot = advance(0);
+
+						private int advance(int from) {
+							while (from < values.length && values[from] == null) {
+								from++;
+							}
+							return from;
+						}
+
+						@Override
+						public boolean hasNext() {
+							return slot < values.length;
+						}
+
+						@SuppressWarnings("unchecked")
+						@Override
+						public Map.Entry<String, V> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							long key = keys[slot];
+							Map.Entry<String, V> entry = new AbstractMap.SimpleImmutableEntry<String, V>(
+									Vm.getUid((int) (key >> 32), (int) key), (V) values[slot]);
+							slot = advance(slot + 1);
+							return entry;
+						}
+
+					};
+				}
+
+			};
+		}
+
+	}
+
+}
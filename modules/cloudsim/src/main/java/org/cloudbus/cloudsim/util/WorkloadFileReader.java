@@ -314,8 +314,9 @@ public class WorkloadFileReader implements WorkloadModel {
      * @param runTime The number of seconds the Cloudlet has to run. Considering that 
      * and the {@link #rating}, the {@link Cloudlet#cloudletLength} is computed.
      * @param numProc number of Cloudlet's PEs
-     * @param reqRunTime user estimated run time 
-     * (@todo the parameter is not being used and it is not clear what it is)
+     * @param reqRunTime user estimated run time, which gives the
+     * {@link Cloudlet#getEstimatedCloudletLength() estimated length} of the Cloudlet
+     * if it is positive
      * @param userID user id
      * @param groupID user's group id
      * @pre id >= 0
@@ -345,6 +346,7 @@ public class WorkloadFileReader implements WorkloadModel {
                             utilizationModel,
                             utilizationModel,
                             utilizationModel);
+            wgl.setEstimatedCloudletLength(reqRunTime > 0 ? (long) reqRunTime * rating : -1);
             jobs.add(wgl);
     }
 
@@ -0,0 +1,176 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.gpu.GpuTask;
+import org.cloudbus.cloudsim.gpu.GpuTaskSchedulerBackfilling;
+import org.cloudbus.cloudsim.util.PeAvailabilityProfile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class CloudletSchedulerBackfillingTest {
+
+	private static final double MIPS = 1000;
+
+	private List<Double> mipsShare;
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		CloudSim.setExactCompletionTimes(true);
+		mipsShare = new ArrayList<Double>();
+		for (int i = 0; i < 4; i++) {
+			mipsShare.add(MIPS);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static Cloudlet createCloudlet(int id, double runTime, int pes) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		Cloudlet cloudlet = new Cloudlet(id, (long) (runTime * MIPS), pes, 300, 300, utilizationModel,
+				utilizationModel, utilizationModel);
+		cloudlet.setResourceParameter(0, 0.0, 0.0);
+		return cloudlet;
+	}
+
+	/**
+	 * Submits cloudlets at time 0 and returns the time at which each cloudlet finishes.
+	 */
+	private double[] run(CloudletScheduler scheduler, Cloudlet... cloudlets) {
+		double[] finishTimes = new double[cloudlets.length];
+		scheduler.updateVmProcessing(0.0, mipsShare);
+		for (Cloudlet cloudlet : cloudlets) {
+			scheduler.cloudletSubmit(cloudlet);
+		}
+		double next = scheduler.updateVmProcessing(0.0, mipsShare);
+		while (next != Double.MAX_VALUE) {
+			double time = next;
+			next = scheduler.updateVmProcessing(time, mipsShare);
+			while (scheduler.isFinishedCloudlets()) {
+				finishTimes[scheduler.getNextFinishedCloudlet().getCloudletId()] = time;
+			}
+		}
+		return finishTimes;
+	}
+
+	private static void assertFinishTimes(double[] expected, double[] actual) {
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals("cloudlet " + i, expected[i], actual[i], 1e-6);
+		}
+	}
+
+	@Test
+	public void testEasyBackfilling() {
+		// the wide cloudlet 1 waits for cloudlet 0, and cloudlet 2 runs meanwhile, but cloudlet
+		// 3 would delay cloudlet 1
+		double[] finishTimes = run(new CloudletSchedulerBackfilling(), createCloudlet(0, 10, 2),
+				createCloudlet(1, 1, 4), createCloudlet(2, 5, 2), createCloudlet(3, 20, 2));
+		assertFinishTimes(new double[] { 10, 11, 5, 31 }, finishTimes);
+	}
+
+	@Test
+	public void testEstimatedLength() {
+		// cloudlet 2 takes 5 s, but is expected to take 15 s and would delay cloudlet 1
+		Cloudlet cloudlet = createCloudlet(2, 5, 2);
+		cloudlet.setEstimatedCloudletLength((long) (15 * MIPS));
+		double[] finishTimes = run(new CloudletSchedulerBackfilling(), createCloudlet(0, 10, 2),
+				createCloudlet(1, 1, 4), cloudlet);
+		assertFinishTimes(new double[] { 10, 11, 16 }, finishTimes);
+	}
+
+	@Test
+	public void testConservativeBackfilling() {
+		// cloudlet 3 does not delay cloudlet 1, but delays cloudlet 2
+		Cloudlet[] cloudlets = { createCloudlet(0, 10, 3), createCloudlet(1, 1, 2), createCloudlet(2, 10, 4),
+				createCloudlet(3, 15, 1) };
+		assertFinishTimes(new double[] { 10, 11, 25, 15 }, run(new CloudletSchedulerBackfilling(), cloudlets));
+
+		cloudlets = new Cloudlet[] { createCloudlet(0, 10, 3), createCloudlet(1, 1, 2), createCloudlet(2, 10, 4),
+				createCloudlet(3, 15, 1) };
+		assertFinishTimes(new double[] { 10, 11, 21, 36 }, run(new CloudletSchedulerBackfilling(true), cloudlets));
+	}
+
+	@Test
+	public void testPauseReleasesPes() {
+		CloudletSchedulerBackfilling scheduler = new CloudletSchedulerBackfilling();
+		scheduler.updateVmProcessing(0.0, mipsShare);
+		scheduler.cloudletSubmit(createCloudlet(0, 10, 4));
+		scheduler.cloudletSubmit(createCloudlet(1, 1, 4));
+		assertEquals(1, scheduler.runningCloudlets());
+		scheduler.updateVmProcessing(2.0, mipsShare);
+		scheduler.cloudletPause(0);
+		assertEquals(3.0, scheduler.updateVmProcessing(2.0, mipsShare), 1e-9);
+		assertEquals(1, scheduler.runningCloudlets());
+		assertEquals(0.0, scheduler.cloudletResume(0), 0.0);
+		assertEquals(Cloudlet.QUEUED, scheduler.getCloudletStatus(0));
+		assertEquals(11.0, scheduler.updateVmProcessing(3.0, mipsShare), 1e-9);
+		assertEquals(Cloudlet.INEXEC, scheduler.getCloudletStatus(0));
+	}
+
+	@Test
+	public void testGpuTaskBackfilling() {
+		GpuTaskSchedulerBackfilling scheduler = new GpuTaskSchedulerBackfilling();
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		GpuTask[] tasks = { createGpuTask(0, 10, 2), createGpuTask(1, 1, 4), createGpuTask(2, 5, 2),
+				createGpuTask(3, 20, 2) };
+		for (GpuTask task : tasks) {
+			scheduler.taskSubmit(task);
+		}
+		double[] finishTimes = new double[tasks.length];
+		double next = scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		while (next != Double.MAX_VALUE) {
+			double time = next;
+			next = scheduler.updateGpuTaskProcessing(time, mipsShare);
+			while (scheduler.hasFinishedTasks()) {
+				finishTimes[scheduler.getNextFinishedTask().getTaskId()] = time;
+			}
+		}
+		assertFinishTimes(new double[] { 10, 11, 5, 31 }, finishTimes);
+	}
+
+	private static GpuTask createGpuTask(int id, double runTime, int blocks) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		GpuTask task = new GpuTask(id, (long) (runTime * MIPS), blocks, 0, 0, 256, utilizationModel,
+				utilizationModel, utilizationModel);
+		task.setResourceParameter(0, 0.0, 0.0);
+		return task;
+	}
+
+	@Test
+	public void testPeAvailabilityProfile() {
+		PeAvailabilityProfile profile = new PeAvailabilityProfile(0.0, 4);
+		profile.allocate(0.0, 10.0, 3);
+		profile.allocate(10.0, 11.0, 2);
+		assertEquals(1, profile.getFreePes(5.0));
+		assertEquals(2, profile.getFreePes(10.5));
+		assertEquals(4, profile.getFreePes(11.0));
+		assertEquals(0.0, profile.findStart(0.0, 1, 15.0), 0.0);
+		assertEquals(10.0, profile.findStart(0.0, 2, 15.0), 0.0);
+		assertEquals(11.0, profile.findStart(0.0, 3, 1.0), 0.0);
+		assertEquals(Double.MAX_VALUE, profile.findStart(0.0, 5, 1.0), 0.0);
+		profile.allocate(11.0, Double.MAX_VALUE, 4);
+		assertEquals(Double.MAX_VALUE, profile.findStart(0.0, 3, 1.0), 0.0);
+	}
+
+}
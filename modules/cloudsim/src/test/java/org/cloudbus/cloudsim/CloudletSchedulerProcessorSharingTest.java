@@ -0,0 +1,147 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class CloudletSchedulerProcessorSharingTest {
+
+	private static final double MIPS = 1000;
+
+	private static final int CLOUDLETS = 30;
+
+	private List<Double> mipsShare;
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		CloudSim.setExactCompletionTimes(true);
+		mipsShare = new ArrayList<Double>();
+		for (int i = 0; i < 4; i++) {
+			mipsShare.add(MIPS);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static Cloudlet createCloudlet(int id, long length, int pes) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		Cloudlet cloudlet = new Cloudlet(id, length, pes, 300, 300, utilizationModel, utilizationModel,
+				utilizationModel);
+		cloudlet.setResourceParameter(0, 0.0, 0.0);
+		return cloudlet;
+	}
+
+	/**
+	 * Runs cloudlets of different lengths and PEs, a third of which are submitted later, and
+	 * returns the time at which each cloudlet finishes.
+	 */
+	private double[] run(CloudletScheduler scheduler) {
+		double[] finishTimes = new double[CLOUDLETS];
+		double time = 0.0;
+		scheduler.updateVmProcessing(time, mipsShare);
+		for (int i = 0; i < CLOUDLETS * 2 / 3; i++) {
+			scheduler.cloudletSubmit(createCloudlet(i, 1000 * (1 + i % 7), 1 + i % 2));
+		}
+		double next = scheduler.updateVmProcessing(time, mipsShare);
+		boolean submitted = false;
+		while (next != Double.MAX_VALUE) {
+			if (!submitted && next > 5.0) {
+				next = 5.0;
+			}
+			time = next;
+			next = scheduler.updateVmProcessing(time, mipsShare);
+			while (scheduler.isFinishedCloudlets()) {
+				finishTimes[scheduler.getNextFinishedCloudlet().getCloudletId()] = time;
+			}
+			if (!submitted && time == 5.0) {
+				for (int i = CLOUDLETS * 2 / 3; i < CLOUDLETS; i++) {
+					scheduler.cloudletSubmit(createCloudlet(i, 1000 * (1 + i % 7), 1 + i % 2));
+				}
+				next = scheduler.updateVmProcessing(time, mipsShare);
+				submitted = true;
+			}
+		}
+		return finishTimes;
+	}
+
+	@Test
+	public void testSameFinishTimesAsTimeShared() {
+		double[] expected = run(new CloudletSchedulerTimeShared());
+		double[] actual = run(new CloudletSchedulerProcessorSharing());
+		for (int i = 0; i < CLOUDLETS; i++) {
+			assertTrue(expected[i] > 0.0);
+			assertEquals(expected[i], actual[i], 1e-6);
+		}
+	}
+
+	@Test
+	public void testPauseAndResume() {
+		CloudletSchedulerProcessorSharing scheduler = new CloudletSchedulerProcessorSharing();
+		mipsShare = new ArrayList<Double>();
+		mipsShare.add(MIPS);
+		scheduler.updateVmProcessing(0.0, mipsShare);
+		scheduler.cloudletSubmit(createCloudlet(0, 1000, 1));
+		scheduler.cloudletSubmit(createCloudlet(1, 3000, 1));
+		assertEquals(2.0, scheduler.updateVmProcessing(0.0, mipsShare), 1e-9);
+
+		// each cloudlet has run 500 MI
+		scheduler.updateVmProcessing(1.0, mipsShare);
+		assertTrue(scheduler.cloudletPause(1));
+		ResCloudlet paused = scheduler.getCloudletPausedList().get(0);
+		assertEquals(2500, paused.getRemainingCloudletLength());
+		assertEquals(1.5, scheduler.updateVmProcessing(1.0, mipsShare), 1e-9);
+
+		assertEquals(Double.MAX_VALUE, scheduler.updateVmProcessing(1.5, mipsShare), 0.0);
+		assertEquals(0, scheduler.getNextFinishedCloudlet().getCloudletId());
+		assertEquals(0.0, scheduler.updateVmProcessing(2.0, mipsShare), 0.0);
+		scheduler.cloudletResume(1);
+		assertEquals(4.5, scheduler.updateVmProcessing(2.0, mipsShare), 1e-9);
+		assertEquals(Double.MAX_VALUE, scheduler.updateVmProcessing(4.5, mipsShare), 0.0);
+		assertEquals(1, scheduler.getNextFinishedCloudlet().getCloudletId());
+		assertNull(scheduler.getNextFinishedCloudlet());
+	}
+
+	@Test
+	public void testCancel() {
+		CloudletSchedulerProcessorSharing scheduler = new CloudletSchedulerProcessorSharing();
+		scheduler.updateVmProcessing(0.0, mipsShare);
+		for (int i = 0; i < 8; i++) {
+			scheduler.cloudletSubmit(createCloudlet(i, 1000 * (i + 1), 1));
+		}
+		scheduler.updateVmProcessing(0.0, mipsShare);
+		scheduler.updateVmProcessing(0.5, mipsShare);
+		Cloudlet canceled = scheduler.cloudletCancel(2);
+		assertEquals(Cloudlet.CANCELED, canceled.getStatus());
+		assertEquals(7, scheduler.runningCloudlets());
+		for (ResCloudlet rcl : scheduler.<ResCloudlet> getCloudletExecList()) {
+			assertTrue(rcl.getCloudletId() != 2);
+		}
+		// the 7 remaining cloudlets share the 4 PEs: the first one has 750 MI left
+		assertEquals(0.5 + 750 / (MIPS * 4 / 7), scheduler.updateVmProcessing(0.5, mipsShare), 1e-9);
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.lists.CloudletList;
+import org.cloudbus.cloudsim.lists.VmList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class DatacenterBrokerTest {
+
+	private DatacenterBroker broker;
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.disable();
+		CloudSim.init(1, null, false);
+		broker = new DatacenterBroker("Broker");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Log.enable();
+		SimulationContext.setCurrent(null);
+	}
+
+	private static Vm createVm(int id) {
+		return new Vm(id, 0, 1000, 1, 512, 1000, 1000, "Xen", new CloudletSchedulerTimeShared());
+	}
+
+	private static Cloudlet createCloudlet(int id) {
+		return new Cloudlet(id, 1000, 1, 300, 300, new UtilizationModelFull(), new UtilizationModelFull(),
+				new UtilizationModelFull());
+	}
+
+	@Test
+	public void testVmsByIdAfterRemoveAndAdd() {
+		Vm vm0 = createVm(0);
+		Vm vm1 = createVm(1);
+		Vm vm2 = createVm(2);
+		broker.submitVmList(Arrays.asList(vm0, vm1));
+		assertSame(vm1, VmList.getById(broker.getVmsById(), 1));
+
+		// the size of the list does not change
+		broker.getVmList().remove(vm1);
+		broker.getVmList().add(vm2);
+		assertNull(VmList.getById(broker.getVmsById(), 1));
+		assertSame(vm2, VmList.getById(broker.getVmsById(), 2));
+
+		broker.getVmList().set(0, vm1);
+		assertNull(VmList.getById(broker.getVmsById(), 0));
+		assertSame(vm1, VmList.getById(broker.getVmsById(), 1));
+
+		broker.getVmList().subList(0, 1).set(0, vm0);
+		assertSame(vm0, VmList.getById(broker.getVmsById(), 0));
+		assertNull(VmList.getById(broker.getVmsById(), 1));
+	}
+
+	@Test
+	public void testVmsByIdWithDuplicateIds() {
+		Vm vm0 = createVm(0);
+		Vm other = createVm(0);
+		broker.submitVmList(Arrays.asList(vm0, other, createVm(1)));
+
+		Map<Integer, Vm> index = broker.getVmsById();
+		assertSame(vm0, VmList.getById(index, 0));
+		// the index is not created again while the list does not change
+		assertSame(index, broker.getVmsById());
+
+		broker.getVmList().remove(vm0);
+		assertNotSame(index, broker.getVmsById());
+		assertSame(other, VmList.getById(broker.getVmsById(), 0));
+	}
+
+	@Test
+	public void testVmsCreatedById() {
+		Vm vm0 = createVm(0);
+		Vm vm1 = createVm(1);
+		broker.addCreatedVm(vm0);
+		broker.addCreatedVm(vm1);
+		Map<Integer, Vm> index = broker.getVmsCreatedById();
+		assertSame(vm1, VmList.getById(index, 1));
+
+		broker.addCreatedVm(createVm(2));
+		assertSame(index, broker.getVmsCreatedById());
+
+		broker.removeCreatedVm(vm1);
+		assertNull(VmList.getById(broker.getVmsCreatedById(), 1));
+		broker.addCreatedVm(vm1);
+		assertSame(vm1, VmList.getById(broker.getVmsCreatedById(), 1));
+
+		broker.getVmsCreatedList().clear();
+		assertNull(VmList.getById(broker.getVmsCreatedById(), 0));
+	}
+
+	@Test
+	public void testCloudletsById() {
+		Cloudlet cloudlet0 = createCloudlet(0);
+		Cloudlet cloudlet1 = createCloudlet(1);
+		broker.submitCloudletList(Arrays.asList(cloudlet0, cloudlet1));
+		assertSame(cloudlet0, CloudletList.getById(broker.getCloudletsById(), 0));
+
+		broker.getCloudletList().removeAll(Arrays.asList(cloudlet0));
+		broker.getCloudletList().add(createCloudlet(2));
+		assertNull(CloudletList.getById(broker.getCloudletsById(), 0));
+		assertSame(cloudlet1, CloudletList.getById(broker.getCloudletsById(), 1));
+	}
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class DatacenterTest {
+
+	private static final int HOSTS = 40;
+
+	private static final int UNKNOWN_EVENT = 9998;
+
+	/**
+	 * A host that counts the updates of its VMs.
+	 */
+	private static class CountingHost extends Host {
+
+		private int updates;
+
+		public CountingHost(int id, List<Pe> peList) {
+			super(id, new RamProvisionerSimple(4096), new BwProvisionerSimple(10000), 1000000, peList,
+					new VmSchedulerTimeShared(peList));
+		}
+
+		@Override
+		public double updateVmsProcessing(double currentTime) {
+			updates++;
+			Log.printConcatLine(CloudSim.clock(), ": Host #", getId(), " updated");
+			return super.updateVmsProcessing(currentTime);
+		}
+
+	}
+
+	/**
+	 * A datacenter that processes its own events after its superclass, as the subclasses that
+	 * predate the event handlers do.
+	 */
+	private static class OtherEventDatacenter extends Datacenter {
+
+		private static final int OTHER_EVENT = 9999;
+
+		private int otherEvents;
+
+		public OtherEventDatacenter(DatacenterCharacteristics characteristics, List<Host> hostList)
+				throws Exception {
+			super("Datacenter_0", characteristics, new VmAllocationPolicySimple(hostList),
+					new LinkedList<Storage>(), 0);
+		}
+
+		@Override
+		public void startEntity() {
+			super.startEntity();
+			schedule(getId(), 1.0, OTHER_EVENT);
+		}
+
+		@Override
+		protected void processOtherEvent(SimEvent ev) {
+			super.processOtherEvent(ev);
+			if (ev.getTag() == OTHER_EVENT) {
+				otherEvents++;
+			}
+		}
+
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static List<Cloudlet> run(boolean timeIndexed, List<CountingHost> hostList) throws Exception {
+		return run(timeIndexed, 0, hostList);
+	}
+
+	private static List<Cloudlet> run(boolean timeIndexed, int parallelUpdateThreshold, List<CountingHost> hostList)
+			throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(new ByteArrayOutputStream());
+		CloudSim.init(1, null, false);
+		CloudSim.setParallelUpdateThreshold(parallelUpdateThreshold);
+
+		for (int i = 0; i < HOSTS; i++) {
+			List<Pe> peList = new ArrayList<Pe>();
+			for (int j = 0; j < 2; j++) {
+				peList.add(new Pe(j, new PeProvisionerSimple(1000)));
+			}
+			hostList.add(new CountingHost(i, peList));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		Datacenter datacenter = new Datacenter("Datacenter_0", characteristics, new VmAllocationPolicySimple(
+				hostList), new LinkedList<Storage>(), 0);
+		datacenter.setTimeIndexedScheduling(timeIndexed);
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+
+		List<Vm> vms = new ArrayList<Vm>();
+		for (int i = 0; i < 8; i++) {
+			CloudletScheduler scheduler = i % 2 == 0 ? new CloudletSchedulerTimeShared()
+					: new CloudletSchedulerSpaceShared();
+			vms.add(new Vm(i, broker.getId(), 500 + 100 * (i % 3), 1, 512, 1000, 10000, "Xen", scheduler));
+		}
+		broker.submitVmList(vms);
+		List<Cloudlet> cloudlets = new ArrayList<Cloudlet>();
+		for (int i = 0; i < 40; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, 10000 * (1 + i % 5), 1, 300, 300, new UtilizationModelFull(),
+					new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(i % vms.size());
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+		CloudSim.startSimulation();
+		return cloudlets;
+	}
+
+	private static int getUpdates(List<CountingHost> hostList) {
+		int updates = 0;
+		for (CountingHost host : hostList) {
+			updates += host.updates;
+		}
+		return updates;
+	}
+
+	@Test
+	public void testTimeIndexedScheduling() throws Exception {
+		List<CountingHost> hosts = new ArrayList<CountingHost>();
+		List<Cloudlet> expected = run(false, hosts);
+		List<CountingHost> timeIndexedHosts = new ArrayList<CountingHost>();
+		List<Cloudlet> actual = run(true, timeIndexedHosts);
+		for (int i = 0; i < expected.size(); i++) {
+			// the times differ slightly, as the hosts are updated at different times
+			assertEquals(Cloudlet.SUCCESS, actual.get(i).getStatus());
+			assertEquals(expected.get(i).getExecStartTime(), actual.get(i).getExecStartTime(), 0.5);
+			assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 0.5);
+		}
+		// the cloudlets of a space-shared VM run back to back
+		assertEquals(280.1, actual.get(27).getFinishTime(), 1e-9);
+		assertEquals(300.1, actual.get(35).getFinishTime(), 1e-9);
+
+		// the hosts without VMs are only updated once, when the index is created
+		assertEquals(1, timeIndexedHosts.get(HOSTS - 1).updates);
+		assertTrue(getUpdates(timeIndexedHosts) * 4 < getUpdates(hosts));
+	}
+
+	private static List<Cloudlet> runShortCloudlets(boolean exactCompletionTimes) throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(new ByteArrayOutputStream());
+		CloudSim.init(1, null, false);
+		CloudSim.setExactCompletionTimes(exactCompletionTimes);
+
+		List<Pe> peList = new ArrayList<Pe>();
+		peList.add(new Pe(0, new PeProvisionerSimple(1000)));
+		List<Host> hostList = new ArrayList<Host>();
+		hostList.add(new Host(0, new RamProvisionerSimple(4096), new BwProvisionerSimple(10000), 1000000, peList,
+				new VmSchedulerTimeShared(peList)));
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		new Datacenter("Datacenter_0", characteristics, new VmAllocationPolicySimple(hostList),
+				new LinkedList<Storage>(), 0);
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+
+		List<Vm> vms = new ArrayList<Vm>();
+		vms.add(new Vm(0, broker.getId(), 1000, 1, 512, 1000, 10000, "Xen", new CloudletSchedulerTimeShared()));
+		broker.submitVmList(vms);
+		List<Cloudlet> cloudlets = new ArrayList<Cloudlet>();
+		long[] lengths = { 50, 120, 300 };
+		for (int i = 0; i < lengths.length; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, lengths[i], 1, 300, 300, new UtilizationModelFull(),
+					new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(0);
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+		CloudSim.startSimulation();
+		return cloudlets;
+	}
+
+	@Test
+	public void testExactCompletionTimes() throws Exception {
+		// the cloudlets share the PE of 1000 MIPS: each one gets a third of it until the first one
+		// finishes, then a half until the second one finishes
+		List<Cloudlet> cloudlets = runShortCloudlets(true);
+		double start = cloudlets.get(0).getExecStartTime();
+		assertEquals(start + 0.15, cloudlets.get(0).getFinishTime(), 1e-6);
+		assertEquals(start + 0.29, cloudlets.get(1).getFinishTime(), 1e-6);
+		assertEquals(start + 0.47, cloudlets.get(2).getFinishTime(), 1e-6);
+
+		// otherwise, the events are delayed by the minimal time between events
+		cloudlets = runShortCloudlets(false);
+		assertTrue(cloudlets.get(0).getFinishTime() > start + 0.2);
+	}
+
+	@Test
+	public void testParallelHostUpdates() throws Exception {
+		for (boolean timeIndexed : new boolean[] { false, true }) {
+			List<Cloudlet> expected = run(timeIndexed, 0, new ArrayList<CountingHost>());
+			String expectedLog = Log.getOutput().toString();
+			List<CountingHost> hosts = new ArrayList<CountingHost>();
+			List<Cloudlet> actual = run(timeIndexed, 2, hosts);
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(Cloudlet.SUCCESS, actual.get(i).getStatus());
+				assertEquals(expected.get(i).getExecStartTime(), actual.get(i).getExecStartTime(), 0.0);
+				assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 0.0);
+			}
+			// the messages logged by the hosts are written in the order of the hosts
+			assertTrue(expectedLog.contains("Host #" + (HOSTS - 1) + " updated"));
+			assertEquals(expectedLog, Log.getOutput().toString());
+		}
+	}
+
+	@Test
+	public void testOtherEventsAreNotReported() throws Exception {
+		List<Host> hostList = initSingleHost();
+		OtherEventDatacenter datacenter = new OtherEventDatacenter(new DatacenterCharacteristics("x86", "Linux",
+				"Xen", hostList, 10.0, 3.0, 0.05, 0.001, 0.0), hostList);
+		CloudSim.startSimulation();
+
+		assertEquals(1, datacenter.otherEvents);
+		assertFalse(Log.getOutput().toString().contains("unknown"));
+	}
+
+	@Test
+	public void testUnknownEventsAreReportedOnce() throws Exception {
+		List<Host> hostList = initSingleHost();
+		Datacenter datacenter = new Datacenter("Datacenter_0", new DatacenterCharacteristics("x86", "Linux", "Xen",
+				hostList, 10.0, 3.0, 0.05, 0.001, 0.0), new VmAllocationPolicySimple(hostList),
+				new LinkedList<Storage>(), 0);
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+		for (int i = 1; i <= 3; i++) {
+			CloudSim.send(broker.getId(), datacenter.getId(), i, UNKNOWN_EVENT, null);
+			CloudSim.send(datacenter.getId(), broker.getId(), i, UNKNOWN_EVENT, null);
+		}
+		CloudSim.startSimulation();
+
+		String output = Log.getOutput().toString();
+		assertEquals(1, output.split("Datacenter_0: Error - unknown event tag " + UNKNOWN_EVENT + ";", -1).length - 1);
+		assertEquals(1, output.split("Broker: Error - unknown event tag " + UNKNOWN_EVENT + ";", -1).length - 1);
+	}
+
+	/**
+	 * Creates a new context and a host with a single PE.
+	 */
+	private static List<Host> initSingleHost() {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(new ByteArrayOutputStream());
+		CloudSim.init(1, null, false);
+
+		List<Pe> peList = new ArrayList<Pe>();
+		peList.add(new Pe(0, new PeProvisionerSimple(1000)));
+		List<Host> hostList = new ArrayList<Host>();
+		hostList.add(new Host(0, new RamProvisionerSimple(4096), new BwProvisionerSimple(10000), 1000000, peList,
+				new VmSchedulerTimeShared(peList)));
+		return hostList;
+	}
+
+}
@@ -175,4 +175,21 @@ public class LogTest {
 		OUTPUT.reset();
 	}
 
+	@Test
+	public void testPrintTraceLine() throws IOException {
+		ByteArrayOutputStream trace = new ByteArrayOutputStream();
+		Log.setTraceOutput(trace);
+		OUTPUT.reset();
+		Log.disable();
+		try {
+			// the traces are written even when the log is disabled
+			Log.printTraceLine("{'type': 'test'}");
+			assertEquals("{'type': 'test'}" + LINE_SEPARATOR, trace.toString());
+			assertEquals("", OUTPUT.toString());
+		} finally {
+			Log.enable();
+			Log.setTraceOutput(null);
+		}
+	}
+
 }
@@ -0,0 +1,244 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class CalendarQueueTest {
+
+	private CalendarQueue queue;
+
+	private FutureQueue reference;
+
+	@Before
+	public void setUp() throws Exception {
+		queue = new CalendarQueue();
+		reference = new FutureQueue();
+	}
+
+	private static SimEvent event(double time) {
+		return new SimEvent(SimEvent.SEND, time, 0, 0, 0, null);
+	}
+
+	private void add(double time) {
+		queue.addEvent(event(time));
+		reference.addEvent(event(time));
+	}
+
+	private void assertSameOrder() {
+		assertEquals(reference.size(), queue.size());
+		Iterator<SimEvent> expected = reference.iterator();
+		Iterator<SimEvent> actual = queue.iterator();
+		while (expected.hasNext()) {
+			SimEvent e = expected.next();
+			SimEvent a = actual.next();
+			assertEquals(e.eventTime(), a.eventTime(), 0);
+			assertEquals(e.getSerial(), a.getSerial());
+		}
+		assertFalse(actual.hasNext());
+	}
+
+	private void assertSameDequeueOrder() {
+		while (reference.size() > 0) {
+			SimEvent e = reference.first();
+			SimEvent a = queue.first();
+			assertEquals(e.eventTime(), a.eventTime(), 0);
+			assertEquals(e.getSerial(), a.getSerial());
+			assertTrue(reference.remove(e));
+			assertTrue(queue.remove(a));
+		}
+		assertEquals(0, queue.size());
+		assertNull(queue.first());
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0, queue.size());
+		assertNull(queue.first());
+		assertFalse(queue.iterator().hasNext());
+		assertFalse(queue.remove(event(1)));
+	}
+
+	@Test
+	public void testSameTimeKeepsInsertionOrder() {
+		for (int i = 0; i < 1000; i++) {
+			add(5.0);
+		}
+		assertSameOrder();
+		assertSameDequeueOrder();
+	}
+
+	@Test
+	public void testAddEventFirst() {
+		add(1.0);
+		add(2.0);
+		add(2.0);
+		SimEvent first = event(2.0);
+		queue.addEventFirst(first);
+		assertEquals(1.0, queue.first().eventTime(), 0);
+		assertTrue(queue.remove(queue.first()));
+		assertSame(first, queue.first());
+	}
+
+	@Test
+	public void testRandomWorkload() {
+		Random random = new Random(42);
+		double clock = 0;
+		for (int round = 0; round < 20000; round++) {
+			int op = random.nextInt(10);
+			if (op < 6 || reference.size() == 0) {
+				// mix of immediate, near and far future events
+				double delay = random.nextInt(4) == 0 ? 0 : random.nextDouble() * (random.nextBoolean() ? 1 : 1000);
+				add(clock + delay);
+			} else {
+				SimEvent e = reference.first();
+				SimEvent a = queue.first();
+				assertEquals(e.eventTime(), a.eventTime(), 0);
+				assertEquals(e.getSerial(), a.getSerial());
+				reference.remove(e);
+				queue.remove(a);
+				clock = e.eventTime();
+			}
+		}
+		assertSameOrder();
+		assertSameDequeueOrder();
+	}
+
+	@Test
+	public void testPollFirstEvents() {
+		Random random = new Random(7);
+		for (int i = 0; i < 5000; i++) {
+			add(random.nextInt(200));
+		}
+		List<SimEvent> expected = new ArrayList<SimEvent>();
+		List<SimEvent> actual = new ArrayList<SimEvent>();
+		while (reference.size() > 0) {
+			int count = reference.pollFirstEvents(expected);
+			assertEquals(count, queue.pollFirstEvents(actual));
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(0).eventTime(), actual.get(i).eventTime(), 0);
+				assertEquals(expected.get(i).getSerial(), actual.get(i).getSerial());
+			}
+			expected.clear();
+			actual.clear();
+		}
+		assertEquals(0, queue.size());
+		assertEquals(0, queue.pollFirstEvents(actual));
+		assertTrue(actual.isEmpty());
+	}
+
+	@Test
+	public void testResize() {
+		for (int i = 0; i < 10000; i++) {
+			add(i * 0.5);
+		}
+		assertTrue(queue.getNumberOfBuckets() > 16);
+		assertSameDequeueOrder();
+		assertEquals(16, queue.getNumberOfBuckets());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		for (int i = 0; i < 500; i++) {
+			add(i % 7);
+		}
+		Iterator<SimEvent> it = queue.iterator();
+		Iterator<SimEvent> ref = reference.iterator();
+		while (it.hasNext()) {
+			SimEvent a = it.next();
+			ref.next();
+			if (a.getSerial() % 3 == 0) {
+				it.remove();
+				ref.remove();
+			}
+		}
+		assertSameOrder();
+		assertSameDequeueOrder();
+	}
+
+	@Test
+	public void testFarFutureEvents() {
+		add(1e9);
+		add(0.5);
+		add(Double.MAX_VALUE);
+		add(3e5);
+		add(Double.POSITIVE_INFINITY);
+		assertSameOrder();
+		assertSameDequeueOrder();
+	}
+
+	@Test
+	public void testNeverEvents() {
+		Random random = new Random(3);
+		double clock = 0;
+		for (int round = 0; round < 5000; round++) {
+			int op = random.nextInt(10);
+			if (op < 2) {
+				// events that callers use as "never happens"
+				add(random.nextBoolean() ? Double.POSITIVE_INFINITY : Double.MAX_VALUE);
+			} else if (op < 6 || reference.size() == 0) {
+				add(clock + random.nextDouble() * 10);
+			} else {
+				SimEvent e = reference.first();
+				SimEvent a = queue.first();
+				assertEquals(e.eventTime(), a.eventTime(), 0);
+				assertEquals(e.getSerial(), a.getSerial());
+				reference.remove(e);
+				queue.remove(a);
+				if (!Double.isInfinite(e.eventTime()) && e.eventTime() < Double.MAX_VALUE) {
+					clock = e.eventTime();
+				}
+			}
+		}
+		assertSameOrder();
+		// the width fits the finite events, which would otherwise share a single bucket
+		assertTrue(queue.getBucketWidth() < 100);
+		List<SimEvent> events = new ArrayList<SimEvent>();
+		while (queue.pollFirstEvents(events) > 0) {
+			SimEvent e = events.get(events.size() - 1);
+			assertTrue(e.eventTime() >= clock);
+			clock = e.eventTime();
+		}
+		assertEquals(0, queue.size());
+		assertEquals(Double.POSITIVE_INFINITY, clock, 0);
+	}
+
+	@Test
+	public void testRemoveAllAndClear() {
+		List<SimEvent> events = new ArrayList<SimEvent>();
+		for (int i = 0; i < 100; i++) {
+			SimEvent e = event(i);
+			events.add(e);
+			queue.addEvent(e);
+		}
+		assertTrue(queue.removeAll(events.subList(0, 50)));
+		assertEquals(50, queue.size());
+		assertSame(events.get(50), queue.first());
+		queue.clear();
+		assertEquals(0, queue.size());
+		assertNull(queue.first());
+	}
+
+}
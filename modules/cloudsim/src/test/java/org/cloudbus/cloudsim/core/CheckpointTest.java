@@ -0,0 +1,214 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerBackfilling;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class CheckpointTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	/**
+	 * Creates a new context with a datacenter whose host has two PEs.
+	 */
+	private static void createDatacenter() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(new ByteArrayOutputStream());
+		CloudSim.init(1, null, false);
+
+		List<Pe> peList = new ArrayList<Pe>();
+		for (int i = 0; i < 2; i++) {
+			peList.add(new Pe(i, new PeProvisionerSimple(1000)));
+		}
+		List<Host> hostList = new ArrayList<Host>();
+		hostList.add(new Host(0, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+				new VmSchedulerTimeShared(peList)));
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		new Datacenter("Datacenter_0", characteristics, new VmAllocationPolicySimple(hostList),
+				new LinkedList<Storage>(), 0);
+	}
+
+	private static DatacenterBroker createSimulation() throws Exception {
+		createDatacenter();
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+
+		List<Vm> vms = new ArrayList<Vm>();
+		for (int i = 0; i < 4; i++) {
+			vms.add(new Vm(i, broker.getId(), 250, 1, 256, 1000, 10000, "Xen", new CloudletSchedulerTimeShared()));
+		}
+		broker.submitVmList(vms);
+		List<Cloudlet> cloudlets = new ArrayList<Cloudlet>();
+		for (int i = 0; i < 12; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, 10000 * (1 + i % 4), 1, 300, 300, new UtilizationModelFull(),
+					new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(i % vms.size());
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+		return broker;
+	}
+
+	/**
+	 * Creates a simulation where a VM with a backfilling scheduler runs two-PE cloudlets on its
+	 * two PEs, so that the cloudlets wait in turn.
+	 */
+	private static DatacenterBroker createBackfillingSimulation() throws Exception {
+		createDatacenter();
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+		Vm vm = new Vm(0, broker.getId(), 1000, 2, 512, 1000, 10000, "Xen", new CloudletSchedulerBackfilling());
+		broker.submitVmList(Arrays.asList(vm));
+		List<Cloudlet> cloudlets = new ArrayList<Cloudlet>();
+		for (int i = 0; i < 3; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, 100000, 2, 300, 300, new UtilizationModelFull(),
+					new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(vm.getId());
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+		return broker;
+	}
+
+	private static List<String> getResults(DatacenterBroker broker) {
+		List<String> results = new ArrayList<String>();
+		for (Cloudlet cloudlet : broker.getCloudletReceivedList()) {
+			results.add(cloudlet.getCloudletId() + " " + cloudlet.getStatus() + " " + cloudlet.getExecStartTime()
+					+ " " + cloudlet.getFinishTime());
+		}
+		return results;
+	}
+
+	@Test
+	public void testRestore() throws Exception {
+		File file = folder.newFile("checkpoint");
+		DatacenterBroker broker = createSimulation();
+		CloudSim.checkpointAt(100, file);
+		CloudSim.startSimulation();
+		List<String> expected = getResults(broker);
+		assertEquals(12, expected.size());
+		assertTrue(file.length() > 0);
+
+		// the checkpoint is restored twice, into two independent simulations
+		List<DatacenterBroker> restored = new ArrayList<DatacenterBroker>();
+		for (int i = 0; i < 2; i++) {
+			SimulationContext context = SimulationContext.restoreCheckpoint(file);
+			assertSame(context, SimulationContext.current());
+			assertTrue(CloudSim.clock() > 100);
+			DatacenterBroker restoredBroker = (DatacenterBroker) CloudSim.getEntity("Broker");
+			assertTrue(restoredBroker.getCloudletReceivedList().size() < expected.size());
+			CloudSim.startSimulation();
+			assertEquals(expected, getResults(restoredBroker));
+			restored.add(restoredBroker);
+		}
+		assertNotSame(restored.get(0), restored.get(1));
+		assertNotSame(broker, restored.get(0));
+	}
+
+	@Test
+	public void testRestoreWithWaitingCloudlets() throws Exception {
+		File file = folder.newFile("checkpoint");
+		DatacenterBroker broker = createBackfillingSimulation();
+		CloudSim.checkpointAt(150, file);
+		CloudSim.startSimulation();
+		List<String> expected = getResults(broker);
+		assertEquals(3, expected.size());
+
+		SimulationContext.restoreCheckpoint(file);
+		DatacenterBroker restoredBroker = (DatacenterBroker) CloudSim.getEntity("Broker");
+		// the last cloudlet is still waiting
+		assertEquals(1, restoredBroker.getCloudletReceivedList().size());
+		CloudSim.startSimulation();
+		assertEquals(expected, getResults(restoredBroker));
+	}
+
+	@Test
+	public void testPartitioningIsNotSaved() throws Exception {
+		File file = folder.newFile("checkpoint");
+		DatacenterBroker broker = createSimulation();
+		CloudSim.startSimulation();
+		List<String> expected = getResults(broker);
+
+		Partitioning partitioning = new Partitioning(0).addPartition(createSimulation());
+		CloudSim.setPartitioning(partitioning);
+		SimulationContext.current().saveCheckpoint(file);
+		assertSame(partitioning, CloudSim.getPartitioning());
+
+		SimulationContext.restoreCheckpoint(file);
+		assertNull(CloudSim.getPartitioning());
+		DatacenterBroker restoredBroker = (DatacenterBroker) CloudSim.getEntity("Broker");
+		CloudSim.startSimulation();
+		assertEquals(expected, getResults(restoredBroker));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCheckpointInThePast() throws Exception {
+		File file = folder.newFile("checkpoint");
+		createSimulation();
+		CloudSim.checkpointAt(100, file);
+		CloudSim.startSimulation();
+		SimulationContext.restoreCheckpoint(file);
+		CloudSim.checkpointAt(50, folder.newFile("checkpoint2"));
+	}
+
+	@Test(expected = IOException.class)
+	public void testRestoreInvalidFile() throws Exception {
+		File file = folder.newFile("checkpoint");
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(new byte[] { 1, 2, 3 });
+		out.close();
+		SimulationContext.restoreCheckpoint(file);
+	}
+
+}
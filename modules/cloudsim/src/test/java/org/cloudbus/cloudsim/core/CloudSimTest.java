@@ -0,0 +1,254 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.core.predicates.PredicateNotType;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class CloudSimTest {
+
+	private static final int TAG_A = 1001;
+
+	private static final int TAG_B = 1002;
+
+	private Receiver source;
+
+	private Receiver destination;
+
+	/**
+	 * An entity that records the tags of the events it receives.
+	 */
+	private static class Receiver extends SimEntity {
+
+		private final List<Integer> received = new ArrayList<Integer>();
+
+		public Receiver(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			received.add(ev.getTag());
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+
+	}
+
+	private static FutureEventList future() {
+		return SimulationContext.current().getFutureEventList();
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		Log.disable();
+		CloudSim.init(1, null, false);
+		source = new Receiver("Source");
+		destination = new Receiver("Destination");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Log.enable();
+	}
+
+	@Test
+	public void testCancelHandle() {
+		SimEvent a = CloudSim.send(source.getId(), destination.getId(), 1, TAG_A, null);
+		SimEvent b = CloudSim.send(source.getId(), destination.getId(), 2, TAG_B, null);
+		assertEquals(2, future().size());
+
+		assertTrue(CloudSim.cancel(a));
+		assertFalse(CloudSim.cancel(a));
+		assertEquals(1, future().size());
+		assertSame(b, future().first());
+
+		CloudSim.run();
+		assertEquals(1, destination.received.size());
+		assertEquals(TAG_B, destination.received.get(0).intValue());
+	}
+
+	@Test
+	public void testCancelByType() {
+		SimEvent first = null;
+		for (int i = 0; i < 10; i++) {
+			SimEvent e = CloudSim.send(source.getId(), destination.getId(), 10 - i, TAG_A, null);
+			first = e;
+			CloudSim.send(source.getId(), destination.getId(), i, TAG_B, null);
+			CloudSim.send(destination.getId(), source.getId(), i, TAG_A, null);
+		}
+
+		assertSame(first, CloudSim.cancel(source.getId(), new PredicateType(TAG_A)));
+		assertEquals(29, future().size());
+
+		assertTrue(CloudSim.cancelAll(source.getId(), new PredicateType(TAG_A)));
+		assertEquals(20, future().size());
+		assertFalse(CloudSim.cancelAll(source.getId(), new PredicateType(TAG_A)));
+		assertNull(CloudSim.cancel(source.getId(), new PredicateType(TAG_A)));
+
+		assertTrue(CloudSim.cancelAll(source.getId(), new PredicateNotType(TAG_A)));
+		assertEquals(10, future().size());
+
+		CloudSim.run();
+		assertEquals(0, destination.received.size());
+		assertEquals(10, source.received.size());
+	}
+
+	/**
+	 * An entity that replies to the events it receives, and keeps the replies.
+	 */
+	private static class Echo extends Receiver {
+
+		private final List<SimEvent> replies = new ArrayList<SimEvent>();
+
+		public Echo(String name) {
+			super(name);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			super.processEvent(ev);
+			replies.add(schedule(ev.getSource(), 1, TAG_B, "reply"));
+		}
+
+	}
+
+	@Test
+	public void testEventPooling() {
+		CloudSim.setEventPooling(true);
+		try {
+			Echo echo = new Echo("Echo");
+			SimEvent a = CloudSim.send(source.getId(), echo.getId(), 1, TAG_A, "request");
+			CloudSim.send(source.getId(), echo.getId(), 3, TAG_A, "request");
+			CloudSim.run();
+			assertEquals(2, source.received.size());
+			assertTrue(a.isRecycled());
+			// the first reply has been processed before the second one is sent
+			assertSame(echo.replies.get(0), echo.replies.get(1));
+		} finally {
+			CloudSim.setEventPooling(false);
+		}
+	}
+
+	@Test
+	public void testEventPoolDebug() {
+		CloudSim.setEventPoolDebug(true);
+		try {
+			Echo echo = new Echo("Echo");
+			SimEvent a = CloudSim.send(source.getId(), echo.getId(), 1, TAG_A, "request");
+			CloudSim.send(source.getId(), echo.getId(), 3, TAG_A, "request");
+			CloudSim.run();
+			assertEquals(2, source.received.size());
+			assertNotSame(echo.replies.get(0), echo.replies.get(1));
+			try {
+				a.getData();
+				fail("A recycled event has been accessed");
+			} catch (IllegalStateException e) {
+			}
+		} finally {
+			CloudSim.setEventPoolDebug(false);
+		}
+	}
+
+	@Test
+	public void testEventPoolingDisabled() {
+		assertFalse(CloudSim.isEventPooling());
+		Echo echo = new Echo("Echo");
+		SimEvent a = CloudSim.send(source.getId(), echo.getId(), 1, TAG_A, "request");
+		CloudSim.send(source.getId(), echo.getId(), 3, TAG_A, "request");
+		CloudSim.run();
+		assertEquals(2, source.received.size());
+		assertNotSame(echo.replies.get(0), echo.replies.get(1));
+		assertEquals("request", a.getData());
+	}
+
+	/**
+	 * An entity that cancels, through its handle, the event it has received and schedules
+	 * another one, after the first one has been processed.
+	 */
+	private static class Canceller extends Receiver {
+
+		private SimEvent handle;
+
+		private SimEvent next;
+
+		private boolean cancelled = true;
+
+		public Canceller(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			handle = schedule(getId(), 1, TAG_A);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			super.processEvent(ev);
+			if (ev.getTag() == TAG_A) {
+				// the event of the handle is being processed
+				schedule(getId(), 1, TAG_B, "go");
+			} else if ("go".equals(ev.getData())) {
+				next = schedule(getId(), 1, TAG_B);
+				cancelled = cancelEvent(handle);
+			}
+		}
+
+	}
+
+	@Test
+	public void testCancelHandleAfterProcessed() {
+		Canceller canceller = new Canceller("Canceller");
+		CloudSim.run();
+		assertFalse(canceller.cancelled);
+		// the handle is not the event scheduled later, which is not cancelled
+		assertNotSame(canceller.handle, canceller.next);
+		assertEquals(3, ((Receiver) canceller).received.size());
+	}
+
+	@Test
+	public void testCancelRecycledHandle() {
+		CloudSim.setEventPoolDebug(true);
+		try {
+			Canceller canceller = new Canceller("Canceller");
+			CloudSim.run();
+			assertTrue(canceller.handle.isRecycled());
+			assertFalse(canceller.cancelled);
+			assertEquals(3, ((Receiver) canceller).received.size());
+		} finally {
+			CloudSim.setEventPoolDebug(false);
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Iterator;
+
+import org.cloudbus.cloudsim.core.predicates.PredicateFrom;
+import org.cloudbus.cloudsim.core.predicates.PredicateNotType;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class DeferredQueueTest {
+
+	private DeferredQueue queue;
+
+	@Before
+	public void setUp() throws Exception {
+		queue = new DeferredQueue();
+	}
+
+	private SimEvent add(double time, int src, int dest, int tag) {
+		SimEvent event = new SimEvent(SimEvent.SEND, time, src, dest, tag, null);
+		queue.addEvent(event);
+		return event;
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0, queue.size());
+		assertEquals(0, queue.size(3));
+		assertEquals(0, queue.count(3, CloudSim.SIM_ANY));
+		assertNull(queue.find(3, CloudSim.SIM_ANY));
+		assertNull(queue.removeFirst(-1, CloudSim.SIM_ANY));
+		assertFalse(queue.iterator().hasNext());
+	}
+
+	@Test
+	public void testPartitionedByDestination() {
+		SimEvent a = add(1, 0, 1, 10);
+		SimEvent b = add(1, 0, 2, 10);
+		SimEvent c = add(2, 0, 1, 11);
+
+		assertEquals(3, queue.size());
+		assertEquals(2, queue.size(1));
+		assertEquals(1, queue.size(2));
+		assertEquals(2, queue.count(1, CloudSim.SIM_ANY));
+
+		assertSame(a, queue.removeFirst(1, CloudSim.SIM_ANY));
+		assertSame(c, queue.removeFirst(1, CloudSim.SIM_ANY));
+		assertNull(queue.removeFirst(1, CloudSim.SIM_ANY));
+		assertSame(b, queue.find(2, CloudSim.SIM_ANY));
+		assertEquals(1, queue.size());
+	}
+
+	@Test
+	public void testTemporalOrder() {
+		SimEvent a = add(5, 0, 1, 10);
+		SimEvent b = add(3, 0, 1, 10);
+		SimEvent c = add(3, 0, 1, 10);
+		SimEvent d = add(4, 0, 1, 10);
+		SimEvent e = add(5, 0, 1, 10);
+
+		SimEvent[] expected = { b, c, d, a, e };
+		for (SimEvent event : expected) {
+			assertSame(event, queue.removeFirst(1, CloudSim.SIM_ANY));
+		}
+	}
+
+	@Test
+	public void testPredicateType() {
+		add(1, 0, 1, 10);
+		SimEvent b = add(2, 0, 1, 11);
+		SimEvent c = add(3, 0, 1, 12);
+		add(4, 0, 2, 11);
+
+		assertEquals(1, queue.count(1, new PredicateType(11)));
+		assertEquals(2, queue.count(1, new PredicateType(new int[] { 11, 12, 11 })));
+		assertEquals(0, queue.count(1, new PredicateType(13)));
+		assertEquals(2, queue.count(1, new PredicateNotType(10)));
+		assertNull(queue.find(1, new PredicateType(13)));
+
+		assertSame(c, queue.removeFirst(1, new PredicateType(12)));
+		assertEquals(0, queue.count(1, new PredicateType(12)));
+		assertSame(b, queue.find(1, new PredicateType(new int[] { 12, 11 })));
+	}
+
+	@Test
+	public void testPredicateTypeOfLargeAndNegativeTags() {
+		add(1, 0, 1, 500);
+		SimEvent b = add(2, 0, 1, 1000000);
+		add(3, 0, 1, -3);
+		add(4, 0, 1, 1000000);
+
+		assertEquals(1, queue.count(1, new PredicateType(500)));
+		assertEquals(2, queue.count(1, new PredicateType(1000000)));
+		assertEquals(1, queue.count(1, new PredicateType(-3)));
+		assertEquals(0, queue.count(1, new PredicateType(501)));
+		assertSame(b, queue.removeFirst(1, new PredicateType(1000000)));
+		assertEquals(1, queue.count(1, new PredicateType(1000000)));
+	}
+
+	@Test
+	public void testPredicateFrom() {
+		SimEvent a = add(1, 5, 1, 10);
+		SimEvent b = add(2, 6, 1, 10);
+		add(3, 5, 2, 10);
+
+		assertEquals(1, queue.count(1, new PredicateFrom(5)));
+		assertEquals(2, queue.count(1, new PredicateFrom(new int[] { 5, 6 })));
+		assertSame(b, queue.removeFirst(1, new PredicateFrom(6)));
+		assertEquals(0, queue.count(1, new PredicateFrom(6)));
+		assertSame(a, queue.removeFirst(1, new PredicateFrom(5)));
+		assertEquals(1, queue.size());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		add(1, 0, 2, 10);
+		add(1, 0, 0, 11);
+		add(2, 0, 2, 11);
+
+		int count = 0;
+		Iterator<SimEvent> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+			SimEvent event = iterator.next();
+			if (event.getTag() == 11) {
+				iterator.remove();
+			}
+			count++;
+		}
+		assertEquals(3, count);
+		assertEquals(1, queue.size());
+		assertEquals(0, queue.count(2, new PredicateType(11)));
+		assertEquals(0, queue.size(0));
+
+		queue.clear();
+		assertEquals(0, queue.size());
+		assertEquals(0, queue.size(2));
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.cloudbus.cloudsim.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class EventProfilerTest {
+
+	private static final int TAG_A = CloudSimTags.VM_DATACENTER_EVENT;
+
+	private static final int TAG_B = 1002;
+
+	private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+	/**
+	 * An entity that waits for a while when it is started, and replies to the events of a
+	 * given tag.
+	 */
+	private static class Replier extends SimEntity {
+
+		public Replier(String name) {
+			super(name);
+		}
+
+		@Override
+		public void startEntity() {
+			pause(0.5);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			if (ev.getTag() == TAG_A) {
+				schedule(ev.getSource(), 1, TAG_B);
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(log);
+		CloudSim.init(1, null, false);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	@Test
+	public void testProfile() {
+		EventProfiler profiler = new EventProfiler().addTagNames(CloudSimTags.class);
+		CloudSim.setEventProfiler(profiler);
+		Replier a = new Replier("A");
+		Replier b = new Replier("B");
+		for (int i = 0; i < 3; i++) {
+			CloudSim.send(a.getId(), b.getId(), i + 1, TAG_A, null);
+		}
+		CloudSim.cancel(CloudSim.send(a.getId(), b.getId(), 10, TAG_A, null));
+		CloudSim.startSimulation();
+
+		assertEquals(4, profiler.getEnqueued(Replier.class, TAG_A));
+		assertEquals(3, profiler.getDequeued(Replier.class, TAG_A));
+		assertEquals(3, profiler.getDeferred(Replier.class, TAG_A));
+		assertEquals(1, profiler.getCancelled(Replier.class, TAG_A));
+		assertEquals(3, profiler.getProcessed(Replier.class, TAG_A));
+		assertEquals(3, profiler.getProcessed(Replier.class, TAG_B));
+		assertEquals(2, profiler.getDequeued(Replier.class, EventProfiler.HOLD_TAG));
+		assertEquals(0, profiler.getProcessed(SimEntity.class, TAG_A));
+		assertEquals(5, profiler.getPeakFutureQueueSize());
+
+		String report = log.toString();
+		assertTrue(report.contains("EVENT PROFILE"));
+		assertTrue(report.contains("VM_DATACENTER_EVENT (" + TAG_A + ")"));
+		assertTrue(report.contains("HOLD_DONE"));
+	}
+
+	@Test
+	public void testDisabled() {
+		new Replier("A");
+		CloudSim.startSimulation();
+		assertFalse(log.toString().contains("EVENT PROFILE"));
+	}
+
+}
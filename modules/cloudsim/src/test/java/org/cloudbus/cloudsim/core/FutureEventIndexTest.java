@@ -0,0 +1,128 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class FutureEventIndexTest {
+
+	private FutureEventIndex index;
+
+	@Before
+	public void setUp() throws Exception {
+		index = new FutureEventIndex();
+	}
+
+	private static SimEvent event(int src, int tag) {
+		return new SimEvent(SimEvent.SEND, 0, src, 0, tag, null);
+	}
+
+	@Test
+	public void testAddAndRemove() {
+		SimEvent first = event(1, 5);
+		SimEvent second = event(1, 5);
+		SimEvent third = event(1, 5);
+		SimEvent other = event(2, 5);
+		index.add(first);
+		index.add(second);
+		index.add(third);
+		index.add(other);
+
+		assertEquals(Arrays.asList(first, second, third), new ArrayList<SimEvent>(index.getEvents(1, 5)));
+		assertTrue(index.getEvents(1, 6).isEmpty());
+		assertTrue(index.getEvents(3, 5).isEmpty());
+
+		index.remove(second);
+		Collection<SimEvent> events = index.getEvents(1, 5);
+		assertEquals(Arrays.asList(first, third), new ArrayList<SimEvent>(events));
+		assertFalse(events.contains(second));
+		assertFalse(events.contains(other));
+		assertTrue(events.contains(third));
+
+		// removing an event that is not indexed does nothing
+		index.remove(second);
+		index.remove(first);
+		index.remove(third);
+		assertTrue(index.getEvents(1, 5).isEmpty());
+		assertEquals(1, index.getEvents(2, 5).size());
+	}
+
+	@Test
+	public void testLargeAndNegativeTags() {
+		SimEvent large = event(0, 100000);
+		SimEvent negative = event(0, -3);
+		index.add(large);
+		index.add(negative);
+		assertSame(large, index.getEvents(0, 100000).iterator().next());
+		assertSame(negative, index.getEvents(0, -3).iterator().next());
+
+		index.remove(large);
+		assertTrue(index.getEvents(0, 100000).isEmpty());
+		assertEquals(1, index.getEvents(0, -3).size());
+	}
+
+	@Test
+	public void testClear() {
+		SimEvent event = event(0, 1);
+		index.add(event);
+		Collection<SimEvent> events = index.getEvents(0, 1);
+		index.clear();
+		assertTrue(events.isEmpty());
+		assertTrue(index.getEvents(0, 1).isEmpty());
+
+		// the event can be indexed again
+		index.add(event);
+		assertEquals(1, index.getEvents(0, 1).size());
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		List<SimEvent> events = new ArrayList<SimEvent>();
+		for (int i = 0; i < 10000; i++) {
+			SimEvent event = event(i % 3, i % 2);
+			events.add(event);
+			index.add(event);
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream(bytes);
+		out.writeObject(events);
+		out.writeObject(index);
+		out.close();
+		ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		@SuppressWarnings("unchecked")
+		List<SimEvent> restoredEvents = (List<SimEvent>) in.readObject();
+		FutureEventIndex restored = (FutureEventIndex) in.readObject();
+
+		Collection<SimEvent> indexed = restored.getEvents(1, 0);
+		assertEquals(index.getEvents(1, 0).size(), indexed.size());
+		assertTrue(indexed.contains(restoredEvents.get(4)));
+		restored.remove(restoredEvents.get(4));
+		assertFalse(indexed.contains(restoredEvents.get(4)));
+	}
+
+}
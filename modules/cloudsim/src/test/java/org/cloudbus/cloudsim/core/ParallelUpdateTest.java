@@ -0,0 +1,146 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Log;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class ParallelUpdateTest {
+
+	private static final int ELEMENTS = 200;
+
+	/**
+	 * An update that logs each element and records the context and the thread that updated it.
+	 */
+	private static class RecordingUpdate extends ParallelUpdate<Integer> {
+
+		private final SimulationContext[] contexts = new SimulationContext[ELEMENTS];
+
+		private final Thread[] threads = new Thread[ELEMENTS];
+
+		private final int unsafeElement;
+
+		public RecordingUpdate(int unsafeElement) {
+			this.unsafeElement = unsafeElement;
+		}
+
+		@Override
+		protected double update(Integer element) {
+			contexts[element] = SimulationContext.current();
+			threads[element] = Thread.currentThread();
+			Log.printConcatLine("Element ", element);
+			if (element % 2 == 1) {
+				Log.printTraceLine("Trace " + element);
+			}
+			return element * 2.0;
+		}
+
+		@Override
+		protected boolean isParallelSafe(Integer element) {
+			return element != unsafeElement;
+		}
+
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static List<Integer> getElements() {
+		List<Integer> elements = new ArrayList<Integer>();
+		for (int i = 0; i < ELEMENTS; i++) {
+			elements.add(i);
+		}
+		return elements;
+	}
+
+	private static String getExpectedLog(boolean withLog) {
+		StringBuilder log = new StringBuilder();
+		for (int i = 0; i < ELEMENTS; i++) {
+			if (withLog) {
+				log.append("Element ").append(i).append(System.getProperty("line.separator"));
+			}
+			if (i % 2 == 1) {
+				log.append("Trace ").append(i).append(System.getProperty("line.separator"));
+			}
+		}
+		return log.toString();
+	}
+
+	@Test
+	public void testParallelUpdate() {
+		SimulationContext context = new SimulationContext();
+		SimulationContext.setCurrent(context);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		Log.setOutput(output);
+		Log.setTraceOutput(output);
+		CloudSim.setParallelUpdateThreshold(10);
+
+		RecordingUpdate update = new RecordingUpdate(-1);
+		double[] times = update.run(getElements());
+		for (int i = 0; i < ELEMENTS; i++) {
+			assertEquals(i * 2.0, times[i], 0.0);
+			// the threads that update the elements are bound to the context of the caller
+			assertSame(context, update.contexts[i]);
+		}
+		assertEquals(getExpectedLog(true), output.toString());
+		assertSame(output, Log.getOutput());
+		assertSame(output, Log.getTraceOutput());
+
+		// the traces are written even when the log is disabled
+		output.reset();
+		Log.disable();
+		update.run(getElements());
+		assertEquals(getExpectedLog(false), output.toString());
+	}
+
+	@Test
+	public void testSequentialUpdate() {
+		SimulationContext.setCurrent(new SimulationContext());
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		Log.setOutput(output);
+		Log.setTraceOutput(output);
+
+		// the threshold is not set
+		RecordingUpdate update = new RecordingUpdate(-1);
+		update.run(getElements());
+		for (int i = 0; i < ELEMENTS; i++) {
+			assertSame(Thread.currentThread(), update.threads[i]);
+		}
+
+		// an element cannot be updated in parallel
+		CloudSim.setParallelUpdateThreshold(10);
+		update = new RecordingUpdate(ELEMENTS / 2);
+		double[] times = update.run(getElements());
+		for (int i = 0; i < ELEMENTS; i++) {
+			assertEquals(i * 2.0, times[i], 0.0);
+			assertSame(Thread.currentThread(), update.threads[i]);
+		}
+		assertEquals(getExpectedLog(true) + getExpectedLog(true), output.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeThreshold() {
+		SimulationContext.setCurrent(new SimulationContext());
+		CloudSim.setParallelUpdateThreshold(-1);
+	}
+
+}
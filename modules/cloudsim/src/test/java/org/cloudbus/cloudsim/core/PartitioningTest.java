@@ -0,0 +1,241 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.Cloudlet;
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Datacenter;
+import org.cloudbus.cloudsim.DatacenterBroker;
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Host;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmAllocationPolicySimple;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.predicates.PredicateType;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class PartitioningTest {
+
+	private static final int MESSAGE = 3001;
+
+	private static final int TIMER = 3002;
+
+	/**
+	 * An entity that forwards messages to its peers and logs the messages it receives.
+	 */
+	private static class Node extends SimEntity {
+
+		private final List<Node> peers = new ArrayList<Node>();
+
+		private final List<String> received = new ArrayList<String>();
+
+		private final double delay;
+
+		public Node(String name, double delay) {
+			super(name);
+			this.delay = delay;
+		}
+
+		@Override
+		public void startEntity() {
+			for (int i = 0; i < peers.size(); i++) {
+				schedule(peers.get(i).getId(), delay * (1 + i % 2), MESSAGE, 0);
+			}
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			String message = CloudSim.clock() + ": " + getName() + " received " + ev.getTag() + " from "
+					+ CloudSim.getEntityName(ev.getSource()) + " with " + ev.getData();
+			received.add(message);
+			Log.printLine(message);
+			if (ev.getTag() == TIMER) {
+				Log.printTraceLine("Trace of " + message);
+				return;
+			}
+
+			int hop = (Integer) ev.getData();
+			if (hop < 12) {
+				Node peer = peers.get((hop + getId()) % peers.size());
+				schedule(peer.getId(), delay * (1 + hop % 3), MESSAGE, hop + 1);
+				// an event at the same time, processed in the next clock tick
+				schedule(getId(), 0, TIMER, hop);
+				if (hop % 4 == 1) {
+					schedule(getId(), delay, TIMER, -hop);
+					CloudSim.cancelAll(getId(), new PredicateType(TIMER));
+				}
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	/**
+	 * Creates a new context bound to the calling thread, with the log and the allocation
+	 * traces written to a given stream.
+	 */
+	private static void initContext(ByteArrayOutputStream log) {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(log);
+		Log.setTraceOutput(log);
+		CloudSim.init(1, null, false);
+	}
+
+	private static List<Node> createNodes(int count, double delay) {
+		List<Node> nodes = new ArrayList<Node>();
+		for (int i = 0; i < count; i++) {
+			nodes.add(new Node("Node" + i, delay));
+		}
+		for (Node node : nodes) {
+			for (Node peer : nodes) {
+				if (peer != node) {
+					node.peers.add(peer);
+				}
+			}
+		}
+		return nodes;
+	}
+
+	private static List<List<String>> runNodes(double lookahead, ByteArrayOutputStream log) {
+		initContext(log);
+		List<Node> nodes = createNodes(4, 1.5);
+		if (lookahead >= 0) {
+			Partitioning partitioning = new Partitioning(lookahead).setThreads(3);
+			partitioning.addPartition(nodes.get(0), nodes.get(1));
+			partitioning.addPartition(nodes.get(2));
+			partitioning.addPartition(nodes.get(3));
+			CloudSim.setPartitioning(partitioning);
+		}
+		CloudSim.startSimulation();
+
+		List<List<String>> received = new ArrayList<List<String>>();
+		for (Node node : nodes) {
+			received.add(node.received);
+		}
+		return received;
+	}
+
+	@Test
+	public void testLookahead() {
+		ByteArrayOutputStream sequentialLog = new ByteArrayOutputStream();
+		List<List<String>> sequential = runNodes(-1, sequentialLog);
+		for (double lookahead : new double[] { 0, 1.5 }) {
+			ByteArrayOutputStream parallelLog = new ByteArrayOutputStream();
+			assertEquals(sequential, runNodes(lookahead, parallelLog));
+			assertEquals(sequentialLog.toString(), parallelLog.toString());
+		}
+		assertTrue(sequential.get(0).size() > 10);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testLookaheadViolation() {
+		runNodes(2, new ByteArrayOutputStream());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEntityInTwoPartitions() {
+		initContext(new ByteArrayOutputStream());
+		Node node = new Node("Node", 1);
+		new Partitioning(0).addPartition(node).addPartition(node);
+	}
+
+	private static Datacenter createDatacenter(String name, int mips) throws Exception {
+		List<Pe> peList = new ArrayList<Pe>();
+		for (int i = 0; i < 2; i++) {
+			peList.add(new Pe(i, new PeProvisionerSimple(mips)));
+		}
+		List<Host> hostList = new ArrayList<Host>();
+		hostList.add(new Host(0, new RamProvisionerSimple(2048), new BwProvisionerSimple(10000), 1000000, peList,
+				new VmSchedulerTimeShared(peList)));
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Xen", hostList,
+				10.0, 3.0, 0.05, 0.001, 0.0);
+		return new Datacenter(name, characteristics, new VmAllocationPolicySimple(hostList),
+				new LinkedList<Storage>(), 0);
+	}
+
+	private static List<String> runDatacenters(boolean partitioned, ByteArrayOutputStream log) throws Exception {
+		initContext(log);
+		List<Datacenter> datacenters = new ArrayList<Datacenter>();
+		for (int i = 0; i < 3; i++) {
+			datacenters.add(createDatacenter("Datacenter_" + i, i == 2 ? 500 : 1000));
+		}
+		DatacenterBroker broker = new DatacenterBroker("Broker");
+
+		List<Vm> vms = new ArrayList<Vm>();
+		for (int i = 0; i < 6; i++) {
+			vms.add(new Vm(i, broker.getId(), i == 5 ? 500 : 250, 1, 512, 1000, 10000, "Xen",
+					new CloudletSchedulerTimeShared()));
+		}
+		broker.submitVmList(vms);
+		List<Cloudlet> cloudlets = new ArrayList<Cloudlet>();
+		for (int i = 0; i < 18; i++) {
+			Cloudlet cloudlet = new Cloudlet(i, 10000 * (1 + i % 4), 1, 300, 300, new UtilizationModelFull(),
+					new UtilizationModelFull(), new UtilizationModelFull());
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(i % vms.size());
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+
+		if (partitioned) {
+			Partitioning partitioning = new Partitioning(0).setThreads(4);
+			for (Datacenter datacenter : datacenters) {
+				partitioning.addPartition(datacenter);
+			}
+			partitioning.addPartition(broker);
+			CloudSim.setPartitioning(partitioning);
+		}
+		CloudSim.startSimulation();
+
+		List<String> results = new ArrayList<String>();
+		for (Cloudlet cloudlet : broker.getCloudletReceivedList()) {
+			results.add(cloudlet.getCloudletId() + " " + cloudlet.getStatus() + " " + cloudlet.getResourceId() + " "
+					+ cloudlet.getExecStartTime() + " " + cloudlet.getFinishTime());
+		}
+		return results;
+	}
+
+	@Test
+	public void testDatacenters() throws Exception {
+		ByteArrayOutputStream sequentialLog = new ByteArrayOutputStream();
+		List<String> sequential = runDatacenters(false, sequentialLog);
+		ByteArrayOutputStream parallelLog = new ByteArrayOutputStream();
+		assertEquals(sequential, runDatacenters(true, parallelLog));
+		assertEquals(sequentialLog.toString(), parallelLog.toString());
+		assertEquals(18, sequential.size());
+	}
+
+}
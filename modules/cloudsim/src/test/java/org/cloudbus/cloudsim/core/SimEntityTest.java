@@ -0,0 +1,141 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+
+import org.cloudbus.cloudsim.Log;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class SimEntityTest {
+
+	private static final int TAG_A = 7;
+
+	private static final int TAG_B = 1000000;
+
+	private static final int TAG_UNKNOWN = 8;
+
+	private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+
+	/**
+	 * An entity that counts the events it processes with its handlers.
+	 */
+	private static class Counter extends SimEntity {
+
+		protected int a;
+
+		protected int b;
+
+		public Counter(String name) {
+			super(name);
+			registerHandler(TAG_A, (Counter counter, SimEvent ev) -> counter.a++);
+			registerHandler(TAG_B, (Counter counter, SimEvent ev) -> counter.b++);
+		}
+
+		@Override
+		public void startEntity() {
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			if (!dispatchEvent(ev)) {
+				reportUnknownEvent(ev);
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+
+	}
+
+	/**
+	 * A counter that replaces the handler of one of the tags of its superclass.
+	 */
+	private static class DoubleCounter extends Counter {
+
+		public DoubleCounter(String name) {
+			super(name);
+			registerHandler(TAG_A, (DoubleCounter counter, SimEvent ev) -> counter.a += 2);
+		}
+
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(log);
+		CloudSim.init(1, null, false);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static SimEvent event(SimEntity entity, int tag) {
+		return new SimEvent(SimEvent.SEND, 0, entity.getId(), entity.getId(), tag, null);
+	}
+
+	@Test
+	public void testDispatch() {
+		Counter counter = new Counter("Counter");
+		counter.processEvent(event(counter, TAG_A));
+		counter.processEvent(event(counter, TAG_B));
+		counter.processEvent(event(counter, TAG_B));
+		assertEquals(1, counter.a);
+		assertEquals(2, counter.b);
+		assertNull(counter.getHandler(TAG_UNKNOWN));
+		assertFalse(counter.dispatchEvent(event(counter, TAG_UNKNOWN)));
+	}
+
+	@Test
+	public void testOverride() {
+		DoubleCounter counter = new DoubleCounter("DoubleCounter");
+		counter.processEvent(event(counter, TAG_A));
+		counter.processEvent(event(counter, TAG_B));
+		assertEquals(2, counter.a);
+		assertEquals(1, counter.b);
+
+		counter.registerHandler(TAG_B, null);
+		assertNull(counter.getHandler(TAG_B));
+		assertFalse(counter.dispatchEvent(event(counter, TAG_B)));
+	}
+
+	@Test
+	public void testClone() throws CloneNotSupportedException {
+		Counter counter = new Counter("Counter");
+		Counter clone = (Counter) counter.clone();
+		assertTrue(clone.dispatchEvent(event(clone, TAG_A)));
+		assertEquals(0, counter.a);
+		assertEquals(1, clone.a);
+	}
+
+	@Test
+	public void testUnknownTagIsReportedOnce() {
+		Counter counter = new Counter("Counter");
+		counter.processEvent(event(counter, TAG_UNKNOWN));
+		counter.processEvent(event(counter, TAG_UNKNOWN));
+		counter.processEvent(event(counter, TAG_UNKNOWN + 1));
+		String output = log.toString();
+		assertEquals(1, output.split("unknown event tag " + TAG_UNKNOWN + ";", -1).length - 1);
+		assertTrue(output.contains("unknown event tag " + (TAG_UNKNOWN + 1) + ";"));
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.util.ExecutionTimeMeasurer;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class SimulationContextTest {
+
+	private static final int PING = 2001;
+
+	/**
+	 * An entity that sends a number of events to itself, one after the other.
+	 */
+	private static class Pinger extends SimEntity {
+
+		private final double delay;
+
+		private int remaining;
+
+		private int received;
+
+		public Pinger(String name, double delay, int count) {
+			super(name);
+			this.delay = delay;
+			remaining = count;
+		}
+
+		@Override
+		public void startEntity() {
+			schedule(getId(), delay, PING);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			received++;
+			if (--remaining > 0) {
+				schedule(getId(), delay, PING);
+			}
+		}
+
+		@Override
+		public void shutdownEntity() {
+		}
+
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	/**
+	 * Runs a simulation in a new context bound to the calling thread.
+	 */
+	private static double[] simulate(double delay, int count) {
+		SimulationContext context = new SimulationContext();
+		SimulationContext.setCurrent(context);
+		Log.disable();
+		CloudSim.init(1, null, false);
+		Pinger pinger = new Pinger("Pinger", delay, count);
+		assertSame(context, pinger.getContext());
+		double clock = CloudSim.startSimulation();
+		return new double[] { pinger.received, clock };
+	}
+
+	@Test
+	public void testConcurrentSimulations() throws Exception {
+		int threads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<double[]>> results = new ArrayList<Future<double[]>>();
+			for (int i = 0; i < 2 * threads; i++) {
+				final double delay = i + 1;
+				results.add(executor.submit(new Callable<double[]>() {
+
+					@Override
+					public double[] call() throws Exception {
+						double[] result = simulate(delay, 5000);
+						SimulationContext.setCurrent(null);
+						return result;
+					}
+
+				}));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				double[] result = results.get(i).get();
+				assertEquals(5000, result[0], 0);
+				assertEquals(5000 * (i + 1), result[1], 0);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testBinding() throws Exception {
+		final SimulationContext context = new SimulationContext();
+		assertSame(SimulationContext.getDefault(), SimulationContext.current());
+		assertNull(SimulationContext.setCurrent(context));
+		assertSame(context, SimulationContext.current());
+
+		final SimulationContext[] inherited = new SimulationContext[1];
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				inherited[0] = SimulationContext.current();
+			}
+
+		});
+		thread.start();
+		thread.join();
+		assertSame(context, inherited[0]);
+
+		assertSame(context, SimulationContext.setCurrent(null));
+		assertSame(SimulationContext.getDefault(), SimulationContext.current());
+	}
+
+	@Test
+	public void testIsolatedState() {
+		SimulationContext first = new SimulationContext();
+		SimulationContext second = new SimulationContext();
+		assertNotSame(first, second);
+
+		SimulationContext.setCurrent(first);
+		Log.disable();
+		ExecutionTimeMeasurer.start("method");
+		CloudSim.init(1, null, false);
+		int entities = CloudSim.getNumEntities();
+		new Pinger("Pinger", 1, 1);
+
+		SimulationContext.setCurrent(second);
+		assertFalse(Log.isDisabled());
+		Log.disable();
+		assertFalse(ExecutionTimeMeasurer.getExecutionTimes().containsKey("method"));
+		CloudSim.init(1, null, false);
+		assertEquals(entities, CloudSim.getNumEntities());
+
+		SimulationContext.setCurrent(first);
+		assertTrue(Log.isDisabled());
+		assertTrue(ExecutionTimeMeasurer.getExecutionTimes().containsKey("method"));
+		assertEquals(entities + 1, CloudSim.getNumEntities());
+	}
+
+}
@@ -0,0 +1,344 @@
+/*
+ * Title:        CloudSim Toolkit
+ * Description:  CloudSim (Cloud Simulation) Toolkit for Modeling and Simulation of Clouds
+ * Licence:      GPL - http://www.gnu.org/copyleft/gpl.html
+ *
+ * Copyright (c) 2009-2012, The University of Melbourne, Australia
+ */
+
+package org.cloudbus.cloudsim.gpu;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimEvent;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.gpu.core.GpuCloudSimTags;
+import org.cloudbus.cloudsim.gpu.allocation.VideoCardAllocationPolicyNull;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridGpuVmAllocationPolicyDepthFirst;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVgpuSchedulerFairShare;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVgpuTags;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVideoCardTags;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuBwProvisionerShared;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuGddramProvisionerSimple;
+import org.cloudbus.cloudsim.gpu.provisioners.VideoCardBwProvisionerShared;
+import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicyNull;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuDatacenterTest {
+
+	private static final int HOSTS = 10;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * A host that counts the updates of its vgpus.
+	 */
+	private static class CountingGpuHost extends GpuHost {
+
+		private int updates;
+
+		public CountingGpuHost(int id, List<Pe> peList, List<VideoCard> videoCards) {
+			super(id, GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3, new RamProvisionerSimple(
+					GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_RAM), new BwProvisionerSimple(
+					GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_BW), GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_STORAGE,
+					peList, new VmSchedulerTimeShared(peList), new VideoCardAllocationPolicyNull(videoCards));
+		}
+
+		@Override
+		public double updateVgpusProcessing(double currentTime) {
+			updates++;
+			Log.printConcatLine(CloudSim.clock(), ": Host #", getId(), " updated");
+			return super.updateVgpusProcessing(currentTime);
+		}
+
+		@Override
+		public double updateVgpuProcessing(Vgpu vgpu, double currentTime) {
+			updates++;
+			Log.printConcatLine(CloudSim.clock(), ": Vgpu #", vgpu.getId(), " of Host #", getId(), " updated");
+			return super.updateVgpuProcessing(vgpu, currentTime);
+		}
+
+	}
+
+	/**
+	 * A datacenter that counts the events that process the gpu tasks.
+	 */
+	private static class CountingGpuDatacenter extends GpuDatacenter {
+
+		private int events;
+
+		public CountingGpuDatacenter(List<CountingGpuHost> hostList) throws Exception {
+			super("Datacenter", new DatacenterCharacteristics("x86", "Linux", "Horizen", hostList, 3.5, 0.0, 0.0,
+					0.0, 0.0), new GridGpuVmAllocationPolicyDepthFirst(hostList), new LinkedList<Storage>(), 20);
+		}
+
+		@Override
+		public void processEvent(SimEvent ev) {
+			if (ev.getTag() == GpuCloudSimTags.VGPU_DATACENTER_EVENT) {
+				events++;
+			}
+			super.processEvent(ev);
+		}
+
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static CountingGpuHost createHost(int id) {
+		List<Pgpu> pgpus = new ArrayList<Pgpu>();
+		for (int pgpuId = 0; pgpuId < GridVideoCardTags.NVIDIA_K1_CARD_GPUS; pgpuId++) {
+			List<Pe> pes = new ArrayList<Pe>();
+			for (int peId = 0; peId < GridVideoCardTags.NVIDIA_K1_CARD_GPU_PES; peId++) {
+				pes.add(new Pe(peId, new PeProvisionerSimple(GridVideoCardTags.NVIDIA_K1_CARD_PE_MIPS)));
+			}
+			pgpus.add(new Pgpu(pgpuId, GridVideoCardTags.NVIDIA_K1_GPU_TYPE, pes, new GpuGddramProvisionerSimple(
+					GridVideoCardTags.NVIDIA_K1_CARD_GPU_MEM), new GpuBwProvisionerShared(
+					GridVideoCardTags.NVIDIA_K1_CARD_BW_PER_BUS)));
+		}
+		List<VideoCard> videoCards = new ArrayList<VideoCard>();
+		videoCards.add(new VideoCard(0, GridVideoCardTags.NVIDIA_K1_CARD, new GridVgpuSchedulerFairShare(
+				GridVideoCardTags.NVIDIA_K1_CARD, pgpus, new PgpuSelectionPolicyNull()),
+				new VideoCardBwProvisionerShared(BusTags.PCI_E_3_X16_BW)));
+
+		List<Pe> peList = new ArrayList<Pe>();
+		for (int peId = 0; peId < GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_NUM_PES; peId++) {
+			peList.add(new Pe(peId, new PeProvisionerSimple(GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS)));
+		}
+		return new CountingGpuHost(id, peList, videoCards);
+	}
+
+	private static List<GpuCloudlet> run(boolean timeIndexed, List<CountingGpuHost> hostList) throws Exception {
+		return run(timeIndexed, 0, hostList);
+	}
+
+	private static List<GpuCloudlet> run(boolean timeIndexed, int parallelUpdateThreshold,
+			List<CountingGpuHost> hostList) throws Exception {
+		return run(timeIndexed, parallelUpdateThreshold, false, hostList);
+	}
+
+	private static List<GpuCloudlet> run(boolean timeIndexed, int parallelUpdateThreshold, boolean processorSharing,
+			List<CountingGpuHost> hostList) throws Exception {
+		List<GpuCloudlet> cloudlets = createSimulation(timeIndexed, parallelUpdateThreshold, processorSharing,
+				hostList);
+		CloudSim.startSimulation();
+		return cloudlets;
+	}
+
+	private static List<GpuCloudlet> createSimulation(boolean timeIndexed, int parallelUpdateThreshold,
+			boolean processorSharing, List<CountingGpuHost> hostList) throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(new ByteArrayOutputStream());
+		CloudSim.init(1, null, false);
+		CloudSim.setParallelUpdateThreshold(parallelUpdateThreshold);
+
+		for (int i = 0; i < HOSTS; i++) {
+			hostList.add(createHost(i));
+		}
+		DatacenterCharacteristics characteristics = new DatacenterCharacteristics("x86", "Linux", "Horizen",
+				hostList, 3.5, 0.0, 0.0, 0.0, 0.0);
+		GpuDatacenter datacenter = new GpuDatacenter("Datacenter", characteristics,
+				new GridGpuVmAllocationPolicyDepthFirst(hostList), new LinkedList<Storage>(), 20);
+		datacenter.setTimeIndexedGpuScheduling(timeIndexed);
+		GpuDatacenterBroker broker = new GpuDatacenterBroker("Broker");
+
+		List<GpuVm> vms = new ArrayList<GpuVm>();
+		for (int i = 0; i < 12; i++) {
+			GpuVm vm = new GpuVm(i, broker.getId(), GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS, 2, 2, 100, 10,
+					"vSphere", "Custom", processorSharing ? new GpuCloudletSchedulerProcessorSharing()
+							: new GpuCloudletSchedulerTimeShared());
+			vm.setVgpu(GridVgpuTags.getK180Q(i, new GpuTaskSchedulerLeftover()));
+			vms.add(vm);
+		}
+		broker.submitVmList(vms);
+		List<GpuCloudlet> cloudlets = new ArrayList<GpuCloudlet>();
+		for (int i = 0; i < 36; i++) {
+			GpuTask gpuTask = new GpuTask(i, (long) (GridVideoCardTags.NVIDIA_K1_CARD_PE_MIPS * (50 + 25 * (i % 5))),
+					2, 128, 128, 1024, new UtilizationModelFull(), new UtilizationModelFull(),
+					new UtilizationModelFull());
+			GpuCloudlet cloudlet = new GpuCloudlet(i, (long) (GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS * (10
+					+ i % 3 * 20)), 1, 300, 300, new UtilizationModelFull(), new UtilizationModelFull(),
+					new UtilizationModelFull(), gpuTask, false);
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(i % vms.size());
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+		return cloudlets;
+	}
+
+	private static List<String> getResults(GpuDatacenterBroker broker) {
+		List<String> results = new ArrayList<String>();
+		for (GpuCloudlet cloudlet : broker.<GpuCloudlet> getCloudletReceivedList()) {
+			GpuTask gpuTask = cloudlet.getGpuTask();
+			results.add(cloudlet.getCloudletId() + " " + cloudlet.getFinishTime() + " " + gpuTask.getTaskStatus()
+					+ " " + gpuTask.getExecStartTime() + " " + gpuTask.getFinishTime());
+		}
+		return results;
+	}
+
+	private static int getUpdates(List<CountingGpuHost> hostList) {
+		int updates = 0;
+		for (CountingGpuHost host : hostList) {
+			updates += host.updates;
+		}
+		return updates;
+	}
+
+	@Test
+	public void testTimeIndexedGpuScheduling() throws Exception {
+		List<CountingGpuHost> hosts = new ArrayList<CountingGpuHost>();
+		List<GpuCloudlet> expected = run(false, hosts);
+		List<CountingGpuHost> timeIndexedHosts = new ArrayList<CountingGpuHost>();
+		List<GpuCloudlet> actual = run(true, timeIndexedHosts);
+		for (int i = 0; i < expected.size(); i++) {
+			GpuTask expectedTask = expected.get(i).getGpuTask();
+			GpuTask actualTask = actual.get(i).getGpuTask();
+			assertEquals(GpuTask.SUCCESS, actualTask.getTaskStatus());
+			assertEquals(expectedTask.getExecStartTime(), actualTask.getExecStartTime(), 1e-9);
+			assertEquals(expectedTask.getFinishTime(), actualTask.getFinishTime(), 1e-9);
+			assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 1e-9);
+		}
+
+		// the hosts without vgpus are never updated
+		assertEquals(0, timeIndexedHosts.get(HOSTS - 1).updates);
+		assertTrue(getUpdates(timeIndexedHosts) * 2 < getUpdates(hosts));
+	}
+
+	private static CountingGpuDatacenter runShortTasks(boolean exactCompletionTimes, List<GpuCloudlet> cloudlets)
+			throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		Log.setOutput(new ByteArrayOutputStream());
+		CloudSim.init(1, null, false);
+		CloudSim.setExactCompletionTimes(exactCompletionTimes);
+
+		List<CountingGpuHost> hostList = new ArrayList<CountingGpuHost>();
+		hostList.add(createHost(0));
+		CountingGpuDatacenter datacenter = new CountingGpuDatacenter(hostList);
+		GpuDatacenterBroker broker = new GpuDatacenterBroker("Broker");
+
+		List<GpuVm> vms = new ArrayList<GpuVm>();
+		GpuVm vm = new GpuVm(0, broker.getId(), GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS, 2, 2, 100, 10,
+				"vSphere", "Custom", new GpuCloudletSchedulerTimeShared());
+		vm.setVgpu(GridVgpuTags.getK180Q(0, new GpuTaskSchedulerLeftover()));
+		vms.add(vm);
+		broker.submitVmList(vms);
+		// short kernels, which take a few milliseconds each
+		for (int i = 0; i < 20; i++) {
+			GpuTask gpuTask = new GpuTask(i, (long) (vm.getVgpu().getPeMips() * 0.002 * (1 + i % 4)), 1, 0, 0, 256,
+					new UtilizationModelFull(), new UtilizationModelFull(), new UtilizationModelFull());
+			GpuCloudlet cloudlet = new GpuCloudlet(i, (long) (GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS * 0.01
+					* (1 + i)), 1, 300, 300, new UtilizationModelFull(), new UtilizationModelFull(),
+					new UtilizationModelFull(), gpuTask, false);
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(0);
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+		CloudSim.startSimulation();
+		return datacenter;
+	}
+
+	@Test
+	public void testExactCompletionTimes() throws Exception {
+		List<GpuCloudlet> cloudlets = new ArrayList<GpuCloudlet>();
+		CountingGpuDatacenter datacenter = runShortTasks(true, cloudlets);
+		// each task runs alone on the single PE of the vgpu
+		double mips = GridVgpuTags.getK180Q(0, new GpuTaskSchedulerLeftover()).getPeMips();
+		for (GpuCloudlet cloudlet : cloudlets) {
+			GpuTask gpuTask = cloudlet.getGpuTask();
+			assertEquals(GpuTask.SUCCESS, gpuTask.getTaskStatus());
+			assertEquals(gpuTask.getTaskTotalLength() / mips, gpuTask.getActualGPUTime(), 1e-6);
+		}
+
+		List<GpuCloudlet> defaultCloudlets = new ArrayList<GpuCloudlet>();
+		CountingGpuDatacenter defaultDatacenter = runShortTasks(false, defaultCloudlets);
+		// otherwise, the next events are delayed by the minimal time between events,
+		// which adds events that find no finished task
+		assertTrue(datacenter.events < defaultDatacenter.events);
+	}
+
+	@Test
+	public void testProcessorSharingCloudletScheduler() throws Exception {
+		List<GpuCloudlet> expected = run(true, 0, false, new ArrayList<CountingGpuHost>());
+		List<GpuCloudlet> actual = run(true, 0, true, new ArrayList<CountingGpuHost>());
+		for (int i = 0; i < expected.size(); i++) {
+			GpuTask expectedTask = expected.get(i).getGpuTask();
+			GpuTask actualTask = actual.get(i).getGpuTask();
+			assertEquals(GpuCloudlet.SUCCESS, actual.get(i).getStatus());
+			assertEquals(GpuTask.SUCCESS, actualTask.getTaskStatus());
+			assertEquals(expectedTask.getExecStartTime(), actualTask.getExecStartTime(), 1e-6);
+			assertEquals(expectedTask.getFinishTime(), actualTask.getFinishTime(), 1e-6);
+			assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 1e-6);
+		}
+	}
+
+	@Test
+	public void testParallelHostUpdates() throws Exception {
+		for (boolean timeIndexed : new boolean[] { false, true }) {
+			List<GpuCloudlet> expected = run(timeIndexed, 0, new ArrayList<CountingGpuHost>());
+			String expectedLog = Log.getOutput().toString();
+			List<GpuCloudlet> actual = run(timeIndexed, 2, new ArrayList<CountingGpuHost>());
+			for (int i = 0; i < expected.size(); i++) {
+				GpuTask expectedTask = expected.get(i).getGpuTask();
+				GpuTask actualTask = actual.get(i).getGpuTask();
+				assertEquals(GpuTask.SUCCESS, actualTask.getTaskStatus());
+				assertEquals(expectedTask.getExecStartTime(), actualTask.getExecStartTime(), 0.0);
+				assertEquals(expectedTask.getFinishTime(), actualTask.getFinishTime(), 0.0);
+				assertEquals(expected.get(i).getFinishTime(), actual.get(i).getFinishTime(), 0.0);
+			}
+			// the messages logged by the hosts are written in the order of the updates
+			assertTrue(expectedLog.contains(" updated"));
+			assertEquals(expectedLog, Log.getOutput().toString());
+		}
+	}
+
+	@Test
+	public void testCheckpoint() throws Exception {
+		for (boolean timeIndexed : new boolean[] { false, true }) {
+			File file = folder.newFile();
+			createSimulation(timeIndexed, 0, false, new ArrayList<CountingGpuHost>());
+			GpuDatacenterBroker broker = (GpuDatacenterBroker) CloudSim.getEntity("Broker");
+			CloudSim.checkpointAt(60, file);
+			CloudSim.startSimulation();
+			List<String> expected = getResults(broker);
+			assertEquals(36, expected.size());
+
+			// the vgpus, pgpus and gpu task schedulers resume from their state at the checkpoint
+			SimulationContext.restoreCheckpoint(file);
+			GpuDatacenterBroker restoredBroker = (GpuDatacenterBroker) CloudSim.getEntity("Broker");
+			assertNotSame(broker, restoredBroker);
+			assertTrue(restoredBroker.getCloudletReceivedList().size() < expected.size());
+			CloudSim.startSimulation();
+			assertEquals(expected, getResults(restoredBroker));
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+package org.cloudbus.cloudsim.gpu;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Vm;
+import org.cloudbus.cloudsim.VmScheduler;
+import org.cloudbus.cloudsim.VmSchedulerSpaceShared;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.VmSchedulerTimeSharedOverSubscription;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuHostTest {
+
+	private static final long STORAGE = 10000;
+	private static final int RAM = 1024;
+	private static final long BW = 1000;
+	private static final double MIPS = 1000;
+
+	private static List<Pe> createPes() {
+		List<Pe> peList = new ArrayList<Pe>();
+		for (int i = 0; i < 4; i++) {
+			peList.add(new Pe(i, new PeProvisionerSimple(MIPS)));
+		}
+		return peList;
+	}
+
+	private static GpuHost createHost(List<Pe> peList, VmScheduler vmScheduler) {
+		return new GpuHost(0, "", new RamProvisionerSimple(RAM), new BwProvisionerSimple(BW), STORAGE, peList,
+				vmScheduler);
+	}
+
+	private static Vm createVm(int id, double mips, int pes, int ram, long bw, long size) {
+		return new GpuVm(id, 0, mips, pes, ram, bw, size, "", "", new CloudletSchedulerTimeShared());
+	}
+
+	/**
+	 * Checks that each VM is found suitable exactly when it can be created, and that
+	 * the check changes nothing in the host.
+	 */
+	private static void assertSuitableAsCreated(GpuHost host, Vm... vms) {
+		for (Vm vm : vms) {
+			int availableRam = host.getRamProvisioner().getAvailableRam();
+			long availableBw = host.getBwProvisioner().getAvailableBw();
+			double availableMips = host.getVmScheduler().getAvailableMips();
+			long storage = host.getStorage();
+			boolean suitable = host.isSuitableForVm(vm);
+			assertEquals(availableRam, host.getRamProvisioner().getAvailableRam());
+			assertEquals(availableBw, host.getBwProvisioner().getAvailableBw());
+			assertEquals(availableMips, host.getVmScheduler().getAvailableMips(), 0);
+			assertEquals(storage, host.getStorage());
+			assertEquals("vm " + vm.getId(), suitable, host.vmCreate(vm));
+		}
+	}
+
+	@Test
+	public void testTimeShared() {
+		List<Pe> peList = createPes();
+		GpuHost host = createHost(peList, new VmSchedulerTimeShared(peList));
+		assertSuitableAsCreated(host, createVm(0, MIPS / 2, 2, RAM / 2, BW / 2, STORAGE / 2),
+				createVm(1, MIPS * 2, 1, 1, 1, 1), createVm(2, MIPS, 2, RAM, 1, 1), createVm(3, MIPS, 2, 1, BW, 1),
+				createVm(4, MIPS, 2, 1, 1, STORAGE), createVm(5, MIPS, 4, 1, 1, 1), createVm(6, MIPS, 3, 1, 1, 1));
+	}
+
+	@Test
+	public void testOverSubscription() {
+		List<Pe> peList = createPes();
+		GpuHost host = createHost(peList, new VmSchedulerTimeSharedOverSubscription(peList));
+		assertSuitableAsCreated(host, createVm(0, MIPS, 4, 1, 1, 1), createVm(1, MIPS * 2, 4, 1, 1, 1));
+	}
+
+	@Test
+	public void testSpaceShared() {
+		List<Pe> peList = createPes();
+		GpuHost host = createHost(peList, new VmSchedulerSpaceShared(peList));
+		assertSuitableAsCreated(host, createVm(0, MIPS, 2, 1, 1, 1), createVm(1, MIPS * 2, 1, 1, 1, 1),
+				createVm(2, MIPS, 3, 1, 1, 1), createVm(3, MIPS, 2, 1, 1, 1), createVm(4, MIPS, 1, 1, 1, 1));
+
+		peList = createPes();
+		host = createHost(peList, new GpuVmSchedulerSpaceSharedEx(peList));
+		assertSuitableAsCreated(host, createVm(0, MIPS * 2, 3, 1, 1, 1), createVm(1, MIPS, 2, 1, 1, 1),
+				createVm(2, MIPS, 1, 1, 1, 1));
+	}
+
+	@Test
+	public void testAllocatedVmIsNotReleased() {
+		List<Pe> peList = createPes();
+		GpuHost host = createHost(peList, new VmSchedulerTimeShared(peList));
+		Vm vm = createVm(0, MIPS, 1, RAM / 2, BW / 2, 1);
+		assertTrue(host.vmCreate(vm));
+		assertEquals(RAM / 2, vm.getCurrentAllocatedRam());
+		assertEquals(BW / 2, vm.getCurrentAllocatedBw());
+		// the RAM and BW of the VM would be released before allocating them again
+		assertTrue(host.getRamProvisioner().isSuitableForVm(vm, RAM));
+		assertFalse(host.getRamProvisioner().isSuitableForVm(createVm(1, MIPS, 1, RAM, 1, 1), RAM));
+		assertTrue(host.getBwProvisioner().isSuitableForVm(vm, BW));
+		assertEquals(RAM / 2, vm.getCurrentAllocatedRam());
+		assertEquals(BW / 2, vm.getCurrentAllocatedBw());
+	}
+
+}
@@ -0,0 +1,115 @@
+package org.cloudbus.cloudsim.gpu;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuTaskSchedulerLeftoverTest {
+
+	private static final double MIPS = 1000;
+
+	private List<Double> mipsShare;
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		CloudSim.setExactCompletionTimes(true);
+		mipsShare = new ArrayList<Double>();
+		for (int i = 0; i < 4; i++) {
+			mipsShare.add(MIPS);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static GpuTask createGpuTask(int id, double runTime, int blocks) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		GpuTask task = new GpuTask(id, (long) (runTime * MIPS), blocks, 0, 0, 256, utilizationModel,
+				utilizationModel, utilizationModel);
+		task.setResourceParameter(0, 0.0, 0.0);
+		return task;
+	}
+
+	@Test
+	public void testFinishReleasesOnlyTaskPes() {
+		GpuTaskSchedulerLeftover scheduler = new GpuTaskSchedulerLeftover();
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		GpuTask[] tasks = { createGpuTask(0, 10, 2), createGpuTask(1, 20, 2), createGpuTask(2, 5, 2) };
+		for (GpuTask task : tasks) {
+			scheduler.taskSubmit(task);
+		}
+		assertEquals(0, scheduler.getPeAllocator().getNumberOfFreePes());
+		assertEquals(1, scheduler.getTaskWaitingList().size());
+
+		assertEquals(15.0, scheduler.updateGpuTaskProcessing(10.0, mipsShare), 1e-6);
+		ResGpuTask running = scheduler.getTaskExecList().get(1);
+		assertEquals(2, running.getTaskId());
+		assertEquals(Arrays.asList(0, 1), running.getPeIdList());
+		assertEquals(0, scheduler.getPeAllocator().getNumberOfFreePes());
+
+		assertEquals(20.0, scheduler.updateGpuTaskProcessing(15.0, mipsShare), 1e-6);
+		assertEquals(2, scheduler.getPeAllocator().getNumberOfFreePes());
+		assertEquals(Double.MAX_VALUE, scheduler.updateGpuTaskProcessing(20.0, mipsShare), 0);
+		assertEquals(4, scheduler.getPeAllocator().getNumberOfFreePes());
+	}
+
+	@Test
+	public void testPauseAndResume() {
+		GpuTaskSchedulerLeftover scheduler = new GpuTaskSchedulerLeftover();
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		scheduler.taskSubmit(createGpuTask(0, 10, 3));
+		scheduler.taskSubmit(createGpuTask(1, 10, 2));
+		assertEquals(0, scheduler.getPeAllocator().getNumberOfFreePes());
+
+		scheduler.taskPause(0);
+		assertEquals(3, scheduler.getPeAllocator().getNumberOfFreePes());
+		scheduler.taskResume(0);
+		assertEquals(Arrays.asList(0, 1, 2), scheduler.getTaskExecList().get(1).getPeIdList());
+		assertEquals(0, scheduler.getPeAllocator().getNumberOfFreePes());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testUsedPesBridge() {
+		GpuTaskSchedulerLeftover scheduler = new GpuTaskSchedulerLeftover();
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		scheduler.taskSubmit(createGpuTask(0, 10, 2));
+		List<Integer> usedPes = scheduler.getUsedPes();
+		assertEquals(Arrays.asList(0, 1), usedPes);
+		try {
+			usedPes.add(3);
+			fail("The used PEs have been changed through a snapshot");
+		} catch (UnsupportedOperationException e) {
+		}
+
+		scheduler.setUsedPes(Arrays.asList(0, 1, 3, 3));
+		assertEquals(Arrays.asList(0, 1, 3), scheduler.getUsedPes());
+		assertEquals(1, scheduler.getPeAllocator().getNumberOfFreePes());
+		// the snapshot does not change
+		assertEquals(Arrays.asList(0, 1), usedPes);
+
+		scheduler.setUsedPes(new ArrayList<Integer>(Arrays.asList(2)));
+		assertEquals(Arrays.asList(2), scheduler.getUsedPes());
+		assertEquals(3, scheduler.getPeAllocator().getNumberOfFreePes());
+		assertTrue(scheduler.getPeAllocator().isUsed(2));
+	}
+
+}
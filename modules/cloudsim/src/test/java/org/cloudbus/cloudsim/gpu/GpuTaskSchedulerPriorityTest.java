@@ -0,0 +1,191 @@
+package org.cloudbus.cloudsim.gpu;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.DatacenterCharacteristics;
+import org.cloudbus.cloudsim.Log;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.Storage;
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.VmSchedulerTimeShared;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.gpu.allocation.VideoCardAllocationPolicyNull;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridGpuVmAllocationPolicyDepthFirst;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVgpuSchedulerFairShare;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVgpuTags;
+import org.cloudbus.cloudsim.gpu.hardware_assisted.grid.GridVideoCardTags;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuBwProvisionerShared;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuGddramProvisionerSimple;
+import org.cloudbus.cloudsim.gpu.provisioners.VideoCardBwProvisionerShared;
+import org.cloudbus.cloudsim.gpu.selection.PgpuSelectionPolicyNull;
+import org.cloudbus.cloudsim.provisioners.BwProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.RamProvisionerSimple;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class GpuTaskSchedulerPriorityTest {
+
+	private static final double MIPS = 1000;
+
+	private List<Double> mipsShare;
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		CloudSim.setExactCompletionTimes(true);
+		mipsShare = Arrays.asList(MIPS);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static GpuTask createGpuTask(int id, double runTime, int classType) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		GpuTask task = new GpuTask(id, (long) (runTime * MIPS), 1, 0, 0, 256, utilizationModel,
+				utilizationModel, utilizationModel);
+		task.setResourceParameter(0, 0.0, 0.0);
+		task.setClassType(classType);
+		return task;
+	}
+
+	@Test
+	public void testHigherClassPreempts() {
+		GpuTaskSchedulerPriority scheduler = new GpuTaskSchedulerPriority(100, 0.5);
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		assertEquals(10.0, scheduler.taskSubmit(createGpuTask(0, 10, 1)), 1e-9);
+		// the batch task is preempted, and the context switch delays the other one
+		assertEquals(2.5, scheduler.taskSubmit(createGpuTask(1, 2, 2)), 1e-9);
+		assertEquals(GpuTask.QUEUED, scheduler.getTaskStatus(0));
+		assertEquals(1, scheduler.readyTasks());
+
+		// the batch task pays for a context switch when it runs again
+		assertEquals(13.0, scheduler.updateGpuTaskProcessing(2.5, mipsShare), 1e-9);
+		assertEquals(Double.MAX_VALUE, scheduler.updateGpuTaskProcessing(13.0, mipsShare), 0);
+		assertEquals(2.5, scheduler.getLatencyPercentile(2, 99), 1e-9);
+		assertEquals(13.0, scheduler.getLatencyPercentile(1, 99), 1e-9);
+		assertEquals(Double.NaN, scheduler.getLatencyPercentile(3, 99), 0);
+	}
+
+	/**
+	 * Runs two tasks of the same class on the single PE of a vgpu of a datacenter.
+	 */
+	private static List<GpuCloudlet> runInDatacenter(boolean timeIndexed) throws Exception {
+		CloudSim.init(1, null, false);
+		List<Pgpu> pgpus = new ArrayList<Pgpu>();
+		for (int pgpuId = 0; pgpuId < GridVideoCardTags.NVIDIA_K1_CARD_GPUS; pgpuId++) {
+			List<Pe> pes = new ArrayList<Pe>();
+			for (int peId = 0; peId < GridVideoCardTags.NVIDIA_K1_CARD_GPU_PES; peId++) {
+				pes.add(new Pe(peId, new PeProvisionerSimple(GridVideoCardTags.NVIDIA_K1_CARD_PE_MIPS)));
+			}
+			pgpus.add(new Pgpu(pgpuId, GridVideoCardTags.NVIDIA_K1_GPU_TYPE, pes, new GpuGddramProvisionerSimple(
+					GridVideoCardTags.NVIDIA_K1_CARD_GPU_MEM), new GpuBwProvisionerShared(
+					GridVideoCardTags.NVIDIA_K1_CARD_BW_PER_BUS)));
+		}
+		List<VideoCard> videoCards = new ArrayList<VideoCard>();
+		videoCards.add(new VideoCard(0, GridVideoCardTags.NVIDIA_K1_CARD, new GridVgpuSchedulerFairShare(
+				GridVideoCardTags.NVIDIA_K1_CARD, pgpus, new PgpuSelectionPolicyNull()),
+				new VideoCardBwProvisionerShared(BusTags.PCI_E_3_X16_BW)));
+		List<Pe> peList = new ArrayList<Pe>();
+		for (int peId = 0; peId < GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_NUM_PES; peId++) {
+			peList.add(new Pe(peId, new PeProvisionerSimple(GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS)));
+		}
+		List<GpuHost> hostList = new ArrayList<GpuHost>();
+		hostList.add(new GpuHost(0, GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3, new RamProvisionerSimple(
+				GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_RAM), new BwProvisionerSimple(
+				GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_BW), GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_STORAGE,
+				peList, new VmSchedulerTimeShared(peList), new VideoCardAllocationPolicyNull(videoCards)));
+		GpuDatacenter datacenter = new GpuDatacenter("Datacenter", new DatacenterCharacteristics("x86", "Linux",
+				"Horizen", hostList, 3.5, 0.0, 0.0, 0.0, 0.0), new GridGpuVmAllocationPolicyDepthFirst(hostList),
+				new LinkedList<Storage>(), 0);
+		datacenter.setTimeIndexedGpuScheduling(timeIndexed);
+		GpuDatacenterBroker broker = new GpuDatacenterBroker("Broker");
+
+		GpuVm vm = new GpuVm(0, broker.getId(), GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS, 1, 1024, 100, 10,
+				"vSphere", "Custom", new GpuCloudletSchedulerTimeShared());
+		vm.setVgpu(GridVgpuTags.getK180Q(0, new GpuTaskSchedulerPriority(1.0, 0.0)));
+		broker.submitVmList(Arrays.asList(vm));
+		List<GpuCloudlet> cloudlets = new ArrayList<GpuCloudlet>();
+		for (int i = 0; i < 2; i++) {
+			UtilizationModel utilizationModel = new UtilizationModelFull();
+			GpuTask gpuTask = new GpuTask(i, (long) (GridVideoCardTags.NVIDIA_K1_CARD_PE_MIPS * 10), 1, 0, 0, 256,
+					utilizationModel, utilizationModel, utilizationModel);
+			gpuTask.setClassType(1);
+			GpuCloudlet cloudlet = new GpuCloudlet(i, (long) (GpuHostTags.DUAL_INTEL_XEON_E5_2620_V3_PE_MIPS
+					* 0.1), 1, 0, 0, utilizationModel, utilizationModel, utilizationModel, gpuTask, false);
+			cloudlet.setUserId(broker.getId());
+			cloudlet.setVmId(vm.getId());
+			cloudlets.add(cloudlet);
+		}
+		broker.submitCloudletList(cloudlets);
+		CloudSim.startSimulation();
+		return cloudlets;
+	}
+
+	@Test
+	public void testRoundRobinInClass() throws Exception {
+		Log.setOutput(new ByteArrayOutputStream());
+		for (boolean exact : new boolean[] { true, false }) {
+			for (boolean timeIndexed : new boolean[] { false, true }) {
+				CloudSim.setExactCompletionTimes(exact);
+				List<GpuCloudlet> cloudlets = runInDatacenter(timeIndexed);
+				GpuTask first = cloudlets.get(0).getGpuTask();
+				GpuTask second = cloudlets.get(1).getGpuTask();
+				assertEquals(GpuTask.SUCCESS, first.getTaskStatus());
+				assertEquals(GpuTask.SUCCESS, second.getTaskStatus());
+				// the tasks share the PE in slices of 1 second instead of running one
+				// after the other, so the first one ends a slice before the second one
+				// instead of a whole task
+				assertEquals(second.getFinishTime() - 1.0, first.getFinishTime(), 0.2);
+			}
+		}
+	}
+
+	@Test
+	public void testQueuedTaskWaitsForSlice() {
+		GpuTaskSchedulerPriority scheduler = new GpuTaskSchedulerPriority(1, 0);
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		scheduler.taskSubmit(createGpuTask(0, 2, 1));
+		// the next event of the datacenter is the end of the slice of the running task
+		assertEquals(1.0, scheduler.taskSubmit(createGpuTask(1, 2, 1)), 1e-9);
+
+		assertEquals(2.0, scheduler.updateGpuTaskProcessing(1.0, mipsShare), 1e-9);
+		assertEquals(1, scheduler.getTaskExecList().get(0).getTaskId());
+		assertEquals(3.0, scheduler.updateGpuTaskProcessing(2.0, mipsShare), 1e-9);
+		assertEquals(0, scheduler.getTaskExecList().get(0).getTaskId());
+		assertEquals(4.0, scheduler.updateGpuTaskProcessing(3.0, mipsShare), 1e-9);
+		assertEquals(Double.MAX_VALUE, scheduler.updateGpuTaskProcessing(4.0, mipsShare), 0);
+		assertEquals(2, scheduler.getLatencyStatistics(1).getN());
+		assertEquals(4.0, scheduler.getLatencyPercentile(1, 100), 1e-9);
+	}
+
+	@Test
+	public void testLowerClassWaits() {
+		GpuTaskSchedulerPriority scheduler = new GpuTaskSchedulerPriority(1, 0);
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		scheduler.taskSubmit(createGpuTask(0, 3, 2));
+		assertEquals(0.0, scheduler.taskSubmit(createGpuTask(1, 1, 1)), 0);
+		// the end of the slice of the running task is not an event, as the ready
+		// task cannot preempt it
+		assertEquals(3.0, scheduler.updateGpuTaskProcessing(0.0, mipsShare), 1e-9);
+		assertEquals(0, scheduler.getTaskExecList().get(0).getTaskId());
+		assertEquals(1, scheduler.readyTasks());
+		assertEquals(4.0, scheduler.updateGpuTaskProcessing(3.0, mipsShare), 1e-9);
+		assertEquals(1, scheduler.getTaskExecList().get(0).getTaskId());
+	}
+
+}
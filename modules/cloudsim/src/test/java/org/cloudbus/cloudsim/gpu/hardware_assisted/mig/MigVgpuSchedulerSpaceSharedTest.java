@@ -0,0 +1,172 @@
+package org.cloudbus.cloudsim.gpu.hardware_assisted.mig;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.cloudbus.cloudsim.CloudletSchedulerTimeShared;
+import org.cloudbus.cloudsim.Pe;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.gpu.GpuTaskSchedulerLeftover;
+import org.cloudbus.cloudsim.gpu.GpuVm;
+import org.cloudbus.cloudsim.gpu.Pgpu;
+import org.cloudbus.cloudsim.gpu.Vgpu;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuBwProvisionerShared;
+import org.cloudbus.cloudsim.gpu.provisioners.GpuGddramProvisionerSimple;
+import org.cloudbus.cloudsim.provisioners.PeProvisionerSimple;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class MigVgpuSchedulerSpaceSharedTest {
+
+	private List<Pgpu> pgpuList;
+
+	private MigVgpuSchedulerSpaceShared scheduler;
+
+	private int vgpuId;
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		pgpuList = new ArrayList<Pgpu>();
+		for (int pgpuId = 0; pgpuId < 2; pgpuId++) {
+			List<Pe> pes = new ArrayList<Pe>();
+			for (int peId = 0; peId < MigVideoCardTags.NVIDIA_A100_CARD_GPU_PES; peId++) {
+				pes.add(new Pe(peId, new PeProvisionerSimple(MigVideoCardTags.NVIDIA_A100_CARD_PE_MIPS)));
+			}
+			pgpuList.add(new Pgpu(pgpuId, MigVideoCardTags.NVIDIA_A100_GPU_TYPE, pes,
+					new GpuGddramProvisionerSimple(MigVideoCardTags.NVIDIA_A100_CARD_GPU_MEM),
+					new GpuBwProvisionerShared(MigVideoCardTags.NVIDIA_A100_CARD_GPU_BW)));
+		}
+		scheduler = new MigVgpuSchedulerSpaceShared(MigVideoCardTags.NVIDIA_A100_CARD, pgpuList,
+				new MigPgpuSelectionPolicyLeastFragmentation());
+		vgpuId = 0;
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private Vgpu attach(Vgpu vgpu) {
+		GpuVm vm = new GpuVm(vgpu.getId(), 0, 1000, 1, 1024, 1000, 1000, "", "", new CloudletSchedulerTimeShared());
+		vm.setVgpu(vgpu);
+		return vgpu;
+	}
+
+	private Vgpu create1g() {
+		return attach(MigVgpuTags.getA100Mig1g5gb(vgpuId++, new GpuTaskSchedulerLeftover()));
+	}
+
+	private boolean allocate(Pgpu pgpu, Vgpu vgpu) {
+		return scheduler.allocatePgpuForVgpu(pgpu, vgpu, vgpu.getCurrentRequestedMips(),
+				vgpu.getCurrentRequestedGddram(), vgpu.getCurrentRequestedBw());
+	}
+
+	private boolean allocate(Vgpu vgpu) {
+		return scheduler.allocatePgpuForVgpu(vgpu, vgpu.getCurrentRequestedMips(), vgpu.getCurrentRequestedGddram(),
+				vgpu.getCurrentRequestedBw());
+	}
+
+	private void assertIsolated(Pgpu pgpu) {
+		Set<Pe> pes = new HashSet<Pe>();
+		for (Vgpu vgpu : scheduler.getPgpuVgpuMap().get(pgpu)) {
+			for (Pe pe : scheduler.getPesAllocatedForVgpu(vgpu)) {
+				assertTrue(pes.add(pe));
+			}
+		}
+	}
+
+	@Test
+	public void testValidGeometries() {
+		Pgpu pgpu = pgpuList.get(0);
+		Vgpu vgpu4g = attach(MigVgpuTags.getA100Mig4g20gb(vgpuId++, new GpuTaskSchedulerLeftover()));
+		Vgpu vgpu3g = attach(MigVgpuTags.getA100Mig3g20gb(vgpuId++, new GpuTaskSchedulerLeftover()));
+		assertTrue(allocate(pgpu, vgpu4g));
+		assertTrue(allocate(pgpu, vgpu3g));
+		assertEquals(0, scheduler.getMemorySliceStart(vgpu4g));
+		assertEquals(4, scheduler.getMemorySliceStart(vgpu3g));
+		assertEquals(8, scheduler.getTakenMemorySlices(pgpu));
+		// the compute slice left by 4g+3g cannot hold a 1g instance
+		assertFalse(scheduler.isSuitable(pgpu, create1g()));
+		assertIsolated(pgpu);
+
+		// a card type without the profile is not suitable
+		Vgpu vgpuA30 = attach(MigVgpuTags.getA30Mig1g6gb(vgpuId++, new GpuTaskSchedulerLeftover()));
+		assertFalse(scheduler.isSuitable(pgpuList.get(1), vgpuA30));
+	}
+
+	@Test
+	public void testFragmentationAwarePlacement() {
+		Pgpu pgpu = pgpuList.get(0);
+		Vgpu first = create1g();
+		Vgpu second = create1g();
+		assertTrue(allocate(pgpu, first));
+		assertTrue(allocate(pgpu, second));
+		// the 1g instances keep away from the slices of the larger profiles
+		assertEquals(6, scheduler.getMemorySliceStart(first));
+		assertEquals(4, scheduler.getMemorySliceStart(second));
+		assertTrue(scheduler.isSuitable(pgpu, attach(MigVgpuTags.getA100Mig4g20gb(vgpuId++,
+				new GpuTaskSchedulerLeftover()))));
+
+		scheduler.deallocatePgpuForVgpu(first);
+		assertEquals(-1, scheduler.getMemorySliceStart(first));
+		assertEquals(1, scheduler.getTakenMemorySlices(pgpu));
+	}
+
+	@Test
+	public void testSelectionPrefersPartiallyUsedPgpu() {
+		Vgpu vgpu1g = create1g();
+		assertTrue(allocate(pgpuList.get(1), vgpu1g));
+		Vgpu vgpu3g = attach(MigVgpuTags.getA100Mig3g20gb(vgpuId++, new GpuTaskSchedulerLeftover()));
+		assertTrue(allocate(vgpu3g));
+		assertSame(pgpuList.get(1), scheduler.getPgpuForVgpu(vgpu3g));
+		assertEquals(0, scheduler.getMemorySliceStart(vgpu3g));
+		assertEquals(0, scheduler.getTakenMemorySlices(pgpuList.get(0)));
+	}
+
+	@Test
+	public void testSelectionWithoutProfile() {
+		MigPgpuSelectionPolicyLeastFragmentation policy = new MigPgpuSelectionPolicyLeastFragmentation();
+		Vgpu vgpuA30 = attach(MigVgpuTags.getA30Mig1g6gb(vgpuId++, new GpuTaskSchedulerLeftover()));
+		assertNull(policy.selectPgpu(vgpuA30, scheduler, pgpuList));
+		assertFalse(allocate(vgpuA30));
+	}
+
+	@Test
+	public void testReconfiguration() {
+		Pgpu pgpu = pgpuList.get(0);
+		List<Vgpu> vgpus = new ArrayList<Vgpu>();
+		for (int i = 0; i < 7; i++) {
+			Vgpu vgpu = create1g();
+			assertTrue(allocate(pgpu, vgpu));
+			vgpus.add(vgpu);
+		}
+		for (Vgpu vgpu : vgpus) {
+			int start = scheduler.getMemorySliceStart(vgpu);
+			if (start == 0 || start == 2) {
+				scheduler.deallocatePgpuForVgpu(vgpu);
+			}
+		}
+		Vgpu vgpu2g = attach(MigVgpuTags.getA100Mig2g10gb(vgpuId++, new GpuTaskSchedulerLeftover()));
+		assertFalse(scheduler.isSuitable(pgpu, vgpu2g));
+
+		scheduler.setReconfigurable(true);
+		assertTrue(allocate(pgpu, vgpu2g));
+		assertEquals(0, scheduler.getMemorySliceStart(vgpu2g));
+		assertEquals(7, scheduler.getTakenMemorySlices(pgpu));
+		assertIsolated(pgpu);
+	}
+
+}
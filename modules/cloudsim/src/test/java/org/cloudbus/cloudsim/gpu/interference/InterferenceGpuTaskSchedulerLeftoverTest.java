@@ -0,0 +1,120 @@
+package org.cloudbus.cloudsim.gpu.interference;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cloudbus.cloudsim.UtilizationModel;
+import org.cloudbus.cloudsim.UtilizationModelFull;
+import org.cloudbus.cloudsim.core.CloudSim;
+import org.cloudbus.cloudsim.core.SimulationContext;
+import org.cloudbus.cloudsim.gpu.GpuTask;
+import org.cloudbus.cloudsim.gpu.ResGpuTask;
+import org.cloudbus.cloudsim.gpu.interference.models.InterferenceModelGpuL2Cache;
+import org.cloudbus.cloudsim.gpu.interference.models.InterferenceModelGpuMemory;
+import org.cloudbus.cloudsim.gpu.interference.models.InterferenceModelGpuMemoryBandwidth;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class InterferenceGpuTaskSchedulerLeftoverTest {
+
+	private static final double MIPS = 1000;
+
+	private List<Double> mipsShare;
+
+	@Before
+	public void setUp() throws Exception {
+		SimulationContext.setCurrent(new SimulationContext());
+		CloudSim.setExactCompletionTimes(true);
+		mipsShare = new ArrayList<Double>();
+		for (int i = 0; i < 4; i++) {
+			mipsShare.add(MIPS);
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SimulationContext.setCurrent(null);
+	}
+
+	private static GpuTask createGpuTask(int id, double runTime, final double gddramUtilization) {
+		UtilizationModel utilizationModel = new UtilizationModelFull();
+		UtilizationModel utilizationModelGddram = new UtilizationModel() {
+			@Override
+			public double getUtilization(double time) {
+				return gddramUtilization;
+			}
+		};
+		GpuTask task = new GpuTask(id, (long) (runTime * MIPS), 1, 0, 0, 256, utilizationModel,
+				utilizationModelGddram, utilizationModel);
+		task.setResourceParameter(0, 0.0, 0.0);
+		return task;
+	}
+
+	private static class CountingInterferenceModel extends InterferenceModelGpuMemory {
+
+		private static final long serialVersionUID = 1L;
+
+		private int demands;
+
+		@Override
+		public double getDemand(ResGpuTask rgt, double time) {
+			demands++;
+			return super.getDemand(rgt, time);
+		}
+	}
+
+	@Test
+	public void testTotalDemandKeptAsTasksStartAndStop() {
+		CountingInterferenceModel model = new CountingInterferenceModel();
+		InterferenceGpuTaskSchedulerLeftover scheduler = new InterferenceGpuTaskSchedulerLeftover(model);
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		assertEquals(10.0, scheduler.taskSubmit(createGpuTask(0, 10, 0.5)), 1e-9);
+		assertEquals(10.0, scheduler.taskSubmit(createGpuTask(1, 10, 0.5)), 1e-9);
+		assertEquals(15.0, scheduler.taskSubmit(createGpuTask(2, 10, 0.5)), 1e-9);
+		assertEquals(20.0, scheduler.taskSubmit(createGpuTask(3, 10, 0.5)), 1e-9);
+		// each started task adds its own demand only
+		assertEquals(4, model.demands);
+
+		assertEquals(20.0, scheduler.updateGpuTaskProcessing(0.0, mipsShare), 1e-9);
+		assertEquals(4, model.demands);
+
+		// a stopped task makes the demand summed again, once
+		scheduler.taskPause(3);
+		assertEquals(15.0, scheduler.updateGpuTaskProcessing(0.0, mipsShare), 1e-9);
+		assertEquals(7, model.demands);
+	}
+
+	@Test
+	public void testSameMipsAsPerTaskModel() {
+		InterferenceModelGpuMemory model = new InterferenceModelGpuMemory();
+		InterferenceGpuTaskSchedulerLeftover scheduler = new InterferenceGpuTaskSchedulerLeftover(model);
+		scheduler.updateGpuTaskProcessing(0.0, mipsShare);
+		for (int i = 0; i < 3; i++) {
+			scheduler.taskSubmit(createGpuTask(i, 10, 0.7));
+		}
+		for (ResGpuTask rgt : scheduler.getTaskExecList()) {
+			assertEquals(model.getAvailableMips(rgt, mipsShare, scheduler.getTaskExecList()).getTotalMips(),
+					scheduler.getTotalCurrentAvailableMipsForTask(rgt, scheduler.getCurrentMipsShare()), 0);
+		}
+	}
+
+	@Test
+	public void testContentionModels() {
+		InterferenceModelGpuMemoryBandwidth bandwidth = new InterferenceModelGpuMemoryBandwidth(0.5);
+		assertEquals(1.0, bandwidth.getAvailableMipsFactor(0.8), 0);
+		assertEquals(1.0 / 1.5, bandwidth.getAvailableMipsFactor(2.0), 1e-12);
+		assertEquals(0.5, new InterferenceModelGpuMemoryBandwidth().getAvailableMipsFactor(2.0), 1e-12);
+
+		InterferenceModelGpuL2Cache cache = new InterferenceModelGpuL2Cache(0.5, 1.0);
+		assertEquals(1.0, cache.getAvailableMipsFactor(1.0), 0);
+		// half of the accesses miss, and a miss doubles the execution time
+		assertEquals(1.0 / 1.5, cache.getAvailableMipsFactor(2.0), 1e-12);
+	}
+
+}
@@ -13,6 +13,7 @@ import static org.junit.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.cloudbus.cloudsim.Vm;
 import org.junit.Before;
@@ -73,4 +74,22 @@ public class VmListTest {
 		assertSame(vm4, VmList.getByIdAndUserId(vmList, 1, 1));
 	}
 
+	@Test
+	public void testGetVMbyIdFromIndex() {
+		Vm vm1 = new Vm(0, 0, 0, 1, 0, 0, 0, "", null);
+		Vm vm2 = new Vm(1, 0, 0, 1, 0, 0, 0, "", null);
+		Vm vm3 = new Vm(0, 1, 0, 2, 0, 0, 0, "", null);
+
+		vmList.add(vm1);
+		vmList.add(vm2);
+		vmList.add(vm3);
+
+		Map<Integer, Vm> vmIndex = VmList.indexById(vmList);
+		assertSame(vm1, VmList.getById(vmIndex, 0));
+		assertSame(vm2, VmList.getById(vmIndex, 1));
+		assertNull(VmList.getById(vmIndex, 2));
+		assertSame(vm2, VmList.getByIdAndUserId(vmIndex, 1, 0));
+		assertNull(VmList.getByIdAndUserId(vmIndex, 1, 1));
+	}
+
 }
@@ -0,0 +1,95 @@
+package org.cloudbus.cloudsim.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class CompletionIndexTest {
+
+	@Test
+	public void testPollElementsToUpdate() {
+		CompletionIndex index = new CompletionIndex(6);
+		assertTrue(index.pollElementsToUpdate(0).isEmpty());
+		assertEquals(Double.MAX_VALUE, index.getNextCompletionTime(), 0);
+
+		index.setCompletionTime(0, 30);
+		index.setCompletionTime(1, 10);
+		index.setCompletionTime(2, 20);
+		index.setCompletionTime(3, 10);
+		index.setCompletionTime(2, 5);
+		index.setCompletionTime(3, Double.MAX_VALUE);
+		index.markChanged(5);
+		assertEquals(5, index.getNextCompletionTime(), 0);
+
+		BitSet expected = new BitSet();
+		expected.set(1);
+		expected.set(2);
+		expected.set(5);
+		assertEquals(expected, index.pollElementsToUpdate(10));
+		assertEquals(Double.MAX_VALUE, index.getCompletionTime(1), 0);
+		assertEquals(30, index.getNextCompletionTime(), 0);
+		assertTrue(index.pollElementsToUpdate(29).isEmpty());
+
+		index.markAllChanged();
+		assertEquals(6, index.pollElementsToUpdate(0).cardinality());
+	}
+
+	@Test
+	public void testEnsureSize() {
+		CompletionIndex index = new CompletionIndex(2);
+		index.setCompletionTime(0, 20);
+		index.setCompletionTime(1, 30);
+		index.ensureSize(1);
+		assertEquals(2, index.size());
+
+		index.ensureSize(4);
+		assertEquals(4, index.size());
+		assertEquals(Double.MAX_VALUE, index.getCompletionTime(3), 0);
+		index.setCompletionTime(3, 10);
+		assertEquals(10, index.getNextCompletionTime(), 0);
+		index.markChanged(2);
+
+		BitSet expected = new BitSet();
+		expected.set(0);
+		expected.set(2);
+		expected.set(3);
+		assertEquals(expected, index.pollElementsToUpdate(25));
+		assertEquals(30, index.getNextCompletionTime(), 0);
+	}
+
+	@Test
+	public void testRandomUpdates() {
+		int size = 100;
+		CompletionIndex index = new CompletionIndex(size);
+		double[] times = new double[size];
+		Arrays.fill(times, Double.MAX_VALUE);
+		Random random = new Random(1);
+		for (int i = 0; i < 10000; i++) {
+			int element = random.nextInt(size);
+			double time = random.nextInt(4) == 0 ? Double.MAX_VALUE : random.nextInt(1000);
+			index.setCompletionTime(element, time);
+			times[element] = time;
+
+			double min = Double.MAX_VALUE;
+			for (double t : times) {
+				min = Math.min(min, t);
+			}
+			assertEquals(min, index.getNextCompletionTime(), 0);
+		}
+
+		BitSet due = index.pollElementsToUpdate(500);
+		for (int element = 0; element < size; element++) {
+			assertEquals(times[element] <= 500, due.get(element));
+			assertEquals(times[element] <= 500 ? Double.MAX_VALUE : times[element], index.getCompletionTime(element), 0);
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package org.cloudbus.cloudsim.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class MipsVectorTest {
+
+	@Test
+	public void testOf() {
+		List<Double> list = new ArrayList<Double>(Arrays.asList(100.0, 200.0, 300.0));
+		MipsVector mips = MipsVector.of(list);
+		assertEquals(3, mips.size());
+		assertEquals(200.0, mips.getMips(1), 0);
+		assertEquals(600.0, mips.getTotalMips(), 0);
+		assertEquals(300.0, mips.getMaxMips(), 0);
+		// the list is copied, not kept
+		list.set(0, 0.0);
+		assertEquals(100.0, mips.getMips(0), 0);
+
+		assertSame(mips, MipsVector.of(mips));
+		assertNull(MipsVector.of(null));
+		assertSame(MipsVector.EMPTY, MipsVector.of(new ArrayList<Double>()));
+	}
+
+	@Test
+	public void testScale() {
+		MipsVector mips = MipsVector.copyOf(100, 0, 300);
+		MipsVector scaled = mips.scale(0.5);
+		assertArrayEquals(new double[] { 50, 0, 150 }, scaled.toDoubleArray(), 0);
+		assertEquals(200.0, scaled.getTotalMips(), 0);
+		assertEquals(400.0, mips.getTotalMips(), 0);
+		assertEquals(MipsVector.nCopies(2, 10), MipsVector.copyOf(5, 5).scale(2));
+	}
+
+	@Test
+	public void testEqualsList() {
+		MipsVector mips = MipsVector.nCopies(3, 1000);
+		List<Double> list = Arrays.asList(1000.0, 1000.0, 1000.0);
+		assertEquals(list, mips);
+		assertEquals(mips, list);
+		assertEquals(list.hashCode(), mips.hashCode());
+		assertEquals(MipsVector.copyOf(1000, 1000, 1000).hashCode(), mips.hashCode());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testImmutable() {
+		MipsVector.copyOf(100, 200).set(0, 0.0);
+	}
+
+}
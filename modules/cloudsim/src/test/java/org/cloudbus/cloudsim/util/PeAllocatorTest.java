@@ -0,0 +1,70 @@
+package org.cloudbus.cloudsim.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class PeAllocatorTest {
+
+	@Test
+	public void testAllocateLowestFreePes() {
+		PeAllocator allocator = new PeAllocator(8);
+		List<Integer> first = new ArrayList<Integer>();
+		List<Integer> second = new ArrayList<Integer>();
+		List<Integer> third = new ArrayList<Integer>();
+		assertEquals(3, allocator.allocate(3, first));
+		assertEquals(2, allocator.allocate(2, second));
+		assertEquals(Arrays.asList(0, 1, 2), first);
+		assertEquals(Arrays.asList(3, 4), second);
+		assertEquals(3, allocator.getNumberOfFreePes());
+
+		allocator.release(Arrays.asList(1));
+		assertFalse(allocator.isUsed(1));
+		assertTrue(allocator.isUsed(2));
+		// the free PEs are taken range by range
+		assertEquals(4, allocator.allocate(5, third));
+		assertEquals(Arrays.asList(1, 5, 6, 7), third);
+		assertEquals(0, allocator.getNumberOfFreePes());
+		assertEquals(0, allocator.allocate(1, new ArrayList<Integer>()));
+	}
+
+	@Test
+	public void testReleaseOnlyGivenPes() {
+		PeAllocator allocator = new PeAllocator(4);
+		List<Integer> first = new ArrayList<Integer>();
+		List<Integer> second = new ArrayList<Integer>();
+		allocator.allocate(2, first);
+		allocator.allocate(2, second);
+		allocator.release(first);
+		assertEquals(2, allocator.getNumberOfFreePes());
+		assertTrue(allocator.isUsed(2));
+		assertTrue(allocator.isUsed(3));
+		// releasing free PEs again changes nothing
+		allocator.release(first);
+		assertEquals(2, allocator.getNumberOfUsedPes());
+	}
+
+	@Test
+	public void testResize() {
+		PeAllocator allocator = new PeAllocator(4);
+		List<Integer> peIds = new ArrayList<Integer>();
+		allocator.allocate(4, peIds);
+		allocator.setPes(2);
+		assertEquals(2, allocator.getNumberOfUsedPes());
+		assertEquals(0, allocator.getNumberOfFreePes());
+		allocator.release(peIds);
+		assertEquals(2, allocator.getNumberOfFreePes());
+		allocator.setPes(1000);
+		assertEquals(1000, allocator.getNumberOfFreePes());
+	}
+
+}
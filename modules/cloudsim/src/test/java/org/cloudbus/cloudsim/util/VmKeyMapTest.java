@@ -0,0 +1,87 @@
+package org.cloudbus.cloudsim.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.cloudbus.cloudsim.Vm;
+import org.junit.Test;
+
+/**
+ * @since CloudSim Toolkit 4.0
+ */
+public class VmKeyMapTest {
+
+	@Test
+	public void testKey() {
+		assertEquals(Vm.getKey(3, 7), VmKeyMap.getKey("3-7"));
+		assertEquals(Vm.getKey(-1, 0), VmKeyMap.getKey("-1-0"));
+		assertEquals(Vm.getKey(0, -1), VmKeyMap.getKey("0--1"));
+		assertFalse(Vm.getKey(1, 2) == Vm.getKey(2, 1));
+	}
+
+	@Test
+	public void testPutGetRemove() {
+		VmKeyMap<String> map = new VmKeyMap<String>();
+		assertTrue(map.isEmpty());
+		assertNull(map.put(Vm.getKey(1, 2), "a"));
+		assertEquals("a", map.put(Vm.getKey(1, 2), "b"));
+		assertEquals(1, map.size());
+		assertEquals("b", map.get(Vm.getKey(1, 2)));
+		assertNull(map.get(Vm.getKey(2, 1)));
+		assertFalse(map.containsKey(Vm.getKey(2, 1)));
+		assertEquals("b", map.remove(Vm.getKey(1, 2)));
+		assertNull(map.remove(Vm.getKey(1, 2)));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void testAgainstHashMap() {
+		// many keys and removals, so that the keys collide, the map grows and keys are moved back
+		VmKeyMap<Integer> map = new VmKeyMap<Integer>();
+		Map<Long, Integer> expected = new HashMap<Long, Integer>();
+		Random random = new Random(0);
+		for (int i = 0; i < 20000; i++) {
+			long key = Vm.getKey(random.nextInt(8) - 1, random.nextInt(500));
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				assertEquals(expected.put(key, i), map.put(key, i));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		for (long key : expected.keySet()) {
+			assertEquals(expected.get(key), map.get(key));
+		}
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(expected.keySet().iterator().next()));
+	}
+
+	@Test
+	public void testUidMap() {
+		VmKeyMap<Integer> map = new VmKeyMap<Integer>();
+		Map<String, Integer> uidMap = map.asUidMap();
+		uidMap.put(Vm.getUid(-1, 4), 2);
+		map.put(Vm.getKey(5, 6), 1);
+		assertEquals(2, uidMap.size());
+		assertEquals(Integer.valueOf(2), map.get(Vm.getKey(-1, 4)));
+		assertEquals(Integer.valueOf(1), uidMap.get("5-6"));
+		assertNull(uidMap.get("not a uid"));
+		assertFalse(uidMap.containsKey(6));
+
+		Map<String, Integer> expected = new HashMap<String, Integer>();
+		expected.put("-1-4", 2);
+		expected.put("5-6", 1);
+		assertEquals(expected, new HashMap<String, Integer>(uidMap));
+
+		assertEquals(Integer.valueOf(1), uidMap.remove("5-6"));
+		assertFalse(map.containsKey(Vm.getKey(5, 6)));
+	}
+
+}